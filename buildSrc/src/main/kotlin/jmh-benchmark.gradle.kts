@@ -0,0 +1,42 @@
+apply<JavaPlugin>()
+
+val sourceSets = the<SourceSetContainer>()
+val main by sourceSets.getting
+val jmh by sourceSets.creating {
+    compileClasspath += main.output + main.compileClasspath
+    runtimeClasspath += main.output + main.runtimeClasspath
+}
+
+dependencies {
+    val jmhImplementation: Configuration by configurations
+    val jmhAnnotationProcessor: Configuration by configurations
+
+    jmhImplementation(Deps.Jmh.core)
+    jmhAnnotationProcessor(Deps.Jmh.annprocess)
+}
+
+tasks {
+    val libPath: String by rootProject.extra
+    val execPath: String by rootProject.extra
+
+    register<JavaExec>("jmh") {
+        group = "benchmark"
+        description = "Runs the JMH benchmarks, options can be passed with -PjmhArgs=\"...\". Results are written to build/reports/jmh/results.json."
+        classpath = jmh.runtimeClasspath
+        mainClass.set("org.openjdk.jmh.Main")
+        environment["PATH"] = execPath
+        environment["LD_LIBRARY_PATH"] = libPath
+        val jmhArgs = if (project.hasProperty("jmhArgs")) {
+            project.property("jmhArgs").toString().split(" ")
+        } else {
+            listOf()
+        }
+        // Results are written in JSON by default, so that runs on different commits can be compared
+        if ("-rf" !in jmhArgs && "-rff" !in jmhArgs) {
+            val results = project.buildDir.resolve("reports/jmh/results.json")
+            args("-rf", "json", "-rff", results.absolutePath)
+            doFirst { results.parentFile.mkdirs() }
+        }
+        args(jmhArgs)
+    }
+}
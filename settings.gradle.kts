@@ -31,7 +31,9 @@ include(
         "solver/solver",
         "solver/solver-z3",
         "solver/solver-smtlib",
-        "solver/solver-smtlib-cli"
+        "solver/solver-smtlib-cli",
+
+        "benchmarks"
 )
 
 for (project in rootProject.children) {
@@ -0,0 +1,16 @@
+plugins {
+    id("java-common")
+    id("jmh-benchmark")
+}
+
+dependencies {
+    "jmhImplementation"(project(":theta-analysis"))
+    "jmhImplementation"(project(":theta-cfa"))
+    "jmhImplementation"(project(":theta-cfa-analysis"))
+    "jmhImplementation"(project(":theta-common"))
+    "jmhImplementation"(project(":theta-core"))
+    "jmhImplementation"(project(":theta-solver"))
+    "jmhImplementation"(project(":theta-solver-z3"))
+    "jmhImplementation"(project(":theta-xsts"))
+    "jmhImplementation"(project(":theta-xsts-analysis"))
+}
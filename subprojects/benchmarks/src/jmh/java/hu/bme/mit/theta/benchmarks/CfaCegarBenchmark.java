@@ -0,0 +1,83 @@
+/*
+ *  Copyright 2022 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.benchmarks;
+
+import hu.bme.mit.theta.analysis.algorithm.SafetyResult;
+import hu.bme.mit.theta.cfa.CFA;
+import hu.bme.mit.theta.cfa.analysis.config.CfaConfigBuilder;
+import hu.bme.mit.theta.cfa.analysis.config.CfaConfigBuilder.Domain;
+import hu.bme.mit.theta.cfa.analysis.config.CfaConfigBuilder.Refinement;
+import hu.bme.mit.theta.cfa.dsl.CfaDslManager;
+import hu.bme.mit.theta.solver.z3.Z3SolverFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full CEGAR runs on the CFA models of the repository, with the explicit and predicate
+ * domains and the most common refinements. Each invocation builds the configuration and
+ * checks the model, so the solvers are created as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CfaCegarBenchmark {
+
+	@Param({"../cfa/cfa-analysis/src/test/resources/arithmetic-bool00.cfa",
+			"../cfa/cfa-analysis/src/test/resources/arithmetic-int.cfa",
+			"../cfa/cfa-analysis/src/test/resources/counter5_true.cfa",
+			"../cfa/cfa-analysis/src/test/resources/ifelse.cfa",
+			"../cfa/cfa-analysis/src/test/resources/locking.cfa"})
+	public String model;
+
+	@Param({"EXPL", "PRED_BOOL", "PRED_CART"})
+	public Domain domain;
+
+	@Param({"SEQ_ITP", "BW_BIN_ITP"})
+	public Refinement refinement;
+
+	private CFA cfa;
+
+	@Setup
+	public void setup() throws IOException {
+		try (InputStream inputStream = new FileInputStream(model)) {
+			cfa = CfaDslManager.createCfa(inputStream);
+		}
+	}
+
+	@Benchmark
+	public SafetyResult<?, ?> check() {
+		return new CfaConfigBuilder(domain, refinement, Z3SolverFactory.getInstance())
+				.build(cfa, cfa.getErrorLoc().get()).check();
+	}
+
+}
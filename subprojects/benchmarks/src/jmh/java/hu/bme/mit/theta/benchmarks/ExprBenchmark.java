@@ -0,0 +1,103 @@
+/*
+ *  Copyright 2022 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.benchmarks;
+
+import hu.bme.mit.theta.core.model.Valuation;
+import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.booltype.BoolType;
+import hu.bme.mit.theta.core.utils.ExprUtils;
+import hu.bme.mit.theta.core.utils.PathUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Construction, simplification and unfolding of random expressions. Each expression is
+ * simplified under a set of partial valuations, and unfolded with the indexes of a path of
+ * the given length, like the expressions of the transitions of a counterexample.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExprBenchmark {
+
+	private static final int VARS = 8;
+	private static final int EXPRS = 16;
+	private static final int VALUATIONS = 16;
+	private static final int PATH_LENGTH = 16;
+
+	@Param({"2", "6", "10"})
+	public int depth;
+
+	private List<Expr<BoolType>> exprs;
+	private List<Valuation> valuations;
+
+	@Setup
+	public void setup() {
+		final RandomExprs randomExprs = new RandomExprs(VARS, 0);
+		exprs = new ArrayList<>();
+		for (int i = 0; i < EXPRS; i++) {
+			exprs.add(randomExprs.boolExpr(depth));
+		}
+		valuations = new ArrayList<>();
+		for (int i = 0; i < VALUATIONS; i++) {
+			valuations.add(randomExprs.valuation());
+		}
+	}
+
+	@Benchmark
+	public void construct(final Blackhole blackhole) {
+		final RandomExprs randomExprs = new RandomExprs(VARS, 0);
+		for (int i = 0; i < EXPRS; i++) {
+			blackhole.consume(randomExprs.boolExpr(depth));
+		}
+	}
+
+	@Benchmark
+	public void simplify(final Blackhole blackhole) {
+		for (final Valuation valuation : valuations) {
+			for (final Expr<BoolType> expr : exprs) {
+				blackhole.consume(ExprUtils.simplify(expr, valuation));
+			}
+		}
+	}
+
+	@Benchmark
+	public void unfold(final Blackhole blackhole) {
+		for (int i = 0; i < PATH_LENGTH; i++) {
+			for (final Expr<BoolType> expr : exprs) {
+				blackhole.consume(PathUtils.unfold(expr, i));
+			}
+		}
+	}
+
+}
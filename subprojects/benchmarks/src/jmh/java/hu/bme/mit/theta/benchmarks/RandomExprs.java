@@ -0,0 +1,107 @@
+/*
+ *  Copyright 2022 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.benchmarks;
+
+import hu.bme.mit.theta.core.decl.VarDecl;
+import hu.bme.mit.theta.core.model.ImmutableValuation;
+import hu.bme.mit.theta.core.model.Valuation;
+import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.booltype.BoolType;
+import hu.bme.mit.theta.core.type.inttype.IntType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static hu.bme.mit.theta.core.decl.Decls.Var;
+import static hu.bme.mit.theta.core.type.anytype.Exprs.Prime;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.And;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Not;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Or;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Add;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Eq;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Int;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Leq;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Mul;
+
+/**
+ * Random linear integer expressions of a given depth over a fixed set of variables, some of
+ * which are primed, like the transition formulas of the analyses.
+ */
+final class RandomExprs {
+
+	private static final int MAX_CONSTANT = 10;
+
+	private final List<VarDecl<IntType>> vars;
+	private final Random random;
+
+	RandomExprs(final int varCount, final long seed) {
+		vars = new ArrayList<>();
+		for (int i = 0; i < varCount; i++) {
+			vars.add(Var("x" + i, Int()));
+		}
+		random = new Random(seed);
+	}
+
+	List<VarDecl<IntType>> getVars() {
+		return vars;
+	}
+
+	Expr<BoolType> boolExpr(final int depth) {
+		if (depth == 0) {
+			return random.nextBoolean() ? Leq(intExpr(1), Int(random.nextInt(MAX_CONSTANT)))
+					: Eq(intExpr(1), intExpr(1));
+		}
+		switch (random.nextInt(3)) {
+			case 0:
+				return And(boolExpr(depth - 1), boolExpr(depth - 1));
+			case 1:
+				return Or(boolExpr(depth - 1), boolExpr(depth - 1));
+			default:
+				return Not(boolExpr(depth - 1));
+		}
+	}
+
+	Expr<IntType> intExpr(final int depth) {
+		if (depth == 0) {
+			final VarDecl<IntType> var = vars.get(random.nextInt(vars.size()));
+			switch (random.nextInt(3)) {
+				case 0:
+					return Int(random.nextInt(MAX_CONSTANT));
+				case 1:
+					return Prime(var.getRef());
+				default:
+					return var.getRef();
+			}
+		}
+		return random.nextBoolean() ? Add(intExpr(depth - 1), intExpr(depth - 1))
+				: Mul(Int(random.nextInt(MAX_CONSTANT)), intExpr(depth - 1));
+	}
+
+	/**
+	 * Valuation assigning a random value to about three quarters of the variables.
+	 */
+	Valuation valuation() {
+		final ImmutableValuation.Builder builder = ImmutableValuation.builder();
+		for (final VarDecl<IntType> var : vars) {
+			if (random.nextInt(4) != 0) {
+				builder.put(var, Int(random.nextInt(MAX_CONSTANT)));
+			}
+		}
+		return builder.build();
+	}
+
+}
@@ -0,0 +1,129 @@
+/*
+ *  Copyright 2022 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.benchmarks;
+
+import hu.bme.mit.theta.analysis.expl.ExplPrec;
+import hu.bme.mit.theta.analysis.expl.ExplState;
+import hu.bme.mit.theta.analysis.expl.ExplStmtTransFunc;
+import hu.bme.mit.theta.cfa.CFA;
+import hu.bme.mit.theta.cfa.analysis.CfaAction;
+import hu.bme.mit.theta.cfa.dsl.CfaDslManager;
+import hu.bme.mit.theta.core.decl.VarDecl;
+import hu.bme.mit.theta.core.model.ImmutableValuation;
+import hu.bme.mit.theta.core.type.booltype.BoolType;
+import hu.bme.mit.theta.core.type.inttype.IntType;
+import hu.bme.mit.theta.solver.z3.Z3SolverFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Bool;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Int;
+
+/**
+ * Explicit successor computation with interpreted and with compiled statements. The
+ * successors of random states tracking all variables of the model are computed along
+ * each edge of the model, so the solver is only called for havocs. The transfer functions
+ * are kept between the invocations, so the statements are only compiled once.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StmtEvaluationBenchmark {
+
+	private static final int STATES = 64;
+	private static final int MAX_VALUE = 10;
+
+	@Param({"../cfa/cfa-analysis/src/test/resources/arithmetic-bool00.cfa",
+			"../cfa/cfa-analysis/src/test/resources/counter5_true.cfa",
+			"../cfa/cfa-analysis/src/test/resources/locking.cfa"})
+	public String model;
+
+	private List<CfaAction> actions;
+	private List<ExplState> states;
+	private ExplPrec prec;
+	private ExplStmtTransFunc interpreter;
+	private ExplStmtTransFunc compiler;
+
+	@Setup
+	public void setup() throws IOException {
+		final CFA cfa;
+		try (InputStream inputStream = new FileInputStream(model)) {
+			cfa = CfaDslManager.createCfa(inputStream);
+		}
+		actions = new ArrayList<>();
+		for (final CFA.Edge edge : cfa.getEdges()) {
+			actions.add(CfaAction.create(edge));
+		}
+		prec = ExplPrec.of(cfa.getVars());
+
+		final Random random = new Random(0);
+		states = new ArrayList<>();
+		for (int i = 0; i < STATES; i++) {
+			final ImmutableValuation.Builder builder = ImmutableValuation.builder();
+			for (final VarDecl<?> var : cfa.getVars()) {
+				if (var.getType() instanceof BoolType) {
+					builder.put(var, Bool(random.nextBoolean()));
+				} else if (var.getType() instanceof IntType) {
+					builder.put(var, Int(random.nextInt(MAX_VALUE)));
+				}
+			}
+			states.add(prec.createState(builder.build()));
+		}
+
+		interpreter = ExplStmtTransFunc.create(Z3SolverFactory.getInstance().createSolver(), 0, false);
+		compiler = ExplStmtTransFunc.create(Z3SolverFactory.getInstance().createSolver(), 0, true);
+	}
+
+	@Benchmark
+	public void interpreted(final Blackhole blackhole) {
+		successors(interpreter, blackhole);
+	}
+
+	@Benchmark
+	public void compiled(final Blackhole blackhole) {
+		successors(compiler, blackhole);
+	}
+
+	private void successors(final ExplStmtTransFunc transFunc, final Blackhole blackhole) {
+		for (final ExplState state : states) {
+			for (final CfaAction action : actions) {
+				blackhole.consume(transFunc.getSuccStates(state, action, prec));
+			}
+		}
+	}
+
+}
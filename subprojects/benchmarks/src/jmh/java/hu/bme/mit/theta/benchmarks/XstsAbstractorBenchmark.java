@@ -0,0 +1,91 @@
+/*
+ *  Copyright 2022 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.benchmarks;
+
+import hu.bme.mit.theta.analysis.algorithm.SafetyResult;
+import hu.bme.mit.theta.solver.z3.Z3SolverFactory;
+import hu.bme.mit.theta.xsts.XSTS;
+import hu.bme.mit.theta.xsts.analysis.config.XstsConfigBuilder;
+import hu.bme.mit.theta.xsts.analysis.config.XstsConfigBuilder.InitPrec;
+import hu.bme.mit.theta.xsts.dsl.XstsDslManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.util.concurrent.TimeUnit;
+
+import static hu.bme.mit.theta.xsts.analysis.config.XstsConfigBuilder.Domain.EXPL;
+import static hu.bme.mit.theta.xsts.analysis.config.XstsConfigBuilder.Domain.PRED_CART;
+import static hu.bme.mit.theta.xsts.analysis.config.XstsConfigBuilder.Refinement.SEQ_ITP;
+
+/**
+ * The XSTS counterpart of {@link AbstractorBenchmark}. Each model is given together with its
+ * property as "model:property", relative to the XSTS test resources.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class XstsAbstractorBenchmark {
+
+	private static final String RESOURCES = "../xsts/xsts-analysis/src/test/resources/";
+
+	@Param({"counter50.xsts:x_eq_51.prop",
+			"sequential.xsts:sequential.prop",
+			"trafficlight.xsts:green_and_red.prop"})
+	public String model;
+
+	@Param({"1", "2", "4"})
+	public int threads;
+
+	private XSTS xsts;
+
+	@Setup
+	public void setup() throws IOException {
+		final String[] paths = model.split(":");
+		try (InputStream inputStream = new SequenceInputStream(new FileInputStream(RESOURCES + "model/" + paths[0]),
+				new FileInputStream(RESOURCES + "property/" + paths[1]))) {
+			xsts = XstsDslManager.createXsts(inputStream);
+		}
+	}
+
+	@Benchmark
+	public SafetyResult<?, ?> explicit() {
+		return new XstsConfigBuilder(EXPL, SEQ_ITP, Z3SolverFactory.getInstance()).initPrec(InitPrec.ALLVARS)
+				.abstractionThreads(threads).build(xsts).check();
+	}
+
+	@Benchmark
+	public SafetyResult<?, ?> predicate() {
+		return new XstsConfigBuilder(PRED_CART, SEQ_ITP, Z3SolverFactory.getInstance()).initPrec(InitPrec.PROP)
+				.abstractionThreads(threads).build(xsts).check();
+	}
+
+}
@@ -0,0 +1,91 @@
+/*
+ *  Copyright 2022 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.benchmarks;
+
+import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.booltype.BoolType;
+import hu.bme.mit.theta.core.utils.PathUtils;
+import hu.bme.mit.theta.solver.Solver;
+import hu.bme.mit.theta.solver.z3.Z3SolverFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Transformation of random (unfolded) expressions to Z3 terms, by adding them to a solver.
+ * With a fresh solver, every expression is transformed (and the solver is created as well),
+ * while with a reused solver, the expressions are found in the cache of the transformer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Z3TransformationBenchmark {
+
+	private static final int VARS = 8;
+	private static final int EXPRS = 16;
+
+	@Param({"2", "6", "10"})
+	public int depth;
+
+	private List<Expr<BoolType>> exprs;
+	private Solver solver;
+
+	@Setup
+	public void setup() {
+		final RandomExprs randomExprs = new RandomExprs(VARS, 0);
+		exprs = new ArrayList<>();
+		for (int i = 0; i < EXPRS; i++) {
+			exprs.add(PathUtils.unfold(randomExprs.boolExpr(depth), 0));
+		}
+		solver = Z3SolverFactory.getInstance().createSolver();
+	}
+
+	@TearDown
+	public void tearDown() throws Exception {
+		solver.close();
+	}
+
+	@Benchmark
+	public void transform() throws Exception {
+		try (Solver freshSolver = Z3SolverFactory.getInstance().createSolver()) {
+			freshSolver.add(exprs);
+		}
+	}
+
+	@Benchmark
+	public void transformCached() {
+		solver.push();
+		solver.add(exprs);
+		solver.pop();
+	}
+
+}
@@ -0,0 +1,155 @@
+/*
+ *  Copyright 2022 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.cfa.analysis;
+
+import hu.bme.mit.theta.cfa.CFA;
+import hu.bme.mit.theta.cfa.dsl.CfaDslManager;
+import hu.bme.mit.theta.core.decl.VarDecl;
+import hu.bme.mit.theta.core.model.ImmutableValuation;
+import hu.bme.mit.theta.core.model.Valuation;
+import hu.bme.mit.theta.core.stmt.AssignStmt;
+import hu.bme.mit.theta.core.stmt.AssumeStmt;
+import hu.bme.mit.theta.core.stmt.Stmt;
+import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.booltype.BoolType;
+import hu.bme.mit.theta.core.type.inttype.IntType;
+import hu.bme.mit.theta.core.utils.ExprUtils;
+import hu.bme.mit.theta.core.utils.SimplificationCache;
+import hu.bme.mit.theta.core.utils.WpState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Bool;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.True;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Int;
+
+/**
+ * Simplifies the expressions of the CFA test models under random valuations of their
+ * variables, like the explicit analysis does on each transition. Besides the guards and
+ * right-hand sides of the edges, the weakest preconditions of the error location along
+ * backward paths of the given depth are also simplified, which are deep expressions with
+ * shared subexpressions.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExprSimplifierBenchmark {
+
+	private static final int VALUATIONS = 16;
+
+	@Param({"arithmetic-int.cfa", "arithmetic-bool00.cfa", "counter5_true.cfa", "locking.cfa", "ifelse.cfa"})
+	public String model;
+
+	@Param({"1", "20", "200"})
+	public int depth;
+
+	private List<Expr<?>> exprs;
+	private List<Valuation> valuations;
+	private SimplificationCache cache;
+
+	@Setup
+	public void setup() throws IOException {
+		final CFA cfa;
+		try (InputStream inputStream = new FileInputStream("src/test/resources/" + model)) {
+			cfa = CfaDslManager.createCfa(inputStream);
+		}
+		final Random random = new Random(0);
+
+		exprs = new ArrayList<>();
+		for (final CFA.Edge edge : cfa.getEdges()) {
+			final Stmt stmt = edge.getStmt();
+			if (stmt instanceof AssumeStmt) {
+				exprs.add(((AssumeStmt) stmt).getCond());
+			} else if (stmt instanceof AssignStmt) {
+				exprs.add(((AssignStmt<?>) stmt).getExpr());
+			}
+		}
+		if (cfa.getErrorLoc().isPresent()) {
+			exprs.add(unfoldBackwards(cfa.getErrorLoc().get(), random));
+		}
+
+		valuations = new ArrayList<>();
+		for (int i = 0; i < VALUATIONS; i++) {
+			final ImmutableValuation.Builder builder = ImmutableValuation.builder();
+			for (final VarDecl<?> var : cfa.getVars()) {
+				// Some variables are left unassigned, so that parts of the expressions remain
+				if (random.nextInt(4) == 0) {
+					continue;
+				}
+				if (var.getType() instanceof IntType) {
+					builder.put(var, Int(random.nextInt(10)));
+				} else if (var.getType() instanceof BoolType) {
+					builder.put(var, Bool(random.nextBoolean()));
+				}
+			}
+			valuations.add(builder.build());
+		}
+
+		cache = SimplificationCache.create(10_000);
+	}
+
+	private Expr<BoolType> unfoldBackwards(final CFA.Loc errorLoc, final Random random) {
+		WpState wpState = WpState.of(True());
+		CFA.Loc loc = errorLoc;
+		for (int i = 0; i < depth && !loc.getInEdges().isEmpty(); i++) {
+			final List<CFA.Edge> inEdges = new ArrayList<>(loc.getInEdges());
+			final CFA.Edge edge = inEdges.get(random.nextInt(inEdges.size()));
+			wpState = wpState.wep(edge.getStmt());
+			loc = edge.getSource();
+		}
+		return wpState.getExpr();
+	}
+
+	@Benchmark
+	public void simplify(final Blackhole blackhole) {
+		for (final Valuation valuation : valuations) {
+			for (final Expr<?> expr : exprs) {
+				blackhole.consume(ExprUtils.simplify(expr, valuation));
+			}
+		}
+	}
+
+	@Benchmark
+	public void simplifyCached(final Blackhole blackhole) {
+		for (final Valuation valuation : valuations) {
+			for (final Expr<?> expr : exprs) {
+				blackhole.consume(ExprUtils.simplify(expr, valuation, cache));
+			}
+		}
+	}
+
+}
@@ -26,6 +26,7 @@ import hu.bme.mit.theta.analysis.algorithm.SafetyChecker;
 import hu.bme.mit.theta.analysis.algorithm.cegar.Abstractor;
 import hu.bme.mit.theta.analysis.algorithm.cegar.BasicAbstractor;
 import hu.bme.mit.theta.analysis.algorithm.cegar.CegarChecker;
+import hu.bme.mit.theta.analysis.algorithm.cegar.ParallelAbstractor;
 import hu.bme.mit.theta.analysis.algorithm.cegar.Refiner;
 import hu.bme.mit.theta.analysis.algorithm.cegar.abstractor.StopCriterions;
 import hu.bme.mit.theta.analysis.expl.ExplPrec;
@@ -48,6 +49,8 @@ import hu.bme.mit.theta.analysis.expr.refinement.PruneStrategy;
 import hu.bme.mit.theta.analysis.expr.refinement.Refutation;
 import hu.bme.mit.theta.analysis.expr.refinement.RefutationToPrec;
 import hu.bme.mit.theta.analysis.expr.refinement.SingleExprTraceRefiner;
+import hu.bme.mit.theta.analysis.pred.BddPredAnalysis;
+import hu.bme.mit.theta.analysis.pred.BddPredManager;
 import hu.bme.mit.theta.analysis.pred.ExprSplitters;
 import hu.bme.mit.theta.analysis.pred.ExprSplitters.ExprSplitter;
 import hu.bme.mit.theta.analysis.pred.ItpRefToPredPrec;
@@ -55,7 +58,6 @@ import hu.bme.mit.theta.analysis.pred.PredAbstractors;
 import hu.bme.mit.theta.analysis.pred.PredAbstractors.PredAbstractor;
 import hu.bme.mit.theta.analysis.pred.PredAnalysis;
 import hu.bme.mit.theta.analysis.pred.PredPrec;
-import hu.bme.mit.theta.analysis.pred.PredState;
 import hu.bme.mit.theta.analysis.waitlist.PriorityWaitlist;
 import hu.bme.mit.theta.cfa.CFA;
 import hu.bme.mit.theta.cfa.analysis.CfaAction;
@@ -87,13 +89,15 @@ import hu.bme.mit.theta.solver.SolverFactory;
 import java.util.LinkedHashSet;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import static hu.bme.mit.theta.core.type.booltype.BoolExprs.True;
 
 public class CfaConfigBuilder {
 	public enum Domain {
-		EXPL, PRED_BOOL, PRED_CART, PRED_SPLIT
+		EXPL, PRED_BOOL, PRED_CART, PRED_SPLIT, PRED_BDD
 	}
 
 	public enum Refinement {
@@ -208,6 +212,8 @@ public class CfaConfigBuilder {
 	private int maxEnum = 0;
 	private InitPrec initPrec = InitPrec.EMPTY;
 	private PruneStrategy pruneStrategy = PruneStrategy.LAZY;
+	private int abstractionThreads = 1;
+	private int refinementThreads = 1;
 
 	public CfaConfigBuilder(final Domain domain, final Refinement refinement, final SolverFactory solverFactory) {
 		this.domain = domain;
@@ -264,19 +270,27 @@ public class CfaConfigBuilder {
 		return this;
 	}
 
+	public CfaConfigBuilder abstractionThreads(final int abstractionThreads) {
+		this.abstractionThreads = abstractionThreads;
+		return this;
+	}
+
+	public CfaConfigBuilder refinementThreads(final int refinementThreads) {
+		this.refinementThreads = refinementThreads;
+		return this;
+	}
+
 	public CfaConfig<? extends State, ? extends Action, ? extends Prec> build(final CFA cfa, final CFA.Loc errLoc) {
 		final CfaLts lts = encoding.getLts(errLoc);
 
 		if (domain == Domain.EXPL) {
-			final Analysis<CfaState<ExplState>, CfaAction, CfaPrec<ExplPrec>> analysis = CfaAnalysis
-					.create(cfa.getInitLoc(), ExplStmtAnalysis.create(abstractionSolverFactory.createSolver(), True(), maxEnum));
-			final ArgBuilder<CfaState<ExplState>, CfaAction, CfaPrec<ExplPrec>> argBuilder = ArgBuilder.create(lts,
-					analysis, s -> s.getLoc().equals(errLoc), true);
-			final Abstractor<CfaState<ExplState>, CfaAction, CfaPrec<ExplPrec>> abstractor = BasicAbstractor
-					.builder(argBuilder).projection(CfaState::getLoc)
-					.waitlist(PriorityWaitlist.create(search.getComp(cfa, errLoc)))
-					.stopCriterion(refinement == Refinement.MULTI_SEQ ? StopCriterions.fullExploration()
-							: StopCriterions.firstCex()).logger(logger).build();
+			final Supplier<ArgBuilder<CfaState<ExplState>, CfaAction, CfaPrec<ExplPrec>>> argBuilderFactory = () -> {
+				final Analysis<CfaState<ExplState>, CfaAction, CfaPrec<ExplPrec>> analysis = CfaAnalysis
+						.create(cfa.getInitLoc(), ExplStmtAnalysis.create(abstractionSolverFactory.createSolver(), True(), maxEnum));
+				return ArgBuilder.create(lts, analysis, s -> s.getLoc().equals(errLoc), true);
+			};
+			final Abstractor<CfaState<ExplState>, CfaAction, CfaPrec<ExplPrec>> abstractor =
+					createAbstractor(argBuilderFactory, cfa, errLoc);
 
 			Refiner<CfaState<ExplState>, CfaAction, CfaPrec<ExplPrec>> refiner;
 
@@ -294,8 +308,8 @@ public class CfaConfigBuilder {
 							precGranularity.createRefiner(new ItpRefToExplPrec()), pruneStrategy, logger);
 					break;
 				case MULTI_SEQ:
-					refiner = MultiExprTraceRefiner.create(ExprTraceSeqItpChecker.create(True(), True(), refinementSolverFactory.createItpSolver()),
-							precGranularity.createRefiner(new ItpRefToExplPrec()), pruneStrategy, logger);
+					refiner = MultiExprTraceRefiner.create(() -> ExprTraceSeqItpChecker.create(True(), True(), refinementSolverFactory.createItpSolver()),
+							refinementThreads, precGranularity.createRefiner(new ItpRefToExplPrec()), pruneStrategy, logger);
 					break;
 				case UNSAT_CORE:
 					refiner = SingleExprTraceRefiner.create(ExprTraceUnsatCoreChecker.create(True(), True(), refinementSolverFactory.createUCSolver()),
@@ -394,118 +408,148 @@ public class CfaConfigBuilder {
 			return CfaConfig.create(checker, prec);
 
 		} else if (domain == Domain.PRED_BOOL || domain == Domain.PRED_CART || domain == Domain.PRED_SPLIT) {
-			final Solver analysisSolver = abstractionSolverFactory.createSolver();
-			PredAbstractor predAbstractor;
-			switch (domain) {
-				case PRED_BOOL:
-					predAbstractor = PredAbstractors.booleanAbstractor(analysisSolver);
-					break;
-				case PRED_SPLIT:
-					predAbstractor = PredAbstractors.booleanSplitAbstractor(analysisSolver);
-					break;
-				case PRED_CART:
-					predAbstractor = PredAbstractors.cartesianAbstractor(analysisSolver);
-					break;
-				default:
-					throw new UnsupportedOperationException(domain + " domain is not supported.");
-			}
-			final Analysis<CfaState<PredState>, CfaAction, CfaPrec<PredPrec>> analysis = CfaAnalysis
-					.create(cfa.getInitLoc(), PredAnalysis.create(analysisSolver, predAbstractor, True()));
-			final ArgBuilder<CfaState<PredState>, CfaAction, CfaPrec<PredPrec>> argBuilder = ArgBuilder.create(lts,
-					analysis, s -> s.getLoc().equals(errLoc), true);
-			final Abstractor<CfaState<PredState>, CfaAction, CfaPrec<PredPrec>> abstractor = BasicAbstractor
-					.builder(argBuilder).projection(CfaState::getLoc)
-					.waitlist(PriorityWaitlist.create(search.getComp(cfa, errLoc)))
-					.stopCriterion(refinement == Refinement.MULTI_SEQ ? StopCriterions.fullExploration()
-							: StopCriterions.firstCex()).logger(logger).build();
+			return buildPred(lts, cfa, errLoc, analysisSolver -> {
+				PredAbstractor predAbstractor;
+				switch (domain) {
+					case PRED_BOOL:
+						predAbstractor = PredAbstractors.booleanAbstractor(analysisSolver);
+						break;
+					case PRED_SPLIT:
+						predAbstractor = PredAbstractors.booleanSplitAbstractor(analysisSolver);
+						break;
+					case PRED_CART:
+						predAbstractor = PredAbstractors.cartesianAbstractor(analysisSolver);
+						break;
+					default:
+						throw new UnsupportedOperationException(domain + " domain is not supported.");
+				}
+				return PredAnalysis.create(analysisSolver, predAbstractor, True());
+			});
 
-			ExprTraceChecker<ItpRefutation> exprTraceChecker;
-			switch (refinement) {
-				case FW_BIN_ITP:
-					exprTraceChecker = ExprTraceFwBinItpChecker.create(True(), True(), refinementSolverFactory.createItpSolver());
-					break;
-				case BW_BIN_ITP:
-					exprTraceChecker = ExprTraceBwBinItpChecker.create(True(), True(), refinementSolverFactory.createItpSolver());
-					break;
-				case SEQ_ITP:
-					exprTraceChecker = ExprTraceSeqItpChecker.create(True(), True(), refinementSolverFactory.createItpSolver());
-					break;
-				case MULTI_SEQ:
-					exprTraceChecker = ExprTraceSeqItpChecker.create(True(), True(), refinementSolverFactory.createItpSolver());
-					break;
-				case UCB:
-					exprTraceChecker = ExprTraceUCBChecker.create(True(), True(), refinementSolverFactory.createUCSolver());
-					break;
-				case NWT_SP:
-					exprTraceChecker = ExprTraceNewtonChecker.create(True(), True(), refinementSolverFactory.createUCSolver()).withoutIT().withSP().withoutLV();
-					break;
-				case NWT_WP:
-					exprTraceChecker = ExprTraceNewtonChecker.create(True(), True(), refinementSolverFactory.createUCSolver()).withoutIT().withWP().withoutLV();
-					break;
-				case NWT_SP_LV:
-					exprTraceChecker = ExprTraceNewtonChecker.create(True(), True(), refinementSolverFactory.createUCSolver()).withoutIT().withSP().withLV();
-					break;
-				case NWT_WP_LV:
-					exprTraceChecker = ExprTraceNewtonChecker.create(True(), True(), refinementSolverFactory.createUCSolver()).withoutIT().withWP().withLV();
-					break;
-				case NWT_IT_SP:
-					exprTraceChecker = ExprTraceNewtonChecker.create(True(), True(), refinementSolverFactory.createUCSolver()).withIT().withSP().withoutLV();
-					break;
-				case NWT_IT_WP:
-					exprTraceChecker = ExprTraceNewtonChecker.create(True(), True(), refinementSolverFactory.createUCSolver()).withIT().withWP().withoutLV();
-					break;
-				case NWT_IT_SP_LV:
-					exprTraceChecker = ExprTraceNewtonChecker.create(True(), True(), refinementSolverFactory.createUCSolver()).withIT().withSP().withLV();
-					break;
-				case NWT_IT_WP_LV:
-					exprTraceChecker = ExprTraceNewtonChecker.create(True(), True(), refinementSolverFactory.createUCSolver()).withIT().withWP().withLV();
-					break;
-				default:
-					throw new UnsupportedOperationException(
-							domain + " domain does not support " + refinement + " refinement.");
-			}
-			final ItpRefToPredPrec refToPrec = new ItpRefToPredPrec(predSplit.splitter);
-			Refiner<CfaState<PredState>, CfaAction, CfaPrec<PredPrec>> refiner;
-
-			if (refinement == Refinement.MULTI_SEQ) {
-				refiner = MultiExprTraceRefiner.create(exprTraceChecker,
-						precGranularity.createRefiner(refToPrec), pruneStrategy, logger);
-			} else {
-				refiner = SingleExprTraceRefiner.create(exprTraceChecker,
-						precGranularity.createRefiner(refToPrec), pruneStrategy, logger);
-			}
+		} else if (domain == Domain.PRED_BDD) {
+			// The states of all abstractor workers are compared, so they share the BDDs
+			final BddPredManager bddPredManager = BddPredManager.create();
+			return buildPred(lts, cfa, errLoc,
+					analysisSolver -> BddPredAnalysis.create(analysisSolver, bddPredManager, True()));
 
-			final SafetyChecker<CfaState<PredState>, CfaAction, CfaPrec<PredPrec>> checker = CegarChecker
-					.create(abstractor, refiner, logger);
+		} else {
+			throw new UnsupportedOperationException(domain + " domain is not supported.");
+		}
+	}
 
-			CfaPrec<PredPrec> prec;
+	private <S extends ExprState> CfaConfig<CfaState<S>, CfaAction, CfaPrec<PredPrec>> buildPred(
+			final CfaLts lts, final CFA cfa, final CFA.Loc errLoc,
+			final Function<Solver, Analysis<S, ? super CfaAction, ? super PredPrec>> domainAnalysisFactory) {
+		final Supplier<ArgBuilder<CfaState<S>, CfaAction, CfaPrec<PredPrec>>> argBuilderFactory = () -> {
+			final Analysis<CfaState<S>, CfaAction, CfaPrec<PredPrec>> analysis = CfaAnalysis
+					.create(cfa.getInitLoc(), domainAnalysisFactory.apply(abstractionSolverFactory.createSolver()));
+			return ArgBuilder.create(lts, analysis, s -> s.getLoc().equals(errLoc), true);
+		};
+		final Abstractor<CfaState<S>, CfaAction, CfaPrec<PredPrec>> abstractor =
+				createAbstractor(argBuilderFactory, cfa, errLoc);
 
-			switch (initPrec) {
-				case EMPTY:
-					prec = precGranularity.createPrec(PredPrec.of());
-					break;
-				case ALLASSUMES:
-					switch (precGranularity) {
-						case LOCAL:
-							prec = CfaInitPrecs.collectAssumesLocal(cfa);
-							break;
-						case GLOBAL:
-							prec = CfaInitPrecs.collectAssumesGlobal(cfa);
-							break;
-						default:
-							throw new UnsupportedOperationException(precGranularity +
-									" precision granularity is not supported with " + domain + " domain");
-					}
-					break;
-				default:
-					throw new UnsupportedOperationException(initPrec + " initial precision is not supported with " +
-							domain + " domain");
-			}
+		final ItpRefToPredPrec refToPrec = new ItpRefToPredPrec(predSplit.splitter);
+		Refiner<CfaState<S>, CfaAction, CfaPrec<PredPrec>> refiner;
 
-			return CfaConfig.create(checker, prec);
+		if (refinement == Refinement.MULTI_SEQ) {
+			refiner = MultiExprTraceRefiner.create(() -> ExprTraceSeqItpChecker.create(True(), True(), refinementSolverFactory.createItpSolver()),
+					refinementThreads, precGranularity.createRefiner(refToPrec), pruneStrategy, logger);
+		} else {
+			refiner = SingleExprTraceRefiner.create(createPredTraceChecker(),
+					precGranularity.createRefiner(refToPrec), pruneStrategy, logger);
+		}
+
+		final SafetyChecker<CfaState<S>, CfaAction, CfaPrec<PredPrec>> checker = CegarChecker
+				.create(abstractor, refiner, logger);
+
+		CfaPrec<PredPrec> prec;
+
+		switch (initPrec) {
+			case EMPTY:
+				prec = precGranularity.createPrec(PredPrec.of());
+				break;
+			case ALLASSUMES:
+				switch (precGranularity) {
+					case LOCAL:
+						prec = CfaInitPrecs.collectAssumesLocal(cfa);
+						break;
+					case GLOBAL:
+						prec = CfaInitPrecs.collectAssumesGlobal(cfa);
+						break;
+					default:
+						throw new UnsupportedOperationException(precGranularity +
+								" precision granularity is not supported with " + domain + " domain");
+				}
+				break;
+			default:
+				throw new UnsupportedOperationException(initPrec + " initial precision is not supported with " +
+						domain + " domain");
+		}
+
+		return CfaConfig.create(checker, prec);
+	}
+
+	// The MULTI_SEQ refiner creates its own checkers, so only the single trace refiners use this
+	private ExprTraceChecker<ItpRefutation> createPredTraceChecker() {
+		final ExprTraceChecker<ItpRefutation> exprTraceChecker;
+		switch (refinement) {
+			case FW_BIN_ITP:
+				exprTraceChecker = ExprTraceFwBinItpChecker.create(True(), True(), refinementSolverFactory.createItpSolver());
+				break;
+			case BW_BIN_ITP:
+				exprTraceChecker = ExprTraceBwBinItpChecker.create(True(), True(), refinementSolverFactory.createItpSolver());
+				break;
+			case SEQ_ITP:
+				exprTraceChecker = ExprTraceSeqItpChecker.create(True(), True(), refinementSolverFactory.createItpSolver());
+				break;
+			case UCB:
+				exprTraceChecker = ExprTraceUCBChecker.create(True(), True(), refinementSolverFactory.createUCSolver());
+				break;
+			case NWT_SP:
+				exprTraceChecker = ExprTraceNewtonChecker.create(True(), True(), refinementSolverFactory.createUCSolver()).withoutIT().withSP().withoutLV();
+				break;
+			case NWT_WP:
+				exprTraceChecker = ExprTraceNewtonChecker.create(True(), True(), refinementSolverFactory.createUCSolver()).withoutIT().withWP().withoutLV();
+				break;
+			case NWT_SP_LV:
+				exprTraceChecker = ExprTraceNewtonChecker.create(True(), True(), refinementSolverFactory.createUCSolver()).withoutIT().withSP().withLV();
+				break;
+			case NWT_WP_LV:
+				exprTraceChecker = ExprTraceNewtonChecker.create(True(), True(), refinementSolverFactory.createUCSolver()).withoutIT().withWP().withLV();
+				break;
+			case NWT_IT_SP:
+				exprTraceChecker = ExprTraceNewtonChecker.create(True(), True(), refinementSolverFactory.createUCSolver()).withIT().withSP().withoutLV();
+				break;
+			case NWT_IT_WP:
+				exprTraceChecker = ExprTraceNewtonChecker.create(True(), True(), refinementSolverFactory.createUCSolver()).withIT().withWP().withoutLV();
+				break;
+			case NWT_IT_SP_LV:
+				exprTraceChecker = ExprTraceNewtonChecker.create(True(), True(), refinementSolverFactory.createUCSolver()).withIT().withSP().withLV();
+				break;
+			case NWT_IT_WP_LV:
+				exprTraceChecker = ExprTraceNewtonChecker.create(True(), True(), refinementSolverFactory.createUCSolver()).withIT().withWP().withLV();
+				break;
+			default:
+				throw new UnsupportedOperationException(
+						domain + " domain does not support " + refinement + " refinement.");
+		}
+		return exprTraceChecker;
+	}
 
+	private <S extends ExprState, P extends Prec> Abstractor<CfaState<S>, CfaAction, CfaPrec<P>> createAbstractor(
+			final Supplier<ArgBuilder<CfaState<S>, CfaAction, CfaPrec<P>>> argBuilderFactory,
+			final CFA cfa, final CFA.Loc errLoc) {
+		if (abstractionThreads > 1) {
+			return ParallelAbstractor.builder(argBuilderFactory).workers(abstractionThreads)
+					.projection(CfaState::getLoc)
+					.waitlist(PriorityWaitlist.create(search.getComp(cfa, errLoc)))
+					.stopCriterion(refinement == Refinement.MULTI_SEQ ? StopCriterions.fullExploration()
+							: StopCriterions.firstCex()).logger(logger).build();
 		} else {
-			throw new UnsupportedOperationException(domain + " domain is not supported.");
+			return BasicAbstractor.builder(argBuilderFactory.get()).projection(CfaState::getLoc)
+					.waitlist(PriorityWaitlist.create(search.getComp(cfa, errLoc)))
+					.stopCriterion(refinement == Refinement.MULTI_SEQ ? StopCriterions.fullExploration()
+							: StopCriterions.firstCex()).logger(logger).build();
 		}
 	}
 
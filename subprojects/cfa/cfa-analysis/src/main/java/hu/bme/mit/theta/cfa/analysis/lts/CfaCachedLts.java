@@ -22,8 +22,9 @@ public final class CfaCachedLts implements CfaLts {
 		this.actionCache = Containers.createMap();
 	}
 
+	// Synchronized, as the LTS is shared among parallel abstractor workers
 	@Override
-	public Collection<CfaAction> getEnabledActionsFor(final CfaState<?> state) {
+	public synchronized Collection<CfaAction> getEnabledActionsFor(final CfaState<?> state) {
 		final Loc loc = state.getLoc();
 		if (!actionCache.containsKey(loc)) {
 			actionCache.put(loc, lts.getEnabledActionsFor(state));
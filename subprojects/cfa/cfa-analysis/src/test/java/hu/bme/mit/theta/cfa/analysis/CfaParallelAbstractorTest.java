@@ -0,0 +1,88 @@
+/*
+ *  Copyright 2022 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.cfa.analysis;
+
+import hu.bme.mit.theta.analysis.Action;
+import hu.bme.mit.theta.analysis.Prec;
+import hu.bme.mit.theta.analysis.State;
+import hu.bme.mit.theta.analysis.algorithm.SafetyResult;
+import hu.bme.mit.theta.cfa.CFA;
+import hu.bme.mit.theta.cfa.analysis.config.CfaConfig;
+import hu.bme.mit.theta.cfa.analysis.config.CfaConfigBuilder;
+import hu.bme.mit.theta.cfa.dsl.CfaDslManager;
+import hu.bme.mit.theta.solver.z3.Z3SolverFactory;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.io.FileInputStream;
+import java.util.Arrays;
+import java.util.Collection;
+
+import static hu.bme.mit.theta.cfa.analysis.config.CfaConfigBuilder.Domain.EXPL;
+import static hu.bme.mit.theta.cfa.analysis.config.CfaConfigBuilder.Domain.PRED_BOOL;
+import static hu.bme.mit.theta.cfa.analysis.config.CfaConfigBuilder.Domain.PRED_CART;
+import static hu.bme.mit.theta.cfa.analysis.config.CfaConfigBuilder.Refinement.BW_BIN_ITP;
+import static hu.bme.mit.theta.cfa.analysis.config.CfaConfigBuilder.Refinement.MULTI_SEQ;
+import static hu.bme.mit.theta.cfa.analysis.config.CfaConfigBuilder.Refinement.SEQ_ITP;
+
+@RunWith(value = Parameterized.class)
+public class CfaParallelAbstractorTest {
+	@Parameterized.Parameter(value = 0)
+	public String filePath;
+
+	@Parameterized.Parameter(value = 1)
+	public CfaConfigBuilder.Domain domain;
+
+	@Parameterized.Parameter(value = 2)
+	public CfaConfigBuilder.Refinement refinement;
+
+	@Parameterized.Parameter(value = 3)
+	public boolean isSafe;
+
+	@Parameterized.Parameters(name = "{index}: {0}, {1}, {2}, {3}")
+	public static Collection<Object[]> data() {
+		return Arrays.asList(new Object[][] {
+
+				{ "src/test/resources/arithmetic-bool00.cfa", PRED_CART, SEQ_ITP, false },
+
+				{ "src/test/resources/arithmetic-int.cfa", PRED_BOOL, BW_BIN_ITP, false },
+
+				{ "src/test/resources/arithmetic-mod.cfa", EXPL, BW_BIN_ITP, true },
+
+				{ "src/test/resources/counter5_true.cfa", PRED_CART, MULTI_SEQ, true },
+
+				{ "src/test/resources/counter5_true.cfa", EXPL, SEQ_ITP, true },
+
+				{ "src/test/resources/locking.cfa", PRED_CART, SEQ_ITP, true },
+
+		});
+	}
+
+	@Test
+	public void test() throws Exception {
+		final CFA cfa = CfaDslManager.createCfa(new FileInputStream(filePath));
+		for (final int threads : new int[] { 1, 2, 4 }) {
+			final CfaConfig<? extends State, ? extends Action, ? extends Prec> config
+					= new CfaConfigBuilder(domain, refinement, Z3SolverFactory.getInstance())
+					.abstractionThreads(threads).build(cfa, cfa.getErrorLoc().get());
+			final SafetyResult<? extends State, ? extends Action> result = config.check();
+			Assert.assertEquals("Verdict with " + threads + " threads", isSafe, result.isSafe());
+		}
+	}
+
+}
@@ -42,6 +42,7 @@ import java.util.Arrays;
 import java.util.Collection;
 
 import static hu.bme.mit.theta.cfa.analysis.config.CfaConfigBuilder.Domain.EXPL;
+import static hu.bme.mit.theta.cfa.analysis.config.CfaConfigBuilder.Domain.PRED_BDD;
 import static hu.bme.mit.theta.cfa.analysis.config.CfaConfigBuilder.Domain.PRED_BOOL;
 import static hu.bme.mit.theta.cfa.analysis.config.CfaConfigBuilder.Domain.PRED_CART;
 import static hu.bme.mit.theta.cfa.analysis.config.CfaConfigBuilder.Refinement.BW_BIN_ITP;
@@ -79,6 +80,8 @@ public class CfaTest {
 
 				{ "src/test/resources/arithmetic-bool00.cfa", EXPL, SEQ_ITP, false, 15, "Z3" },
 
+				{ "src/test/resources/arithmetic-bool00.cfa", PRED_BDD, SEQ_ITP, false, 15, "Z3" },
+
 				{ "src/test/resources/arithmetic-bool01.cfa", PRED_CART, SEQ_ITP, false, 15, "Z3" },
 
 				{ "src/test/resources/arithmetic-bool01.cfa", PRED_BOOL, BW_BIN_ITP, false, 15, "Z3" },
@@ -103,10 +106,14 @@ public class CfaTest {
 
 				{ "src/test/resources/arithmetic-int.cfa",  EXPL, SEQ_ITP, false, 13, "Z3" },
 
+				{ "src/test/resources/arithmetic-int.cfa", PRED_BDD, BW_BIN_ITP, false, 13, "Z3" },
+
 				{ "src/test/resources/arithmetic-mod.cfa",  PRED_CART, SEQ_ITP, true, 0, "Z3" },
 
 				{ "src/test/resources/arithmetic-mod.cfa",  EXPL, BW_BIN_ITP, true, 0, "Z3" },
 
+				{ "src/test/resources/arithmetic-mod.cfa", PRED_BDD, SEQ_ITP, true, 0, "Z3" },
+
 				{ "src/test/resources/arrays.cfa", PRED_CART, SEQ_ITP, false, 8, "Z3" },
 
 				{ "src/test/resources/arrays.cfa", PRED_BOOL, BW_BIN_ITP, false, 8, "Z3" },
@@ -121,6 +128,8 @@ public class CfaTest {
 
 				{ "src/test/resources/counter5_true.cfa", EXPL, SEQ_ITP, true, 0, "Z3" },
 
+				{ "src/test/resources/counter5_true.cfa", PRED_BDD, SEQ_ITP, true, 0, "Z3" },
+
 				{ "src/test/resources/counter_bv_true.cfa", EXPL, NWT_IT_WP, true, 0, "Z3" },
 
 				{ "src/test/resources/counter_bv_false.cfa", EXPL, NWT_IT_WP, false, 13, "Z3" },
@@ -145,8 +154,12 @@ public class CfaTest {
 
 				{ "src/test/resources/ifelse.cfa", EXPL, SEQ_ITP, false, 3, "Z3" },
 
+				{ "src/test/resources/ifelse.cfa", PRED_BDD, BW_BIN_ITP, false, 3, "Z3" },
+
 				{ "src/test/resources/locking.cfa", PRED_CART, SEQ_ITP, true, 0, "Z3" },
 
+				{ "src/test/resources/locking.cfa", PRED_BDD, SEQ_ITP, true, 0, "Z3" },
+
 		});
 	}
 
@@ -7,6 +7,8 @@ import hu.bme.mit.theta.cfa.analysis.lts.CfaLbeLts;
 import hu.bme.mit.theta.cfa.analysis.lts.CfaLts;
 import hu.bme.mit.theta.cfa.analysis.lts.CfaSbeLts;
 import hu.bme.mit.theta.cfa.dsl.CfaDslManager;
+import hu.bme.mit.theta.cfa.utils.CfaBlockEncoder;
+import hu.bme.mit.theta.core.stmt.NonDetStmt;
 import hu.bme.mit.theta.core.type.Expr;
 import hu.bme.mit.theta.core.type.booltype.BoolType;
 import org.junit.Assert;
@@ -95,4 +97,38 @@ public class EncodingTest {
 		Assert.assertEquals(ImmutableSet.of("L7"), getNextLocs(lts, "L6"));
 		Assert.assertEquals(ImmutableSet.of(), getNextLocs(lts, "L7"));
 	}
+
+	@Test
+	public void testAbe() {
+		cfa = CfaBlockEncoder.create(0).encode(cfa, getLocByName("L7"));
+		CfaSbeLts lts = CfaSbeLts.getInstance();
+		Assert.assertEquals(ImmutableSet.of("L0", "L1", "L7"), getLocNames());
+		Assert.assertEquals(ImmutableSet.of("L1"), getNextLocs(lts, "L0"));
+		Assert.assertEquals(ImmutableSet.of("L1", "L7"), getNextLocs(lts, "L1"));
+		Assert.assertEquals(ImmutableSet.of(), getNextLocs(lts, "L7"));
+		Assert.assertEquals("L7", cfa.getErrorLoc().get().getName());
+		for (CFA.Edge edge : getLocByName("L1").getOutEdges()) {
+			if (edge.getTarget().getName().equals("L1")) {
+				Assert.assertTrue(edge.getStmt() instanceof NonDetStmt);
+			}
+		}
+	}
+
+	@Test
+	public void testAbeMaxBlockSize() {
+		cfa = CfaBlockEncoder.create(2).encode(cfa, getLocByName("L7"));
+		CfaSbeLts lts = CfaSbeLts.getInstance();
+		Assert.assertEquals(ImmutableSet.of("L0", "L1", "L4", "L7"), getLocNames());
+		Assert.assertEquals(ImmutableSet.of("L1"), getNextLocs(lts, "L0"));
+		Assert.assertEquals(ImmutableSet.of("L4"), getNextLocs(lts, "L1"));
+		Assert.assertEquals(ImmutableSet.of("L1", "L7"), getNextLocs(lts, "L4"));
+	}
+
+	private Set<String> getLocNames() {
+		Set<String> locs = Containers.createSet();
+		for (CFA.Loc loc : cfa.getLocs()) {
+			locs.add(loc.getName());
+		}
+		return locs;
+	}
 }
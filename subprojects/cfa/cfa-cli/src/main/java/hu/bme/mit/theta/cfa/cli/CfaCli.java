@@ -51,12 +51,14 @@ import hu.bme.mit.theta.cfa.analysis.config.CfaConfigBuilder.Refinement;
 import hu.bme.mit.theta.cfa.analysis.config.CfaConfigBuilder.Search;
 import hu.bme.mit.theta.cfa.analysis.utils.CfaVisualizer;
 import hu.bme.mit.theta.cfa.dsl.CfaDslManager;
+import hu.bme.mit.theta.cfa.utils.CfaBlockEncoder;
 import hu.bme.mit.theta.common.CliUtils;
 import hu.bme.mit.theta.common.OsHelper;
 import hu.bme.mit.theta.common.logging.ConsoleLogger;
 import hu.bme.mit.theta.common.logging.Logger;
 import hu.bme.mit.theta.common.logging.Logger.Level;
 import hu.bme.mit.theta.common.logging.NullLogger;
+import hu.bme.mit.theta.common.metrics.Metrics;
 import hu.bme.mit.theta.common.table.BasicTableWriter;
 import hu.bme.mit.theta.common.table.TableWriter;
 import hu.bme.mit.theta.common.visualization.Graph;
@@ -113,6 +115,12 @@ public class CfaCli {
 	@Parameter(names = "--encoding", description = "Block encoding")
 	Encoding encoding = Encoding.LBE;
 
+	@Parameter(names = "--block-encoding", description = "Merge the loop-free regions of the CFA into single edges before the analysis (adjustable block encoding)")
+	Boolean blockEncoding = false;
+
+	@Parameter(names = "--max-block-size", description = "Maximal total number of edges on the paths into a block location with --block-encoding (0: unlimited)")
+	Integer maxBlockSize = 0;
+
 	@Parameter(names = "--maxenum", description = "Maximal number of explicitly enumerated successors (0: unlimited)")
 	Integer maxEnum = 10;
 
@@ -122,6 +130,12 @@ public class CfaCli {
 	@Parameter(names = "--prunestrategy", description = "Strategy for pruning the ARG after refinement")
 	PruneStrategy pruneStrategy = PruneStrategy.LAZY;
 
+	@Parameter(names = "--abstraction-threads", description = "Number of threads computing successors during abstraction (1: sequential)")
+	Integer abstractionThreads = 1;
+
+	@Parameter(names = "--refinement-threads", description = "Number of threads checking counterexamples during MULTI_SEQ refinement (1: sequential)")
+	Integer refinementThreads = 1;
+
 	@Parameter(names = "--loglevel", description = "Detailedness of logging")
 	Logger.Level logLevel = Level.SUBSTEP;
 
@@ -131,6 +145,9 @@ public class CfaCli {
 	@Parameter(names = "--cex", description = "Write concrete counterexample to a file")
 	String cexfile = null;
 
+	@Parameter(names = "--stats", description = "Write performance statistics (counters, timers, histograms) of the run to a JSON file")
+	String statsfile = null;
+
 	@Parameter(names = "--header", description = "Print only a header (for benchmarks)", help = true)
 	boolean headerOnly = false;
 
@@ -188,7 +205,7 @@ public class CfaCli {
 			}
 
 			final Stopwatch sw = Stopwatch.createStarted();
-			final CFA cfa = loadModel();
+			CFA cfa = loadModel();
 
 			if (visualize != null) {
 				final Graph graph = CfaVisualizer.visualize(cfa);
@@ -216,6 +233,11 @@ public class CfaCli {
 			}
 			checkNotNull(errLoc, "Error location must be specified in CFA or as argument");
 
+			if (blockEncoding) {
+				cfa = CfaBlockEncoder.create(maxBlockSize).encode(cfa, errLoc);
+				errLoc = cfa.getErrorLoc().get();
+			}
+
 			final SolverFactory abstractionSolverFactory;
 			if(abstractionSolver != null) {
 				abstractionSolverFactory = SolverManager.resolveSolverFactory(abstractionSolver);
@@ -234,9 +256,15 @@ public class CfaCli {
 			}
 
 			final CfaConfig<?, ?, ?> configuration = buildConfiguration(cfa, errLoc, abstractionSolverFactory, refinementSolverFactory);
+			if (statsfile != null) {
+				Metrics.setCurrent(Metrics.create());
+			}
 			final SafetyResult<?, ?> status = check(configuration);
 			sw.stop();
 			printResult(status, sw.elapsed(TimeUnit.MILLISECONDS));
+			if (statsfile != null) {
+				Metrics.current().writeJson(Path.of(statsfile));
+			}
 			if (status.isUnsafe() && cexfile != null) {
 				writeCex(status.asUnsafe());
 			}
@@ -267,7 +295,8 @@ public class CfaCli {
 			return new CfaConfigBuilder(domain, refinement, abstractionSolverFactory, refinementSolverFactory)
 					.precGranularity(precGranularity).search(search)
 					.predSplit(predSplit).encoding(encoding).maxEnum(maxEnum).initPrec(initPrec)
-					.pruneStrategy(pruneStrategy).logger(logger).build(cfa, errLoc);
+					.pruneStrategy(pruneStrategy).abstractionThreads(abstractionThreads)
+					.refinementThreads(refinementThreads).logger(logger).build(cfa, errLoc);
 		} catch (final Exception ex) {
 			throw new Exception("Could not create configuration: " + ex.getMessage(), ex);
 		}
@@ -0,0 +1,270 @@
+/*
+ *  Copyright 2022 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.cfa.utils;
+
+import com.google.common.math.LongMath;
+import hu.bme.mit.theta.cfa.CFA;
+import hu.bme.mit.theta.cfa.CFA.Edge;
+import hu.bme.mit.theta.cfa.CFA.Loc;
+import hu.bme.mit.theta.core.stmt.NonDetStmt;
+import hu.bme.mit.theta.core.stmt.SequenceStmt;
+import hu.bme.mit.theta.core.stmt.SkipStmt;
+import hu.bme.mit.theta.core.stmt.Stmt;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Adjustable block encoding of CFAs. The resulting CFA only keeps the block boundaries
+ * (the initial, final and target locations, and the loop heads) as locations, and the
+ * loop-free regions between them are merged into single edges: the paths from a boundary
+ * to another one are combined into a nondeterministic choice of sequences. Abstraction
+ * is therefore only performed at the block boundaries.
+ * <p>
+ * As the paths of a region are enumerated, the size of the blocks can be limited: if the
+ * paths leading to a location from the start of its block have more edges in total than
+ * the given threshold, the location also becomes a block boundary.
+ * <p>
+ * Paths that do not lead to a block boundary (i.e., end in a location without outgoing
+ * edges) and the outgoing edges of the target location are dropped, as they do not
+ * influence the reachability of the target location.
+ */
+public final class CfaBlockEncoder {
+
+	// 0 means arbitrarily large
+	private final int maxBlockSize;
+
+	private CfaBlockEncoder(final int maxBlockSize) {
+		this.maxBlockSize = maxBlockSize;
+	}
+
+	public static CfaBlockEncoder create(final int maxBlockSize) {
+		checkArgument(maxBlockSize >= 0, "Max. block size must be non-negative.");
+		return new CfaBlockEncoder(maxBlockSize);
+	}
+
+	/**
+	 * Create the block encoded CFA, in which (the copy of) the given target location is the
+	 * error location. Locations of the result have the names of the original locations.
+	 */
+	public CFA encode(final CFA cfa, final Loc targetLoc) {
+		checkNotNull(cfa);
+		checkArgument(cfa.getLocs().contains(targetLoc), "Target location not present in CFA.");
+
+		final Set<Loc> boundaries = getLoopHeads(cfa, targetLoc);
+		boundaries.add(cfa.getInitLoc());
+		cfa.getFinalLoc().ifPresent(boundaries::add);
+		boundaries.add(targetLoc);
+
+		if (maxBlockSize > 0) {
+			final Deque<Loc> queue = new ArrayDeque<>(boundaries);
+			while (!queue.isEmpty()) {
+				final Loc start = queue.poll();
+				if (!start.equals(targetLoc)) {
+					queue.addAll(split(start, boundaries));
+				}
+			}
+		}
+
+		final CFA.Builder builder = CFA.builder();
+		final Map<Loc, Loc> locs = new HashMap<>();
+		for (final Loc loc : boundaries) {
+			locs.put(loc, builder.createLoc(loc.getName()));
+		}
+		for (final Loc start : boundaries) {
+			if (!start.equals(targetLoc)) {
+				for (final Map.Entry<Loc, Stmt> block : getBlocks(start, boundaries).entrySet()) {
+					builder.createEdge(locs.get(start), locs.get(block.getKey()), block.getValue());
+				}
+			}
+		}
+
+		builder.setInitLoc(locs.get(cfa.getInitLoc()));
+		if (cfa.getFinalLoc().isPresent() && !cfa.getFinalLoc().get().equals(targetLoc)) {
+			builder.setFinalLoc(locs.get(cfa.getFinalLoc().get()));
+		}
+		builder.setErrorLoc(locs.get(targetLoc));
+		return builder.build();
+	}
+
+	/**
+	 * Get the targets of the back edges of a depth-first search from the initial location.
+	 * Every cycle that is reachable from the initial location contains such a location.
+	 */
+	private static Set<Loc> getLoopHeads(final CFA cfa, final Loc targetLoc) {
+		final Set<Loc> loopHeads = new LinkedHashSet<>();
+		final Set<Loc> visited = new HashSet<>();
+		final Set<Loc> onStack = new HashSet<>();
+		final Deque<Iterator<Edge>> stack = new ArrayDeque<>();
+		final Deque<Loc> locStack = new ArrayDeque<>();
+
+		visited.add(cfa.getInitLoc());
+		onStack.add(cfa.getInitLoc());
+		locStack.push(cfa.getInitLoc());
+		stack.push(cfa.getInitLoc().getOutEdges().iterator());
+		while (!stack.isEmpty()) {
+			if (stack.peek().hasNext()) {
+				final Loc target = stack.peek().next().getTarget();
+				if (onStack.contains(target)) {
+					loopHeads.add(target);
+				} else if (visited.add(target)) {
+					onStack.add(target);
+					locStack.push(target);
+					stack.push(target.equals(targetLoc) ? Collections.emptyIterator() : target.getOutEdges().iterator());
+				}
+			} else {
+				stack.pop();
+				onStack.remove(locStack.pop());
+			}
+		}
+		return loopHeads;
+	}
+
+	/**
+	 * Get the locations of the region starting from a block boundary in post-order (the
+	 * start location being the last), i.e., every location precedes its predecessors. The
+	 * region is acyclic, as every cycle contains a block boundary.
+	 */
+	private static List<Loc> getRegion(final Loc start, final Set<Loc> boundaries) {
+		final List<Loc> postOrder = new ArrayList<>();
+		final Set<Loc> visited = new HashSet<>();
+		final Deque<Iterator<Edge>> stack = new ArrayDeque<>();
+		final Deque<Loc> locStack = new ArrayDeque<>();
+
+		visited.add(start);
+		locStack.push(start);
+		stack.push(start.getOutEdges().iterator());
+		while (!stack.isEmpty()) {
+			if (stack.peek().hasNext()) {
+				final Loc target = stack.peek().next().getTarget();
+				if (!boundaries.contains(target) && visited.add(target)) {
+					locStack.push(target);
+					stack.push(target.getOutEdges().iterator());
+				}
+			} else {
+				stack.pop();
+				postOrder.add(locStack.pop());
+			}
+		}
+		return postOrder;
+	}
+
+	/**
+	 * Make the locations of the region of a block boundary block boundaries if the paths
+	 * leading to them are too large, and return these new boundaries. As new boundaries
+	 * only make the other blocks smaller, the regions processed earlier remain within
+	 * the limit.
+	 */
+	private List<Loc> split(final Loc start, final Set<Loc> boundaries) {
+		final List<Loc> region = getRegion(start, boundaries);
+		final List<Loc> newBoundaries = new ArrayList<>();
+		// Number of paths and total number of edges of the paths from the start
+		final Map<Loc, Long> paths = new HashMap<>();
+		final Map<Loc, Long> sizes = new HashMap<>();
+		paths.put(start, 1L);
+		sizes.put(start, 0L);
+
+		for (int i = region.size() - 2; i >= 0; i--) {
+			final Loc loc = region.get(i);
+			long locPaths = 0;
+			long locSize = 0;
+			for (final Edge inEdge : loc.getInEdges()) {
+				final Long sourcePaths = paths.get(inEdge.getSource());
+				if (sourcePaths != null) {
+					locPaths = LongMath.saturatedAdd(locPaths, sourcePaths);
+					locSize = LongMath.saturatedAdd(locSize,
+							LongMath.saturatedAdd(sizes.get(inEdge.getSource()), sourcePaths));
+				}
+			}
+			if (locPaths == 0) {
+				// Only reachable through a new boundary
+				continue;
+			}
+			if (locSize > maxBlockSize) {
+				boundaries.add(loc);
+				newBoundaries.add(loc);
+			} else {
+				paths.put(loc, locPaths);
+				sizes.put(loc, locSize);
+			}
+		}
+		return newBoundaries;
+	}
+
+	/**
+	 * Get the statements of the blocks starting from a block boundary, by the boundaries
+	 * where they end. The suffixes of the paths are computed backwards, so common suffixes
+	 * are shared.
+	 */
+	private static Map<Loc, Stmt> getBlocks(final Loc start, final Set<Loc> boundaries) {
+		final Map<Loc, Map<Loc, Stmt>> suffixes = new HashMap<>();
+		for (final Loc loc : getRegion(start, boundaries)) {
+			final Map<Loc, List<Stmt>> branches = new LinkedHashMap<>();
+			for (final Edge outEdge : loc.getOutEdges()) {
+				final Loc target = outEdge.getTarget();
+				if (boundaries.contains(target)) {
+					branches.computeIfAbsent(target, t -> new ArrayList<>()).add(outEdge.getStmt());
+				} else {
+					for (final Map.Entry<Loc, Stmt> suffix : suffixes.get(target).entrySet()) {
+						branches.computeIfAbsent(suffix.getKey(), t -> new ArrayList<>())
+								.add(sequence(outEdge.getStmt(), suffix.getValue()));
+					}
+				}
+			}
+			final Map<Loc, Stmt> locSuffixes = new LinkedHashMap<>();
+			for (final Map.Entry<Loc, List<Stmt>> branch : branches.entrySet()) {
+				final List<Stmt> stmts = branch.getValue();
+				locSuffixes.put(branch.getKey(), stmts.size() == 1 ? stmts.get(0) : NonDetStmt.of(stmts));
+			}
+			suffixes.put(loc, locSuffixes);
+		}
+		return suffixes.get(start);
+	}
+
+	private static Stmt sequence(final Stmt first, final Stmt second) {
+		if (first instanceof SkipStmt) {
+			return second;
+		} else if (second instanceof SkipStmt) {
+			return first;
+		}
+		final List<Stmt> stmts = new ArrayList<>();
+		addToSequence(first, stmts);
+		addToSequence(second, stmts);
+		return SequenceStmt.of(stmts);
+	}
+
+	private static void addToSequence(final Stmt stmt, final List<Stmt> stmts) {
+		if (stmt instanceof SequenceStmt) {
+			stmts.addAll(((SequenceStmt) stmt).getStmts());
+		} else {
+			stmts.add(stmt);
+		}
+	}
+
+}
@@ -1,5 +1,6 @@
 plugins {
     id("java-common")
+    id("jmh-benchmark")
 }
 
 dependencies {
@@ -0,0 +1,173 @@
+/*
+ *  Copyright 2022 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.zone;
+
+import hu.bme.mit.theta.core.clock.constr.ClockConstr;
+import hu.bme.mit.theta.core.decl.VarDecl;
+import hu.bme.mit.theta.core.type.rattype.RatType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static hu.bme.mit.theta.core.clock.constr.ClockConstrs.Geq;
+import static hu.bme.mit.theta.core.clock.constr.ClockConstrs.Leq;
+import static hu.bme.mit.theta.core.clock.constr.ClockConstrs.Lt;
+import static hu.bme.mit.theta.core.decl.Decls.Var;
+import static hu.bme.mit.theta.core.type.rattype.RatExprs.Rat;
+
+/**
+ * Zone operations on random zones, in the way the timed automata analyses use them: the zone
+ * of the successor is a copy of the zone of the parent, on which a single operation is
+ * executed. The zones are generated by a random sequence of delays, guards and resets over
+ * the given number of clocks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DbmBenchmark {
+
+	private static final int ZONES = 64;
+	private static final int MAX_CONSTANT = 20;
+
+	@Param({"5", "15", "30"})
+	public int clocks;
+
+	private List<VarDecl<RatType>> vars;
+	private List<DBM> zones;
+	private List<ClockConstr> guards;
+	private Map<VarDecl<RatType>, Integer> ceilings;
+
+	@Setup
+	public void setup() {
+		final Random random = new Random(0);
+		vars = new ArrayList<>();
+		ceilings = new HashMap<>();
+		for (int i = 0; i < clocks; i++) {
+			final VarDecl<RatType> var = Var("c" + i, Rat());
+			vars.add(var);
+			ceilings.put(var, MAX_CONSTANT);
+		}
+
+		zones = new ArrayList<>();
+		guards = new ArrayList<>();
+		while (zones.size() < ZONES) {
+			final DBM dbm = DBM.zero(vars);
+			for (int step = 0; step < 3 * clocks && dbm.isConsistent(); step++) {
+				dbm.up();
+				dbm.and(randomGuard(random));
+				dbm.reset(randomVar(random), 0);
+			}
+			if (dbm.isConsistent()) {
+				zones.add(dbm);
+				guards.add(randomGuard(random));
+			}
+		}
+	}
+
+	private VarDecl<RatType> randomVar(final Random random) {
+		return vars.get(random.nextInt(vars.size()));
+	}
+
+	private ClockConstr randomGuard(final Random random) {
+		final int bound = random.nextInt(MAX_CONSTANT);
+		switch (random.nextInt(3)) {
+			case 0:
+				return Leq(randomVar(random), bound);
+			case 1:
+				return Geq(randomVar(random), bound);
+			default:
+				return Lt(randomVar(random), randomVar(random), bound - MAX_CONSTANT / 2);
+		}
+	}
+
+	@Benchmark
+	public void copy(final Blackhole blackhole) {
+		for (final DBM zone : zones) {
+			blackhole.consume(DBM.copyOf(zone));
+		}
+	}
+
+	@Benchmark
+	public void up(final Blackhole blackhole) {
+		for (final DBM zone : zones) {
+			final DBM succ = DBM.copyOf(zone);
+			succ.up();
+			blackhole.consume(succ);
+		}
+	}
+
+	@Benchmark
+	public void and(final Blackhole blackhole) {
+		for (int i = 0; i < zones.size(); i++) {
+			final DBM succ = DBM.copyOf(zones.get(i));
+			succ.and(guards.get(i));
+			blackhole.consume(succ);
+		}
+	}
+
+	@Benchmark
+	public void reset(final Blackhole blackhole) {
+		for (int i = 0; i < zones.size(); i++) {
+			final DBM succ = DBM.copyOf(zones.get(i));
+			succ.reset(vars.get(i % clocks), 0);
+			blackhole.consume(succ);
+		}
+	}
+
+	@Benchmark
+	public void isLeq(final Blackhole blackhole) {
+		for (int i = 0; i < zones.size(); i++) {
+			blackhole.consume(zones.get(i).isLeq(zones.get((i + 1) % zones.size())));
+		}
+	}
+
+	@Benchmark
+	public void isLeqCopy(final Blackhole blackhole) {
+		for (final DBM zone : zones) {
+			blackhole.consume(DBM.copyOf(zone).isLeq(zone));
+		}
+	}
+
+	@Benchmark
+	public void norm(final Blackhole blackhole) {
+		for (final DBM zone : zones) {
+			final DBM succ = DBM.copyOf(zone);
+			succ.up();
+			succ.norm(ceilings);
+			blackhole.consume(succ);
+		}
+	}
+
+}
@@ -21,8 +21,10 @@ import hu.bme.mit.theta.analysis.State;
 import hu.bme.mit.theta.common.container.Containers;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.OptionalInt;
+import java.util.Set;
 import java.util.stream.Stream;
 
 import static com.google.common.base.Preconditions.checkArgument;
@@ -37,12 +39,22 @@ import static java.util.stream.Collectors.toList;
 public final class ARG<S extends State, A extends Action> {
 
 	private final Collection<ArgNode<S, A>> initNodes;
+	// Indexes maintained incrementally, see updateIndexes
+	private final Set<ArgNode<S, A>> nodes;
+	private final Set<ArgNode<S, A>> unsafeNodes;
+	private final Set<ArgNode<S, A>> incompleteNodes;
+	// Maintained incrementally on node creation, covering and pruning, see getFingerprint
+	private long fingerprint;
 	boolean initialized; // Set by ArgBuilder
 	private int nextId = 0;
 	final PartialOrd<S> partialOrd;
 
 	private ARG(final PartialOrd<S> partialOrd) {
 		initNodes = Containers.createSet();
+		nodes = Containers.createSet();
+		unsafeNodes = Containers.createSet();
+		incompleteNodes = Containers.createSet();
+		fingerprint = 0;
 		this.partialOrd = partialOrd;
 		this.initialized = false;
 	}
@@ -62,15 +74,21 @@ public final class ARG<S extends State, A extends Action> {
 	}
 
 	public Stream<ArgNode<S, A>> getNodes() {
-		return getInitNodes().flatMap(ArgNode::descendants);
+		return nodes.stream();
 	}
 
+	/**
+	 * Gets the target nodes that are not excluded.
+	 */
 	public Stream<ArgNode<S, A>> getUnsafeNodes() {
-		return getInitNodes().flatMap(ArgNode::unexcludedDescendants).filter(ArgNode::isTarget);
+		return unsafeNodes.stream();
 	}
 
+	/**
+	 * Gets the nodes that are neither expanded, nor excluded.
+	 */
 	public Stream<ArgNode<S, A>> getIncompleteNodes() {
-		return getInitNodes().flatMap(ArgNode::unexcludedDescendants).filter(n -> !n.isExpanded());
+		return incompleteNodes.stream();
 	}
 
 	////
@@ -80,14 +98,14 @@ public final class ARG<S extends State, A extends Action> {
 	 * its nodes are complete.
 	 */
 	public boolean isComplete() {
-		return isInitialized() && getNodes().allMatch(ArgNode::isComplete);
+		return isInitialized() && incompleteNodes.isEmpty();
 	}
 
 	/**
 	 * Checks if the ARG is safe, i.e., whether all of its nodes are safe.
 	 */
 	public boolean isSafe() {
-		return getNodes().allMatch(ArgNode::isSafe);
+		return unsafeNodes.isEmpty();
 	}
 
 	/**
@@ -98,12 +116,23 @@ public final class ARG<S extends State, A extends Action> {
 		return initialized;
 	}
 
+	/**
+	 * Gets a fingerprint of the ARG, i.e., a hash of the states and incoming edges
+	 * of its nodes and of its covering edges, which does not depend on the order in
+	 * which the nodes were created. ARGs with the same structure have the same
+	 * fingerprint. It is maintained incrementally, so it takes constant time.
+	 */
+	public long getFingerprint() {
+		return fingerprint;
+	}
+
 	////
 
 	public ArgNode<S, A> createInitNode(final S initState, final boolean target) {
 		checkNotNull(initState);
 		final ArgNode<S, A> initNode = createNode(initState, 0, target);
 		initNodes.add(initNode);
+		addNode(initNode);
 		return initNode;
 	}
 
@@ -116,6 +145,7 @@ public final class ARG<S extends State, A extends Action> {
 		checkArgument(!node.isTarget(), "Node is target");
 		final ArgNode<S, A> succNode = createNode(succState, node.getDepth() + 1, target);
 		createEdge(node, action, succNode);
+		addNode(succNode);
 		return succNode;
 	}
 
@@ -125,6 +155,68 @@ public final class ARG<S extends State, A extends Action> {
 		return node;
 	}
 
+	private void addNode(final ArgNode<S, A> node) {
+		node.excluded = node.isSubsumed() || node.getParent().map(ArgNode::isExcluded).orElse(false);
+		nodes.add(node);
+		node.fingerprint = fingerprintOf(node);
+		fingerprint += node.fingerprint;
+		updateIndexes(node);
+	}
+
+	/**
+	 * Updates the fingerprint after the state of a node has changed. Nodes that
+	 * were pruned are ignored.
+	 */
+	void updateFingerprint(final ArgNode<S, A> node) {
+		if (!nodes.contains(node)) {
+			return;
+		}
+		fingerprint -= node.fingerprint;
+		node.fingerprint = fingerprintOf(node);
+		fingerprint += node.fingerprint;
+	}
+
+	/**
+	 * Updates the fingerprint after a covering edge was added (positive delta) or
+	 * removed (negative delta).
+	 */
+	void addToFingerprint(final long delta) {
+		fingerprint += delta;
+	}
+
+	private static long fingerprintOf(final ArgNode<?, ?> node) {
+		final int inEdgeHash = node.getInEdge().map(ArgEdge::hashCode).orElse(0);
+		return mix(31L * node.getState().hashCode() + inEdgeHash);
+	}
+
+	static long mix(final long value) {
+		// Finalizer of MurmurHash3, so that the sum of the fingerprints is well distributed
+		long h = value;
+		h = (h ^ (h >>> 33)) * 0xff51afd7ed558ccdL;
+		h = (h ^ (h >>> 33)) * 0xc4ceb9fe1a85ec53L;
+		return h ^ (h >>> 33);
+	}
+
+	/**
+	 * Updates the indexes after the excluded or expanded status of a node
+	 * has changed. Nodes that were pruned are ignored.
+	 */
+	void updateIndexes(final ArgNode<S, A> node) {
+		if (!nodes.contains(node)) {
+			return;
+		}
+		if (node.isTarget() && !node.isExcluded()) {
+			unsafeNodes.add(node);
+		} else {
+			unsafeNodes.remove(node);
+		}
+		if (!node.isExpanded() && !node.isExcluded()) {
+			incompleteNodes.add(node);
+		} else {
+			incompleteNodes.remove(node);
+		}
+	}
+
 	private ArgEdge<S, A> createEdge(final ArgNode<S, A> source, final A action, final ArgNode<S, A> target) {
 		final ArgEdge<S, A> edge = new ArgEdge<>(source, action, target);
 		source.outEdges.add(edge);
@@ -138,18 +230,26 @@ public final class ARG<S extends State, A extends Action> {
 	public void prune(final ArgNode<S, A> node) {
 		checkNotNull(node);
 		checkArgument(node.arg == this, "Node does not belong to this ARG");
+		final List<ArgNode<S, A>> prunedNodes = node.descendants().collect(toList());
+		for (final ArgNode<S, A> prunedNode : prunedNodes) {
+			if (nodes.remove(prunedNode)) {
+				fingerprint -= prunedNode.fingerprint;
+			}
+			unsafeNodes.remove(prunedNode);
+			incompleteNodes.remove(prunedNode);
+		}
 		if (node.getInEdge().isPresent()) {
 			final ArgEdge<S, A> edge = node.getInEdge().get();
 			final ArgNode<S, A> parent = edge.getSource();
 			parent.outEdges.remove(edge);
-			parent.expanded = false;
+			parent.setExpanded(false);
 		} else {
 			assert initNodes.contains(node);
 			initNodes.remove(node);
 			this.initialized = false;
 		}
-		node.descendants().forEach(ArgNode::unsetCoveringNode);
-		node.descendants().forEach(ArgNode::clearCoveredNodes);
+		prunedNodes.forEach(ArgNode::unsetCoveringNode);
+		prunedNodes.forEach(ArgNode::clearCoveredNodes);
 	}
 
 	/**
@@ -157,6 +257,10 @@ public final class ARG<S extends State, A extends Action> {
 	 */
 	public void pruneAll() {
 		initNodes.clear();
+		nodes.clear();
+		unsafeNodes.clear();
+		incompleteNodes.clear();
+		fingerprint = 0;
 		this.initialized = false;
 	}
 
@@ -186,7 +290,7 @@ public final class ARG<S extends State, A extends Action> {
 	 * Gets the size of the ARG, i.e., the number of nodes.
 	 */
 	public long size() {
-		return getNodes().count();
+		return nodes.size();
 	}
 
 	/**
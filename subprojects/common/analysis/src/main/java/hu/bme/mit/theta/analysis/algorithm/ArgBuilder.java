@@ -28,6 +28,9 @@ import hu.bme.mit.theta.analysis.LTS;
 import hu.bme.mit.theta.analysis.Prec;
 import hu.bme.mit.theta.analysis.State;
 import hu.bme.mit.theta.analysis.TransFunc;
+import hu.bme.mit.theta.common.Tuple2;
+import hu.bme.mit.theta.common.metrics.Metrics;
+import hu.bme.mit.theta.common.metrics.Timer;
 
 /**
  * Helper class for building the ARG with a given analysis and precision.
@@ -86,29 +89,67 @@ public final class ArgBuilder<S extends State, A extends Action, P extends Prec>
 	}
 
 	public Collection<ArgNode<S, A>> expand(final ArgNode<S, A> node, final P prec) {
+		return applyExpansion(node, computeExpansion(node, prec));
+	}
+
+	/**
+	 * Computes the successors of a node that are not covered by an existing or
+	 * another new sibling (with the same action), without modifying the ARG.
+	 * The result can be added to the ARG later with
+	 * {@link #applyExpansion(ArgNode, Collection)}, possibly by a different
+	 * builder of the same ARG.
+	 */
+	public Collection<Tuple2<A, S>> computeExpansion(final ArgNode<S, A> node, final P prec) {
 		checkNotNull(node);
 		checkNotNull(prec);
 
-		final Collection<ArgNode<S, A>> newSuccNodes = new ArrayList<>();
-		final S state = node.getState();
-		final Collection<? extends A> actions = lts.getEnabledActionsFor(state);
-		final TransFunc<S, ? super A, ? super P> transFunc = analysis.getTransFunc();
-		for (final A action : actions) {
-			final Collection<? extends S> succStates = transFunc.getSuccStates(state, action, prec);
-			for (final S succState : succStates) {
-				if (excludeBottom && succState.isBottom()) {
-					continue;
-				}
-				// Only add state if there is no covering sibling (with the same action)
-				if (node.getSuccNodes().noneMatch(n -> n.getInEdge().get().getAction().equals(action) &&
-						analysis.getPartialOrd().isLeq(succState, n.getState()))) {
-					final boolean isTarget = target.test(succState);
-					final ArgNode<S, A> newNode = node.arg.createSuccNode(node, action, succState, isTarget);
-					newSuccNodes.add(newNode);
+		final Metrics metrics = Metrics.current();
+		final Timer timer = metrics.timer("arg.expand");
+		final long start = timer.start();
+		final Collection<Tuple2<A, S>> newSuccs = new ArrayList<>();
+		try {
+			final S state = node.getState();
+			final Collection<? extends A> actions = lts.getEnabledActionsFor(state);
+			final TransFunc<S, ? super A, ? super P> transFunc = analysis.getTransFunc();
+			for (final A action : actions) {
+				final Collection<? extends S> succStates = transFunc.getSuccStates(state, action, prec);
+				for (final S succState : succStates) {
+					if (excludeBottom && succState.isBottom()) {
+						continue;
+					}
+					// Only add state if there is no covering sibling (with the same action)
+					if (node.getSuccNodes().noneMatch(n -> n.getInEdge().get().getAction().equals(action) &&
+							analysis.getPartialOrd().isLeq(succState, n.getState())) &&
+							newSuccs.stream().noneMatch(t -> t.get1().equals(action) &&
+									analysis.getPartialOrd().isLeq(succState, t.get2()))) {
+						newSuccs.add(Tuple2.of(action, succState));
+					}
 				}
 			}
+		} finally {
+			timer.stop(start);
+		}
+		metrics.histogram("arg.successors").record(newSuccs.size());
+
+		return newSuccs;
+	}
+
+	/**
+	 * Adds successors computed by {@link #computeExpansion(ArgNode, Prec)}
+	 * to the ARG and marks the node as expanded.
+	 */
+	public Collection<ArgNode<S, A>> applyExpansion(final ArgNode<S, A> node, final Collection<Tuple2<A, S>> succs) {
+		checkNotNull(node);
+		checkNotNull(succs);
+
+		final Collection<ArgNode<S, A>> newSuccNodes = new ArrayList<>();
+		for (final Tuple2<A, S> succ : succs) {
+			final boolean isTarget = target.test(succ.get2());
+			final ArgNode<S, A> newNode = node.arg.createSuccNode(node, succ.get1(), succ.get2(), isTarget);
+			newSuccNodes.add(newNode);
 		}
-		node.expanded = true;
+		node.setExpanded(true);
+		Metrics.current().counter("arg.nodes").add(newSuccNodes.size());
 
 		return newSuccNodes;
 	}
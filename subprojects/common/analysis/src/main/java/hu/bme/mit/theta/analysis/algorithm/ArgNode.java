@@ -18,8 +18,10 @@ package hu.bme.mit.theta.analysis.algorithm;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Deque;
 import hu.bme.mit.theta.common.container.Containers;
 import java.util.Optional;
 import java.util.stream.Stream;
@@ -48,6 +50,9 @@ public final class ArgNode<S extends State, A extends Action> {
 	final Collection<ArgNode<S, A>> coveredNodes;
 
 	boolean expanded; // Set by ArgBuilder
+	long fingerprint; // Set by ARG
+	private long coverFingerprint;
+	boolean excluded; // Set by ARG, maintained by updateExcluded
 
 	ArgNode(final ARG<S, A> arg, final S state, final int id, final int depth, final boolean target) {
 		this.arg = arg;
@@ -60,6 +65,7 @@ public final class ArgNode<S extends State, A extends Action> {
 		coveringNode = Optional.empty();
 		coveredNodes = Containers.createSet();
 		expanded = false;
+		excluded = false;
 	}
 
 	////
@@ -82,7 +88,12 @@ public final class ArgNode<S extends State, A extends Action> {
 
 	public void setState(final S state) {
 		checkNotNull(state);
+		final boolean wasFeasible = isFeasible();
 		this.state = state;
+		arg.updateFingerprint(this);
+		if (wasFeasible != isFeasible()) {
+			updateExcluded();
+		}
 	}
 
 	public boolean mayCover(final ArgNode<S, A> node) {
@@ -99,18 +110,28 @@ public final class ArgNode<S extends State, A extends Action> {
 		unsetCoveringNode();
 		coveringNode = Optional.of(node);
 		node.coveredNodes.add(this);
+		coverFingerprint = ARG.mix(31 * this.fingerprint + node.fingerprint);
+		arg.addToFingerprint(coverFingerprint);
+		updateExcluded();
 	}
 
 	public void unsetCoveringNode() {
 		if (coveringNode.isPresent()) {
 			coveringNode.get().coveredNodes.remove(this);
 			coveringNode = Optional.empty();
+			arg.addToFingerprint(-coverFingerprint);
+			updateExcluded();
 		}
 	}
 
 	public void clearCoveredNodes() {
-		coveredNodes.forEach(n -> n.coveringNode = Optional.empty());
+		final Collection<ArgNode<S, A>> oldCoveredNodes = new ArrayList<>(coveredNodes);
 		coveredNodes.clear();
+		for (final ArgNode<S, A> coveredNode : oldCoveredNodes) {
+			coveredNode.coveringNode = Optional.empty();
+			arg.addToFingerprint(-coveredNode.coverFingerprint);
+			coveredNode.updateExcluded();
+		}
 	}
 
 	public void cover(final ArgNode<S, A> node) {
@@ -183,7 +204,7 @@ public final class ArgNode<S extends State, A extends Action> {
 	 * excluded parent.
 	 */
 	public boolean isExcluded() {
-		return ancestors().anyMatch(ArgNode::isSubsumed);
+		return excluded;
 	}
 
 	/**
@@ -222,6 +243,31 @@ public final class ArgNode<S extends State, A extends Action> {
 		return isExpanded() || isExcluded();
 	}
 
+	void setExpanded(final boolean expanded) {
+		if (this.expanded != expanded) {
+			this.expanded = expanded;
+			arg.updateIndexes(this);
+		}
+	}
+
+	/**
+	 * Recomputes the excluded flag of the node after its subsumption changed,
+	 * and propagates the change to its descendants.
+	 */
+	private void updateExcluded() {
+		final Deque<ArgNode<S, A>> nodesToUpdate = new ArrayDeque<>();
+		nodesToUpdate.push(this);
+		while (!nodesToUpdate.isEmpty()) {
+			final ArgNode<S, A> node = nodesToUpdate.pop();
+			final boolean newExcluded = node.isSubsumed() || node.getParent().map(ArgNode::isExcluded).orElse(false);
+			if (node.excluded != newExcluded) {
+				node.excluded = newExcluded;
+				arg.updateIndexes(node);
+				node.children().forEach(nodesToUpdate::push);
+			}
+		}
+	}
+
 	////
 
 	public Stream<ArgNode<S, A>> properAncestors() {
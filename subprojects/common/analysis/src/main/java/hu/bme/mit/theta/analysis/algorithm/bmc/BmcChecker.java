@@ -16,10 +16,11 @@
 
 package hu.bme.mit.theta.analysis.algorithm.bmc;
 
-import com.google.common.collect.Lists;
+import com.google.common.collect.ImmutableList;
 import hu.bme.mit.theta.analysis.InitFunc;
 import hu.bme.mit.theta.analysis.LTS;
 import hu.bme.mit.theta.analysis.Prec;
+import hu.bme.mit.theta.analysis.Trace;
 import hu.bme.mit.theta.analysis.TransFunc;
 import hu.bme.mit.theta.analysis.algorithm.ARG;
 import hu.bme.mit.theta.analysis.algorithm.SafetyChecker;
@@ -28,17 +29,48 @@ import hu.bme.mit.theta.analysis.expr.ExprState;
 import hu.bme.mit.theta.analysis.expr.StmtAction;
 import hu.bme.mit.theta.common.Utils;
 import hu.bme.mit.theta.common.logging.Logger;
+import hu.bme.mit.theta.core.decl.ConstDecl;
+import hu.bme.mit.theta.core.decl.VarDecl;
+import hu.bme.mit.theta.core.model.Valuation;
+import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.booltype.BoolType;
+import hu.bme.mit.theta.core.type.inttype.IntLitExpr;
+import hu.bme.mit.theta.core.type.inttype.IntType;
+import hu.bme.mit.theta.core.utils.PathUtils;
+import hu.bme.mit.theta.core.utils.StmtUtils;
+import hu.bme.mit.theta.core.utils.indexings.VarIndexing;
 import hu.bme.mit.theta.solver.Solver;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.LinkedList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
 
-import static com.google.common.base.Preconditions.checkState;
+import static hu.bme.mit.theta.core.decl.Decls.Const;
+import static hu.bme.mit.theta.core.type.abstracttype.AbstractExprs.Eq;
+import static hu.bme.mit.theta.core.type.booltype.SmartBoolExprs.And;
+import static hu.bme.mit.theta.core.type.booltype.SmartBoolExprs.Imply;
+import static hu.bme.mit.theta.core.type.booltype.SmartBoolExprs.Or;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Geq;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Int;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Lt;
+import static hu.bme.mit.theta.core.utils.indexings.VarIndexingFactory.indexing;
 
+/**
+ * Symbolic bounded model checker. The abstract states reachable in a given number of steps
+ * (using the transfer function and the precision) are only used as locations: each state
+ * gets an identifier, and the steps of the paths are encoded into the solver as a
+ * disjunction over the transitions between the states of consecutive depths. The location
+ * and the chosen transition of each depth is represented by an integer constant, and the
+ * variables are unfolded with a common indexing per depth. The solver is extended by one
+ * step per depth, and the unsafe states of a depth are checked under an assumption, so the
+ * number of solver calls is linear in the bound instead of the number of paths. The
+ * counterexample is reconstructed from the model.
+ */
 public class BmcChecker<S extends ExprState, A extends StmtAction, P extends Prec> implements SafetyChecker<S, A, P> {
 	private final LTS<S, A> lts;
 	private final InitFunc<S, P> initFunc;
@@ -47,7 +79,7 @@ public class BmcChecker<S extends ExprState, A extends StmtAction, P extends Pre
 	private final Solver solver;
 	private final int upperBound;
 	private final Logger logger;
-	private final boolean onlyFeasible; // only keep feasible traces (i.e. test in each iteration)
+	private final boolean onlyFeasible; // check if the unrolling is still feasible in each iteration
 
 	private BmcChecker(final LTS<S, A> lts,
 					   final InitFunc<S, P> initFunc,
@@ -66,6 +98,12 @@ public class BmcChecker<S extends ExprState, A extends StmtAction, P extends Pre
 		this.onlyFeasible = onlyFeasible;
 	}
 
+	/**
+	 * Create a checker with the given bound (negative for no bound). If onlyFeasible is set,
+	 * the satisfiability of the unrolling is checked in each iteration, so safety is also
+	 * proven if there are no feasible paths of the current length (even if there are
+	 * abstract states).
+	 */
 	public static <S extends ExprState, A extends StmtAction, P extends Prec> BmcChecker<S, A, P> create(final LTS<S, A> lts,
 																										 final InitFunc<S, P> initFunc,
 																										 final TransFunc<S, A, P> transFunc,
@@ -90,85 +128,193 @@ public class BmcChecker<S extends ExprState, A extends StmtAction, P extends Pre
 	@Override
 	public SafetyResult<S, A> check(P prec) {
 		logger.write(Logger.Level.INFO, "Configuration: %s%n", this);
-		final Collection<? extends S> initStates = initFunc.getInitStates(prec);
-		final List<BmcTrace<S, A>> traces = initStates.stream().map(s -> BmcTrace.of(List.<S>of(s), List.<A>of())).collect(Collectors.toCollection(LinkedList::new));
-		int currentBound = 0;
-		SafetyResult<S, A> bmcresult = null;
-		outerloop:
-		while ((upperBound < 0 || currentBound < upperBound) && traces.size() > 0) {
-			currentBound++;
-			logger.write(Logger.Level.MAINSTEP, "Iteration %d%n", currentBound);
-			logger.write(Logger.Level.MAINSTEP, "| Current traces: %d%n", traces.size());
-			logger.write(Logger.Level.MAINSTEP, "| Expanding traces...%n");
-			int size = traces.size();
-			final List<Integer> toRemove = new ArrayList<>();
-			for (int i = 0; i < size; i++) {
-				BmcTrace<S, A> t = traces.get(i);
-				checkState(t.length() == currentBound - 1, "Trace " + t + " not well formatted");
-				final S lastState = t.getLastState();
-				final Collection<A> actions = lts.getEnabledActionsFor(lastState);
-				int actionCnt = 0;
-				int addCount = 0;
-				for (A a : actions) {
-					actionCnt++;
-					final Collection<? extends S> states = transFunc.getSuccStates(lastState, a, prec);
-					int stateCnt = 0;
-					for (S succState : states) {
-						stateCnt++;
-						final BmcTrace<S, A> trace;
-						final int idx;
-						addCount++;
-						if (actions.size() == actionCnt && states.size() == stateCnt) {
-							trace = t.addState(succState, a);
-							idx = i;
-						} else {
-							trace = t.copy().addState(succState, a);
-							idx = traces.size();
-							traces.add(trace);
-						}
-						if (onlyFeasible) {
-							final boolean feasible = trace.isFeasible(solver);
-							if (feasible) {
-								final boolean unsafe = unsafePredicate.test(succState);
-								if (unsafe) {
-									bmcresult = SafetyResult.unsafe(trace.toImmutableTrace(), ARG.create((state1, state2) -> false)); // TODO: this is only a placeholder, we don't give back an ARG
-									break outerloop;
-								}
-							} else {
-								addCount--;
-								traces.remove(idx);
-								if (idx <= i) {
-									size--;
-									i--;
-								}
-							}
-						} else {
-							if (unsafePredicate.test(succState) && trace.isFeasible(solver)) {
-								bmcresult = SafetyResult.unsafe(trace.toImmutableTrace(), ARG.create((state1, state2) -> false)); // TODO: this is only a placeholder, we don't give back an ARG
-								break outerloop;
-							}
+		final SafetyResult<S, A> bmcresult;
+		solver.push();
+		try {
+			bmcresult = new Unrolling(prec).check();
+		} finally {
+			solver.pop();
+		}
+		logger.write(Logger.Level.RESULT, "%s%n", bmcresult);
+		return bmcresult;
+	}
+
+	@Override
+	public String toString() {
+		return Utils.lispStringBuilder(getClass().getSimpleName()).add(upperBound).add(lts).add(initFunc).toString();
+	}
+
+	private static final class Transition<S, A> {
+		private final S source;
+		private final A action;
+		private final S target;
+
+		private Transition(final S source, final A action, final S target) {
+			this.source = source;
+			this.action = action;
+			this.target = target;
+		}
+	}
+
+	/**
+	 * State of a single check: the identifiers of the abstract states, the constants and
+	 * transitions of each depth, and the indexing of the current depth.
+	 */
+	private final class Unrolling {
+		private final P prec;
+		private final Map<S, Integer> ids = new HashMap<>();
+		private final List<S> states = new ArrayList<>();
+		private final List<ConstDecl<IntType>> locs = new ArrayList<>();
+		private final List<ConstDecl<IntType>> choices = new ArrayList<>();
+		private final List<List<Transition<S, A>>> transitions = new ArrayList<>();
+		private final Map<A, Set<VarDecl<?>>> actionVars = new HashMap<>();
+		private VarIndexing indexing = indexing(0);
+
+		private Unrolling(final P prec) {
+			this.prec = prec;
+		}
+
+		private SafetyResult<S, A> check() {
+			Collection<S> layer = new LinkedHashSet<>();
+			for (final S initState : initFunc.getInitStates(prec)) {
+				if (!initState.isBottom()) {
+					layer.add(initState);
+				}
+			}
+			final ConstDecl<IntType> initLoc = addLoc();
+			solver.add(Or(layer.stream().map(s -> atLoc(initLoc, s)).toList()));
+			addStateExprs(initLoc, layer, indexing);
+
+			for (int depth = 0; ; depth++) {
+				logger.write(Logger.Level.MAINSTEP, "Iteration %d%n", depth);
+				logger.write(Logger.Level.MAINSTEP, "| Current states: %d%n", layer.size());
+
+				final List<S> unsafeStates = layer.stream().filter(unsafePredicate).toList();
+				if (!unsafeStates.isEmpty()) {
+					final ConstDecl<IntType> loc = locs.get(depth);
+					final Expr<BoolType> unsafe = Or(unsafeStates.stream().map(s -> atLoc(loc, s)).toList());
+					if (solver.check(ImmutableList.of(unsafe)).isSat()) {
+						return SafetyResult.unsafe(extractTrace(solver.getModel(), depth), ARG.create((state1, state2) -> false)); // TODO: this is only a placeholder, we don't give back an ARG
+					}
+					layer.removeAll(unsafeStates);
+				}
+
+				if (upperBound >= 0 && depth >= upperBound) {
+					logger.write(Logger.Level.MAINSTEP, "| Bound %d reached%n", upperBound);
+					break;
+				}
+
+				logger.write(Logger.Level.MAINSTEP, "| Unrolling...%n");
+				layer = unroll(layer, depth);
+				if (layer.isEmpty()) {
+					break;
+				}
+				if (onlyFeasible && solver.check().isUnsat()) {
+					logger.write(Logger.Level.MAINSTEP, "| No feasible paths of length %d%n", depth + 1);
+					break;
+				}
+			}
+			return SafetyResult.safe(ARG.create((state1, state2) -> false)); // TODO: this is only a placeholder, we don't give back an ARG
+		}
+
+		/**
+		 * Add the transitions from the states of the given depth to the solver, and return the
+		 * states of the next depth.
+		 */
+		private Collection<S> unroll(final Collection<S> layer, final int depth) {
+			final List<Transition<S, A>> stepTransitions = new ArrayList<>();
+			final Collection<S> nextLayer = new LinkedHashSet<>();
+			final Set<VarDecl<?>> stepVars = new LinkedHashSet<>();
+			VarIndexing width = indexing(0);
+			for (final S state : layer) {
+				for (final A action : lts.getEnabledActionsFor(state)) {
+					boolean enabled = false;
+					for (final S succState : transFunc.getSuccStates(state, action, prec)) {
+						if (!succState.isBottom()) {
+							stepTransitions.add(new Transition<>(state, action, succState));
+							nextLayer.add(succState);
+							enabled = true;
 						}
 					}
+					if (enabled) {
+						width = width.join(action.nextIndexing());
+						stepVars.addAll(actionVars.computeIfAbsent(action, a -> StmtUtils.getVars(a.getStmts())));
+					}
 				}
-				if (addCount == 0) {
-					traces.remove(i);
-					size--;
-					i--;
+			}
+
+			// All actions of a step must reach the same indexing, so the variables that an action
+			// assigns fewer times than the others are kept unchanged up to the next indexing
+			final VarIndexing nextIndexing = indexing.add(width);
+			final ConstDecl<IntType> loc = locs.get(depth);
+			final ConstDecl<IntType> nextLoc = addLoc();
+			final ConstDecl<IntType> choice = Const("__bmc_choice_" + depth, Int());
+			final List<Expr<BoolType>> exprs = new ArrayList<>();
+			exprs.add(Geq(choice.getRef(), Int(0)));
+			exprs.add(Lt(choice.getRef(), Int(stepTransitions.size())));
+			for (int i = 0; i < stepTransitions.size(); i++) {
+				final Transition<S, A> transition = stepTransitions.get(i);
+				final List<Expr<BoolType>> ops = new ArrayList<>();
+				ops.add(atLoc(loc, transition.source));
+				ops.add(atLoc(nextLoc, transition.target));
+				ops.add(PathUtils.unfold(transition.action.toExpr(), indexing));
+				final VarIndexing actionIndexing = transition.action.nextIndexing();
+				for (final VarDecl<?> var : stepVars) {
+					final int assigned = actionIndexing.get(var);
+					if (assigned < width.get(var)) {
+						ops.add(Eq(var.getConstDecl(indexing.get(var) + assigned).getRef(),
+								var.getConstDecl(nextIndexing.get(var)).getRef()));
+					}
 				}
+				exprs.add(Imply(Eq(choice.getRef(), Int(i)), And(ops)));
 			}
-			for (int idx : Lists.reverse(toRemove)) {
-				traces.remove(idx);
+			solver.add(exprs);
+			addStateExprs(nextLoc, nextLayer, nextIndexing);
+
+			choices.add(choice);
+			transitions.add(stepTransitions);
+			indexing = nextIndexing;
+			return nextLayer;
+		}
+
+		private ConstDecl<IntType> addLoc() {
+			final ConstDecl<IntType> loc = Const("__bmc_loc_" + locs.size(), Int());
+			locs.add(loc);
+			return loc;
+		}
+
+		/**
+		 * Add the expressions of the states of a layer, unfolded over the indexing of that layer.
+		 */
+		private void addStateExprs(final ConstDecl<IntType> loc, final Collection<S> layer, final VarIndexing layerIndexing) {
+			for (final S state : layer) {
+				solver.add(Imply(atLoc(loc, state), PathUtils.unfold(state.toExpr(), layerIndexing)));
 			}
 		}
-		if (bmcresult == null) {
-			bmcresult = SafetyResult.safe(ARG.create((state1, state2) -> false)); // TODO: this is only a placeholder, we don't give back an ARG
+
+		private Expr<BoolType> atLoc(final ConstDecl<IntType> loc, final S state) {
+			final Integer id = ids.computeIfAbsent(state, s -> {
+				states.add(s);
+				return states.size() - 1;
+			});
+			return Eq(loc.getRef(), Int(id));
 		}
-		logger.write(Logger.Level.RESULT, "%s%n", bmcresult);
-		return bmcresult;
-	}
 
-	@Override
-	public String toString() {
-		return Utils.lispStringBuilder(getClass().getSimpleName()).add(upperBound).add(lts).add(initFunc).toString();
+		private Trace<S, A> extractTrace(final Valuation model, final int depth) {
+			final List<S> traceStates = new ArrayList<>();
+			final List<A> traceActions = new ArrayList<>();
+			for (int i = 0; i < depth; i++) {
+				final Transition<S, A> transition = transitions.get(i).get(eval(model, choices.get(i)));
+				traceStates.add(transition.source);
+				traceActions.add(transition.action);
+			}
+			traceStates.add(states.get(eval(model, locs.get(depth))));
+			return Trace.of(traceStates, traceActions);
+		}
+
+		private int eval(final Valuation model, final ConstDecl<IntType> decl) {
+			final IntLitExpr lit = (IntLitExpr) model.eval(decl).orElseThrow();
+			return lit.getValue().intValueExact();
+		}
 	}
 }
@@ -23,15 +23,17 @@ import hu.bme.mit.theta.analysis.algorithm.ArgBuilder;
 import hu.bme.mit.theta.analysis.algorithm.ArgNode;
 import hu.bme.mit.theta.analysis.algorithm.cegar.abstractor.StopCriterion;
 import hu.bme.mit.theta.analysis.algorithm.cegar.abstractor.StopCriterions;
-import hu.bme.mit.theta.analysis.algorithm.runtimecheck.AbstractArg;
 import hu.bme.mit.theta.analysis.algorithm.runtimecheck.ArgCexCheckHandler;
 import hu.bme.mit.theta.analysis.reachedset.Partition;
 import hu.bme.mit.theta.analysis.waitlist.FifoWaitlist;
 import hu.bme.mit.theta.analysis.waitlist.Waitlist;
+import hu.bme.mit.theta.common.CancellationToken;
 import hu.bme.mit.theta.common.Utils;
 import hu.bme.mit.theta.common.logging.Logger;
 import hu.bme.mit.theta.common.logging.Logger.Level;
 import hu.bme.mit.theta.common.logging.NullLogger;
+import hu.bme.mit.theta.common.metrics.Counter;
+import hu.bme.mit.theta.common.metrics.Metrics;
 
 import java.util.Collection;
 import java.util.Collections;
@@ -87,7 +89,8 @@ public final class BasicAbstractor<S extends State, A extends Action, P extends
 		long startNodes = arg.getNodes().count();
 		long startIncompleteNodes = arg.getIncompleteNodes().count();
 
-		ArgCexCheckHandler.instance.setCurrentArg(new AbstractArg<S, A, P>(arg, prec));
+		final ArgCexCheckHandler<S, A> argCexCheckHandler = ArgCexCheckHandler.current();
+		argCexCheckHandler.setCurrentArg(arg, prec);
 		logger.write(Level.INFO, "|  |  Starting ARG: %d nodes, %d incomplete, %d unsafe%n", arg.getNodes().count(),
 				arg.getIncompleteNodes().count(), arg.getUnsafeNodes().count());
 		logger.write(Level.SUBSTEP, "|  |  Building ARG...");
@@ -98,8 +101,10 @@ public final class BasicAbstractor<S extends State, A extends Action, P extends
 		reachedSet.addAll(arg.getNodes());
 		waitlist.addAll(arg.getIncompleteNodes());
 
+		final CancellationToken cancellationToken = CancellationToken.current();
 		if (!stopCriterion.canStop(arg)) {
 			while (!waitlist.isEmpty()) {
+				cancellationToken.throwIfCancelled();
 				final ArgNode<S, A> node = waitlist.remove();
 
 				Collection<ArgNode<S, A>> newNodes = Collections.emptyList();
@@ -110,7 +115,7 @@ public final class BasicAbstractor<S extends State, A extends Action, P extends
 					waitlist.addAll(newNodes);
 				}
 
-				ArgCexCheckHandler.instance.setCurrentArg(new AbstractArg<S, A, P>(arg, prec));
+				argCexCheckHandler.setCurrentArg(arg, prec);
 				if (stopCriterion.canStop(arg, newNodes)) break;
 			}
 		}
@@ -133,9 +138,13 @@ public final class BasicAbstractor<S extends State, A extends Action, P extends
 		if (!node.isLeaf()) {
 			return;
 		}
+		final Metrics metrics = Metrics.current();
+		final Counter coverageChecks = metrics.counter("abstractor.coverageChecks");
 		for (final ArgNode<S, A> candidate : candidates) {
+			coverageChecks.increment();
 			if (candidate.mayCover(node)) {
 				node.cover(candidate);
+				metrics.counter("abstractor.coverings").increment();
 				return;
 			}
 		}
@@ -23,10 +23,13 @@ import hu.bme.mit.theta.analysis.algorithm.ARG;
 import hu.bme.mit.theta.analysis.algorithm.SafetyChecker;
 import hu.bme.mit.theta.analysis.algorithm.SafetyResult;
 import hu.bme.mit.theta.analysis.algorithm.runtimecheck.ArgCexCheckHandler;
+import hu.bme.mit.theta.common.CancellationToken;
 import hu.bme.mit.theta.common.Utils;
 import hu.bme.mit.theta.common.logging.Logger;
 import hu.bme.mit.theta.common.logging.Logger.Level;
 import hu.bme.mit.theta.common.logging.NullLogger;
+import hu.bme.mit.theta.common.metrics.Metrics;
+import hu.bme.mit.theta.common.metrics.Timer;
 
 import java.util.concurrent.TimeUnit;
 
@@ -43,26 +46,60 @@ public final class CegarChecker<S extends State, A extends Action, P extends Pre
 	private final Abstractor<S, A, P> abstractor;
 	private final Refiner<S, A, P> refiner;
 	private final Logger logger;
+	private final ArgCexCheckHandler<S, A> argCexCheckHandler;
 
-	private CegarChecker(final Abstractor<S, A, P> abstractor, final Refiner<S, A, P> refiner, final Logger logger) {
+	private CegarChecker(final Abstractor<S, A, P> abstractor, final Refiner<S, A, P> refiner, final Logger logger,
+						 final ArgCexCheckHandler<S, A> argCexCheckHandler) {
 		this.abstractor = checkNotNull(abstractor);
 		this.refiner = checkNotNull(refiner);
 		this.logger = checkNotNull(logger);
+		this.argCexCheckHandler = checkNotNull(argCexCheckHandler);
 	}
 
 	public static <S extends State, A extends Action, P extends Prec> CegarChecker<S, A, P> create(
 			final Abstractor<S, A, P> abstractor, final Refiner<S, A, P> refiner) {
-		return new CegarChecker<>(abstractor, refiner, NullLogger.getInstance());
+		return new CegarChecker<>(abstractor, refiner, NullLogger.getInstance(), ArgCexCheckHandler.disabled());
 	}
 
 	public static <S extends State, A extends Action, P extends Prec> CegarChecker<S, A, P> create(
 			final Abstractor<S, A, P> abstractor, final Refiner<S, A, P> refiner, final Logger logger) {
-		return new CegarChecker<>(abstractor, refiner, logger);
+		return new CegarChecker<>(abstractor, refiner, logger, ArgCexCheckHandler.disabled());
 	}
 
+	/**
+	 * Creates a CEGAR checker that stops with a {@link hu.bme.mit.theta.common.exception.NotSolvableException}
+	 * if it does not make any refinement progress, as checked by the given handler. The handler is owned by
+	 * the checker, so it should not be shared between checkers.
+	 */
+	public static <S extends State, A extends Action, P extends Prec> CegarChecker<S, A, P> create(
+			final Abstractor<S, A, P> abstractor, final Refiner<S, A, P> refiner, final Logger logger,
+			final ArgCexCheckHandler<S, A> argCexCheckHandler) {
+		return new CegarChecker<>(abstractor, refiner, logger, argCexCheckHandler);
+	}
+
+	/**
+	 * Runs the CEGAR loop. The loop can be cancelled through the {@link CancellationToken}
+	 * of the calling thread, in which case a {@link java.util.concurrent.CancellationException}
+	 * is thrown. The arg-cex check handler of the checker is bound to the calling thread
+	 * while the loop runs, so that the abstractor and the refiner can access it.
+	 */
 	@Override
 	public SafetyResult<S, A> check(final P initPrec) {
+		final ArgCexCheckHandler<?, ?> previousHandler = ArgCexCheckHandler.current();
+		ArgCexCheckHandler.setCurrent(argCexCheckHandler);
+		try {
+			return checkWithHandler(initPrec);
+		} finally {
+			ArgCexCheckHandler.setCurrent(previousHandler);
+		}
+	}
+
+	private SafetyResult<S, A> checkWithHandler(final P initPrec) {
 		logger.write(Level.INFO, "Configuration: %s%n", this);
+		final CancellationToken cancellationToken = CancellationToken.current();
+		final Metrics metrics = Metrics.current();
+		final Timer abstractionTimer = metrics.timer("cegar.abstraction");
+		final Timer refinementTimer = metrics.timer("cegar.refinement");
 		final Stopwatch stopwatch = Stopwatch.createStarted();
 		long abstractorTime = 0;
 		long refinerTime = 0;
@@ -72,22 +109,34 @@ public final class CegarChecker<S extends State, A extends Action, P extends Pre
 		P prec = initPrec;
 		int iteration = 0;
 		do {
+			cancellationToken.throwIfCancelled();
 			++iteration;
+			metrics.counter("cegar.iterations").increment();
 
 			logger.write(Level.MAINSTEP, "Iteration %d%n", iteration);
 			logger.write(Level.MAINSTEP, "| Checking abstraction...%n");
 			final long abstractorStartTime = stopwatch.elapsed(TimeUnit.MILLISECONDS);
-			abstractorResult = abstractor.check(arg, prec);
+			final long abstractionStart = abstractionTimer.start();
+			try {
+				abstractorResult = abstractor.check(arg, prec);
+			} finally {
+				abstractionTimer.stop(abstractionStart);
+			}
 			abstractorTime += stopwatch.elapsed(TimeUnit.MILLISECONDS) - abstractorStartTime;
 			logger.write(Level.MAINSTEP, "| Checking abstraction done, result: %s%n", abstractorResult);
 
 			if (abstractorResult.isUnsafe()) {
-				ArgCexCheckHandler.instance.checkAndStop(arg, prec);
+				argCexCheckHandler.checkAndStop(arg, prec);
 
 				P lastPrec = prec;
 				logger.write(Level.MAINSTEP, "| Refining abstraction...%n");
 				final long refinerStartTime = stopwatch.elapsed(TimeUnit.MILLISECONDS);
-				refinerResult = refiner.refine(arg, prec);
+				final long refinementStart = refinementTimer.start();
+				try {
+					refinerResult = refiner.refine(arg, prec);
+				} finally {
+					refinementTimer.stop(refinementStart);
+				}
 				refinerTime += stopwatch.elapsed(TimeUnit.MILLISECONDS) - refinerStartTime;
 				logger.write(Level.MAINSTEP, "Refining abstraction done, result: %s%n", refinerResult);
 
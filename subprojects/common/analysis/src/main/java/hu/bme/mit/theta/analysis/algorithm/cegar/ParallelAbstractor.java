@@ -0,0 +1,309 @@
+/*
+ *  Copyright 2022 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.algorithm.cegar;
+
+import hu.bme.mit.theta.analysis.Action;
+import hu.bme.mit.theta.analysis.Prec;
+import hu.bme.mit.theta.analysis.State;
+import hu.bme.mit.theta.analysis.algorithm.ARG;
+import hu.bme.mit.theta.analysis.algorithm.ArgBuilder;
+import hu.bme.mit.theta.analysis.algorithm.ArgNode;
+import hu.bme.mit.theta.analysis.algorithm.cegar.abstractor.StopCriterion;
+import hu.bme.mit.theta.analysis.algorithm.cegar.abstractor.StopCriterions;
+import hu.bme.mit.theta.analysis.algorithm.runtimecheck.ArgCexCheckHandler;
+import hu.bme.mit.theta.analysis.reachedset.Partition;
+import hu.bme.mit.theta.analysis.waitlist.FifoWaitlist;
+import hu.bme.mit.theta.analysis.waitlist.Waitlist;
+import hu.bme.mit.theta.common.CancellationToken;
+import hu.bme.mit.theta.common.Tuple2;
+import hu.bme.mit.theta.common.Utils;
+import hu.bme.mit.theta.common.logging.Logger;
+import hu.bme.mit.theta.common.logging.Logger.Level;
+import hu.bme.mit.theta.common.logging.NullLogger;
+import hu.bme.mit.theta.common.metrics.Counter;
+import hu.bme.mit.theta.common.metrics.Metrics;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * Abstractor that computes the successors of waitlist nodes on multiple worker
+ * threads. Each worker uses its own ArgBuilder (and thus its own analysis and
+ * solver), obtained from a factory. The ARG and the reached set are only
+ * modified by the calling thread: nodes are removed from the waitlist in
+ * batches, their successors are computed in parallel, and the results are
+ * closed and added to the ARG in the order of the waitlist. The safety verdict
+ * is the same as the one of {@link BasicAbstractor} with the same parameters.
+ * However, as successors are expanded in batches, the ARG (its shape and
+ * covering relation) and the counterexample found can differ with non-FIFO
+ * waitlists, and the successors of nodes that become covered in the meantime
+ * are computed in vain.
+ */
+public final class ParallelAbstractor<S extends State, A extends Action, P extends Prec> implements Abstractor<S, A, P> {
+
+	private final ArgBuilder<S, A, P> argBuilder;
+	private final Supplier<ArgBuilder<S, A, P>> argBuilderFactory;
+	private final int workers;
+	private final BlockingQueue<ArgBuilder<S, A, P>> workerArgBuilders;
+	private int createdWorkerArgBuilders;
+	private final Function<? super S, ?> projection;
+	private final Waitlist<ArgNode<S, A>> waitlist;
+	private final StopCriterion<S, A> stopCriterion;
+	private final Logger logger;
+
+	private ParallelAbstractor(final Supplier<ArgBuilder<S, A, P>> argBuilderFactory, final int workers,
+							   final Function<? super S, ?> projection, final Waitlist<ArgNode<S, A>> waitlist,
+							   final StopCriterion<S, A> stopCriterion, final Logger logger) {
+		checkArgument(workers > 0, "Number of workers must be positive");
+		this.argBuilderFactory = checkNotNull(argBuilderFactory);
+		this.argBuilder = checkNotNull(argBuilderFactory.get());
+		this.workers = workers;
+		this.workerArgBuilders = new LinkedBlockingQueue<>();
+		this.createdWorkerArgBuilders = 0;
+		this.projection = checkNotNull(projection);
+		this.waitlist = checkNotNull(waitlist);
+		this.stopCriterion = checkNotNull(stopCriterion);
+		this.logger = checkNotNull(logger);
+	}
+
+	/**
+	 * Creates a builder for the abstractor. The factory must return a new
+	 * ArgBuilder (with its own analysis and solver instances) on each call,
+	 * as the ArgBuilders are used concurrently by the workers.
+	 */
+	public static <S extends State, A extends Action, P extends Prec> Builder<S, A, P> builder(
+			final Supplier<ArgBuilder<S, A, P>> argBuilderFactory) {
+		return new Builder<>(argBuilderFactory);
+	}
+
+	@Override
+	public ARG<S, A> createArg() {
+		return argBuilder.createArg();
+	}
+
+	@Override
+	public AbstractorResult check(final ARG<S, A> arg, final P prec) {
+		checkNotNull(arg);
+		checkNotNull(prec);
+		logger.write(Level.DETAIL, "|  |  Precision: %s%n", prec);
+
+		if (!arg.isInitialized()) {
+			logger.write(Level.SUBSTEP, "|  |  (Re)initializing ARG...");
+			argBuilder.init(arg, prec);
+			logger.write(Level.SUBSTEP, "done%n");
+		}
+
+		assert arg.isInitialized();
+
+		final ArgCexCheckHandler<S, A> argCexCheckHandler = ArgCexCheckHandler.current();
+		argCexCheckHandler.setCurrentArg(arg, prec);
+		logger.write(Level.INFO, "|  |  Starting ARG: %d nodes, %d incomplete, %d unsafe%n", arg.getNodes().count(),
+				arg.getIncompleteNodes().count(), arg.getUnsafeNodes().count());
+		logger.write(Level.SUBSTEP, "|  |  Building ARG with %d workers...", workers);
+
+		final Partition<ArgNode<S, A>, ?> reachedSet = Partition.of(n -> projection.apply(n.getState()));
+		waitlist.clear();
+
+		reachedSet.addAll(arg.getNodes());
+		waitlist.addAll(arg.getIncompleteNodes());
+
+		// The workers inherit the cancellation token, as they are started by this thread
+		final CancellationToken cancellationToken = CancellationToken.current();
+		final ExecutorService executor = Executors.newFixedThreadPool(workers, r -> {
+			final Thread thread = new Thread(r, "abstractor-worker");
+			thread.setDaemon(true);
+			return thread;
+		});
+		final List<Future<Collection<Tuple2<A, S>>>> expansions = new ArrayList<>(workers);
+		try {
+			boolean stop = stopCriterion.canStop(arg);
+			while (!stop && !waitlist.isEmpty()) {
+				cancellationToken.throwIfCancelled();
+				final List<ArgNode<S, A>> batch = new ArrayList<>(workers);
+				while (!waitlist.isEmpty() && batch.size() < workers) {
+					batch.add(waitlist.remove());
+				}
+
+				expansions.clear();
+				for (final ArgNode<S, A> node : batch) {
+					if (!node.isSubsumed() && !node.isTarget()) {
+						expansions.add(executor.submit(() -> computeExpansion(node, prec)));
+					} else {
+						expansions.add(null);
+					}
+				}
+
+				for (int i = 0; i < batch.size(); i++) {
+					final ArgNode<S, A> node = batch.get(i);
+
+					Collection<ArgNode<S, A>> newNodes = Collections.emptyList();
+					close(node, reachedSet.get(node));
+					if (!node.isSubsumed() && !node.isTarget()) {
+						newNodes = argBuilder.applyExpansion(node, getExpansion(expansions.get(i)));
+						reachedSet.addAll(newNodes);
+						waitlist.addAll(newNodes);
+					}
+
+					argCexCheckHandler.setCurrentArg(arg, prec);
+					if (stopCriterion.canStop(arg, newNodes)) {
+						stop = true;
+						break;
+					}
+				}
+			}
+		} finally {
+			expansions.stream().filter(e -> e != null).forEach(e -> e.cancel(false));
+			executor.shutdown();
+		}
+
+		logger.write(Level.SUBSTEP, "done%n");
+		logger.write(Level.INFO, "|  |  Finished ARG: %d nodes, %d incomplete, %d unsafe%n", arg.getNodes().count(),
+				arg.getIncompleteNodes().count(), arg.getUnsafeNodes().count());
+
+		waitlist.clear(); // Optimization
+
+		if (arg.isSafe()) {
+			checkState(arg.isComplete(), "Returning incomplete ARG as safe");
+			return AbstractorResult.safe();
+		} else {
+			return AbstractorResult.unsafe();
+		}
+	}
+
+	private Collection<Tuple2<A, S>> computeExpansion(final ArgNode<S, A> node, final P prec) throws InterruptedException {
+		final ArgBuilder<S, A, P> workerArgBuilder = acquireWorkerArgBuilder();
+		try {
+			return workerArgBuilder.computeExpansion(node, prec);
+		} finally {
+			workerArgBuilders.add(workerArgBuilder);
+		}
+	}
+
+	private ArgBuilder<S, A, P> acquireWorkerArgBuilder() throws InterruptedException {
+		synchronized (workerArgBuilders) {
+			final ArgBuilder<S, A, P> workerArgBuilder = workerArgBuilders.poll();
+			if (workerArgBuilder != null) {
+				return workerArgBuilder;
+			} else if (createdWorkerArgBuilders < workers) {
+				createdWorkerArgBuilders++;
+				return checkNotNull(argBuilderFactory.get());
+			}
+		}
+		// Worker ArgBuilders of a previous, cancelled batch may still be in use
+		return workerArgBuilders.take();
+	}
+
+	private Collection<Tuple2<A, S>> getExpansion(final Future<Collection<Tuple2<A, S>>> expansion) {
+		try {
+			return expansion.get();
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for workers", e);
+		} catch (final ExecutionException e) {
+			final Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			} else if (cause instanceof Error) {
+				throw (Error) cause;
+			} else {
+				throw new IllegalStateException(cause);
+			}
+		}
+	}
+
+	private void close(final ArgNode<S, A> node, final Collection<ArgNode<S, A>> candidates) {
+		if (!node.isLeaf()) {
+			return;
+		}
+		final Metrics metrics = Metrics.current();
+		final Counter coverageChecks = metrics.counter("abstractor.coverageChecks");
+		for (final ArgNode<S, A> candidate : candidates) {
+			coverageChecks.increment();
+			if (candidate.mayCover(node)) {
+				node.cover(candidate);
+				metrics.counter("abstractor.coverings").increment();
+				return;
+			}
+		}
+	}
+
+	@Override
+	public String toString() {
+		return Utils.lispStringBuilder(getClass().getSimpleName()).add(workers).add(waitlist).toString();
+	}
+
+	public static final class Builder<S extends State, A extends Action, P extends Prec> {
+		private final Supplier<ArgBuilder<S, A, P>> argBuilderFactory;
+		private int workers;
+		private Function<? super S, ?> projection;
+		private Waitlist<ArgNode<S, A>> waitlist;
+		private StopCriterion<S, A> stopCriterion;
+		private Logger logger;
+
+		private Builder(final Supplier<ArgBuilder<S, A, P>> argBuilderFactory) {
+			this.argBuilderFactory = argBuilderFactory;
+			this.workers = Runtime.getRuntime().availableProcessors();
+			this.projection = s -> 0;
+			this.waitlist = FifoWaitlist.create();
+			this.stopCriterion = StopCriterions.firstCex();
+			this.logger = NullLogger.getInstance();
+		}
+
+		public Builder<S, A, P> workers(final int workers) {
+			this.workers = workers;
+			return this;
+		}
+
+		public Builder<S, A, P> projection(final Function<? super S, ?> projection) {
+			this.projection = projection;
+			return this;
+		}
+
+		public Builder<S, A, P> waitlist(final Waitlist<ArgNode<S, A>> waitlist) {
+			this.waitlist = waitlist;
+			return this;
+		}
+
+		public Builder<S, A, P> stopCriterion(final StopCriterion<S, A> stopCriterion) {
+			this.stopCriterion = stopCriterion;
+			return this;
+		}
+
+		public Builder<S, A, P> logger(final Logger logger) {
+			this.logger = logger;
+			return this;
+		}
+
+		public ParallelAbstractor<S, A, P> build() {
+			return new ParallelAbstractor<>(argBuilderFactory, workers, projection, waitlist, stopCriterion, logger);
+		}
+	}
+
+}
@@ -59,13 +59,13 @@ public final class StopCriterions {
 	private static final class FirstCex<S extends State, A extends Action> implements StopCriterion<S, A> {
 		@Override
 		public boolean canStop(final ARG<S, A> arg) {
-			return arg.getUnsafeNodes().findAny().isPresent() && arg.getCexs().anyMatch(cex -> ArgCexCheckHandler.instance.checkIfCounterexampleNew(cex));
+			return arg.getUnsafeNodes().findAny().isPresent() && arg.getCexs().anyMatch(cex -> ArgCexCheckHandler.<S, A>current().checkIfCounterexampleNew(cex));
 		}
 
 		@Override
 		public boolean canStop(ARG<S, A> arg, Collection<ArgNode<S, A>> newNodes) {
 			return (newNodes.stream().anyMatch(n -> n.isTarget() && !n.isExcluded())
-					&& arg.getCexs().anyMatch(cex -> ArgCexCheckHandler.instance.checkIfCounterexampleNew(cex)));
+					&& arg.getCexs().anyMatch(cex -> ArgCexCheckHandler.<S, A>current().checkIfCounterexampleNew(cex)));
 		}
 
 		@Override
@@ -103,8 +103,7 @@ public final class StopCriterions {
 
 		@Override
 		public boolean canStop(final ARG<S, A> arg) {
-			// TODO: this could be optimized: we don't need to count it,
-			// we just need to know if there are >= n elements
+			// Unsafe nodes are indexed by the ARG, counting them is cheap
 			return arg.getUnsafeNodes().count() >= n;
 		}
 
@@ -0,0 +1,394 @@
+/*
+ *  Copyright 2022 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.algorithm.ic3;
+
+import com.google.common.base.Stopwatch;
+import com.google.common.collect.ImmutableList;
+import hu.bme.mit.theta.analysis.Trace;
+import hu.bme.mit.theta.analysis.algorithm.ARG;
+import hu.bme.mit.theta.analysis.algorithm.SafetyChecker;
+import hu.bme.mit.theta.analysis.algorithm.SafetyResult;
+import hu.bme.mit.theta.analysis.expl.ExplState;
+import hu.bme.mit.theta.analysis.expr.ExprAction;
+import hu.bme.mit.theta.analysis.unit.UnitPrec;
+import hu.bme.mit.theta.common.CancellationToken;
+import hu.bme.mit.theta.common.Utils;
+import hu.bme.mit.theta.common.exception.NotSolvableException;
+import hu.bme.mit.theta.common.logging.Logger;
+import hu.bme.mit.theta.core.decl.Decl;
+import hu.bme.mit.theta.core.decl.VarDecl;
+import hu.bme.mit.theta.core.model.Valuation;
+import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.LitExpr;
+import hu.bme.mit.theta.core.type.booltype.BoolLitExpr;
+import hu.bme.mit.theta.core.type.booltype.BoolType;
+import hu.bme.mit.theta.core.utils.PathUtils;
+import hu.bme.mit.theta.core.utils.indexings.VarIndexing;
+import hu.bme.mit.theta.solver.Solver;
+import hu.bme.mit.theta.solver.SolverBase;
+import hu.bme.mit.theta.solver.SolverFactory;
+import hu.bme.mit.theta.solver.UCSolver;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+import static hu.bme.mit.theta.core.decl.Decls.Const;
+import static hu.bme.mit.theta.core.type.abstracttype.AbstractExprs.Eq;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Bool;
+import static hu.bme.mit.theta.core.type.booltype.SmartBoolExprs.And;
+import static hu.bme.mit.theta.core.type.booltype.SmartBoolExprs.Imply;
+import static hu.bme.mit.theta.core.type.booltype.SmartBoolExprs.Not;
+import static hu.bme.mit.theta.core.utils.indexings.VarIndexingFactory.indexing;
+
+/**
+ * IC3 (property-directed reachability) checker for systems given by an initial expression,
+ * a transition relation (as an action) and a property. The frames are sets of lemmas
+ * (negated cubes) over-approximating the states reachable in a given number of steps, and
+ * each frame has its own incremental solver, containing the lemmas of that frame and the
+ * later ones. Bad states are blocked through proof obligations, the blocked cubes are
+ * generalized with the unsat core of the relative induction query, and lemmas are
+ * propagated forward until two consecutive frames become equal.
+ * <p>
+ * Cubes are formed from the values of the variables (and the initial proof obligation is
+ * the negated property itself), so the checker is best suited for finite-state (e.g.,
+ * Boolean or bit-level) systems, like the ones converted from AIGER.
+ */
+public final class Ic3Checker<A extends ExprAction> implements SafetyChecker<ExplState, A, UnitPrec> {
+	private final Expr<BoolType> init;
+	private final A trans;
+	private final Expr<BoolType> prop;
+	private final Collection<VarDecl<?>> vars;
+	private final SolverFactory solverFactory;
+	private final Logger logger;
+	private final int upperBound;
+
+	private Ic3Checker(final Expr<BoolType> init, final A trans, final Expr<BoolType> prop,
+					   final Collection<? extends VarDecl<?>> vars, final SolverFactory solverFactory,
+					   final Logger logger, final int upperBound) {
+		this.init = checkNotNull(init);
+		this.trans = checkNotNull(trans);
+		this.prop = checkNotNull(prop);
+		this.vars = ImmutableList.copyOf(vars);
+		this.solverFactory = checkNotNull(solverFactory);
+		this.logger = checkNotNull(logger);
+		this.upperBound = upperBound;
+	}
+
+	/**
+	 * Create a checker with the given bound for the number of frames (negative for no
+	 * bound). Reaching the bound throws {@link NotSolvableException}.
+	 *
+	 * @param init          Initial expression over the variables
+	 * @param trans         Transition relation, unfolded with its next indexing
+	 * @param prop          Property over the variables
+	 * @param vars          Variables of the system (the cubes are formed from their values)
+	 * @param solverFactory Factory for the solvers of the frames
+	 * @param logger        Logger
+	 * @param upperBound    Bound for the number of frames
+	 */
+	public static <A extends ExprAction> Ic3Checker<A> create(final Expr<BoolType> init, final A trans,
+															  final Expr<BoolType> prop,
+															  final Collection<? extends VarDecl<?>> vars,
+															  final SolverFactory solverFactory, final Logger logger,
+															  final int upperBound) {
+		return new Ic3Checker<>(init, trans, prop, vars, solverFactory, logger, upperBound);
+	}
+
+	@Override
+	public SafetyResult<ExplState, A> check(final UnitPrec prec) {
+		logger.write(Logger.Level.INFO, "Configuration: %s%n", this);
+		final Frames frames = new Frames(Stopwatch.createStarted());
+		final SafetyResult<ExplState, A> result;
+		try {
+			result = frames.check();
+		} finally {
+			frames.closeSolvers();
+		}
+		logger.write(Logger.Level.RESULT, "%s%n", result);
+		return result;
+	}
+
+	private static void close(final SolverBase solver) {
+		try {
+			solver.close();
+		} catch (final Exception e) {
+			throw new IllegalStateException("Could not close solver", e);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return Utils.lispStringBuilder(getClass().getSimpleName()).add(upperBound).toString();
+	}
+
+	/**
+	 * A cube that has to be blocked in a frame, with the obligation of its successor, which
+	 * is closer to the bad states.
+	 */
+	private static final class Obligation {
+		private final int frame;
+		private final List<Expr<BoolType>> cube;
+		private final Obligation successor;
+
+		private Obligation(final int frame, final List<Expr<BoolType>> cube, final Obligation successor) {
+			this.frame = frame;
+			this.cube = cube;
+			this.successor = successor;
+		}
+	}
+
+	/**
+	 * State of a single check. Frame 0 consists of the initial states, and the lemmas of
+	 * frame i are stored in the i-th list (delta encoding).
+	 */
+	private final class Frames {
+		private final Stopwatch stopwatch;
+		private final VarIndexing current;
+		private final VarIndexing next;
+		private final Expr<BoolType> transLabel;
+		private final Solver initSolver;
+		private final List<UCSolver> solvers;
+		private final List<List<List<Expr<BoolType>>>> lemmas;
+		private int obligations;
+
+		private Frames(final Stopwatch stopwatch) {
+			this.stopwatch = stopwatch;
+			this.current = indexing(0);
+			this.next = trans.nextIndexing();
+			// The transition relation is only assumed by the queries that need it, so that
+			// states without successors are also considered
+			this.transLabel = Const("__ic3_trans", Bool()).getRef();
+			this.initSolver = solverFactory.createSolver();
+			this.solvers = new ArrayList<>();
+			this.lemmas = new ArrayList<>();
+			this.obligations = 0;
+		}
+
+		private SafetyResult<ExplState, A> check() {
+			final CancellationToken cancellationToken = CancellationToken.current();
+			final Expr<BoolType> bad = Not(PathUtils.unfold(prop, current));
+
+			initSolver.add(PathUtils.unfold(init, current));
+			if (initSolver.check(ImmutableList.of(bad)).isSat()) {
+				logger.write(Logger.Level.MAINSTEP, "Initial state violates the property%n");
+				return unsafe(new Obligation(0, ImmutableList.of(Not(prop)), null));
+			}
+
+			addFrame();
+			addFrame();
+			for (int k = 1; upperBound < 0 || k <= upperBound; k++) {
+				cancellationToken.throwIfCancelled();
+				logger.write(Logger.Level.MAINSTEP, "Frame %d%n", k);
+				while (solvers.get(k).check(ImmutableList.of(bad)).isSat()) {
+					final Obligation cex = block(new Obligation(k, ImmutableList.of(Not(prop)), null));
+					if (cex != null) {
+						logger.write(Logger.Level.MAINSTEP, "| Counterexample found%n");
+						return unsafe(cex);
+					}
+				}
+
+				addFrame();
+				logger.write(Logger.Level.MAINSTEP, "| Propagating lemmas...%n");
+				if (propagate(k)) {
+					return SafetyResult.safe(ARG.create((s1, s2) -> false), statistics()); // TODO: this is only a placeholder, we don't give back an ARG
+				}
+			}
+			logger.write(Logger.Level.MAINSTEP, "| Bound %d reached%n", upperBound);
+			throw new NotSolvableException();
+		}
+
+		private void addFrame() {
+			final UCSolver solver = solverFactory.createUCSolver();
+			if (solvers.isEmpty()) {
+				solver.track(PathUtils.unfold(init, current));
+			}
+			solver.track(Imply(transLabel, PathUtils.unfold(trans.toExpr(), current)));
+			solvers.add(solver);
+			lemmas.add(new ArrayList<>());
+		}
+
+		/**
+		 * Block the cube of an obligation (and its predecessors), returning the obligation of
+		 * an initial state if the cube is reachable, or null if it was blocked.
+		 */
+		private Obligation block(final Obligation root) {
+			final CancellationToken cancellationToken = CancellationToken.current();
+			final int k = solvers.size() - 1;
+			final PriorityQueue<Obligation> queue = new PriorityQueue<>(Comparator.comparingInt(o -> o.frame));
+			queue.add(root);
+			obligations++;
+
+			while (!queue.isEmpty()) {
+				cancellationToken.throwIfCancelled();
+				final Obligation obligation = queue.peek();
+				if (obligation.frame == 0 || intersectsInit(obligation.cube)) {
+					return obligation;
+				}
+				if (isBlocked(obligation)) {
+					queue.poll();
+					continue;
+				}
+
+				// Relative induction: can the cube be reached from the previous frame, outside the cube?
+				final UCSolver solver = solvers.get(obligation.frame - 1);
+				final Map<Expr<BoolType>, Expr<BoolType>> primedToLit = new LinkedHashMap<>();
+				for (final Expr<BoolType> lit : obligation.cube) {
+					primedToLit.put(PathUtils.unfold(lit, next), lit);
+				}
+				final List<Expr<BoolType>> assumptions = new ArrayList<>(primedToLit.keySet());
+				assumptions.add(transLabel);
+				assumptions.add(Not(PathUtils.unfold(And(obligation.cube), current)));
+
+				if (solver.check(assumptions).isSat()) {
+					final List<Expr<BoolType>> predecessor = toCube(PathUtils.extractValuation(solver.getModel(), current, vars));
+					queue.add(new Obligation(obligation.frame - 1, predecessor, obligation));
+					obligations++;
+				} else {
+					final Collection<Expr<BoolType>> core = solver.getUnsatCore();
+					List<Expr<BoolType>> generalized = new ArrayList<>();
+					for (final Map.Entry<Expr<BoolType>, Expr<BoolType>> entry : primedToLit.entrySet()) {
+						if (core.contains(entry.getKey())) {
+							generalized.add(entry.getValue());
+						}
+					}
+					if (generalized.size() < obligation.cube.size() && intersectsInit(generalized)) {
+						generalized = obligation.cube;
+					}
+					addLemma(generalized, obligation.frame);
+					queue.poll();
+					if (obligation.frame < k) {
+						queue.add(new Obligation(obligation.frame + 1, obligation.cube, obligation.successor));
+					}
+				}
+			}
+			return null;
+		}
+
+		private boolean intersectsInit(final List<Expr<BoolType>> cube) {
+			return initSolver.check(ImmutableList.of(PathUtils.unfold(And(cube), current))).isSat();
+		}
+
+		private boolean isBlocked(final Obligation obligation) {
+			return solvers.get(obligation.frame).check(ImmutableList.of(PathUtils.unfold(And(obligation.cube), current))).isUnsat();
+		}
+
+		private void addLemma(final List<Expr<BoolType>> cube, final int frame) {
+			lemmas.get(frame).add(cube);
+			final Expr<BoolType> lemma = Not(PathUtils.unfold(And(cube), current));
+			for (int i = 1; i <= frame; i++) {
+				solvers.get(i).track(lemma);
+			}
+		}
+
+		/**
+		 * Push the lemmas forward that are inductive relative to their frame, and return true if
+		 * two consecutive frames became equal (i.e., an inductive invariant was found).
+		 */
+		private boolean propagate(final int k) {
+			for (int i = 1; i <= k; i++) {
+				final List<List<Expr<BoolType>>> frameLemmas = lemmas.get(i);
+				for (final List<Expr<BoolType>> cube : ImmutableList.copyOf(frameLemmas)) {
+					final Expr<BoolType> primedCube = PathUtils.unfold(And(cube), next);
+					if (solvers.get(i).check(ImmutableList.of(transLabel, primedCube)).isUnsat()) {
+						frameLemmas.remove(cube);
+						lemmas.get(i + 1).add(cube);
+						solvers.get(i + 1).track(Not(PathUtils.unfold(And(cube), current)));
+					}
+				}
+				if (frameLemmas.isEmpty()) {
+					logger.write(Logger.Level.MAINSTEP, "| Frames %d and %d are equal%n", i, i + 1);
+					return true;
+				}
+			}
+			return false;
+		}
+
+		private List<Expr<BoolType>> toCube(final Valuation valuation) {
+			final List<Expr<BoolType>> cube = new ArrayList<>();
+			for (final Map.Entry<Decl<?>, LitExpr<?>> entry : valuation.toMap().entrySet()) {
+				final Expr<?> ref = entry.getKey().getRef();
+				final LitExpr<?> value = entry.getValue();
+				if (value instanceof BoolLitExpr) {
+					@SuppressWarnings("unchecked") final Expr<BoolType> boolRef = (Expr<BoolType>) ref;
+					cube.add(((BoolLitExpr) value).getValue() ? boolRef : Not(boolRef));
+				} else {
+					cube.add(Eq(ref, value));
+				}
+			}
+			return cube;
+		}
+
+		/**
+		 * Create the counterexample from the chain of obligations starting in an initial state,
+		 * by finding a path through their cubes.
+		 */
+		private SafetyResult<ExplState, A> unsafe(final Obligation first) {
+			final Solver solver = solverFactory.createSolver();
+			try {
+				return unsafe(solver, first);
+			} finally {
+				close(solver);
+			}
+		}
+
+		private SafetyResult<ExplState, A> unsafe(final Solver solver, final Obligation first) {
+			final List<VarIndexing> indexings = new ArrayList<>();
+			VarIndexing indexing = current;
+			solver.add(PathUtils.unfold(init, indexing));
+			for (Obligation obligation = first; obligation != null; obligation = obligation.successor) {
+				indexings.add(indexing);
+				solver.add(PathUtils.unfold(And(obligation.cube), indexing));
+				if (obligation.successor != null) {
+					solver.add(PathUtils.unfold(trans.toExpr(), indexing));
+					indexing = indexing.add(next);
+				}
+			}
+			checkState(solver.check().isSat(), "Counterexample is not feasible");
+
+			final Valuation model = solver.getModel();
+			final List<ExplState> states = new ArrayList<>();
+			final List<A> actions = new ArrayList<>();
+			for (final VarIndexing stateIndexing : indexings) {
+				if (!states.isEmpty()) {
+					actions.add(trans);
+				}
+				states.add(ExplState.of(PathUtils.extractValuation(model, stateIndexing, vars)));
+			}
+			return SafetyResult.unsafe(Trace.of(states, actions), ARG.create((s1, s2) -> false), statistics()); // TODO: this is only a placeholder, we don't give back an ARG
+		}
+
+		/**
+		 * Close the solvers of the frames, which are not needed after the check.
+		 */
+		private void closeSolvers() {
+			close(initSolver);
+			solvers.forEach(Ic3Checker::close);
+		}
+
+		private Ic3Statistics statistics() {
+			return new Ic3Statistics(stopwatch.elapsed(TimeUnit.MILLISECONDS), solvers.size(),
+					lemmas.stream().mapToInt(List::size).sum(), obligations);
+		}
+	}
+}
@@ -0,0 +1,66 @@
+/*
+ *  Copyright 2022 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.algorithm.ic3;
+
+import hu.bme.mit.theta.analysis.algorithm.Statistics;
+
+/**
+ * Represents statistics collected by the Ic3Checker algorithm.
+ */
+public final class Ic3Statistics extends Statistics {
+	private final long algorithmTimeMs;
+	private final int frames;
+	private final int lemmas;
+	private final int obligations;
+
+	public Ic3Statistics(final long algorithmTimeMs, final int frames, final int lemmas, final int obligations) {
+		this.algorithmTimeMs = algorithmTimeMs;
+		this.frames = frames;
+		this.lemmas = lemmas;
+		this.obligations = obligations;
+
+		addStat("AlgorithmTimeMs", this::getAlgorithmTimeMs);
+		addStat("Frames", this::getFrames);
+		addStat("Lemmas", this::getLemmas);
+		addStat("Obligations", this::getObligations);
+	}
+
+	public long getAlgorithmTimeMs() {
+		return algorithmTimeMs;
+	}
+
+	/**
+	 * Gets the number of frames (including the initial one).
+	 */
+	public int getFrames() {
+		return frames;
+	}
+
+	/**
+	 * Gets the number of learned lemmas.
+	 */
+	public int getLemmas() {
+		return lemmas;
+	}
+
+	/**
+	 * Gets the number of proof obligations that were created.
+	 */
+	public int getObligations() {
+		return obligations;
+	}
+
+}
@@ -0,0 +1,373 @@
+/*
+ *  Copyright 2022 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.algorithm.kind;
+
+import com.google.common.base.Stopwatch;
+import com.google.common.collect.ImmutableList;
+import hu.bme.mit.theta.analysis.Trace;
+import hu.bme.mit.theta.analysis.algorithm.ARG;
+import hu.bme.mit.theta.analysis.algorithm.SafetyChecker;
+import hu.bme.mit.theta.analysis.algorithm.SafetyResult;
+import hu.bme.mit.theta.analysis.expl.ExplState;
+import hu.bme.mit.theta.analysis.expr.ExprAction;
+import hu.bme.mit.theta.analysis.pred.PredPrec;
+import hu.bme.mit.theta.common.CancellationToken;
+import hu.bme.mit.theta.common.Utils;
+import hu.bme.mit.theta.common.exception.NotSolvableException;
+import hu.bme.mit.theta.common.logging.Logger;
+import hu.bme.mit.theta.core.decl.VarDecl;
+import hu.bme.mit.theta.core.model.Valuation;
+import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.booltype.BoolType;
+import hu.bme.mit.theta.core.utils.PathUtils;
+import hu.bme.mit.theta.core.utils.indexings.VarIndexing;
+import hu.bme.mit.theta.solver.Solver;
+import hu.bme.mit.theta.solver.SolverFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static hu.bme.mit.theta.core.type.abstracttype.AbstractExprs.Eq;
+import static hu.bme.mit.theta.core.type.booltype.SmartBoolExprs.And;
+import static hu.bme.mit.theta.core.type.booltype.SmartBoolExprs.Not;
+import static hu.bme.mit.theta.core.type.booltype.SmartBoolExprs.Or;
+import static hu.bme.mit.theta.core.utils.indexings.VarIndexingFactory.indexing;
+
+/**
+ * k-induction checker for systems given by an initial expression, a transition relation
+ * (as an action) and a property. The base case (bounded model checking from the initial
+ * states) runs on the calling thread, while the inductive step (checking if k consecutive
+ * states satisfying the property can only be followed by a state satisfying it) runs on a
+ * separate thread, each with its own incremental solver. The solvers are closed when the
+ * thread using them finishes or is cancelled. The property is safe if it is k-inductive and
+ * the base case found no counterexample up to depth k.
+ * <p>
+ * The inductive step can be strengthened by requiring the states of the paths to be
+ * distinct (simple-path constraints), and by invariants: the predicates of the precision
+ * (and their negations) are candidate invariants, and the ones that hold initially and are
+ * preserved by the transition relation are added to each state of the inductive step.
+ */
+public final class KInductionChecker<A extends ExprAction> implements SafetyChecker<ExplState, A, PredPrec> {
+	private final Expr<BoolType> init;
+	private final A trans;
+	private final Expr<BoolType> prop;
+	private final Collection<VarDecl<?>> vars;
+	private final SolverFactory solverFactory;
+	private final Logger logger;
+	private final int upperBound;
+	private final boolean simplePath;
+
+	private KInductionChecker(final Expr<BoolType> init, final A trans, final Expr<BoolType> prop,
+							  final Collection<? extends VarDecl<?>> vars, final SolverFactory solverFactory,
+							  final Logger logger, final int upperBound, final boolean simplePath) {
+		this.init = checkNotNull(init);
+		this.trans = checkNotNull(trans);
+		this.prop = checkNotNull(prop);
+		this.vars = ImmutableList.copyOf(vars);
+		this.solverFactory = checkNotNull(solverFactory);
+		this.logger = checkNotNull(logger);
+		this.upperBound = upperBound;
+		this.simplePath = simplePath;
+	}
+
+	/**
+	 * Create a checker with the given bound for k (negative for no bound).
+	 *
+	 * @param init          Initial expression over the variables
+	 * @param trans         Transition relation, unfolded with its next indexing in each step
+	 * @param prop          Property over the variables
+	 * @param vars          Variables of the system (for the counterexample and the
+	 *                      simple-path constraints)
+	 * @param solverFactory Factory for the solvers of the base case and the inductive step
+	 * @param logger        Logger
+	 * @param upperBound    Bound for k
+	 * @param simplePath    Whether simple-path constraints are added to the inductive step
+	 */
+	public static <A extends ExprAction> KInductionChecker<A> create(final Expr<BoolType> init, final A trans,
+																	 final Expr<BoolType> prop,
+																	 final Collection<? extends VarDecl<?>> vars,
+																	 final SolverFactory solverFactory,
+																	 final Logger logger, final int upperBound,
+																	 final boolean simplePath) {
+		return new KInductionChecker<>(init, trans, prop, vars, solverFactory, logger, upperBound, simplePath);
+	}
+
+	@Override
+	public SafetyResult<ExplState, A> check(final PredPrec prec) {
+		logger.write(Logger.Level.INFO, "Configuration: %s%n", this);
+		final Stopwatch stopwatch = Stopwatch.createStarted();
+
+		// The inductive step has its own token, so that it can be stopped when the base case
+		// finishes, but it is also cancelled together with the current thread
+		final CancellationToken cancellationToken = CancellationToken.current();
+		final CancellationToken stepCancellationToken = CancellationToken.create();
+		final InductiveStep step = new InductiveStep(prec);
+		final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+			final Thread thread = new Thread(() -> {
+				CancellationToken.setCurrent(stepCancellationToken);
+				r.run();
+			}, "k-induction-step");
+			thread.setDaemon(true);
+			return thread;
+		});
+
+		final SafetyResult<ExplState, A> result;
+		try (CancellationToken.Registration ignored = cancellationToken.onCancel(stepCancellationToken::cancel)) {
+			final Future<Integer> stepResult = executor.submit(step::run);
+			result = new BaseCase(step, stepResult, stopwatch).run();
+		} finally {
+			stepCancellationToken.cancel();
+			executor.shutdown();
+		}
+		logger.write(Logger.Level.RESULT, "%s%n", result);
+		return result;
+	}
+
+	@Override
+	public String toString() {
+		return Utils.lispStringBuilder(getClass().getSimpleName()).add(upperBound).add(simplePath ? "simple-path" : "any-path")
+				.toString();
+	}
+
+	private VarIndexing next(final VarIndexing indexing) {
+		return indexing.add(trans.nextIndexing());
+	}
+
+	private static void close(final Solver solver) {
+		try {
+			solver.close();
+		} catch (final Exception e) {
+			throw new IllegalStateException("Could not close solver", e);
+		}
+	}
+
+	/**
+	 * Bounded model checking from the initial states, which also decides the result.
+	 */
+	private final class BaseCase {
+		private final InductiveStep step;
+		private final Future<Integer> stepResult;
+		private final Stopwatch stopwatch;
+		private final Solver solver;
+		private final List<VarIndexing> indexings;
+
+		private BaseCase(final InductiveStep step, final Future<Integer> stepResult, final Stopwatch stopwatch) {
+			this.step = step;
+			this.stepResult = stepResult;
+			this.stopwatch = stopwatch;
+			this.solver = solverFactory.createSolver();
+			this.indexings = new ArrayList<>();
+		}
+
+		private SafetyResult<ExplState, A> run() {
+			try {
+				return unroll();
+			} finally {
+				close(solver);
+			}
+		}
+
+		private SafetyResult<ExplState, A> unroll() {
+			final CancellationToken cancellationToken = CancellationToken.current();
+			VarIndexing indexing = indexing(0);
+			indexings.add(indexing);
+			solver.add(PathUtils.unfold(init, indexing));
+
+			for (int k = 0; ; k++) {
+				cancellationToken.throwIfCancelled();
+				logger.write(Logger.Level.MAINSTEP, "Base case with depth %d%n", k);
+				if (solver.check(ImmutableList.of(Not(PathUtils.unfold(prop, indexing)))).isSat()) {
+					logger.write(Logger.Level.MAINSTEP, "| Counterexample found%n");
+					return SafetyResult.unsafe(extractTrace(solver.getModel()), ARG.create((s1, s2) -> false), // TODO: this is only a placeholder, we don't give back an ARG
+							statistics(k));
+				}
+
+				final int inductionDepth = inductionDepth(upperBound >= 0 && k >= upperBound);
+				if (inductionDepth >= 0 && k >= inductionDepth) {
+					logger.write(Logger.Level.MAINSTEP, "| Property is %d-inductive%n", inductionDepth);
+					return SafetyResult.safe(ARG.create((s1, s2) -> false), statistics(k)); // TODO: this is only a placeholder, we don't give back an ARG
+				} else if (upperBound >= 0 && k >= upperBound) {
+					logger.write(Logger.Level.MAINSTEP, "| Bound %d reached%n", upperBound);
+					throw new NotSolvableException();
+				}
+
+				solver.add(PathUtils.unfold(trans.toExpr(), indexing));
+				indexing = next(indexing);
+				indexings.add(indexing);
+				if (solver.check().isUnsat()) {
+					logger.write(Logger.Level.MAINSTEP, "| No paths of length %d%n", k + 1);
+					return SafetyResult.safe(ARG.create((s1, s2) -> false), statistics(k)); // TODO: this is only a placeholder, we don't give back an ARG
+				}
+			}
+		}
+
+		/**
+		 * Get the depth where the inductive step succeeded (or -1), optionally waiting for the
+		 * inductive step to finish.
+		 */
+		private int inductionDepth(final boolean await) {
+			if (!await && !stepResult.isDone()) {
+				return -1;
+			}
+			try {
+				return stepResult.get();
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Interrupted while waiting for the inductive step", e);
+			} catch (final ExecutionException e) {
+				final Throwable cause = e.getCause();
+				if (cause instanceof RuntimeException) {
+					throw (RuntimeException) cause;
+				} else if (cause instanceof Error) {
+					throw (Error) cause;
+				} else {
+					throw new IllegalStateException(cause);
+				}
+			}
+		}
+
+		private Trace<ExplState, A> extractTrace(final Valuation model) {
+			final List<ExplState> states = new ArrayList<>();
+			final List<A> actions = new ArrayList<>();
+			for (final VarIndexing indexing : indexings) {
+				if (!states.isEmpty()) {
+					actions.add(trans);
+				}
+				states.add(ExplState.of(PathUtils.extractValuation(model, indexing, vars)));
+			}
+			return Trace.of(states, actions);
+		}
+
+		private KInductionStatistics statistics(final int baseDepth) {
+			return new KInductionStatistics(stopwatch.elapsed(TimeUnit.MILLISECONDS), baseDepth,
+					stepResult.isDone() && !stepResult.isCancelled() ? inductionDepth(false) : -1, step.invariants);
+		}
+	}
+
+	/**
+	 * Inductive step, returning the k for which the property is k-inductive, or -1 if the
+	 * bound is reached.
+	 */
+	private final class InductiveStep {
+		private final PredPrec prec;
+		private volatile int invariants;
+
+		private InductiveStep(final PredPrec prec) {
+			this.prec = checkNotNull(prec);
+			this.invariants = 0;
+		}
+
+		private int run() {
+			final Collection<Expr<BoolType>> invariants = findInvariants();
+			this.invariants = invariants.size();
+			logger.write(Logger.Level.INFO, "Inductive step uses %d invariants%n", invariants.size());
+
+			final Solver solver = solverFactory.createSolver();
+			try {
+				return unroll(solver, invariants);
+			} finally {
+				close(solver);
+			}
+		}
+
+		private int unroll(final Solver solver, final Collection<Expr<BoolType>> invariants) {
+			final CancellationToken cancellationToken = CancellationToken.current();
+			final List<VarIndexing> indexings = new ArrayList<>();
+			VarIndexing indexing = indexing(0);
+			indexings.add(indexing);
+			solver.add(And(invariants.stream().map(i -> PathUtils.unfold(i, indexings.get(0))).toList()));
+
+			for (int k = 0; upperBound < 0 || k <= upperBound; k++) {
+				cancellationToken.throwIfCancelled();
+				solver.add(PathUtils.unfold(prop, indexing));
+				solver.add(PathUtils.unfold(trans.toExpr(), indexing));
+				final VarIndexing next = next(indexing);
+				for (final Expr<BoolType> invariant : invariants) {
+					solver.add(PathUtils.unfold(invariant, next));
+				}
+				if (simplePath) {
+					for (final VarIndexing previous : indexings) {
+						solver.add(distinct(previous, next));
+					}
+				}
+				indexings.add(next);
+				indexing = next;
+
+				if (solver.check(ImmutableList.of(Not(PathUtils.unfold(prop, next)))).isUnsat()) {
+					logger.write(Logger.Level.INFO, "Property is %d-inductive%n", k);
+					return k;
+				}
+			}
+			return -1;
+		}
+
+		private Expr<BoolType> distinct(final VarIndexing indexing1, final VarIndexing indexing2) {
+			final List<Expr<BoolType>> ops = new ArrayList<>(vars.size());
+			for (final VarDecl<?> var : vars) {
+				ops.add(Not(Eq(var.getConstDecl(indexing1.get(var)).getRef(), var.getConstDecl(indexing2.get(var)).getRef())));
+			}
+			return Or(ops);
+		}
+
+		/**
+		 * Find the predicates of the precision (and their negations) that hold in the initial
+		 * states and are preserved by the transition relation together.
+		 */
+		private Collection<Expr<BoolType>> findInvariants() {
+			final List<Expr<BoolType>> candidates = new ArrayList<>();
+			for (final Expr<BoolType> pred : prec.getPreds()) {
+				candidates.add(pred);
+				candidates.add(prec.negate(pred));
+			}
+			if (candidates.isEmpty()) {
+				return candidates;
+			}
+
+			final Solver solver = solverFactory.createSolver();
+			try {
+				filterInvariants(solver, candidates);
+			} finally {
+				close(solver);
+			}
+			return candidates;
+		}
+
+		private void filterInvariants(final Solver solver, final List<Expr<BoolType>> candidates) {
+			final VarIndexing indexing = indexing(0);
+			final VarIndexing next = next(indexing);
+
+			solver.push();
+			solver.add(PathUtils.unfold(init, indexing));
+			candidates.removeIf(c -> solver.check(ImmutableList.of(Not(PathUtils.unfold(c, indexing)))).isSat());
+			solver.pop();
+
+			solver.add(PathUtils.unfold(trans.toExpr(), indexing));
+			boolean changed = true;
+			while (changed && !candidates.isEmpty()) {
+				CancellationToken.current().throwIfCancelled();
+				final Expr<BoolType> current = And(candidates.stream().map(c -> PathUtils.unfold(c, indexing)).toList());
+				changed = candidates.removeIf(c -> solver.check(ImmutableList.of(current, Not(PathUtils.unfold(c, next)))).isSat());
+			}
+		}
+	}
+}
@@ -0,0 +1,67 @@
+/*
+ *  Copyright 2022 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.algorithm.kind;
+
+import hu.bme.mit.theta.analysis.algorithm.Statistics;
+
+/**
+ * Represents statistics collected by the KInductionChecker algorithm.
+ */
+public final class KInductionStatistics extends Statistics {
+	private final long algorithmTimeMs;
+	private final int baseDepth;
+	private final int inductionDepth;
+	private final int invariants;
+
+	public KInductionStatistics(final long algorithmTimeMs, final int baseDepth, final int inductionDepth,
+								final int invariants) {
+		this.algorithmTimeMs = algorithmTimeMs;
+		this.baseDepth = baseDepth;
+		this.inductionDepth = inductionDepth;
+		this.invariants = invariants;
+
+		addStat("AlgorithmTimeMs", this::getAlgorithmTimeMs);
+		addStat("BaseDepth", this::getBaseDepth);
+		addStat("InductionDepth", this::getInductionDepth);
+		addStat("Invariants", this::getInvariants);
+	}
+
+	public long getAlgorithmTimeMs() {
+		return algorithmTimeMs;
+	}
+
+	/**
+	 * Gets the depth up to which the base case was checked.
+	 */
+	public int getBaseDepth() {
+		return baseDepth;
+	}
+
+	/**
+	 * Gets the k for which the property was proven k-inductive, or -1 if it was not.
+	 */
+	public int getInductionDepth() {
+		return inductionDepth;
+	}
+
+	/**
+	 * Gets the number of candidate invariants that were proven inductive.
+	 */
+	public int getInvariants() {
+		return invariants;
+	}
+
+}
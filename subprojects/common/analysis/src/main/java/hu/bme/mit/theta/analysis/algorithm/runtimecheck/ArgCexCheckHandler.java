@@ -13,7 +13,6 @@
  *  See the License for the specific language governing permissions and
  *  limitations under the License.
  */
-
 package hu.bme.mit.theta.analysis.algorithm.runtimecheck;
 
 import hu.bme.mit.theta.analysis.Action;
@@ -23,31 +22,86 @@ import hu.bme.mit.theta.analysis.algorithm.ARG;
 import hu.bme.mit.theta.analysis.algorithm.ArgTrace;
 import hu.bme.mit.theta.common.exception.NotSolvableException;
 
-public class ArgCexCheckHandler<S extends State, A extends Action> {
-	public static ArgCexCheckHandler instance = new ArgCexCheckHandler();
-	private AbstractArgStorage<S, A> abstractArgStorage;
-
-	public void setArgCexCheck(boolean shouldCheck, boolean multiseq) {
-		if (shouldCheck) {
-			if (multiseq) {
-				abstractArgStorage = new MultiCexAbstractArgStorage<S, A>();
-			} else {
-				abstractArgStorage = new SingleCexAbstractArgStorage<S, A>();
-			}
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Checks if the analysis makes any refinement progress, i.e., whether the same ARG or counterexample appears
+ * again, and stops the analysis if it is stuck. Each analysis has its own handler (see
+ * {@link hu.bme.mit.theta.analysis.algorithm.cegar.CegarChecker}), which is bound to the thread running the
+ * analysis with {@link #setCurrent(ArgCexCheckHandler)}, so that analyses running in parallel do not share their
+ * storages. The abstractors, stop criterions and refiners access it through {@link #current()}.
+ */
+public final class ArgCexCheckHandler<S extends State, A extends Action> {
+
+	private static final ArgCexCheckHandler<?, ?> DISABLED = new ArgCexCheckHandler<>(null);
+
+	private static final InheritableThreadLocal<ArgCexCheckHandler<?, ?>> current = new InheritableThreadLocal<>() {
+		@Override
+		protected ArgCexCheckHandler<?, ?> initialValue() {
+			return DISABLED;
+		}
+	};
+
+	private final AbstractArgStorage<S, A> abstractArgStorage;
+
+	private ArgCexCheckHandler(final AbstractArgStorage<S, A> abstractArgStorage) {
+		this.abstractArgStorage = abstractArgStorage;
+	}
+
+	/**
+	 * Creates a new handler with an empty storage.
+	 *
+	 * @param shouldCheck if false, the handler does not check anything
+	 * @param multiseq    if the refinement only starts after every counterexample has been discovered (e.g.
+	 *                    MULTI_SEQ refinement)
+	 */
+	public static <S extends State, A extends Action> ArgCexCheckHandler<S, A> create(final boolean shouldCheck,
+																					  final boolean multiseq) {
+		if (!shouldCheck) {
+			return disabled();
+		} else if (multiseq) {
+			return new ArgCexCheckHandler<>(new MultiCexAbstractArgStorage<>());
 		} else {
-			abstractArgStorage = null;
+			return new ArgCexCheckHandler<>(new SingleCexAbstractArgStorage<>());
 		}
 	}
 
+	/**
+	 * Gets the handler that does not check anything.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <S extends State, A extends Action> ArgCexCheckHandler<S, A> disabled() {
+		return (ArgCexCheckHandler<S, A>) DISABLED;
+	}
+
+	/**
+	 * Gets the handler of the current thread, which is {@link #disabled()} if no handler was set.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <S extends State, A extends Action> ArgCexCheckHandler<S, A> current() {
+		return (ArgCexCheckHandler<S, A>) current.get();
+	}
+
+	/**
+	 * Sets the handler of the current thread (and the threads started by it afterwards).
+	 */
+	public static void setCurrent(final ArgCexCheckHandler<?, ?> handler) {
+		current.set(checkNotNull(handler));
+	}
+
+	public boolean isEnabled() {
+		return abstractArgStorage != null;
+	}
+
 	public boolean checkIfCounterexampleNew(ArgTrace<S, A> cex) {
 		if (abstractArgStorage != null) {
 			return abstractArgStorage.checkIfCounterexampleNew(cex);
 		} else return true;
 	}
 
-	public <P extends Prec> void setCurrentArg(AbstractArg<S, A, P> arg) {
+	public <P extends Prec> void setCurrentArg(ARG<S, A> arg, P prec) {
 		if (abstractArgStorage != null) {
-			abstractArgStorage.setCurrentArg(arg);
+			abstractArgStorage.setCurrentArg(new AbstractArg<>(arg, prec));
 		}
 	}
 
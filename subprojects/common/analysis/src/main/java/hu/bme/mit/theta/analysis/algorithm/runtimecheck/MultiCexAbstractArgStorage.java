@@ -32,7 +32,7 @@ import java.util.Set;
  * This class only stores ARG hashes, it does not store counterexample hashes
  */
 public class MultiCexAbstractArgStorage<S extends State, A extends Action> extends AbstractArgStorage<S, A> {
-	private final Set<Integer> argHashes = new LinkedHashSet<>();
+	private final Set<Long> argFingerprints = new LinkedHashSet<>();
 
 	<P extends Prec> void setCurrentArg(AbstractArg<S, A, P> arg) {
 		// do nothing - args are only added after they are checked at the end of the iteration
@@ -53,10 +53,10 @@ public class MultiCexAbstractArgStorage<S extends State, A extends Action> exten
 	 */
 	private <P extends Prec> boolean checkIfArgNew(AbstractArg<S, A, P> arg) {
 		// this marks the end of the abstraction in the iteration - arg is checked and then added, if it is new
-		if (argHashes.contains(arg.hashCode())) {
+		if (argFingerprints.contains(arg.getFingerprint())) {
 			return true;
 		} else {
-			argHashes.add(arg.hashCode());
+			argFingerprints.add(arg.getFingerprint());
 			return false;
 		}
 	}
@@ -33,11 +33,11 @@ import static com.google.common.base.Preconditions.checkState;
  */
 public class SingleCexAbstractArgStorage<S extends State, A extends Action> extends AbstractArgStorage<S, A> {
 	private final Set<Integer> counterexamples = new LinkedHashSet<>();
-	private final Set<Integer> argprecs = new LinkedHashSet<>();
-	private Integer currentArgHash = null;
+	private final Set<Long> argprecs = new LinkedHashSet<>();
+	private Long currentArgHash = null;
 
 	<P extends Prec> void setCurrentArg(AbstractArg<S, A, P> arg) {
-		currentArgHash = arg.hashCode();
+		currentArgHash = arg.getFingerprint();
 	}
 
 	void addCounterexample(ArgTrace<S, A> cex) {
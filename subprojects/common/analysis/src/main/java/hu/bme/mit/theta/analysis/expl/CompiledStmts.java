@@ -0,0 +1,571 @@
+/*
+ *  Copyright 2022 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.expl;
+
+import hu.bme.mit.theta.core.decl.Decl;
+import hu.bme.mit.theta.core.decl.VarDecl;
+import hu.bme.mit.theta.core.stmt.AssignStmt;
+import hu.bme.mit.theta.core.stmt.AssumeStmt;
+import hu.bme.mit.theta.core.stmt.HavocStmt;
+import hu.bme.mit.theta.core.stmt.IfStmt;
+import hu.bme.mit.theta.core.stmt.SequenceStmt;
+import hu.bme.mit.theta.core.stmt.SkipStmt;
+import hu.bme.mit.theta.core.stmt.Stmt;
+import hu.bme.mit.theta.core.type.BinaryExpr;
+import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.LitExpr;
+import hu.bme.mit.theta.core.type.MultiaryExpr;
+import hu.bme.mit.theta.core.type.Type;
+import hu.bme.mit.theta.core.type.anytype.IteExpr;
+import hu.bme.mit.theta.core.type.anytype.RefExpr;
+import hu.bme.mit.theta.core.type.booltype.AndExpr;
+import hu.bme.mit.theta.core.type.booltype.BoolLitExpr;
+import hu.bme.mit.theta.core.type.booltype.BoolType;
+import hu.bme.mit.theta.core.type.booltype.IffExpr;
+import hu.bme.mit.theta.core.type.booltype.ImplyExpr;
+import hu.bme.mit.theta.core.type.booltype.NotExpr;
+import hu.bme.mit.theta.core.type.booltype.OrExpr;
+import hu.bme.mit.theta.core.type.booltype.XorExpr;
+import hu.bme.mit.theta.core.type.inttype.IntAddExpr;
+import hu.bme.mit.theta.core.type.inttype.IntDivExpr;
+import hu.bme.mit.theta.core.type.inttype.IntEqExpr;
+import hu.bme.mit.theta.core.type.inttype.IntGeqExpr;
+import hu.bme.mit.theta.core.type.inttype.IntGtExpr;
+import hu.bme.mit.theta.core.type.inttype.IntLeqExpr;
+import hu.bme.mit.theta.core.type.inttype.IntLitExpr;
+import hu.bme.mit.theta.core.type.inttype.IntLtExpr;
+import hu.bme.mit.theta.core.type.inttype.IntModExpr;
+import hu.bme.mit.theta.core.type.inttype.IntMulExpr;
+import hu.bme.mit.theta.core.type.inttype.IntNegExpr;
+import hu.bme.mit.theta.core.type.inttype.IntNeqExpr;
+import hu.bme.mit.theta.core.type.inttype.IntPosExpr;
+import hu.bme.mit.theta.core.type.inttype.IntSubExpr;
+import hu.bme.mit.theta.core.type.inttype.IntType;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Statements of an action compiled into a tree of closures over a slot-indexed vector of
+ * the variables of the statements. Compilation is possible if the statements only contain
+ * assignments, assumptions, havocs, conditionals and sequences over boolean and integer
+ * variables with the usual operators.
+ * <p>
+ * The compiled statements are a fast path for the successors that the
+ * {@link StmtApplier} computes without the solver: if a variable is read after it became
+ * unknown (e.g., it is not tracked by the precision or it was havocked) or an integer does
+ * not fit into a long, the result is not decided, and the statements have to be interpreted.
+ * Otherwise, the result is the same as the one of the interpreter.
+ */
+final class CompiledStmts {
+
+	private enum Result {
+		SUCCESS, BOTTOM, UNKNOWN
+	}
+
+	/**
+	 * Values of the variables of the statements during the execution.
+	 */
+	private static final class Frame {
+		private final long[] values;
+		private final boolean[] known;
+		// Set if an unknown variable was read
+		private boolean unknown;
+
+		private Frame(final int size) {
+			values = new long[size];
+			known = new boolean[size];
+			unknown = false;
+		}
+
+		private long read(final int index) {
+			if (!known[index]) {
+				unknown = true;
+			}
+			return values[index];
+		}
+	}
+
+	@FunctionalInterface
+	private interface IntEval {
+		long eval(Frame frame);
+	}
+
+	@FunctionalInterface
+	private interface BoolEval {
+		boolean eval(Frame frame);
+	}
+
+	@FunctionalInterface
+	private interface Exec {
+		Result exec(Frame frame);
+	}
+
+	/**
+	 * Slots of the variables in the layout of the source state, and the source of each slot
+	 * of the layout of the successor (a variable, or a slot of the source state). States
+	 * of the same precision share their layout, so the last mapping is kept.
+	 */
+	private static final class Mapping {
+		private final ValuationLayout sourceLayout;
+		private final ValuationLayout targetLayout;
+		private final int[] sourceSlots;
+		private final int[] targetVars;
+		private final int[] targetSourceSlots;
+
+		private Mapping(final ValuationLayout sourceLayout, final ValuationLayout targetLayout,
+						final VarDecl<?>[] vars, final Map<VarDecl<?>, Integer> indexes) {
+			this.sourceLayout = sourceLayout;
+			this.targetLayout = targetLayout;
+			sourceSlots = new int[vars.length];
+			for (int i = 0; i < vars.length; i++) {
+				sourceSlots[i] = sourceLayout.slotOf(vars[i]);
+			}
+			targetVars = new int[targetLayout.size()];
+			targetSourceSlots = new int[targetLayout.size()];
+			for (int slot = 0; slot < targetLayout.size(); slot++) {
+				final Decl<?> decl = targetLayout.getDecl(slot);
+				final Integer index = indexes.get(decl);
+				targetVars[slot] = index == null ? -1 : index;
+				targetSourceSlots[slot] = sourceLayout.slotOf(decl);
+			}
+		}
+	}
+
+	private final VarDecl<?>[] vars;
+	private final Map<VarDecl<?>, Integer> indexes;
+	private final Exec body;
+
+	private volatile Mapping mapping = null;
+
+	private CompiledStmts(final VarDecl<?>[] vars, final Map<VarDecl<?>, Integer> indexes, final Exec body) {
+		this.vars = vars;
+		this.indexes = indexes;
+		this.body = body;
+	}
+
+	/**
+	 * Compile a list of statements, or return null if the statements contain a statement or
+	 * an expression that is not supported.
+	 */
+	static CompiledStmts compile(final List<Stmt> stmts) {
+		checkNotNull(stmts);
+		final Compiler compiler = new Compiler();
+		final List<Exec> execs = new ArrayList<>(stmts.size());
+		for (final Stmt stmt : stmts) {
+			final Exec exec = compiler.stmt(stmt);
+			if (exec == null) {
+				return null;
+			}
+			execs.add(exec);
+		}
+		final VarDecl<?>[] vars = compiler.indexes.keySet().toArray(new VarDecl<?>[0]);
+		return new CompiledStmts(vars, compiler.indexes, sequence(execs));
+	}
+
+	/**
+	 * Compute the successor of a state with the given precision, or return null if the
+	 * successor cannot be decided without interpreting the statements.
+	 */
+	ExplState apply(final ExplState state, final ExplPrec prec) {
+		if (!(state.getVal() instanceof PackedValuation)) {
+			return null;
+		}
+		final PackedValuation source = (PackedValuation) state.getVal();
+		final Mapping mapping = getMapping(source.getLayout(), prec.getLayout());
+
+		final Frame frame = new Frame(vars.length);
+		for (int i = 0; i < vars.length; i++) {
+			final int slot = mapping.sourceSlots[i];
+			if (slot >= 0 && source.isAssigned(slot)) {
+				if (source.getSlotLit(slot) != null) {
+					return null;
+				}
+				frame.values[i] = source.getSlotValue(slot);
+				frame.known[i] = true;
+			}
+		}
+
+		final Result result;
+		try {
+			result = body.exec(frame);
+		} catch (final ArithmeticException e) {
+			// Overflow or division by zero, which is left to the interpreter
+			return null;
+		}
+
+		if (result == Result.UNKNOWN) {
+			return null;
+		} else if (result == Result.BOTTOM) {
+			return ExplState.bottom();
+		}
+
+		final ValuationLayout target = prec.getLayout();
+		final long[] assigned = new long[(target.size() + Long.SIZE - 1) / Long.SIZE];
+		final long[] values = new long[target.size()];
+		LitExpr<?>[] lits = null;
+		for (int slot = 0; slot < target.size(); slot++) {
+			final int var = mapping.targetVars[slot];
+			final int sourceSlot = mapping.targetSourceSlots[slot];
+			if (var >= 0) {
+				if (frame.known[var]) {
+					assigned[slot / Long.SIZE] |= 1L << slot;
+					values[slot] = frame.values[var];
+				}
+			} else if (sourceSlot >= 0 && source.isAssigned(sourceSlot)) {
+				assigned[slot / Long.SIZE] |= 1L << slot;
+				values[slot] = source.getSlotValue(sourceSlot);
+				final LitExpr<?> lit = source.getSlotLit(sourceSlot);
+				if (lit != null) {
+					if (lits == null) {
+						lits = new LitExpr<?>[target.size()];
+					}
+					lits[slot] = lit;
+				}
+			}
+		}
+		return prec.createState(PackedValuation.ofSlots(target, assigned, values, lits));
+	}
+
+	private Mapping getMapping(final ValuationLayout sourceLayout, final ValuationLayout targetLayout) {
+		Mapping result = mapping;
+		if (result == null || result.sourceLayout != sourceLayout || result.targetLayout != targetLayout) {
+			result = new Mapping(sourceLayout, targetLayout, vars, indexes);
+			mapping = result;
+		}
+		return result;
+	}
+
+	private static Exec sequence(final List<Exec> execs) {
+		final Exec[] array = execs.toArray(new Exec[0]);
+		if (array.length == 1) {
+			return array[0];
+		}
+		return frame -> {
+			for (final Exec exec : array) {
+				final Result result = exec.exec(frame);
+				if (result != Result.SUCCESS) {
+					return result;
+				}
+			}
+			return Result.SUCCESS;
+		};
+	}
+
+	////
+
+	/**
+	 * Compiler of statements and expressions, returning null for unsupported ones. The
+	 * variables are indexed in the order of their first occurrence.
+	 */
+	private static final class Compiler {
+		private final Map<VarDecl<?>, Integer> indexes = new LinkedHashMap<>();
+
+		private int indexOf(final VarDecl<?> var) {
+			return indexes.computeIfAbsent(var, v -> indexes.size());
+		}
+
+		private static boolean isSupported(final Type type) {
+			return type instanceof BoolType || type instanceof IntType;
+		}
+
+		private Exec stmt(final Stmt stmt) {
+			if (stmt instanceof AssignStmt) {
+				return assign((AssignStmt<?>) stmt);
+			} else if (stmt instanceof AssumeStmt) {
+				return assume((AssumeStmt) stmt);
+			} else if (stmt instanceof HavocStmt) {
+				return havoc((HavocStmt<?>) stmt);
+			} else if (stmt instanceof SkipStmt) {
+				return frame -> Result.SUCCESS;
+			} else if (stmt instanceof SequenceStmt) {
+				return sequenceStmt((SequenceStmt) stmt);
+			} else if (stmt instanceof IfStmt) {
+				return ifStmt((IfStmt) stmt);
+			} else {
+				return null;
+			}
+		}
+
+		private Exec assign(final AssignStmt<?> stmt) {
+			final VarDecl<?> var = stmt.getVarDecl();
+			if (!isSupported(var.getType())) {
+				return null;
+			}
+			final int index = indexOf(var);
+			if (var.getType() instanceof BoolType) {
+				final BoolEval expr = boolExpr(stmt.getExpr());
+				if (expr == null) {
+					return null;
+				}
+				return frame -> {
+					final boolean value = expr.eval(frame);
+					if (frame.unknown) {
+						return Result.UNKNOWN;
+					}
+					frame.values[index] = value ? 1 : 0;
+					frame.known[index] = true;
+					return Result.SUCCESS;
+				};
+			} else {
+				final IntEval expr = intExpr(stmt.getExpr());
+				if (expr == null) {
+					return null;
+				}
+				return frame -> {
+					final long value = expr.eval(frame);
+					if (frame.unknown) {
+						return Result.UNKNOWN;
+					}
+					frame.values[index] = value;
+					frame.known[index] = true;
+					return Result.SUCCESS;
+				};
+			}
+		}
+
+		private Exec assume(final AssumeStmt stmt) {
+			final BoolEval cond = boolExpr(stmt.getCond());
+			if (cond == null) {
+				return null;
+			}
+			return frame -> {
+				final boolean value = cond.eval(frame);
+				if (frame.unknown) {
+					return Result.UNKNOWN;
+				}
+				return value ? Result.SUCCESS : Result.BOTTOM;
+			};
+		}
+
+		private Exec havoc(final HavocStmt<?> stmt) {
+			final VarDecl<?> var = stmt.getVarDecl();
+			if (!isSupported(var.getType())) {
+				return null;
+			}
+			final int index = indexOf(var);
+			return frame -> {
+				frame.known[index] = false;
+				return Result.SUCCESS;
+			};
+		}
+
+		private Exec sequenceStmt(final SequenceStmt stmt) {
+			final List<Exec> execs = new ArrayList<>(stmt.getStmts().size());
+			for (final Stmt subStmt : stmt.getStmts()) {
+				final Exec exec = stmt(subStmt);
+				if (exec == null) {
+					return null;
+				}
+				execs.add(exec);
+			}
+			return execs.isEmpty() ? frame -> Result.SUCCESS : sequence(execs);
+		}
+
+		private Exec ifStmt(final IfStmt stmt) {
+			final BoolEval cond = boolExpr(stmt.getCond());
+			final Exec then = stmt(stmt.getThen());
+			final Exec elze = stmt(stmt.getElze());
+			if (cond == null || then == null || elze == null) {
+				return null;
+			}
+			return frame -> {
+				final boolean value = cond.eval(frame);
+				if (frame.unknown) {
+					return Result.UNKNOWN;
+				}
+				return value ? then.exec(frame) : elze.exec(frame);
+			};
+		}
+
+		////
+
+		@SuppressWarnings("unchecked")
+		private BoolEval boolExpr(final Expr<?> expr) {
+			if (expr instanceof BoolLitExpr) {
+				final boolean value = ((BoolLitExpr) expr).getValue();
+				return frame -> value;
+			} else if (expr instanceof RefExpr) {
+				final Decl<?> decl = ((RefExpr<?>) expr).getDecl();
+				if (!(decl instanceof VarDecl) || !(decl.getType() instanceof BoolType)) {
+					return null;
+				}
+				final int index = indexOf((VarDecl<?>) decl);
+				return frame -> frame.read(index) != 0;
+			} else if (expr instanceof NotExpr) {
+				final BoolEval op = boolExpr(((NotExpr) expr).getOp());
+				return op == null ? null : frame -> !op.eval(frame);
+			} else if (expr instanceof AndExpr || expr instanceof OrExpr) {
+				final BoolEval[] ops = boolOps((MultiaryExpr<BoolType, BoolType>) expr);
+				if (ops == null) {
+					return null;
+				}
+				// Evaluation can stop at the first operand that determines the result, as the
+				// simplifier also gives a literal then, even if other operands are unknown
+				final boolean isAnd = expr instanceof AndExpr;
+				return frame -> {
+					for (final BoolEval op : ops) {
+						if (op.eval(frame) != isAnd) {
+							return !isAnd;
+						}
+					}
+					return isAnd;
+				};
+			} else if (expr instanceof ImplyExpr || expr instanceof IffExpr || expr instanceof XorExpr) {
+				final BinaryExpr<BoolType, BoolType> binary = (BinaryExpr<BoolType, BoolType>) expr;
+				final BoolEval left = boolExpr(binary.getLeftOp());
+				final BoolEval right = boolExpr(binary.getRightOp());
+				if (left == null || right == null) {
+					return null;
+				} else if (expr instanceof ImplyExpr) {
+					return frame -> !left.eval(frame) || right.eval(frame);
+				} else if (expr instanceof IffExpr) {
+					return frame -> left.eval(frame) == right.eval(frame);
+				} else {
+					return frame -> left.eval(frame) != right.eval(frame);
+				}
+			} else if (expr instanceof IteExpr) {
+				final IteExpr<?> ite = (IteExpr<?>) expr;
+				final BoolEval cond = boolExpr(ite.getCond());
+				final BoolEval then = boolExpr(ite.getThen());
+				final BoolEval elze = boolExpr(ite.getElse());
+				if (cond == null || then == null || elze == null) {
+					return null;
+				}
+				return frame -> cond.eval(frame) ? then.eval(frame) : elze.eval(frame);
+			} else if (expr instanceof IntEqExpr || expr instanceof IntNeqExpr || expr instanceof IntLtExpr
+					|| expr instanceof IntLeqExpr || expr instanceof IntGtExpr || expr instanceof IntGeqExpr) {
+				final BinaryExpr<IntType, BoolType> binary = (BinaryExpr<IntType, BoolType>) expr;
+				final IntEval left = intExpr(binary.getLeftOp());
+				final IntEval right = intExpr(binary.getRightOp());
+				if (left == null || right == null) {
+					return null;
+				} else if (expr instanceof IntEqExpr) {
+					return frame -> left.eval(frame) == right.eval(frame);
+				} else if (expr instanceof IntNeqExpr) {
+					return frame -> left.eval(frame) != right.eval(frame);
+				} else if (expr instanceof IntLtExpr) {
+					return frame -> left.eval(frame) < right.eval(frame);
+				} else if (expr instanceof IntLeqExpr) {
+					return frame -> left.eval(frame) <= right.eval(frame);
+				} else if (expr instanceof IntGtExpr) {
+					return frame -> left.eval(frame) > right.eval(frame);
+				} else {
+					return frame -> left.eval(frame) >= right.eval(frame);
+				}
+			} else {
+				return null;
+			}
+		}
+
+		private BoolEval[] boolOps(final MultiaryExpr<BoolType, BoolType> expr) {
+			final BoolEval[] ops = new BoolEval[expr.getOps().size()];
+			for (int i = 0; i < ops.length; i++) {
+				ops[i] = boolExpr(expr.getOps().get(i));
+				if (ops[i] == null) {
+					return null;
+				}
+			}
+			return ops;
+		}
+
+		@SuppressWarnings("unchecked")
+		private IntEval intExpr(final Expr<?> expr) {
+			if (expr instanceof IntLitExpr) {
+				final IntLitExpr lit = (IntLitExpr) expr;
+				if (lit.getValue().bitLength() >= Long.SIZE) {
+					return null;
+				}
+				final long value = lit.getValue().longValue();
+				return frame -> value;
+			} else if (expr instanceof RefExpr) {
+				final Decl<?> decl = ((RefExpr<?>) expr).getDecl();
+				if (!(decl instanceof VarDecl) || !(decl.getType() instanceof IntType)) {
+					return null;
+				}
+				final int index = indexOf((VarDecl<?>) decl);
+				return frame -> frame.read(index);
+			} else if (expr instanceof IntAddExpr || expr instanceof IntMulExpr) {
+				final MultiaryExpr<IntType, IntType> multiary = (MultiaryExpr<IntType, IntType>) expr;
+				final IntEval[] ops = new IntEval[multiary.getOps().size()];
+				for (int i = 0; i < ops.length; i++) {
+					ops[i] = intExpr(multiary.getOps().get(i));
+					if (ops[i] == null) {
+						return null;
+					}
+				}
+				if (expr instanceof IntAddExpr) {
+					return frame -> {
+						long sum = 0;
+						for (final IntEval op : ops) {
+							sum = Math.addExact(sum, op.eval(frame));
+						}
+						return sum;
+					};
+				} else {
+					return frame -> {
+						long product = 1;
+						for (final IntEval op : ops) {
+							product = Math.multiplyExact(product, op.eval(frame));
+						}
+						return product;
+					};
+				}
+			} else if (expr instanceof IntSubExpr || expr instanceof IntDivExpr || expr instanceof IntModExpr) {
+				final BinaryExpr<IntType, IntType> binary = (BinaryExpr<IntType, IntType>) expr;
+				final IntEval left = intExpr(binary.getLeftOp());
+				final IntEval right = intExpr(binary.getRightOp());
+				if (left == null || right == null) {
+					return null;
+				} else if (expr instanceof IntSubExpr) {
+					return frame -> Math.subtractExact(left.eval(frame), right.eval(frame));
+				} else if (expr instanceof IntDivExpr) {
+					// Truncating division, like BigInteger#divide
+					return frame -> div(left.eval(frame), right.eval(frame));
+				} else {
+					// Always non-negative, like IntLitExpr#mod
+					return frame -> Math.floorMod(left.eval(frame), Math.absExact(right.eval(frame)));
+				}
+			} else if (expr instanceof IntNegExpr) {
+				final IntEval op = intExpr(((IntNegExpr) expr).getOp());
+				return op == null ? null : frame -> Math.negateExact(op.eval(frame));
+			} else if (expr instanceof IntPosExpr) {
+				return intExpr(((IntPosExpr) expr).getOp());
+			} else if (expr instanceof IteExpr) {
+				final IteExpr<?> ite = (IteExpr<?>) expr;
+				final BoolEval cond = boolExpr(ite.getCond());
+				final IntEval then = intExpr(ite.getThen());
+				final IntEval elze = intExpr(ite.getElse());
+				if (cond == null || then == null || elze == null) {
+					return null;
+				}
+				return frame -> cond.eval(frame) ? then.eval(frame) : elze.eval(frame);
+			} else {
+				return null;
+			}
+		}
+
+		private static long div(final long left, final long right) {
+			// The only overflowing case is Long.MIN_VALUE / -1
+			return right == -1 ? Math.negateExact(left) : left / right;
+		}
+	}
+
+}
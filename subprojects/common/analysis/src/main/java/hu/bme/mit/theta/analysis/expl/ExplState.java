@@ -41,8 +41,12 @@ public abstract class ExplState extends Valuation implements ExprState {
 	public static ExplState of(final Valuation val) {
 		if (val.getDecls().isEmpty()) {
 			return top();
+		} else if (val instanceof PackedValuation) {
+			return new NonBottom((PackedValuation) val);
+		} else if (val instanceof NonBottom) {
+			return (NonBottom) val;
 		}
-		return new NonBottom(val);
+		return new NonBottom(PackedValuation.of(ValuationLayout.of(val.getDecls()), val));
 	}
 
 	public static ExplState bottom() {
@@ -76,11 +80,16 @@ public abstract class ExplState extends Valuation implements ExprState {
 
 	////
 
+	/**
+	 * State with the values stored in a {@link PackedValuation}. States of the same precision
+	 * share the layout of the valuation, so their equality and ordering is checked slot by
+	 * slot, and their hash code is computed from the slots.
+	 */
 	private static final class NonBottom extends ExplState {
-		private final Valuation val;
+		private final PackedValuation val;
 
-		private NonBottom(final Valuation val) {
-			this.val = ImmutableValuation.copyOf(checkNotNull(val));
+		private NonBottom(final PackedValuation val) {
+			this.val = checkNotNull(val);
 		}
 
 		@Override
@@ -115,7 +124,7 @@ public abstract class ExplState extends Valuation implements ExprState {
 			if (that.isBottom()) {
 				return false;
 			} else {
-				return this.getVal().isLeq(that.getVal());
+				return this.val.isLeq(that.getVal());
 			}
 		}
 
@@ -124,6 +133,22 @@ public abstract class ExplState extends Valuation implements ExprState {
 			return false;
 		}
 
+		@Override
+		public boolean equals(final Object obj) {
+			if (this == obj) {
+				return true;
+			} else if (obj instanceof NonBottom) {
+				return this.val.slotEquals(((NonBottom) obj).val);
+			} else {
+				return false;
+			}
+		}
+
+		@Override
+		public int hashCode() {
+			return val.slotHash() + 1;
+		}
+
 		@Override
 		public String toString() {
 			return Utils.lispStringBuilder(ExplState.class.getSimpleName()).aligned()
@@ -181,7 +206,8 @@ public abstract class ExplState extends Valuation implements ExprState {
 	}
 
 	private static class TopLazyHolder {
-		static final ExplState INSTANCE = new NonBottom(ImmutableValuation.empty());
+		static final ExplState INSTANCE = new NonBottom(
+				PackedValuation.of(ValuationLayout.of(Collections.emptyList()), ImmutableValuation.empty()));
 	}
 
 }
@@ -23,6 +23,7 @@ import hu.bme.mit.theta.core.model.MutableValuation;
 import hu.bme.mit.theta.core.stmt.Stmt;
 import hu.bme.mit.theta.core.type.Expr;
 import hu.bme.mit.theta.core.type.booltype.BoolType;
+import hu.bme.mit.theta.core.utils.SimplificationCache;
 import hu.bme.mit.theta.core.utils.StmtUnfoldResult;
 import hu.bme.mit.theta.core.utils.StmtUtils;
 import hu.bme.mit.theta.core.utils.indexings.VarIndexing;
@@ -31,6 +32,9 @@ import hu.bme.mit.theta.solver.Solver;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
@@ -39,18 +43,37 @@ import static java.util.Collections.singleton;
 
 public final class ExplStmtTransFunc implements TransFunc<ExplState, StmtAction, ExplPrec> {
 
+	private static final int SIMPLIFICATION_CACHE_SIZE = 10_000;
+
 	private final Solver solver;
 	// 0 means arbitrarily many
 	private final int maxSuccToEnumerate;
+	// Guards and right-hand sides are simplified again and again in states that agree on their variables
+	private final SimplificationCache simplificationCache;
+	// Compiled statements of the actions (empty if they cannot be compiled), null if disabled
+	private final Map<List<Stmt>, Optional<CompiledStmts>> compiledStmts;
 
-	private ExplStmtTransFunc(final Solver solver, final int maxSuccToEnumerate) {
+	private ExplStmtTransFunc(final Solver solver, final int maxSuccToEnumerate, final boolean compileStmts) {
 		this.solver = checkNotNull(solver);
 		this.maxSuccToEnumerate = maxSuccToEnumerate;
+		this.simplificationCache = SimplificationCache.create(SIMPLIFICATION_CACHE_SIZE);
+		this.compiledStmts = compileStmts ? new ConcurrentHashMap<>() : null;
 	}
 
 	public static ExplStmtTransFunc create(final Solver solver, final int maxSuccToEnumerate) {
+		return create(solver, maxSuccToEnumerate, true);
+	}
+
+	/**
+	 * Create a transfer function, which compiles the statements of the actions to evaluate
+	 * them without interpretation where possible (if enabled). The statements are only
+	 * interpreted (and the solver is only called) if the compiled statements cannot decide
+	 * the successor.
+	 */
+	public static ExplStmtTransFunc create(final Solver solver, final int maxSuccToEnumerate,
+										   final boolean compileStmts) {
 		checkArgument(maxSuccToEnumerate >= 0, "Max. succ. to enumerate must be non-negative.");
-		return new ExplStmtTransFunc(solver, maxSuccToEnumerate);
+		return new ExplStmtTransFunc(solver, maxSuccToEnumerate, compileStmts);
 	}
 
 	@Override
@@ -59,12 +82,23 @@ public final class ExplStmtTransFunc implements TransFunc<ExplState, StmtAction,
 	}
 
 	Collection<ExplState> getSuccStates(final ExplState state, final List<Stmt> stmts, final ExplPrec prec) {
+		if (compiledStmts != null) {
+			final Optional<CompiledStmts> compiled = compiledStmts.computeIfAbsent(stmts,
+					s -> Optional.ofNullable(CompiledStmts.compile(s)));
+			if (compiled.isPresent()) {
+				final ExplState succState = compiled.get().apply(state, prec);
+				if (succState != null) {
+					return singleton(succState);
+				}
+			}
+		}
+
 		final MutableValuation val = MutableValuation.copyOf(state);
 		boolean triedSolver = false;
 
 		for (int i = 0; i < stmts.size(); i++) {
 			final Stmt stmt = stmts.get(i);
-			final ApplyResult applyResult = StmtApplier.apply(stmt, val, triedSolver);
+			final ApplyResult applyResult = StmtApplier.apply(stmt, val, triedSolver, simplificationCache);
 
 			assert !triedSolver || applyResult != ApplyResult.BOTTOM;
 
@@ -87,7 +121,7 @@ public final class ExplStmtTransFunc implements TransFunc<ExplState, StmtAction,
 				} else if (maxSuccToEnumerate == 0 || succStates.size() <= maxSuccToEnumerate) {
 					return succStates;
 				} else {
-					final ApplyResult reapplyResult = StmtApplier.apply(stmt, val, true);
+					final ApplyResult reapplyResult = StmtApplier.apply(stmt, val, true, simplificationCache);
 					assert reapplyResult == ApplyResult.SUCCESS;
 				}
 			}
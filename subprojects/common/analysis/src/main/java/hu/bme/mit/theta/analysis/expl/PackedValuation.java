@@ -0,0 +1,314 @@
+/*
+ *  Copyright 2022 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.expl;
+
+import com.google.common.collect.ImmutableList;
+import hu.bme.mit.theta.core.decl.Decl;
+import hu.bme.mit.theta.core.model.Valuation;
+import hu.bme.mit.theta.core.type.LitExpr;
+import hu.bme.mit.theta.core.type.Type;
+import hu.bme.mit.theta.core.type.booltype.BoolLitExpr;
+import hu.bme.mit.theta.core.type.bvtype.BvLitExpr;
+import hu.bme.mit.theta.core.type.bvtype.BvType;
+import hu.bme.mit.theta.core.type.inttype.IntLitExpr;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Bool;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Int;
+
+/**
+ * Immutable valuation that stores the values in the slots of a {@link ValuationLayout}.
+ * Booleans, integers fitting into a long and bitvectors of at most 64 bits are stored in a
+ * long array, the assigned slots in a bitset, and only the remaining values (e.g., large
+ * integers, rationals, arrays) are kept as literals. Literals are created on demand when
+ * the valuation is queried. Valuations with the same layout are compared slot by slot.
+ */
+final class PackedValuation extends Valuation {
+
+	private final ValuationLayout layout;
+	private final long[] assigned;
+	private final long[] values;
+	// Null if no value is stored as a literal
+	private final LitExpr<?>[] lits;
+	private final int size;
+	private final int slotHash;
+
+	private PackedValuation(final ValuationLayout layout, final long[] assigned, final long[] values,
+							final LitExpr<?>[] lits) {
+		this.layout = layout;
+		this.assigned = assigned;
+		this.values = values;
+		this.lits = lits;
+
+		int size = 0;
+		int slotHash = 0;
+		for (int slot = nextAssigned(0); slot >= 0; slot = nextAssigned(slot + 1)) {
+			size++;
+			slotHash += layout.getDecl(slot).hashCode() ^ valueHash(slot);
+		}
+		this.size = size;
+		this.slotHash = slotHash;
+	}
+
+	/**
+	 * Create a valuation with the given layout, keeping the values of the declarations of the
+	 * layout.
+	 */
+	static PackedValuation of(final ValuationLayout layout, final Valuation val) {
+		checkNotNull(layout);
+		checkNotNull(val);
+		final long[] assigned = new long[(layout.size() + Long.SIZE - 1) / Long.SIZE];
+		final long[] values = new long[layout.size()];
+		LitExpr<?>[] lits = null;
+
+		for (int slot = 0; slot < layout.size(); slot++) {
+			final Optional<? extends LitExpr<?>> eval = val.eval(layout.getDecl(slot));
+			if (eval.isEmpty()) {
+				continue;
+			}
+			assigned[slot / Long.SIZE] |= 1L << slot;
+
+			final LitExpr<?> lit = eval.get();
+			switch (layout.getKind(slot)) {
+				case BOOL:
+					values[slot] = ((BoolLitExpr) lit).getValue() ? 1 : 0;
+					continue;
+				case INT:
+					final BigInteger intValue = ((IntLitExpr) lit).getValue();
+					if (intValue.bitLength() < Long.SIZE) {
+						values[slot] = intValue.longValue();
+						continue;
+					}
+					break;
+				case BV:
+					values[slot] = pack(((BvLitExpr) lit).getValue());
+					continue;
+				default:
+					break;
+			}
+
+			if (lits == null) {
+				lits = new LitExpr<?>[layout.size()];
+			}
+			lits[slot] = lit;
+		}
+
+		return new PackedValuation(layout, assigned, values, lits);
+	}
+
+	/**
+	 * Create a valuation from the contents of its slots, as they are stored by
+	 * {@link #isAssigned(int)}, {@link #getSlotValue(int)} and {@link #getSlotLit(int)}. The
+	 * arrays are not copied.
+	 */
+	static PackedValuation ofSlots(final ValuationLayout layout, final long[] assigned, final long[] values,
+								   final LitExpr<?>[] lits) {
+		checkNotNull(layout);
+		checkArgument(assigned.length == (layout.size() + Long.SIZE - 1) / Long.SIZE, "Invalid bitset size");
+		checkArgument(values.length == layout.size(), "Invalid number of values");
+		checkArgument(lits == null || lits.length == layout.size(), "Invalid number of literals");
+		return new PackedValuation(layout, assigned, values, lits);
+	}
+
+	private static long pack(final boolean[] bits) {
+		long packed = 0;
+		for (final boolean bit : bits) {
+			packed = (packed << 1) | (bit ? 1 : 0);
+		}
+		return packed;
+	}
+
+	private static boolean[] unpack(final long packed, final int size) {
+		final boolean[] bits = new boolean[size];
+		for (int i = 0; i < size; i++) {
+			bits[size - 1 - i] = ((packed >>> i) & 1) == 1;
+		}
+		return bits;
+	}
+
+	int size() {
+		return size;
+	}
+
+	ValuationLayout getLayout() {
+		return layout;
+	}
+
+	boolean isAssigned(final int slot) {
+		return (assigned[slot / Long.SIZE] & (1L << slot)) != 0;
+	}
+
+	/**
+	 * Get the primitive value stored in a slot (1 or 0 for booleans), which is only
+	 * meaningful if the slot is assigned and its value is not stored as a literal.
+	 */
+	long getSlotValue(final int slot) {
+		return values[slot];
+	}
+
+	/**
+	 * Get the literal stored in a slot, or null if the value is primitive.
+	 */
+	LitExpr<?> getSlotLit(final int slot) {
+		return lits == null ? null : lits[slot];
+	}
+
+	private int nextAssigned(final int from) {
+		int word = from / Long.SIZE;
+		if (word >= assigned.length) {
+			return -1;
+		}
+		long bits = assigned[word] & (-1L << from);
+		while (bits == 0) {
+			word++;
+			if (word == assigned.length) {
+				return -1;
+			}
+			bits = assigned[word];
+		}
+		return word * Long.SIZE + Long.numberOfTrailingZeros(bits);
+	}
+
+	private int valueHash(final int slot) {
+		return lits != null && lits[slot] != null ? lits[slot].hashCode() : Long.hashCode(values[slot]);
+	}
+
+	private boolean slotEquals(final int slot, final PackedValuation that) {
+		if (this.values[slot] != that.values[slot]) {
+			return false;
+		}
+		final LitExpr<?> thisLit = this.lits == null ? null : this.lits[slot];
+		final LitExpr<?> thatLit = that.lits == null ? null : that.lits[slot];
+		return thisLit == null ? thatLit == null : thisLit.equals(thatLit);
+	}
+
+	private LitExpr<?> getLit(final int slot) {
+		if (lits != null && lits[slot] != null) {
+			return lits[slot];
+		}
+		switch (layout.getKind(slot)) {
+			case BOOL:
+				return Bool(values[slot] != 0);
+			case INT:
+				return Int(BigInteger.valueOf(values[slot]));
+			case BV:
+				// Like the results of the bitvector operations, the literal is neutral (the
+				// signedness is not part of the equality of bitvector literals and types)
+				final BvType type = (BvType) layout.getDecl(slot).getType();
+				return BvLitExpr.of(unpack(values[slot], type.getSize()));
+			default:
+				throw new AssertionError();
+		}
+	}
+
+	@Override
+	public Collection<? extends Decl<?>> getDecls() {
+		final ImmutableList.Builder<Decl<?>> builder = ImmutableList.builderWithExpectedSize(size);
+		for (int slot = nextAssigned(0); slot >= 0; slot = nextAssigned(slot + 1)) {
+			builder.add(layout.getDecl(slot));
+		}
+		return builder.build();
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <DeclType extends Type> Optional<LitExpr<DeclType>> eval(final Decl<DeclType> decl) {
+		checkNotNull(decl);
+		final int slot = layout.slotOf(decl);
+		if (slot < 0 || !isAssigned(slot)) {
+			return Optional.empty();
+		}
+		return Optional.of((LitExpr<DeclType>) getLit(slot));
+	}
+
+	@Override
+	public Map<Decl<?>, LitExpr<?>> toMap() {
+		final Map<Decl<?>, LitExpr<?>> map = new LinkedHashMap<>(size * 2);
+		for (int slot = nextAssigned(0); slot >= 0; slot = nextAssigned(slot + 1)) {
+			map.put(layout.getDecl(slot), getLit(slot));
+		}
+		return map;
+	}
+
+	/**
+	 * Check if the other valuation assigns a subset of the declarations with the same values.
+	 */
+	@Override
+	public boolean isLeq(final Valuation that) {
+		if (that instanceof PackedValuation && ((PackedValuation) that).layout == this.layout) {
+			final PackedValuation packed = (PackedValuation) that;
+			for (int i = 0; i < assigned.length; i++) {
+				if ((packed.assigned[i] & ~this.assigned[i]) != 0) {
+					return false;
+				}
+			}
+			for (int slot = packed.nextAssigned(0); slot >= 0; slot = packed.nextAssigned(slot + 1)) {
+				if (!slotEquals(slot, packed)) {
+					return false;
+				}
+			}
+			return true;
+		}
+		return super.isLeq(that);
+	}
+
+	/**
+	 * Hash code computed from the slots. Unlike {@link #hashCode()}, it is not consistent
+	 * with the other kinds of valuations, only with packed valuations of any layout, as the
+	 * way a value is stored only depends on the type and the value.
+	 */
+	int slotHash() {
+		return slotHash;
+	}
+
+	/**
+	 * Check equality with a packed valuation of any layout.
+	 */
+	boolean slotEquals(final PackedValuation that) {
+		if (this == that) {
+			return true;
+		} else if (this.slotHash != that.slotHash || this.size != that.size) {
+			return false;
+		} else if (this.layout == that.layout) {
+			return Arrays.equals(this.assigned, that.assigned) && Arrays.equals(this.values, that.values)
+					&& Arrays.equals(this.lits, that.lits);
+		} else {
+			return this.toMap().equals(that.toMap());
+		}
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		if (obj instanceof PackedValuation) {
+			return slotEquals((PackedValuation) obj);
+		}
+		return super.equals(obj);
+	}
+
+	@Override
+	public int hashCode() {
+		return super.hashCode();
+	}
+
+}
@@ -31,6 +31,7 @@ import hu.bme.mit.theta.core.stmt.SkipStmt;
 import hu.bme.mit.theta.core.stmt.Stmt;
 import hu.bme.mit.theta.core.type.Expr;
 import hu.bme.mit.theta.core.type.LitExpr;
+import hu.bme.mit.theta.core.type.Type;
 import hu.bme.mit.theta.core.type.abstracttype.EqExpr;
 import hu.bme.mit.theta.core.type.abstracttype.NeqExpr;
 import hu.bme.mit.theta.core.type.anytype.RefExpr;
@@ -38,11 +39,13 @@ import hu.bme.mit.theta.core.type.booltype.BoolLitExpr;
 import hu.bme.mit.theta.core.type.booltype.BoolType;
 import hu.bme.mit.theta.core.type.booltype.NotExpr;
 import hu.bme.mit.theta.core.utils.ExprUtils;
+import hu.bme.mit.theta.core.utils.SimplificationCache;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import static com.google.common.base.Preconditions.checkNotNull;
 import static hu.bme.mit.theta.core.type.booltype.SmartBoolExprs.Not;
 
 public final class StmtApplier {
@@ -54,12 +57,26 @@ public final class StmtApplier {
 	}
 
 	public static ApplyResult apply(final Stmt stmt, final MutableValuation val, final boolean approximate) {
+		return applyStmt(stmt, val, approximate, null);
+	}
+
+	/**
+	 * Apply a statement, and reuse the results of previous simplifications from the cache.
+	 */
+	public static ApplyResult apply(final Stmt stmt, final MutableValuation val, final boolean approximate,
+									final SimplificationCache cache) {
+		return applyStmt(stmt, val, approximate, checkNotNull(cache));
+	}
+
+	// The cache is null if results are not cached
+	private static ApplyResult applyStmt(final Stmt stmt, final MutableValuation val, final boolean approximate,
+										 final SimplificationCache cache) {
 		if (stmt instanceof AssignStmt) {
 			final AssignStmt<?> assignStmt = (AssignStmt<?>) stmt;
-			return applyAssign(assignStmt, val, approximate);
+			return applyAssign(assignStmt, val, approximate, cache);
 		} else if (stmt instanceof AssumeStmt) {
 			final AssumeStmt assumeStmt = (AssumeStmt) stmt;
-			return applyAssume(assumeStmt, val, approximate);
+			return applyAssume(assumeStmt, val, approximate, cache);
 		} else if (stmt instanceof HavocStmt) {
 			final HavocStmt<?> havocStmt = (HavocStmt<?>) stmt;
 			return applyHavoc(havocStmt, val);
@@ -67,10 +84,10 @@ public final class StmtApplier {
 			return applySkip();
 		} else if (stmt instanceof SequenceStmt) {
 			final SequenceStmt sequenceStmt = (SequenceStmt) stmt;
-			return applySequence(sequenceStmt, val, approximate);
+			return applySequence(sequenceStmt, val, approximate, cache);
 		} else if (stmt instanceof NonDetStmt) {
 			final NonDetStmt nonDetStmt = (NonDetStmt) stmt;
-			return applyNonDet(nonDetStmt, val, approximate);
+			return applyNonDet(nonDetStmt, val, approximate, cache);
 		} else if (stmt instanceof OrtStmt) {
 			final OrtStmt ortStmt = (OrtStmt) stmt;
 			return applyOrt(ortStmt, val, approximate);
@@ -79,16 +96,16 @@ public final class StmtApplier {
 			return applyLoop(loopStmt, val, approximate);
 		} else if (stmt instanceof IfStmt) {
 			final IfStmt ifStmt = (IfStmt) stmt;
-			return applyIf(ifStmt, val, approximate);
+			return applyIf(ifStmt, val, approximate, cache);
 		} else {
 			throw new UnsupportedOperationException("Unhandled statement: " + stmt);
 		}
 	}
 
 	private static ApplyResult applyAssign(final AssignStmt<?> stmt, final MutableValuation val,
-										   final boolean approximate) {
+										   final boolean approximate, final SimplificationCache cache) {
 		final VarDecl<?> varDecl = stmt.getVarDecl();
-		final Expr<?> expr = ExprUtils.simplify(stmt.getExpr(), val);
+		final Expr<?> expr = simplify(stmt.getExpr(), val, cache);
 		if (expr instanceof LitExpr<?>) {
 			final LitExpr<?> lit = (LitExpr<?>) expr;
 			val.put(varDecl, lit);
@@ -102,8 +119,8 @@ public final class StmtApplier {
 	}
 
 	private static ApplyResult applyAssume(final AssumeStmt stmt, final MutableValuation val,
-										   final boolean approximate) {
-		final Expr<BoolType> cond = ExprUtils.simplify(stmt.getCond(), val);
+										   final boolean approximate, final SimplificationCache cache) {
+		final Expr<BoolType> cond = simplify(stmt.getCond(), val, cache);
 		if (cond instanceof BoolLitExpr) {
 			final BoolLitExpr condLit = (BoolLitExpr) cond;
 			if (condLit.getValue()) {
@@ -177,10 +194,10 @@ public final class StmtApplier {
 	}
 
 	private static ApplyResult applySequence(final SequenceStmt stmt, final MutableValuation val,
-											 final boolean approximate) {
+											 final boolean approximate, final SimplificationCache cache) {
 		MutableValuation copy = MutableValuation.copyOf(val);
 		for (Stmt subStmt : stmt.getStmts()) {
-			ApplyResult res = apply(subStmt, copy, approximate);
+			ApplyResult res = applyStmt(subStmt, copy, approximate, cache);
 			if (res == ApplyResult.BOTTOM || res == ApplyResult.FAILURE) return res;
 		}
 		val.clear();
@@ -194,12 +211,12 @@ public final class StmtApplier {
 	}
 
 	private static ApplyResult applyNonDet(final NonDetStmt stmt, final MutableValuation val,
-										   final boolean approximate) {
+										   final boolean approximate, final SimplificationCache cache) {
 		List<MutableValuation> valuations = new ArrayList<MutableValuation>();
 		int successIndex = -1;
 		for (int i = 0; i < stmt.getStmts().size(); i++) {
 			MutableValuation subVal = MutableValuation.copyOf(val);
-			ApplyResult res = apply(stmt.getStmts().get(i), subVal, approximate);
+			ApplyResult res = applyStmt(stmt.getStmts().get(i), subVal, approximate, cache);
 			if (res == ApplyResult.FAILURE) return ApplyResult.FAILURE;
 			if (res == ApplyResult.SUCCESS) {
 				valuations.add(subVal);
@@ -209,9 +226,9 @@ public final class StmtApplier {
 		if (valuations.size() == 0) {
 			return ApplyResult.BOTTOM;
 		} else if (valuations.size() == 1) {
-			return apply(stmt.getStmts().get(successIndex), val, approximate);
+			return applyStmt(stmt.getStmts().get(successIndex), val, approximate, cache);
 		} else if (approximate) {
-			apply(stmt.getStmts().get(successIndex), val, approximate);
+			applyStmt(stmt.getStmts().get(successIndex), val, approximate, cache);
 			List<Decl<?>> toRemove = new ArrayList<Decl<?>>();
 			for (Decl<?> decl : val.getDecls()) {
 				for (MutableValuation subVal : valuations) {
@@ -229,22 +246,22 @@ public final class StmtApplier {
 	}
 
 	private static ApplyResult applyIf(final IfStmt stmt, final MutableValuation val,
-									   final boolean approximate) {
-		final Expr<BoolType> cond = ExprUtils.simplify(stmt.getCond(), val);
+									   final boolean approximate, final SimplificationCache cache) {
+		final Expr<BoolType> cond = simplify(stmt.getCond(), val, cache);
 
 		if (cond instanceof BoolLitExpr) {
 			final BoolLitExpr condLit = (BoolLitExpr) cond;
 			if (condLit.getValue()) {
-				return apply(stmt.getThen(), val, approximate);
+				return applyStmt(stmt.getThen(), val, approximate, cache);
 			} else {
-				return apply(stmt.getElze(), val, approximate);
+				return applyStmt(stmt.getElze(), val, approximate, cache);
 			}
 		} else {
 			final MutableValuation thenVal = MutableValuation.copyOf(val);
 			final MutableValuation elzeVal = MutableValuation.copyOf(val);
 
-			final ApplyResult thenResult = apply(stmt.getThen(), thenVal, approximate);
-			final ApplyResult elzeResult = apply(stmt.getElze(), elzeVal, approximate);
+			final ApplyResult thenResult = applyStmt(stmt.getThen(), thenVal, approximate, cache);
+			final ApplyResult elzeResult = applyStmt(stmt.getElze(), elzeVal, approximate, cache);
 
 			if (thenResult == ApplyResult.FAILURE || elzeResult == ApplyResult.FAILURE) {
 				return ApplyResult.FAILURE;
@@ -256,16 +273,16 @@ public final class StmtApplier {
 
 			if (thenResult == ApplyResult.SUCCESS && elzeResult == ApplyResult.BOTTOM) {
 				SequenceStmt seq = SequenceStmt.of(ImmutableList.of(AssumeStmt.of(cond), stmt.getThen()));
-				return apply(seq, val, approximate);
+				return applyStmt(seq, val, approximate, cache);
 			}
 
 			if (thenResult == ApplyResult.BOTTOM && elzeResult == ApplyResult.SUCCESS) {
 				SequenceStmt seq = SequenceStmt.of(ImmutableList.of(AssumeStmt.of(Not(cond)), stmt.getElze()));
-				return apply(seq, val, approximate);
+				return applyStmt(seq, val, approximate, cache);
 			}
 
 			if (approximate) {
-				apply(stmt.getThen(), val, approximate);
+				applyStmt(stmt.getThen(), val, approximate, cache);
 				var toRemove = val.getDecls().stream()
 						.filter(it -> !val.eval(it).equals(elzeVal.eval(it)))
 						.collect(Collectors.toSet());
@@ -282,4 +299,9 @@ public final class StmtApplier {
 		throw new UnsupportedOperationException();
 	}
 
+	private static <T extends Type> Expr<T> simplify(final Expr<T> expr, final MutableValuation val,
+													 final SimplificationCache cache) {
+		return cache == null ? ExprUtils.simplify(expr, val) : ExprUtils.simplify(expr, val, cache);
+	}
+
 }
@@ -0,0 +1,115 @@
+/*
+ *  Copyright 2022 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.expl;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import hu.bme.mit.theta.core.decl.Decl;
+import hu.bme.mit.theta.core.type.Type;
+import hu.bme.mit.theta.core.type.booltype.BoolType;
+import hu.bme.mit.theta.core.type.bvtype.BvType;
+import hu.bme.mit.theta.core.type.inttype.IntType;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Assignment of slots to declarations for {@link PackedValuation}s. The slot of a
+ * declaration determines how its value is stored: booleans, integers and bitvectors of at
+ * most 64 bits are stored as primitive values, and other values as literals. Layouts are
+ * interned, so valuations over the same declarations (e.g., the states of the same
+ * precision) share their layout, and can be compared slot by slot.
+ */
+final class ValuationLayout {
+
+	enum Kind {
+		BOOL, INT, BV, LIT
+	}
+
+	private static final Interner<ValuationLayout> interner = Interners.newWeakInterner();
+
+	private final Decl<?>[] decls;
+	private final Kind[] kinds;
+	private final ImmutableMap<Decl<?>, Integer> slots;
+	private final int hashCode;
+
+	private ValuationLayout(final Collection<? extends Decl<?>> decls) {
+		this.decls = decls.toArray(new Decl<?>[0]);
+		this.kinds = new Kind[this.decls.length];
+		final ImmutableMap.Builder<Decl<?>, Integer> builder = ImmutableMap.builder();
+		for (int i = 0; i < this.decls.length; i++) {
+			kinds[i] = kindOf(this.decls[i].getType());
+			builder.put(this.decls[i], i);
+		}
+		this.slots = builder.build();
+		this.hashCode = Arrays.hashCode(this.decls);
+	}
+
+	static ValuationLayout of(final Collection<? extends Decl<?>> decls) {
+		return interner.intern(new ValuationLayout(decls));
+	}
+
+	private static Kind kindOf(final Type type) {
+		if (type instanceof BoolType) {
+			return Kind.BOOL;
+		} else if (type instanceof IntType) {
+			return Kind.INT;
+		} else if (type instanceof BvType && ((BvType) type).getSize() <= Long.SIZE) {
+			return Kind.BV;
+		} else {
+			return Kind.LIT;
+		}
+	}
+
+	int size() {
+		return decls.length;
+	}
+
+	/**
+	 * Get the slot of a declaration, or -1 if it is not in the layout.
+	 */
+	int slotOf(final Decl<?> decl) {
+		final Integer slot = slots.get(decl);
+		return slot == null ? -1 : slot;
+	}
+
+	Decl<?> getDecl(final int slot) {
+		return decls[slot];
+	}
+
+	Kind getKind(final int slot) {
+		return kinds[slot];
+	}
+
+	@Override
+	public int hashCode() {
+		return hashCode;
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		if (this == obj) {
+			return true;
+		} else if (obj instanceof ValuationLayout) {
+			final ValuationLayout that = (ValuationLayout) obj;
+			return this.hashCode == that.hashCode && Arrays.equals(this.decls, that.decls);
+		} else {
+			return false;
+		}
+	}
+
+}
@@ -21,7 +21,8 @@ import static hu.bme.mit.theta.core.utils.PathUtils.unfold;
 
 import hu.bme.mit.theta.analysis.PartialOrd;
 import hu.bme.mit.theta.solver.Solver;
-import hu.bme.mit.theta.solver.utils.WithPushPop;
+
+import java.util.List;
 
 public final class ExprOrd implements PartialOrd<ExprState> {
 
@@ -40,11 +41,7 @@ public final class ExprOrd implements PartialOrd<ExprState> {
 		checkNotNull(state1);
 		checkNotNull(state2);
 
-		try (WithPushPop wpp = new WithPushPop(solver)) {
-			solver.add(unfold(state1.toExpr(), 0));
-			solver.add(Not(unfold(state2.toExpr(), 0)));
-			return solver.check().isUnsat();
-		}
+		return solver.check(List.of(unfold(state1.toExpr(), 0), Not(unfold(state2.toExpr(), 0)))).isUnsat();
 	}
 
 }
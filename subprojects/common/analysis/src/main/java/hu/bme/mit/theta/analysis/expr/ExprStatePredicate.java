@@ -17,6 +17,7 @@ package hu.bme.mit.theta.analysis.expr;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import java.util.List;
 import java.util.function.Predicate;
 
 import hu.bme.mit.theta.common.Utils;
@@ -24,7 +25,6 @@ import hu.bme.mit.theta.core.type.Expr;
 import hu.bme.mit.theta.core.type.booltype.BoolType;
 import hu.bme.mit.theta.core.utils.PathUtils;
 import hu.bme.mit.theta.solver.Solver;
-import hu.bme.mit.theta.solver.utils.WithPushPop;
 
 public class ExprStatePredicate implements Predicate<ExprState> {
 
@@ -43,11 +43,7 @@ public class ExprStatePredicate implements Predicate<ExprState> {
 		if (expr0 == null) {
 			expr0 = PathUtils.unfold(expr, 0);
 		}
-		try (WithPushPop wpp = new WithPushPop(solver)) {
-			solver.add(PathUtils.unfold(state.toExpr(), 0));
-			solver.add(expr0);
-			return solver.check().isSat();
-		}
+		return solver.check(List.of(PathUtils.unfold(state.toExpr(), 0), expr0)).isSat();
 	}
 
 	public Expr<BoolType> toExpr() {
@@ -19,6 +19,35 @@ import hu.bme.mit.theta.analysis.Trace;
 import hu.bme.mit.theta.analysis.expr.ExprAction;
 import hu.bme.mit.theta.analysis.expr.ExprState;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 public interface ExprTraceChecker<R extends Refutation> {
 	ExprTraceStatus<R> check(final Trace<? extends ExprState, ? extends ExprAction> trace);
+
+	/**
+	 * Check the traces of a trie, returning their statuses in the order of the traces. The
+	 * checking may stop at the first feasible trace, in which case the statuses of the
+	 * traces that were not checked are null. By default, the traces are checked one by one,
+	 * checkers that can share the encoding of common prefixes should override this method.
+	 */
+	default List<ExprTraceStatus<R>> checkAll(final ExprTraceTrie<? extends ExprState, ? extends ExprAction> trie) {
+		final List<ExprTraceStatus<R>> statuses = new ArrayList<>(Collections.nCopies(trie.getTraces().size(), null));
+		for (int i = 0; i < statuses.size(); i++) {
+			final ExprTraceStatus<R> status = check(trie.getTraces().get(i));
+			statuses.set(i, status);
+			if (status.isFeasible()) {
+				break;
+			}
+		}
+		return statuses;
+	}
+
+	/**
+	 * Release the resources (e.g., the solver) owned by the checker. Checkers do not own
+	 * resources by default, but the ones created by a factory for a single use may.
+	 */
+	default void close() {
+	}
 }
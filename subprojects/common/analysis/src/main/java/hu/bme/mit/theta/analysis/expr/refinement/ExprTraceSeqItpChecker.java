@@ -32,6 +32,7 @@ import hu.bme.mit.theta.solver.ItpSolver;
 import hu.bme.mit.theta.solver.utils.WithPushPop;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import static com.google.common.base.Preconditions.checkNotNull;
@@ -103,8 +104,109 @@ public final class ExprTraceSeqItpChecker implements ExprTraceChecker<ItpRefutat
 		}
 	}
 
+	/**
+	 * Check the traces of a trie in a depth-first traversal, where the states and actions of
+	 * each node are only added to the solver once for all traces sharing that node, and only
+	 * the target is added for each trace separately.
+	 */
+	@Override
+	public List<ExprTraceStatus<ItpRefutation>> checkAll(final ExprTraceTrie<? extends ExprState, ? extends ExprAction> trie) {
+		checkNotNull(trie);
+		final List<ExprTraceStatus<ItpRefutation>> statuses = new ArrayList<>(Collections.nCopies(trie.getTraces().size(), null));
+
+		try (WithPushPop wpp = new WithPushPop(solver)) {
+			// Marker i contains the state i and the action leading to it, or the target of the traces of length i - 1
+			final List<ItpMarker> markers = new ArrayList<>(trie.getMaxLength() + 2);
+			for (int i = 0; i < trie.getMaxLength() + 2; ++i) {
+				markers.add(solver.createMarker());
+			}
+			final List<VarIndexing> indexings = new ArrayList<>(trie.getMaxLength() + 1);
+			for (final ExprTraceTrie.Node<? extends ExprState, ? extends ExprAction> root : trie.getRoots()) {
+				if (checkSubtree(trie, root, markers, indexings, statuses)) {
+					break;
+				}
+			}
+		}
+		return statuses;
+	}
+
+	private boolean checkSubtree(final ExprTraceTrie<? extends ExprState, ? extends ExprAction> trie,
+								 final ExprTraceTrie.Node<? extends ExprState, ? extends ExprAction> node,
+								 final List<ItpMarker> markers, final List<VarIndexing> indexings,
+								 final List<ExprTraceStatus<ItpRefutation>> statuses) {
+		final int depth = node.getDepth();
+		try (WithPushPop wpp = new WithPushPop(solver)) {
+			if (depth == 0) {
+				indexings.add(VarIndexingFactory.indexing(0));
+				solver.add(markers.get(0), PathUtils.unfold(init, indexings.get(0)));
+			} else {
+				indexings.add(indexings.get(depth - 1).add(node.getAction().nextIndexing()));
+				solver.add(markers.get(depth), PathUtils.unfold(node.getAction().toExpr(), indexings.get(depth - 1)));
+			}
+			solver.add(markers.get(depth), PathUtils.unfold(node.getState().toExpr(), indexings.get(depth)));
+
+			if (!node.getTraceIndices().isEmpty()) {
+				final Trace<? extends ExprState, ? extends ExprAction> trace = trie.getTraces().get(node.getTraceIndices().get(0));
+				final ExprTraceStatus<ItpRefutation> status = checkTarget(trace, markers, indexings);
+				for (final int traceIndex : node.getTraceIndices()) {
+					statuses.set(traceIndex, status);
+				}
+				if (status.isFeasible()) {
+					return true;
+				}
+			}
+
+			for (final ExprTraceTrie.Node<? extends ExprState, ? extends ExprAction> child : node.getChildren()) {
+				if (checkSubtree(trie, child, markers, indexings, statuses)) {
+					return true;
+				}
+			}
+			return false;
+		} finally {
+			indexings.remove(depth);
+		}
+	}
+
+	private ExprTraceStatus<ItpRefutation> checkTarget(final Trace<? extends ExprState, ? extends ExprAction> trace,
+													   final List<ItpMarker> markers, final List<VarIndexing> indexings) {
+		final int stateCount = indexings.size();
+		try (WithPushPop wpp = new WithPushPop(solver)) {
+			solver.add(markers.get(stateCount), PathUtils.unfold(target, indexings.get(stateCount - 1)));
+			final boolean concretizable = solver.check().isSat();
+
+			if (concretizable) {
+				final Valuation model = solver.getModel();
+				final ImmutableList.Builder<Valuation> builder = ImmutableList.builder();
+				for (final VarIndexing indexing : indexings) {
+					builder.add(PathUtils.extractValuation(model, indexing));
+				}
+				return ExprTraceStatus.feasible(Trace.of(builder.build(), trace.getActions()));
+			} else {
+				final List<Expr<BoolType>> interpolants = new ArrayList<>(stateCount);
+				final Interpolant interpolant = solver.getInterpolant(solver.createSeqPattern(markers.subList(0, stateCount + 1)));
+				for (int i = 0; i < stateCount; ++i) {
+					interpolants.add(PathUtils.foldin(interpolant.eval(markers.get(i)), indexings.get(i)));
+				}
+				return ExprTraceStatus.infeasible(ItpRefutation.sequence(interpolants));
+			}
+		}
+	}
+
 	@Override
 	public String toString() {
 		return getClass().getSimpleName();
 	}
+
+	/**
+	 * Close the solver of the checker, which must not be shared with other users.
+	 */
+	@Override
+	public void close() {
+		try {
+			solver.close();
+		} catch (final Exception e) {
+			throw new IllegalStateException("Could not close solver", e);
+		}
+	}
+
 }
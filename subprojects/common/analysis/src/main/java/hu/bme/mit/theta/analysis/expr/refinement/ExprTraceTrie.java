@@ -0,0 +1,186 @@
+/*
+ *  Copyright 2022 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.expr.refinement;
+
+import com.google.common.collect.ImmutableList;
+import hu.bme.mit.theta.analysis.Trace;
+import hu.bme.mit.theta.analysis.expr.ExprAction;
+import hu.bme.mit.theta.analysis.expr.ExprState;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Prefix tree of traces, where traces with a common prefix share the nodes of the prefix.
+ * States and actions are compared by identity, so the traces of the same ARG share the
+ * nodes of their common ancestors. Each node corresponds to a state of the traces, and
+ * stores the indices of the traces ending in that state.
+ */
+public final class ExprTraceTrie<S extends ExprState, A extends ExprAction> {
+
+	private final List<Trace<S, A>> traces;
+	private final List<Node<S, A>> roots;
+	private final int maxLength;
+
+	private ExprTraceTrie(final List<? extends Trace<S, A>> traces) {
+		this.traces = ImmutableList.copyOf(traces);
+		this.roots = new ArrayList<>();
+		int maxLength = 0;
+		for (int i = 0; i < this.traces.size(); i++) {
+			final Trace<S, A> trace = this.traces.get(i);
+			maxLength = Math.max(maxLength, trace.length());
+			Node<S, A> node = Node.find(roots, trace.getState(0), null, 0);
+			node.traceCount++;
+			for (int j = 0; j < trace.length(); j++) {
+				node = Node.find(node.children, trace.getState(j + 1), trace.getAction(j), j + 1);
+				node.traceCount++;
+			}
+			node.traceIndices.add(i);
+		}
+		this.maxLength = maxLength;
+	}
+
+	public static <S extends ExprState, A extends ExprAction> ExprTraceTrie<S, A> of(
+			final List<? extends Trace<S, A>> traces) {
+		checkNotNull(traces);
+		return new ExprTraceTrie<>(traces);
+	}
+
+	public List<Trace<S, A>> getTraces() {
+		return traces;
+	}
+
+	public List<Node<S, A>> getRoots() {
+		return Collections.unmodifiableList(roots);
+	}
+
+	/**
+	 * Gets the length (number of actions) of the longest trace.
+	 */
+	public int getMaxLength() {
+		return maxLength;
+	}
+
+	/**
+	 * Partition the traces into groups that do not share nodes below the roots of their
+	 * subtrees, by splitting the largest subtrees first, until there are at least the given
+	 * number of groups (if possible). Traces of different groups can be checked independently,
+	 * only the prefixes above the subtrees are encoded by both.
+	 *
+	 * @param parts Number of groups to create at least
+	 * @return Groups of trace indices, in the order of the traces
+	 */
+	public List<List<Integer>> partition(final int parts) {
+		checkArgument(parts > 0, "Number of parts must be positive");
+		final PriorityQueue<Node<S, A>> frontier = new PriorityQueue<>(
+				Comparator.comparingInt((Node<S, A> node) -> node.traceCount).reversed());
+		final List<Node<S, A>> unsplittable = new ArrayList<>();
+		frontier.addAll(roots);
+		while (!frontier.isEmpty() && frontier.size() + unsplittable.size() < parts) {
+			final Node<S, A> node = frontier.poll();
+			if (node.children.isEmpty() || !node.traceIndices.isEmpty()) {
+				unsplittable.add(node);
+			} else {
+				frontier.addAll(node.children);
+			}
+		}
+		unsplittable.addAll(frontier);
+
+		final List<List<Integer>> groups = new ArrayList<>(unsplittable.size());
+		for (final Node<S, A> subtree : unsplittable) {
+			final List<Integer> group = new ArrayList<>(subtree.traceCount);
+			final Deque<Node<S, A>> stack = new ArrayDeque<>();
+			stack.push(subtree);
+			while (!stack.isEmpty()) {
+				final Node<S, A> node = stack.pop();
+				group.addAll(node.traceIndices);
+				node.children.forEach(stack::push);
+			}
+			Collections.sort(group);
+			groups.add(group);
+		}
+		groups.sort(Comparator.comparingInt(group -> group.get(0)));
+		return groups;
+	}
+
+	public static final class Node<S extends ExprState, A extends ExprAction> {
+		private final S state;
+		private final A action;
+		private final int depth;
+		private final List<Node<S, A>> children;
+		private final List<Integer> traceIndices;
+		private int traceCount;
+
+		private Node(final S state, final A action, final int depth) {
+			this.state = state;
+			this.action = action;
+			this.depth = depth;
+			this.children = new ArrayList<>(1);
+			this.traceIndices = new ArrayList<>(0);
+			this.traceCount = 0;
+		}
+
+		private static <S extends ExprState, A extends ExprAction> Node<S, A> find(final List<Node<S, A>> nodes,
+																					final S state, final A action,
+																					final int depth) {
+			for (final Node<S, A> node : nodes) {
+				if (node.state == state && node.action == action) {
+					return node;
+				}
+			}
+			final Node<S, A> node = new Node<>(state, action, depth);
+			nodes.add(node);
+			return node;
+		}
+
+		public S getState() {
+			return state;
+		}
+
+		/**
+		 * Gets the action leading to the state of this node, which is null for the roots.
+		 */
+		public A getAction() {
+			return action;
+		}
+
+		/**
+		 * Gets the index of the state of this node in its traces.
+		 */
+		public int getDepth() {
+			return depth;
+		}
+
+		public List<Node<S, A>> getChildren() {
+			return Collections.unmodifiableList(children);
+		}
+
+		/**
+		 * Gets the indices of the traces that end in this node.
+		 */
+		public List<Integer> getTraceIndices() {
+			return Collections.unmodifiableList(traceIndices);
+		}
+	}
+}
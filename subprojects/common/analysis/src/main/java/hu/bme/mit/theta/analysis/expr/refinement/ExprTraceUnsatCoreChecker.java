@@ -84,8 +84,9 @@ public final class ExprTraceUnsatCoreChecker implements ExprTraceChecker<VarsRef
 			}
 
 			if (concretizable) {
-				solver.track(ExprUtils.getConjuncts(PathUtils.unfold(target, indexings.get(stateCount - 1))));
-				concretizable = solver.check().isSat();
+				// The target is only assumed, its conjuncts still appear in the unsat core
+				concretizable = solver.check(
+						ExprUtils.getConjuncts(PathUtils.unfold(target, indexings.get(stateCount - 1)))).isSat();
 			}
 
 			if (concretizable) {
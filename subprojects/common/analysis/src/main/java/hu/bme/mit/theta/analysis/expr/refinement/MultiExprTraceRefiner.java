@@ -15,6 +15,7 @@
  */
 package hu.bme.mit.theta.analysis.expr.refinement;
 
+import com.google.common.util.concurrent.Uninterruptibles;
 import hu.bme.mit.theta.analysis.Prec;
 import hu.bme.mit.theta.analysis.Trace;
 import hu.bme.mit.theta.analysis.algorithm.ARG;
@@ -25,27 +26,56 @@ import hu.bme.mit.theta.analysis.algorithm.cegar.RefinerResult;
 import hu.bme.mit.theta.analysis.algorithm.runtimecheck.ArgCexCheckHandler;
 import hu.bme.mit.theta.analysis.expr.ExprAction;
 import hu.bme.mit.theta.analysis.expr.ExprState;
+import hu.bme.mit.theta.common.Utils;
 import hu.bme.mit.theta.common.logging.Logger;
 import hu.bme.mit.theta.common.logging.Logger.Level;
+import hu.bme.mit.theta.common.metrics.Histogram;
+import hu.bme.mit.theta.common.metrics.Metrics;
+import hu.bme.mit.theta.common.metrics.Timer;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
+/**
+ * Refiner that checks all counterexamples of the ARG, and refines the precision with each
+ * of them. The counterexamples are organized into a trie, so that checkers can encode
+ * their common prefixes only once (see {@link ExprTraceChecker#checkAll}). If a factory of
+ * checkers and multiple workers are given, independent subtrees of the trie are checked
+ * in parallel, each worker using its own checker (and thus its own solver). The checkers
+ * created for the workers are closed when the traces are checked.
+ */
 public final class MultiExprTraceRefiner<S extends ExprState, A extends ExprAction, P extends Prec, R extends Refutation>
 		implements Refiner<S, A, P> {
 
 	private final ExprTraceChecker<R> exprTraceChecker;
+	private final Supplier<ExprTraceChecker<R>> exprTraceCheckerFactory;
+	private final int workers;
 	private final PrecRefiner<S, A, P, R> precRefiner;
 	private final PruneStrategy pruneStrategy;
 	private final Logger logger;
 
-	private MultiExprTraceRefiner(final ExprTraceChecker<R> exprTraceChecker,
+	private MultiExprTraceRefiner(final Supplier<ExprTraceChecker<R>> exprTraceCheckerFactory, final int workers,
 								  final PrecRefiner<S, A, P, R> precRefiner,
 								  final PruneStrategy pruneStrategy, final Logger logger) {
-		this.exprTraceChecker = checkNotNull(exprTraceChecker);
+		checkArgument(workers > 0, "Number of workers must be positive");
+		this.exprTraceCheckerFactory = checkNotNull(exprTraceCheckerFactory);
+		this.exprTraceChecker = checkNotNull(exprTraceCheckerFactory.get());
+		this.workers = workers;
 		this.precRefiner = checkNotNull(precRefiner);
 		this.pruneStrategy = checkNotNull(pruneStrategy);
 		this.logger = checkNotNull(logger);
@@ -54,7 +84,21 @@ public final class MultiExprTraceRefiner<S extends ExprState, A extends ExprActi
 	public static <S extends ExprState, A extends ExprAction, P extends Prec, R extends Refutation> MultiExprTraceRefiner<S, A, P, R> create(
 			final ExprTraceChecker<R> exprTraceChecker, final PrecRefiner<S, A, P, R> precRefiner,
 			final PruneStrategy pruneStrategy, final Logger logger) {
-		return new MultiExprTraceRefiner<>(exprTraceChecker, precRefiner, pruneStrategy, logger);
+		checkNotNull(exprTraceChecker);
+		return new MultiExprTraceRefiner<>(() -> exprTraceChecker, 1, precRefiner, pruneStrategy, logger);
+	}
+
+	/**
+	 * Create a refiner that checks independent counterexamples on the given number of
+	 * workers. The factory must return a new checker (with its own solver) on each call, as
+	 * the checkers are used concurrently by the workers. Except for the first one, which is
+	 * used for the whole lifetime of the refiner, the checkers are closed (see
+	 * {@link ExprTraceChecker#close}) after checking the traces of a refinement.
+	 */
+	public static <S extends ExprState, A extends ExprAction, P extends Prec, R extends Refutation> MultiExprTraceRefiner<S, A, P, R> create(
+			final Supplier<ExprTraceChecker<R>> exprTraceCheckerFactory, final int workers,
+			final PrecRefiner<S, A, P, R> precRefiner, final PruneStrategy pruneStrategy, final Logger logger) {
+		return new MultiExprTraceRefiner<>(exprTraceCheckerFactory, workers, precRefiner, pruneStrategy, logger);
 	}
 
 	@Override
@@ -62,28 +106,33 @@ public final class MultiExprTraceRefiner<S extends ExprState, A extends ExprActi
 		checkNotNull(arg);
 		checkNotNull(prec);
 		assert !arg.isSafe() : "ARG must be unsafe";
+		final Metrics metrics = Metrics.current();
 
 		final List<ArgTrace<S, A>> cexs = arg.getCexs().collect(Collectors.toList());
-		final List<Trace<S, A>> traces = arg.getCexs().map(ArgTrace::toTrace).collect(Collectors.toList());
+		final List<Trace<S, A>> traces = cexs.stream().map(ArgTrace::toTrace).collect(Collectors.toList());
 		assert traces.size() == cexs.size();
+		final Histogram cexLength = metrics.histogram("refiner.cexLength");
+		for (final Trace<S, A> trace : traces) {
+			cexLength.record(trace.length());
+		}
 
 		logger.write(Level.INFO, "|  |  Number of traces: %d%n", traces.size());
 		assert traces.size() > 0 : "No counterexample in ARG";
 
 		logger.write(Level.SUBSTEP, "|  |  Checking traces...");
-		final List<ExprTraceStatus<R>> cexStatuses = new ArrayList<>(traces.size());
-		for (final Trace<S, A> trace : traces) {
-			final ExprTraceStatus<R> status = exprTraceChecker.check(trace);
-			cexStatuses.add(status);
-			if (status.isFeasible()) {
-				break;
-			}
+		final Timer traceCheckTimer = metrics.timer("refiner.traceCheck");
+		final long traceCheckStart = traceCheckTimer.start();
+		final List<ExprTraceStatus<R>> cexStatuses;
+		try {
+			cexStatuses = checkAll(traces);
+		} finally {
+			traceCheckTimer.stop(traceCheckStart);
 		}
 
-		if (cexStatuses.stream().anyMatch(ExprTraceStatus::isFeasible)) {
+		final int feasibleIndex = indexOfFeasible(cexStatuses);
+		if (feasibleIndex >= 0) {
 			logger.write(Level.SUBSTEP, "done, result: found feasible%n");
-			return RefinerResult.unsafe(traces.get(
-					cexStatuses.indexOf(cexStatuses.stream().filter(ExprTraceStatus::isFeasible).findFirst().get())));
+			return RefinerResult.unsafe(traces.get(feasibleIndex));
 		} else {
 			assert cexStatuses.size() == cexs.size();
 			logger.write(Level.SUBSTEP, "done, result: all infeasible%n");
@@ -92,20 +141,26 @@ public final class MultiExprTraceRefiner<S extends ExprState, A extends ExprActi
 			assert refutations.size() == cexs.size();
 
 			final List<ArgNode<S, A>> nodesToPrune = new ArrayList<>(traces.size());
-			final List<Boolean> skip = new ArrayList<>(traces.size());
 			for (int i = 0; i < traces.size(); ++i) {
 				nodesToPrune.add(cexs.get(i).node(refutations.get(i).getPruneIndex()));
-				skip.add(false);
 			}
 			assert nodesToPrune.size() == cexs.size();
-			assert skip.size() == cexs.size();
 
-			for (int i = 0; i < nodesToPrune.size(); ++i) {
-				final ArgNode<S, A> node = nodesToPrune.get(i);
-				if (node.properAncestors().anyMatch(a -> nodesToPrune.contains(a))) {
-					skip.set(i, true);
+			// A node is skipped if one of its proper ancestors is also pruned. The ancestors
+			// of a prune node are the preceding nodes of its counterexample, so this is linear
+			// in the total length of the counterexamples.
+			final Set<ArgNode<S, A>> pruneNodeSet = Collections.newSetFromMap(new IdentityHashMap<>());
+			pruneNodeSet.addAll(nodesToPrune);
+			final List<Boolean> skip = new ArrayList<>(traces.size());
+			for (int i = 0; i < traces.size(); ++i) {
+				final ArgTrace<S, A> cex = cexs.get(i);
+				boolean hasPrunedAncestor = false;
+				for (int j = 0; j < refutations.get(i).getPruneIndex() && !hasPrunedAncestor; ++j) {
+					hasPrunedAncestor = pruneNodeSet.contains(cex.node(j));
 				}
+				skip.add(hasPrunedAncestor);
 			}
+			assert skip.size() == cexs.size();
 
 			assert skip.stream().anyMatch(b -> b.equals(false));
 
@@ -116,25 +171,33 @@ public final class MultiExprTraceRefiner<S extends ExprState, A extends ExprActi
 				}
 			}
 
+			final ArgCexCheckHandler<S, A> argCexCheckHandler = ArgCexCheckHandler.current();
 			for (ArgTrace<S, A> cex : cexs) {
-				ArgCexCheckHandler.instance.addCounterexample(cex);
+				argCexCheckHandler.addCounterexample(cex);
 			}
 
-			switch (pruneStrategy) {
-				case LAZY:
-					logger.write(Level.SUBSTEP, "|  |  Pruning (lazy)...");
-					for (int i = 0; i < nodesToPrune.size(); ++i) {
-						if (!skip.get(i)) {
-							arg.prune(nodesToPrune.get(i));
+			final Timer pruneTimer = metrics.timer("refiner.prune");
+			final long pruneStart = pruneTimer.start();
+			try {
+				switch (pruneStrategy) {
+					case LAZY:
+						logger.write(Level.SUBSTEP, "|  |  Pruning (lazy)...");
+						final Set<ArgNode<S, A>> prunedNodes = Collections.newSetFromMap(new IdentityHashMap<>());
+						for (int i = 0; i < nodesToPrune.size(); ++i) {
+							if (!skip.get(i) && prunedNodes.add(nodesToPrune.get(i))) {
+								arg.prune(nodesToPrune.get(i));
+							}
 						}
-					}
-					break;
-				case FULL:
-					logger.write(Level.SUBSTEP, "|  |  Pruning (full)...");
-					arg.pruneAll();
-					break;
-				default:
-					throw new UnsupportedOperationException("Unsupported pruning strategy");
+						break;
+					case FULL:
+						logger.write(Level.SUBSTEP, "|  |  Pruning (full)...");
+						arg.pruneAll();
+						break;
+					default:
+						throw new UnsupportedOperationException("Unsupported pruning strategy");
+				}
+			} finally {
+				pruneTimer.stop(pruneStart);
 			}
 			logger.write(Level.SUBSTEP, "done%n");
 			return RefinerResult.spurious(refinedPrec);
@@ -142,4 +205,101 @@ public final class MultiExprTraceRefiner<S extends ExprState, A extends ExprActi
 
 	}
 
-}
\ No newline at end of file
+	private int indexOfFeasible(final List<ExprTraceStatus<R>> statuses) {
+		for (int i = 0; i < statuses.size(); i++) {
+			if (statuses.get(i) != null && statuses.get(i).isFeasible()) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private List<ExprTraceStatus<R>> checkAll(final List<Trace<S, A>> traces) {
+		final ExprTraceTrie<S, A> trie = ExprTraceTrie.of(traces);
+		final List<List<Integer>> groups = workers > 1 ? trie.partition(workers) : List.of();
+		if (groups.size() <= 1) {
+			return exprTraceChecker.checkAll(trie);
+		}
+		logger.write(Level.DETAIL, "(%d groups on %d workers)...", groups.size(), workers);
+
+		final List<ExprTraceStatus<R>> statuses = new ArrayList<>(Collections.nCopies(traces.size(), null));
+		final AtomicBoolean foundFeasible = new AtomicBoolean(false);
+		// The workers inherit the cancellation token, as they are started by this thread
+		final ExecutorService executor = Executors.newFixedThreadPool(Math.min(workers, groups.size()), r -> {
+			final Thread thread = new Thread(r, "refiner-worker");
+			thread.setDaemon(true);
+			return thread;
+		});
+		final List<Future<List<ExprTraceStatus<R>>>> results = new ArrayList<>(groups.size());
+		final BlockingQueue<ExprTraceChecker<R>> checkers = new LinkedBlockingQueue<>();
+		final List<ExprTraceChecker<R>> workerCheckers = new ArrayList<>();
+		try {
+			checkers.add(exprTraceChecker);
+			for (int i = 1; i < Math.min(workers, groups.size()); i++) {
+				final ExprTraceChecker<R> workerChecker = checkNotNull(exprTraceCheckerFactory.get());
+				workerCheckers.add(workerChecker);
+				checkers.add(workerChecker);
+			}
+			for (final List<Integer> group : groups) {
+				final List<Trace<S, A>> groupTraces = group.stream().map(traces::get).collect(Collectors.toList());
+				results.add(executor.submit(() -> checkGroup(ExprTraceTrie.of(groupTraces), checkers, foundFeasible)));
+			}
+			for (int i = 0; i < groups.size(); i++) {
+				final List<ExprTraceStatus<R>> groupStatuses = getResult(results.get(i));
+				for (int j = 0; j < groupStatuses.size(); j++) {
+					statuses.set(groups.get(i).get(j), groupStatuses.get(j));
+				}
+			}
+		} finally {
+			results.forEach(r -> r.cancel(false));
+			executor.shutdown();
+			// The checkers may still be used by the workers of cancelled groups
+			Uninterruptibles.awaitTerminationUninterruptibly(executor);
+			workerCheckers.forEach(ExprTraceChecker::close);
+		}
+		return statuses;
+	}
+
+	private List<ExprTraceStatus<R>> checkGroup(final ExprTraceTrie<S, A> trie,
+												final BlockingQueue<ExprTraceChecker<R>> checkers,
+												final AtomicBoolean foundFeasible) throws InterruptedException {
+		if (foundFeasible.get()) {
+			return Collections.nCopies(trie.getTraces().size(), null);
+		}
+		// There are as many checkers as workers, so one is always available
+		final ExprTraceChecker<R> checker = checkers.take();
+		try {
+			final List<ExprTraceStatus<R>> statuses = checker.checkAll(trie);
+			if (indexOfFeasible(statuses) >= 0) {
+				foundFeasible.set(true);
+			}
+			return statuses;
+		} finally {
+			checkers.add(checker);
+		}
+	}
+
+	private List<ExprTraceStatus<R>> getResult(final Future<List<ExprTraceStatus<R>>> result) {
+		try {
+			return result.get();
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for workers", e);
+		} catch (final ExecutionException e) {
+			final Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			} else if (cause instanceof Error) {
+				throw (Error) cause;
+			} else {
+				throw new IllegalStateException(cause);
+			}
+		}
+	}
+
+	@Override
+	public String toString() {
+		return Utils.lispStringBuilder(getClass().getSimpleName()).add(workers).add(pruneStrategy).toString();
+	}
+
+}
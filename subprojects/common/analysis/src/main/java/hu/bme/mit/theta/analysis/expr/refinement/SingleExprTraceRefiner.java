@@ -28,6 +28,8 @@ import hu.bme.mit.theta.analysis.expr.ExprState;
 import hu.bme.mit.theta.common.Utils;
 import hu.bme.mit.theta.common.logging.Logger;
 import hu.bme.mit.theta.common.logging.Logger.Level;
+import hu.bme.mit.theta.common.metrics.Metrics;
+import hu.bme.mit.theta.common.metrics.Timer;
 
 import java.util.Optional;
 
@@ -65,16 +67,25 @@ public final class SingleExprTraceRefiner<S extends ExprState, A extends ExprAct
 		checkNotNull(arg);
 		checkNotNull(prec);
 		assert !arg.isSafe() : "ARG must be unsafe";
+		final Metrics metrics = Metrics.current();
 
-		Optional<ArgTrace<S, A>> optionalNewCex = arg.getCexs().filter(cex -> ArgCexCheckHandler.instance.checkIfCounterexampleNew(cex)).findFirst();
+		Optional<ArgTrace<S, A>> optionalNewCex = arg.getCexs().filter(cex -> ArgCexCheckHandler.<S, A>current().checkIfCounterexampleNew(cex)).findFirst();
 		final ArgTrace<S, A> cexToConcretize = optionalNewCex.get();
 
 		final Trace<S, A> traceToConcretize = cexToConcretize.toTrace();
 		logger.write(Level.INFO, "|  |  Trace length: %d%n", traceToConcretize.length());
 		logger.write(Level.DETAIL, "|  |  Trace: %s%n", traceToConcretize);
+		metrics.histogram("refiner.cexLength").record(traceToConcretize.length());
 
 		logger.write(Level.SUBSTEP, "|  |  Checking trace...");
-		final ExprTraceStatus<R> cexStatus = exprTraceChecker.check(traceToConcretize);
+		final Timer traceCheckTimer = metrics.timer("refiner.traceCheck");
+		final long traceCheckStart = traceCheckTimer.start();
+		final ExprTraceStatus<R> cexStatus;
+		try {
+			cexStatus = exprTraceChecker.check(traceToConcretize);
+		} finally {
+			traceCheckTimer.stop(traceCheckStart);
+		}
 		logger.write(Level.SUBSTEP, "done, result: %s%n", cexStatus);
 
 		assert cexStatus.isFeasible() || cexStatus.isInfeasible() : "Unknown CEX status";
@@ -89,21 +100,27 @@ public final class SingleExprTraceRefiner<S extends ExprState, A extends ExprAct
 			assert 0 <= pruneIndex : "Pruning index must be non-negative";
 			assert pruneIndex <= cexToConcretize.length() : "Pruning index larger than cex length";
 
-			ArgCexCheckHandler.instance.addCounterexample(cexToConcretize);
-
-			switch (pruneStrategy) {
-				case LAZY:
-					logger.write(Level.SUBSTEP, "|  |  Pruning from index %d...", pruneIndex);
-					final ArgNode<S, A> nodeToPrune = cexToConcretize.node(pruneIndex);
-					arg.prune(nodeToPrune);
-
-					break;
-				case FULL:
-					logger.write(Level.SUBSTEP, "|  |  Pruning whole ARG", pruneIndex);
-					arg.pruneAll();
-					break;
-				default:
-					throw new UnsupportedOperationException("Unsupported pruning strategy");
+			ArgCexCheckHandler.<S, A>current().addCounterexample(cexToConcretize);
+
+			final Timer pruneTimer = metrics.timer("refiner.prune");
+			final long pruneStart = pruneTimer.start();
+			try {
+				switch (pruneStrategy) {
+					case LAZY:
+						logger.write(Level.SUBSTEP, "|  |  Pruning from index %d...", pruneIndex);
+						final ArgNode<S, A> nodeToPrune = cexToConcretize.node(pruneIndex);
+						arg.prune(nodeToPrune);
+
+						break;
+					case FULL:
+						logger.write(Level.SUBSTEP, "|  |  Pruning whole ARG", pruneIndex);
+						arg.pruneAll();
+						break;
+					default:
+						throw new UnsupportedOperationException("Unsupported pruning strategy");
+				}
+			} finally {
+				pruneTimer.stop(pruneStart);
 			}
 			logger.write(Level.SUBSTEP, "done%n");
 
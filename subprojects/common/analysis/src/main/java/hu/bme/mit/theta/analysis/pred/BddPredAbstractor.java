@@ -0,0 +1,120 @@
+/*
+ *  Copyright 2022 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.pred;
+
+import hu.bme.mit.theta.common.bdd.BddManager;
+import hu.bme.mit.theta.core.decl.ConstDecl;
+import hu.bme.mit.theta.core.decl.Decls;
+import hu.bme.mit.theta.core.model.Valuation;
+import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.LitExpr;
+import hu.bme.mit.theta.core.type.booltype.BoolExprs;
+import hu.bme.mit.theta.core.type.booltype.BoolType;
+import hu.bme.mit.theta.core.utils.PathUtils;
+import hu.bme.mit.theta.core.utils.indexings.VarIndexing;
+import hu.bme.mit.theta.solver.Solver;
+import hu.bme.mit.theta.solver.utils.WithPushPop;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.And;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Iff;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Not;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.True;
+
+/**
+ * Boolean predicate abstraction into a BDD. The satisfying combinations of the predicates
+ * are enumerated by the solver (using activation literals, like the boolean abstractor of
+ * {@link PredAbstractors}). Each model gives a cube over the predicates that are assigned
+ * in the model, which is added to the BDD and blocked in the solver.
+ */
+final class BddPredAbstractor {
+
+	private static final AtomicInteger instanceCounter = new AtomicInteger();
+
+	private final Solver solver;
+	private final BddPredManager manager;
+	private final List<ConstDecl<BoolType>> actLits;
+	private final String litPrefix;
+
+	private BddPredAbstractor(final Solver solver, final BddPredManager manager) {
+		this.solver = checkNotNull(solver);
+		this.manager = checkNotNull(manager);
+		this.actLits = new ArrayList<>();
+		this.litPrefix = "__" + getClass().getSimpleName() + "_" + instanceCounter.getAndIncrement() + "_";
+	}
+
+	static BddPredAbstractor create(final Solver solver, final BddPredManager manager) {
+		return new BddPredAbstractor(solver, manager);
+	}
+
+	BddPredState createStateForExpr(final Expr<BoolType> expr, final VarIndexing exprIndexing, final PredPrec prec,
+									final VarIndexing precIndexing) {
+		checkNotNull(expr);
+		checkNotNull(exprIndexing);
+		checkNotNull(prec);
+		checkNotNull(precIndexing);
+
+		final List<Expr<BoolType>> preds = new ArrayList<>(prec.getPreds());
+		final int[] vars = new int[preds.size()];
+		for (int i = 0; i < preds.size(); ++i) {
+			vars[i] = manager.getVar(preds.get(i));
+		}
+		generateActivationLiterals(preds.size());
+
+		final BddManager bdds = manager.getBdds();
+		int result = BddManager.FALSE;
+		try (WithPushPop wp = new WithPushPop(solver)) {
+			solver.add(PathUtils.unfold(expr, exprIndexing));
+			for (int i = 0; i < preds.size(); ++i) {
+				solver.add(Iff(actLits.get(i).getRef(), PathUtils.unfold(preds.get(i), precIndexing)));
+			}
+			while (solver.check().isSat()) {
+				final Valuation model = solver.getModel();
+				final List<Integer> literals = new ArrayList<>(preds.size());
+				final List<Expr<BoolType>> feedback = new ArrayList<>(preds.size() + 1);
+				feedback.add(True());
+				for (int i = 0; i < preds.size(); ++i) {
+					final ConstDecl<BoolType> lit = actLits.get(i);
+					final Optional<LitExpr<BoolType>> eval = model.eval(lit);
+					if (eval.isPresent()) {
+						if (eval.get().equals(True())) {
+							literals.add(vars[i] + 1);
+							feedback.add(lit.getRef());
+						} else {
+							literals.add(-(vars[i] + 1));
+							feedback.add(Not(lit.getRef()));
+						}
+					}
+				}
+				result = bdds.or(result, bdds.cube(literals.stream().mapToInt(Integer::intValue).toArray()));
+				solver.add(Not(And(feedback)));
+			}
+		}
+		return BddPredState.of(manager, result);
+	}
+
+	private void generateActivationLiterals(final int n) {
+		while (actLits.size() < n) {
+			actLits.add(Decls.Const(litPrefix + actLits.size(), BoolExprs.Bool()));
+		}
+	}
+
+}
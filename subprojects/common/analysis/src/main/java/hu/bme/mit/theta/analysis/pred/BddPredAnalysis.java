@@ -0,0 +1,66 @@
+/*
+ *  Copyright 2022 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.pred;
+
+import hu.bme.mit.theta.analysis.Analysis;
+import hu.bme.mit.theta.analysis.InitFunc;
+import hu.bme.mit.theta.analysis.PartialOrd;
+import hu.bme.mit.theta.analysis.TransFunc;
+import hu.bme.mit.theta.analysis.expr.ExprAction;
+import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.booltype.BoolType;
+import hu.bme.mit.theta.solver.Solver;
+
+/**
+ * Boolean predicate abstraction, where the states are BDDs over the predicates of the
+ * precision. Analyses whose states are compared to each other must share the manager.
+ */
+public final class BddPredAnalysis<A extends ExprAction> implements Analysis<BddPredState, A, PredPrec> {
+
+	private final PartialOrd<BddPredState> partialOrd;
+	private final InitFunc<BddPredState, PredPrec> initFunc;
+	private final TransFunc<BddPredState, A, PredPrec> transFunc;
+
+	private BddPredAnalysis(final Solver solver, final BddPredManager manager, final Expr<BoolType> initExpr) {
+		final BddPredAbstractor abstractor = BddPredAbstractor.create(solver, manager);
+		partialOrd = BddPredOrd.getInstance();
+		initFunc = BddPredInitFunc.create(abstractor, initExpr);
+		transFunc = BddPredTransFunc.create(abstractor);
+	}
+
+	public static <A extends ExprAction> BddPredAnalysis<A> create(final Solver solver, final BddPredManager manager,
+																   final Expr<BoolType> initExpr) {
+		return new BddPredAnalysis<>(solver, manager, initExpr);
+	}
+
+	////
+
+	@Override
+	public PartialOrd<BddPredState> getPartialOrd() {
+		return partialOrd;
+	}
+
+	@Override
+	public InitFunc<BddPredState, PredPrec> getInitFunc() {
+		return initFunc;
+	}
+
+	@Override
+	public TransFunc<BddPredState, A, PredPrec> getTransFunc() {
+		return transFunc;
+	}
+
+}
@@ -0,0 +1,49 @@
+/*
+ *  Copyright 2022 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.pred;
+
+import hu.bme.mit.theta.analysis.InitFunc;
+import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.booltype.BoolType;
+import hu.bme.mit.theta.core.utils.indexings.VarIndexingFactory;
+
+import java.util.Collection;
+import java.util.Collections;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+public final class BddPredInitFunc implements InitFunc<BddPredState, PredPrec> {
+
+	private final Expr<BoolType> initExpr;
+	private final BddPredAbstractor abstractor;
+
+	private BddPredInitFunc(final BddPredAbstractor abstractor, final Expr<BoolType> initExpr) {
+		this.initExpr = checkNotNull(initExpr);
+		this.abstractor = checkNotNull(abstractor);
+	}
+
+	static BddPredInitFunc create(final BddPredAbstractor abstractor, final Expr<BoolType> initExpr) {
+		return new BddPredInitFunc(abstractor, initExpr);
+	}
+
+	@Override
+	public Collection<? extends BddPredState> getInitStates(final PredPrec prec) {
+		checkNotNull(prec);
+		return Collections.singleton(abstractor.createStateForExpr(initExpr, VarIndexingFactory.indexing(0), prec,
+				VarIndexingFactory.indexing(0)));
+	}
+
+}
@@ -0,0 +1,136 @@
+/*
+ *  Copyright 2022 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.pred;
+
+import hu.bme.mit.theta.common.bdd.BddManager;
+import hu.bme.mit.theta.core.decl.ConstDecl;
+import hu.bme.mit.theta.core.decl.Decls;
+import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.booltype.BoolExprs;
+import hu.bme.mit.theta.core.type.booltype.BoolType;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.And;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.False;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Iff;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Not;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Or;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.True;
+
+/**
+ * Manager of the BDDs of {@link BddPredState}s, mapping the predicates to BDD variables.
+ * Variables are assigned to predicates on their first use and are never reassigned, so
+ * the states of all precisions can be compared. The states that are compared to each other
+ * (e.g., the states of the abstractor workers) must share the manager.
+ */
+public final class BddPredManager {
+
+	private static final AtomicInteger instanceCounter = new AtomicInteger();
+
+	private final BddManager bdds;
+	private final Map<Expr<BoolType>, Integer> vars;
+	private final List<Expr<BoolType>> preds;
+	private final Map<Integer, ConstDecl<BoolType>> nodeConsts;
+	private final String constPrefix;
+
+	private BddPredManager() {
+		bdds = BddManager.create();
+		vars = new HashMap<>();
+		preds = new ArrayList<>();
+		nodeConsts = new ConcurrentHashMap<>();
+		constPrefix = "__" + getClass().getSimpleName() + "_" + instanceCounter.getAndIncrement() + "_";
+	}
+
+	public static BddPredManager create() {
+		return new BddPredManager();
+	}
+
+	BddManager getBdds() {
+		return bdds;
+	}
+
+	synchronized int getVar(final Expr<BoolType> pred) {
+		final Integer var = vars.get(pred);
+		if (var != null) {
+			return var;
+		}
+		vars.put(pred, preds.size());
+		preds.add(pred);
+		return preds.size() - 1;
+	}
+
+	synchronized Expr<BoolType> getPred(final int var) {
+		return preds.get(var);
+	}
+
+	/**
+	 * Convert a BDD to the disjunction of its (disjoint) cubes.
+	 */
+	Expr<BoolType> toExpr(final int node) {
+		final List<int[]> cubes = bdds.cubes(node);
+		if (cubes.isEmpty()) {
+			return False();
+		}
+		final List<Expr<BoolType>> disjuncts = new ArrayList<>(cubes.size());
+		for (final int[] cube : cubes) {
+			final List<Expr<BoolType>> literals = new ArrayList<>(cube.length);
+			for (final int literal : cube) {
+				final Expr<BoolType> pred = getPred(Math.abs(literal) - 1);
+				literals.add(literal > 0 ? pred : Not(pred));
+			}
+			disjuncts.add(literals.isEmpty() ? True() : literals.size() == 1 ? literals.get(0) : And(literals));
+		}
+		return disjuncts.size() == 1 ? disjuncts.get(0) : Or(disjuncts);
+	}
+
+	/**
+	 * Encode a BDD for the solver without expanding it into cubes: each inner node is
+	 * represented by a fresh constant, whose definition is added to the given collection.
+	 * The returned expression is equisatisfiable with the BDD together with the definitions.
+	 */
+	Expr<BoolType> define(final int node, final Collection<Expr<BoolType>> defs) {
+		return define(node, defs, new HashMap<>());
+	}
+
+	private Expr<BoolType> define(final int node, final Collection<Expr<BoolType>> defs,
+								  final Map<Integer, Expr<BoolType>> defined) {
+		if (node == BddManager.TRUE) {
+			return True();
+		} else if (node == BddManager.FALSE) {
+			return False();
+		}
+		final Expr<BoolType> existing = defined.get(node);
+		if (existing != null) {
+			return existing;
+		}
+		final Expr<BoolType> pred = getPred(bdds.getVar(node));
+		final Expr<BoolType> low = define(bdds.getLow(node), defs, defined);
+		final Expr<BoolType> high = define(bdds.getHigh(node), defs, defined);
+		final Expr<BoolType> ref = nodeConsts.computeIfAbsent(node,
+				n -> Decls.Const(constPrefix + n, BoolExprs.Bool())).getRef();
+		defs.add(Iff(ref, Or(And(pred, high), And(Not(pred), low))));
+		defined.put(node, ref);
+		return ref;
+	}
+
+}
@@ -0,0 +1,39 @@
+/*
+ *  Copyright 2022 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.pred;
+
+import hu.bme.mit.theta.analysis.PartialOrd;
+
+/**
+ * Partial order of BDD predicate states, decided on the BDDs without a solver.
+ */
+public final class BddPredOrd implements PartialOrd<BddPredState> {
+
+	private static final BddPredOrd INSTANCE = new BddPredOrd();
+
+	private BddPredOrd() {
+	}
+
+	public static BddPredOrd getInstance() {
+		return INSTANCE;
+	}
+
+	@Override
+	public boolean isLeq(final BddPredState state1, final BddPredState state2) {
+		return state1.isLeq(state2);
+	}
+
+}
@@ -0,0 +1,115 @@
+/*
+ *  Copyright 2022 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.pred;
+
+import hu.bme.mit.theta.analysis.expr.ExprState;
+import hu.bme.mit.theta.common.Utils;
+import hu.bme.mit.theta.common.bdd.BddManager;
+import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.booltype.BoolType;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Predicate state represented by a BDD over the predicates. As BDDs are canonical,
+ * equality, join and inclusion are decided on the BDDs, and the state is converted to an
+ * expression only when it is needed (e.g., for refinement).
+ */
+public final class BddPredState implements ExprState {
+
+	private static final int HASH_SEED = 3461;
+
+	private final BddPredManager manager;
+	private final int node;
+
+	private volatile Expr<BoolType> expr = null;
+
+	private BddPredState(final BddPredManager manager, final int node) {
+		this.manager = checkNotNull(manager);
+		this.node = node;
+	}
+
+	static BddPredState of(final BddPredManager manager, final int node) {
+		return new BddPredState(manager, node);
+	}
+
+	public static BddPredState top(final BddPredManager manager) {
+		return of(manager, BddManager.TRUE);
+	}
+
+	public static BddPredState bottom(final BddPredManager manager) {
+		return of(manager, BddManager.FALSE);
+	}
+
+	BddPredManager getManager() {
+		return manager;
+	}
+
+	int getNode() {
+		return node;
+	}
+
+	////
+
+	public BddPredState join(final BddPredState that) {
+		checkArgument(this.manager == that.manager, "States of different managers");
+		return of(manager, manager.getBdds().or(this.node, that.node));
+	}
+
+	public boolean isLeq(final BddPredState that) {
+		checkArgument(this.manager == that.manager, "States of different managers");
+		return manager.getBdds().isLeq(this.node, that.node);
+	}
+
+	@Override
+	public boolean isBottom() {
+		return node == BddManager.FALSE;
+	}
+
+	@Override
+	public Expr<BoolType> toExpr() {
+		Expr<BoolType> result = expr;
+		if (result == null) {
+			result = manager.toExpr(node);
+			expr = result;
+		}
+		return result;
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * HASH_SEED + node;
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		if (this == obj) {
+			return true;
+		} else if (obj instanceof BddPredState) {
+			final BddPredState that = (BddPredState) obj;
+			return this.manager == that.manager && this.node == that.node;
+		} else {
+			return false;
+		}
+	}
+
+	@Override
+	public String toString() {
+		return Utils.lispStringBuilder(getClass().getSimpleName()).aligned().add(toExpr()).toString();
+	}
+
+}
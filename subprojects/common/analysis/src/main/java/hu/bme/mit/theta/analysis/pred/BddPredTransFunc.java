@@ -0,0 +1,59 @@
+/*
+ *  Copyright 2022 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.pred;
+
+import hu.bme.mit.theta.analysis.TransFunc;
+import hu.bme.mit.theta.analysis.expr.ExprAction;
+import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.booltype.BoolType;
+import hu.bme.mit.theta.core.utils.indexings.VarIndexingFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.And;
+
+public final class BddPredTransFunc<A extends ExprAction> implements TransFunc<BddPredState, A, PredPrec> {
+
+	private final BddPredAbstractor abstractor;
+
+	private BddPredTransFunc(final BddPredAbstractor abstractor) {
+		this.abstractor = checkNotNull(abstractor);
+	}
+
+	static <A extends ExprAction> BddPredTransFunc<A> create(final BddPredAbstractor abstractor) {
+		return new BddPredTransFunc<>(abstractor);
+	}
+
+	@Override
+	public Collection<? extends BddPredState> getSuccStates(final BddPredState state, final A action,
+															final PredPrec prec) {
+		checkNotNull(state);
+		checkNotNull(action);
+		checkNotNull(prec);
+
+		// The source state is encoded node by node instead of expanding it into cubes
+		final List<Expr<BoolType>> conjuncts = new ArrayList<>();
+		conjuncts.add(state.getManager().define(state.getNode(), conjuncts));
+		conjuncts.add(action.toExpr());
+		return Collections.singleton(abstractor.createStateForExpr(And(conjuncts), VarIndexingFactory.indexing(0),
+				prec, action.nextIndexing()));
+	}
+
+}
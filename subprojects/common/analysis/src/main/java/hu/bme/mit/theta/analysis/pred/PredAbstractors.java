@@ -155,7 +155,7 @@ public class PredAbstractors {
 							}
 						}
 					}
-					states.add(PredState.of(newStatePreds));
+					states.add(PredState.of(newStatePreds, prec));
 					solver.add(Not(And(feedback)));
 				}
 			}
@@ -197,14 +197,8 @@ public class PredAbstractors {
 				for (final Expr<BoolType> pred : prec.getPreds()) {
 					final boolean ponEntailed;
 					final boolean negEntailed;
-					try (WithPushPop wp1 = new WithPushPop(solver)) {
-						solver.add(PathUtils.unfold(prec.negate(pred), precIndexing));
-						ponEntailed = solver.check().isUnsat();
-					}
-					try (WithPushPop wp2 = new WithPushPop(solver)) {
-						solver.add(PathUtils.unfold(pred, precIndexing));
-						negEntailed = solver.check().isUnsat();
-					}
+					ponEntailed = solver.check(List.of(PathUtils.unfold(prec.negate(pred), precIndexing))).isUnsat();
+					negEntailed = solver.check(List.of(PathUtils.unfold(pred, precIndexing))).isUnsat();
 
 					assert !(ponEntailed && negEntailed) : "Ponated and negated predicates are both entailed.";
 
@@ -217,7 +211,7 @@ public class PredAbstractors {
 				}
 			}
 
-			return Collections.singleton(PredState.of(newStatePreds));
+			return Collections.singleton(PredState.of(newStatePreds, prec));
 		}
 
 	}
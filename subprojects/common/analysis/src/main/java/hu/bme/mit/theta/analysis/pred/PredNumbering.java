@@ -0,0 +1,104 @@
+/*
+ *  Copyright 2022 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.pred;
+
+import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.booltype.BoolType;
+import hu.bme.mit.theta.core.type.booltype.NotExpr;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Numbering of predicates for encoding the literals of {@link PredState}s as bitsets: the
+ * i-th predicate is bit 2i and its negation is bit 2i+1. A numbering is created for a
+ * {@link PredPrec}, and precisions obtained by joining it share and extend the numbering.
+ * As predicates are only appended, the bitsets of states over earlier precisions remain
+ * valid, so states can be compared by their bitsets if they have the same numbering.
+ */
+final class PredNumbering {
+
+	private final Map<Expr<BoolType>, Integer> indices;
+
+	private PredNumbering() {
+		indices = new ConcurrentHashMap<>();
+	}
+
+	static PredNumbering create() {
+		return new PredNumbering();
+	}
+
+	/**
+	 * Assign numbers to the predicates that do not have one yet.
+	 */
+	synchronized void addAll(final Iterable<? extends Expr<BoolType>> preds) {
+		for (final Expr<BoolType> pred : preds) {
+			if (!indices.containsKey(pred)) {
+				indices.put(pred, indices.size());
+			}
+		}
+	}
+
+	/**
+	 * Encode a conjunction of literals, or return null if some literal is neither a
+	 * numbered predicate nor the negation of one.
+	 */
+	long[] encode(final Iterable<? extends Expr<BoolType>> literals) {
+		long[] bits = new long[0];
+		for (final Expr<BoolType> literal : literals) {
+			final int bit = bitOf(literal);
+			if (bit < 0) {
+				return null;
+			}
+			final int word = bit / Long.SIZE;
+			if (word >= bits.length) {
+				final long[] newBits = new long[word + 1];
+				System.arraycopy(bits, 0, newBits, 0, bits.length);
+				bits = newBits;
+			}
+			bits[word] |= 1L << bit;
+		}
+		return bits;
+	}
+
+	private int bitOf(final Expr<BoolType> literal) {
+		final Integer index = indices.get(literal);
+		if (index != null) {
+			return 2 * index;
+		}
+		if (literal instanceof NotExpr) {
+			final Integer negIndex = indices.get(((NotExpr) literal).getOp());
+			if (negIndex != null) {
+				return 2 * negIndex + 1;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Check if every bit of the first bitset is also set in the second one.
+	 */
+	static boolean isSubset(final long[] bits1, final long[] bits2) {
+		for (int i = 0; i < bits1.length; i++) {
+			final long word2 = i < bits2.length ? bits2[i] : 0;
+			if ((bits1[i] & ~word2) != 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+}
@@ -19,9 +19,11 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Not;
 
 import hu.bme.mit.theta.analysis.PartialOrd;
+import hu.bme.mit.theta.common.metrics.Metrics;
 import hu.bme.mit.theta.core.utils.PathUtils;
 import hu.bme.mit.theta.solver.Solver;
-import hu.bme.mit.theta.solver.utils.WithPushPop;
+
+import java.util.List;
 
 public final class PredOrd implements PartialOrd<PredState> {
 
@@ -35,13 +37,21 @@ public final class PredOrd implements PartialOrd<PredState> {
 		this.solver = checkNotNull(solver);
 	}
 
+	/**
+	 * Check if the first state implies the second one. If the predicates of the first
+	 * state include the predicates of the second one (which is decided by a bitset test for
+	 * cartesian states of the same precision), the solver is not called.
+	 */
 	@Override
 	public boolean isLeq(final PredState state1, final PredState state2) {
-		try (WithPushPop wpp = new WithPushPop(solver)) {
-			solver.add(PathUtils.unfold(state1.toExpr(), 0));
-			solver.add(PathUtils.unfold(Not(state2.toExpr()), 0));
-			return solver.check().isUnsat();
+		final Metrics metrics = Metrics.current();
+		if (state1.includes(state2)) {
+			metrics.counter("pred.leq.syntactic").increment();
+			return true;
 		}
+		metrics.counter("pred.leq.solver").increment();
+		return solver.check(List.of(PathUtils.unfold(state1.toExpr(), 0),
+				PathUtils.unfold(Not(state2.toExpr()), 0))).isUnsat();
 	}
 
 }
@@ -43,10 +43,16 @@ import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Not;
 public final class PredPrec implements Prec {
 
 	private final Map<Expr<BoolType>, Expr<BoolType>> predToNegMap;
+	private final PredNumbering numbering;
 
 	private PredPrec(final Iterable<Expr<BoolType>> preds) {
+		this(preds, PredNumbering.create());
+	}
+
+	private PredPrec(final Iterable<Expr<BoolType>> preds, final PredNumbering numbering) {
 		checkNotNull(preds);
 		this.predToNegMap = Containers.createMap();
+		this.numbering = numbering;
 
 		for (final Expr<BoolType> pred : preds) {
 			if (pred instanceof BoolLitExpr) {
@@ -57,6 +63,7 @@ public final class PredPrec implements Prec {
 				this.predToNegMap.put(ponatedPred, Not(ponatedPred));
 			}
 		}
+		numbering.addAll(predToNegMap.keySet());
 	}
 
 	public static PredPrec of(final Iterable<Expr<BoolType>> preds) {
@@ -85,6 +92,10 @@ public final class PredPrec implements Prec {
 		return negated;
 	}
 
+	PredNumbering getNumbering() {
+		return numbering;
+	}
+
 	public PredPrec join(final PredPrec other) {
 		checkNotNull(other);
 		final Collection<Expr<BoolType>> joinedPreds = ImmutableSet.<Expr<BoolType>>builder()
@@ -92,11 +103,14 @@ public final class PredPrec implements Prec {
 		// If no new predicate was added, return same instance (immutable)
 		if (joinedPreds.size() == this.predToNegMap.size()) {
 			return this;
-		} else if (joinedPreds.size() == other.predToNegMap.size()) {
+		} else if (joinedPreds.size() == other.predToNegMap.size() && other.numbering == this.numbering) {
 			return other;
 		}
 
-		return of(joinedPreds);
+		// The joined precision extends the numbering (even if it has the same predicates as the
+		// other precision), so that the states created with this precision can be compared
+		// syntactically to the new ones
+		return new PredPrec(joinedPreds, numbering);
 	}
 
 	@Override
@@ -36,19 +36,38 @@ public final class PredState implements ExprState {
 
 	private final Set<Expr<BoolType>> preds;
 
+	// Bitset encoding of the literals over the numbering, or null if they are not encoded
+	private final PredNumbering numbering;
+	private final long[] bits;
+
 	private volatile Expr<BoolType> expr = null;
 
 	private volatile int hashCode;
 
 	private PredState(final Iterable<? extends Expr<BoolType>> preds) {
+		this(preds, null);
+	}
+
+	private PredState(final Iterable<? extends Expr<BoolType>> preds, final PredNumbering numbering) {
 		checkNotNull(preds);
 		this.preds = ImmutableSet.copyOf(preds);
+		final long[] bits = numbering == null ? null : numbering.encode(this.preds);
+		this.numbering = bits == null ? null : numbering;
+		this.bits = bits;
 	}
 
 	public static PredState of(final Iterable<? extends Expr<BoolType>> preds) {
 		return new PredState(preds);
 	}
 
+	/**
+	 * Create a state that is encoded as a bitset over the numbering of a precision if its
+	 * predicates are literals of the precision.
+	 */
+	static PredState of(final Iterable<? extends Expr<BoolType>> preds, final PredPrec prec) {
+		return new PredState(preds, prec.getNumbering());
+	}
+
 	public static PredState bottom() {
 		return of(False());
 	}
@@ -108,6 +127,21 @@ public final class PredState implements ExprState {
 		return result;
 	}
 
+	/**
+	 * Check if the predicates of this state syntactically include the predicates of the
+	 * other state, which implies that this state is less or equal. The check is a subset
+	 * test on the bitsets if both states are encoded over the same numbering.
+	 */
+	boolean includes(final PredState that) {
+		if (this == that || that.preds.isEmpty() || this.isBottom()) {
+			return true;
+		} else if (this.numbering != null && this.numbering == that.numbering) {
+			return PredNumbering.isSubset(that.bits, this.bits);
+		} else {
+			return this.preds.containsAll(that.preds);
+		}
+	}
+
 	@Override
 	public int hashCode() {
 		int result = hashCode;
@@ -125,6 +159,9 @@ public final class PredState implements ExprState {
 			return true;
 		} else if (obj instanceof PredState) {
 			final PredState that = (PredState) obj;
+			if (this.numbering != null && this.numbering == that.numbering) {
+				return PredNumbering.isSubset(this.bits, that.bits) && PredNumbering.isSubset(that.bits, this.bits);
+			}
 			return this.preds.equals(that.preds);
 		} else {
 			return false;
@@ -22,17 +22,27 @@ import static hu.bme.mit.theta.analysis.zone.DiffBounds.Leq;
 import static hu.bme.mit.theta.analysis.zone.DiffBounds.Lt;
 import static hu.bme.mit.theta.analysis.zone.DiffBounds.add;
 import static hu.bme.mit.theta.analysis.zone.DiffBounds.asString;
-import static java.lang.Math.min;
 
 import java.util.Arrays;
 import java.util.function.IntBinaryOperator;
 
-import hu.bme.mit.theta.common.IntMatrix;
-
+/**
+ * Difference bound matrix over clock indices, where index 0 is the zero clock. The encoded
+ * bounds (see {@link DiffBounds}) are stored in a flat array in row-major order, so that the
+ * inner loops of the operations run over contiguous rows. Copies share the array with the
+ * original DBM until one of them is modified (copy-on-write), so copying a DBM that is only
+ * read or slightly constrained is cheap.
+ */
 final class BasicDbm {
 
+	private static final int INF = Inf();
+
 	private final int nClocks;
-	private final IntMatrix matrix;
+	private final int size;
+	// Bound of x - y is at index x * size + y
+	private int[] bounds;
+	// True if the array may be shared with other DBMs, in which case it is copied before the first write
+	private boolean shared;
 
 	////
 
@@ -40,13 +50,18 @@ final class BasicDbm {
 		checkArgument(size > 0, "Zero sized DBM");
 		checkNotNull(values);
 		this.nClocks = size - 1;
-		matrix = IntMatrix.create(size, size);
+		this.size = size;
+		this.bounds = new int[size * size];
+		this.shared = false;
 		fill(values);
 	}
 
 	BasicDbm(final BasicDbm dbm) {
 		this.nClocks = dbm.nClocks;
-		this.matrix = IntMatrix.copyOf(dbm.matrix);
+		this.size = dbm.size;
+		this.bounds = dbm.bounds;
+		this.shared = true;
+		dbm.shared = true;
 	}
 
 	////
@@ -67,58 +82,97 @@ final class BasicDbm {
 	int get(final int x, final int y) {
 		checkArgument(isClock(x));
 		checkArgument(isClock(y));
-		return matrix.get(x, y);
+		return bounds[x * size + y];
 	}
 
 	void set(final int x, final int y, final int b) {
 		checkArgument(isClock(x));
 		checkArgument(isClock(y));
-		matrix.set(x, y, b);
+		mutableBounds()[x * size + y] = b;
 	}
 
 	void fill(final IntBinaryOperator values) {
 		checkNotNull(values);
-		matrix.fill(values);
+		// All the values are overwritten, so a shared array is not copied
+		final int[] m = new int[size * size];
+		for (int i = 0; i < size; i++) {
+			final int rowI = i * size;
+			for (int j = 0; j < size; j++) {
+				m[rowI + j] = values.applyAsInt(i, j);
+			}
+		}
+		bounds = m;
+		shared = false;
+	}
+
+	private int[] mutableBounds() {
+		if (shared) {
+			bounds = bounds.clone();
+			shared = false;
+		}
+		return bounds;
 	}
 
 	////
 
 	public int size() {
-		return nClocks + 1;
+		return size;
 	}
 
 	////
 
 	public boolean isConsistent() {
-		return matrix.get(0, 0) > 0;
+		return bounds[0] > 0;
 	}
 
 	public boolean isSatisfied(final int x, final int y, final int b) {
 		checkArgument(isClock(x));
 		checkArgument(isClock(y));
-		return add(matrix.get(y, x), b) >= Leq(0);
+		return add(bounds[y * size + x], b) >= Leq(0);
 	}
 
 	public boolean constrains(final int x) {
 		checkArgument(isClock(x));
+		final int[] m = bounds;
+		final int rowX = x * size;
 		for (int i = 0; i <= nClocks; i++) {
-			if (matrix.get(x, i) < defaultBound(x, i)) {
+			if (m[rowX + i] < defaultBound(x, i)) {
 				return true;
 			}
 
-			if (matrix.get(i, x) < defaultBound(i, x)) {
+			if (m[i * size + x] < defaultBound(i, x)) {
 				return true;
 			}
 		}
 		return false;
 	}
 
+	/**
+	 * Checks if each bound of this DBM is at most the corresponding bound of the other DBM,
+	 * which must have the same size. For closed DBMs, this is inclusion of the zones.
+	 */
+	public boolean isLeq(final BasicDbm that) {
+		checkArgument(this.size == that.size, "DBMs have different size");
+		final int[] m1 = this.bounds;
+		final int[] m2 = that.bounds;
+		if (m1 == m2) {
+			return true;
+		}
+		for (int i = 0; i < m1.length; i++) {
+			if (m1[i] > m2[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	////
 
 	public void up() {
 		if (isConsistent()) {
+			final int[] m = mutableBounds();
 			for (int i = 1; i <= nClocks; i++) {
-				matrix.set(i, 0, Inf());
+				m[i * size] = INF;
 			}
 			assert isClosed();
 		}
@@ -126,8 +180,9 @@ final class BasicDbm {
 	//TODO miért?
 	public void down() {
 		if (isConsistent()) {
+			final int[] m = mutableBounds();
 			for (int i = 1; i <= nClocks; i++) {
-				matrix.set(0, i, Inf());
+				m[i] = INF;
 			}
 			assert isClosed();
 		}
@@ -141,21 +196,11 @@ final class BasicDbm {
 			// do nothing
 
 		} else if (!isSatisfied(x, y, b)) {
-			matrix.set(0, 0, Leq(-1));
-
-		} else if (b < matrix.get(x, y)) {
-			matrix.set(x, y, b);
+			mutableBounds()[0] = Leq(-1);
 
-			for (int i = 0; i <= nClocks; i++) {
-				for (int j = 0; j <= nClocks; j++) {
-					if (add(matrix.get(i, x), matrix.get(x, j)) < matrix.get(i, j)) {
-						matrix.set(i, j, add(matrix.get(i, x), matrix.get(x, j)));
-					}
-					if (add(matrix.get(i, y), matrix.get(y, j)) < matrix.get(i, j)) {
-						matrix.set(i, j, add(matrix.get(i, y), matrix.get(y, j)));
-					}
-				}
-			}
+		} else if (b < bounds[x * size + y]) {
+			mutableBounds()[x * size + y] = b;
+			closeThrough(x, y);
 		}
 		assert !isConsistent() || isClosed();
 	}
@@ -167,37 +212,55 @@ final class BasicDbm {
 
 		for (int k = 1; k <= nClocks; k++) {
 			if (!isSatisfied(0, k, Leq(0))) {
-				matrix.set(0, 0, Leq(-1));
+				mutableBounds()[0] = Leq(-1);
 				return;
 			}
 
-			if (Leq(0) < matrix.get(0, k)) {
-				matrix.set(0, k, Leq(0));
-
-				for (int i = 0; i <= nClocks; i++) {
-					for (int j = 0; j <= nClocks; j++) {
-						if (add(matrix.get(i, 0), matrix.get(0, j)) < matrix.get(i, j)) {
-							matrix.set(i, j, add(matrix.get(i, 0), matrix.get(0, j)));
-						}
-						if (add(matrix.get(i, k), matrix.get(k, j)) < matrix.get(i, j)) {
-							matrix.set(i, j, add(matrix.get(i, k), matrix.get(k, j)));
-						}
-					}
-				}
+			if (Leq(0) < bounds[k]) {
+				mutableBounds()[k] = Leq(0);
+				closeThrough(0, k);
 			}
 		}
 
 		assert !isConsistent() || isClosed();
 	}
 
+	/**
+	 * Restores the closedness of a closed DBM after the bound of x - y was tightened (and it is
+	 * still consistent). The only shortest paths that can change are the ones through the
+	 * edge from x to y, so a single pass over the matrix is enough. The row of y and the
+	 * column of x do not change, so the matrix can be updated in place.
+	 */
+	private void closeThrough(final int x, final int y) {
+		final int[] m = bounds;
+		final int b = m[x * size + y];
+		final int rowY = y * size;
+		for (int i = 0; i <= nClocks; i++) {
+			final int ix = m[i * size + x];
+			if (ix == INF) {
+				continue;
+			}
+			final int ixy = add(ix, b);
+			final int rowI = i * size;
+			for (int j = 0; j <= nClocks; j++) {
+				final int newBound = add(ixy, m[rowY + j]);
+				if (newBound < m[rowI + j]) {
+					m[rowI + j] = newBound;
+				}
+			}
+		}
+	}
+
 	public void free(final int x) {
 		checkArgument(isNonZeroClock(x));
 
 		if (isConsistent()) {
+			final int[] m = mutableBounds();
+			final int rowX = x * size;
 			for (int i = 0; i <= nClocks; i++) {
 				if (i != x) {
-					matrix.set(x, i, Inf());
-					matrix.set(i, x, Inf());
+					m[rowX + i] = INF;
+					m[i * size + x] = INF;
 				}
 			}
 			assert isClosed();
@@ -212,9 +275,11 @@ final class BasicDbm {
 		checkArgument(isNonZeroClock(x));
 
 		if (isConsistent()) {
+			final int[] b = mutableBounds();
+			final int rowX = x * size;
 			for (int i = 0; i <= nClocks; i++) {
-				matrix.set(x, i, add(Leq(m), matrix.get(0, i)));
-				matrix.set(i, x, add(matrix.get(i, 0), Leq(-m)));
+				b[rowX + i] = add(Leq(m), b[i]);
+				b[i * size + x] = add(b[i * size], Leq(-m));
 			}
 
 			assert isClosed();
@@ -224,24 +289,29 @@ final class BasicDbm {
 	public void copy(final int x, final int y) {
 		checkArgument(isNonZeroClock(y));
 
+		final int[] m = mutableBounds();
+		final int rowX = x * size;
+		final int rowY = y * size;
 		for (int i = 0; i <= nClocks; i++) {
 			if (i != x) {
-				matrix.set(x, i, matrix.get(y, i));
-				matrix.set(i, x, matrix.get(i, y));
+				m[rowX + i] = m[rowY + i];
+				m[i * size + x] = m[i * size + y];
 			}
 		}
-		matrix.set(x, y, Leq(0));
-		matrix.set(y, x, Leq(0));
+		m[rowX + y] = Leq(0);
+		m[rowY + x] = Leq(0);
 		assert isClosed();
 	}
 
 	public void shift(final int x, final int m) {
 		checkArgument(isNonZeroClock(x));
 
+		final int[] b = mutableBounds();
+		final int rowX = x * size;
 		for (int i = 0; i <= nClocks; i++) {
 			if (i != x) {
-				matrix.set(x, i, add(matrix.get(x, i), Leq(m)));
-				matrix.set(i, x, add(matrix.get(i, x), Leq(-m)));
+				b[rowX + i] = add(b[rowX + i], Leq(m));
+				b[i * size + x] = add(b[i * size + x], Leq(-m));
 			}
 		}
 		assert isClosed();
@@ -251,13 +321,17 @@ final class BasicDbm {
 		checkNotNull(k);
 		checkArgument(k.length == nClocks + 1);
 
+		final int[] m = mutableBounds();
 		for (int i = 0; i <= nClocks; i++) {
+			final int rowI = i * size;
+			final int upper = Leq(k[i]);
 			for (int j = 0; j <= nClocks; j++) {
-				if (matrix.get(i, j) != Inf()) {
-					if (matrix.get(i, j) > Leq(k[i])) {
-						matrix.set(i, j, Inf());
-					} else if (matrix.get(i, j) < Lt(-k[j])) {
-						matrix.set(i, j, Lt(-k[j]));
+				final int b = m[rowI + j];
+				if (b != INF) {
+					if (b > upper) {
+						m[rowI + j] = INF;
+					} else if (b < Lt(-k[j])) {
+						m[rowI + j] = Lt(-k[j]);
 					}
 				}
 			}
@@ -266,33 +340,44 @@ final class BasicDbm {
 	}
 
 	void close() {
+		final int[] m = mutableBounds();
 		for (int k = 0; k <= nClocks; k++) {
+			final int rowK = k * size;
 			for (int i = 0; i <= nClocks; i++) {
+				final int rowI = i * size;
+				final int ik = m[rowI + k];
+				if (ik == INF) {
+					continue;
+				}
 				for (int j = 0; j <= nClocks; j++) {
-					final int newBound = min(matrix.get(i, j), add(matrix.get(i, k), matrix.get(k, j)));
-					if (i == j && newBound < Leq(0)) {
-						matrix.set(0, 0, Leq(-1));
-						return;
-					} else {
-						matrix.set(i, j, newBound);
+					final int newBound = add(ik, m[rowK + j]);
+					if (newBound < m[rowI + j]) {
+						m[rowI + j] = newBound;
 					}
 				}
+				if (m[rowI + i] < Leq(0)) {
+					m[0] = Leq(-1);
+					return;
+				}
 			}
 		}
 		assert isClosed();
 	}
 
 	int[] closeItp() {
-		final IntMatrix next = IntMatrix.create(nClocks + 1, nClocks + 1);
-		next.fill((x, y) -> y);
+		final int[] m = mutableBounds();
+		final int[] next = new int[size * size];
+		for (int i = 0; i < next.length; i++) {
+			next[i] = i % size;
+		}
 
 		for (int k = 0; k <= nClocks; k++) {
 			for (int i = 0; i <= nClocks; i++) {
 				for (int j = 0; j <= nClocks; j++) {
-					final int newBound = add(matrix.get(i, k), matrix.get(k, j));
-					if (newBound < matrix.get(i, j)) {
-						matrix.set(i, j, newBound);
-						next.set(i, j, next.get(i, k));
+					final int newBound = add(m[i * size + k], m[k * size + j]);
+					if (newBound < m[i * size + j]) {
+						m[i * size + j] = newBound;
+						next[i * size + j] = next[i * size + k];
 						if (i == j && newBound < Leq(0)) {
 							final int[] cycle = path(next, i, j);
 							return cycle;
@@ -305,14 +390,14 @@ final class BasicDbm {
 		throw new IllegalStateException();
 	}
 
-	private int[] path(final IntMatrix next, final int u, final int v) {
+	private int[] path(final int[] next, final int u, final int v) {
 		final int[] path = new int[nClocks + 2];
 
 		int w = u;
 		path[0] = w;
 		int i = 1;
 		do {
-			w = next.get(w, v);
+			w = next[w * size + v];
 			path[i] = w;
 			i++;
 		} while (w != v);
@@ -321,10 +406,11 @@ final class BasicDbm {
 	}
 
 	boolean isClosed() {
+		final int[] m = bounds;
 		for (int i = 0; i <= nClocks; i++) {
 			for (int j = 0; j <= nClocks; j++) {
 				for (int k = 0; k <= nClocks; k++) {
-					if (matrix.get(i, j) > add(matrix.get(i, k), matrix.get(k, j))) {
+					if (m[i * size + j] > add(m[i * size + k], m[k * size + j])) {
 						return false;
 					}
 				}
@@ -352,7 +438,7 @@ final class BasicDbm {
 		final StringBuilder sb = new StringBuilder();
 		for (int i = 0; i <= nClocks; i++) {
 			for (int j = 0; j <= nClocks; j++) {
-				sb.append(String.format("%-12s", asString(matrix.get(i, j))));
+				sb.append(String.format("%-12s", asString(bounds[i * size + j])));
 			}
 			sb.append(System.lineSeparator());
 		}
@@ -157,14 +157,18 @@ final class DBM {
 		checkNotNull(dbm1);
 		checkNotNull(dbm2);
 
-		final DbmSignature signature = DbmSignature.union(dbm1.signature, dbm2.signature);
-		final BiFunction<VarDecl<RatType>, VarDecl<RatType>, Integer> values = (x, y) -> {
-			final int bound1 = dbm1.getOrDefault(x, y);
-			final int bound2 = dbm2.getOrDefault(x, y);
-			return min(bound1, bound2);
-		};
-
-		final DBM result = new DBM(signature, values);
+		final DBM result;
+		if (dbm1.hasSameSignature(dbm2)) {
+			result = new DBM(dbm1.signature, (final int x, final int y) -> min(dbm1.dbm.get(x, y), dbm2.dbm.get(x, y)));
+		} else {
+			final DbmSignature signature = DbmSignature.union(dbm1.signature, dbm2.signature);
+			final BiFunction<VarDecl<RatType>, VarDecl<RatType>, Integer> values = (x, y) -> {
+				final int bound1 = dbm1.getOrDefault(x, y);
+				final int bound2 = dbm2.getOrDefault(x, y);
+				return min(bound1, bound2);
+			};
+			result = new DBM(signature, values);
+		}
 		result.close();
 
 		return result;
@@ -377,6 +381,10 @@ final class DBM {
 	}
 
 	public DbmRelation getRelation(final DBM that) {
+		if (hasSameSignature(that)) {
+			return DbmRelation.create(this.dbm.isLeq(that.dbm), that.dbm.isLeq(this.dbm));
+		}
+
 		final Set<VarDecl<RatType>> vars = Sets.union(this.signature.toSet(), that.signature.toSet());
 
 		boolean leq = true;
@@ -392,6 +400,10 @@ final class DBM {
 	}
 
 	public boolean isLeq(final DBM that) {
+		if (hasSameSignature(that)) {
+			return this.dbm.isLeq(that.dbm);
+		}
+
 		final Set<VarDecl<RatType>> vars = Sets.union(this.signature.toSet(), that.signature.toSet());
 
 		for (final VarDecl<RatType> x : vars) {
@@ -438,6 +450,10 @@ final class DBM {
 			return false;
 		}
 
+		if (hasSameSignature(that)) {
+			return isLeqByIndex(that, bound);
+		}
+
 		for (final VarDecl<RatType> x : vars) {
 			final VarDecl<RatType> zero = ZeroVar.getInstance();
 
@@ -469,6 +485,41 @@ final class DBM {
 		return true;
 	}
 
+	// Same as the LU-check above, but the bounds of the clocks are only looked up once
+	private boolean isLeqByIndex(final DBM that, final BoundFunc bound) {
+		final int size = signature.size();
+		final int[] ltMinusL = new int[size];
+		for (int y = 0; y < size; y++) {
+			ltMinusL[y] = LtMinusLy(signature.getVar(y), bound);
+		}
+
+		for (int x = 0; x < size; x++) {
+			final int Zx0 = this.dbm.get(0, x);
+			final int leqMinusUx = LeqMinusUx(signature.getVar(x), bound);
+
+			// Zx0 >= (-Ux, <=)
+			if (Zx0 < leqMinusUx) {
+				continue;
+			}
+
+			for (int y = 0; y < size; y++) {
+				final int Zxy = this.dbm.get(y, x);
+				final int Zpxy = that.dbm.get(y, x);
+
+				if (Zpxy >= Zxy) {
+					continue;
+				}
+
+				if (add(Zpxy, ltMinusL[y]) >= Zx0) {
+					continue;
+				}
+
+				return false;
+			}
+		}
+		return true;
+	}
+
 	private static final int LeqMinusUx(final VarDecl<RatType> x, final BoundFunc boundFunction) {
 		return boundFunction.getUpper(x).map(Ux -> Leq(-Ux)).orElse(Inf());
 	}
@@ -632,6 +683,14 @@ final class DBM {
 		return this.tracks(varDecl) && dbm.constrains(signature.indexOf(varDecl));
 	}
 
+	/**
+	 * Checks if the DBMs have the same clocks at the same indices, in which case they can be
+	 * compared index by index (e.g., if one of them is a copy of the other).
+	 */
+	private boolean hasSameSignature(final DBM that) {
+		return this.signature == that.signature || this.signature.toList().equals(that.signature.toList());
+	}
+
 	private boolean isZeroClock(final VarDecl<RatType> varDecl) {
 		return varDecl.equals(ZeroVar.getInstance());
 	}
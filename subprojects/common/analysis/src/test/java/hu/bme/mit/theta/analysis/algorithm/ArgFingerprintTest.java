@@ -0,0 +1,94 @@
+/*
+ *  Copyright 2022 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.algorithm;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import org.junit.Test;
+
+import hu.bme.mit.theta.analysis.Action;
+import hu.bme.mit.theta.analysis.State;
+import hu.bme.mit.theta.analysis.stubs.ActionStub;
+import hu.bme.mit.theta.analysis.stubs.PartialOrdStub;
+import hu.bme.mit.theta.analysis.stubs.StateStub;
+
+public class ArgFingerprintTest {
+
+	// The stubs are compared by identity, so the same states are reused in the ARGs
+	private final Action a = new ActionStub("A");
+	private final State s0 = new StateStub("0");
+	private final State s00 = new StateStub("00");
+	private final State s01 = new StateStub("01");
+	private final State s02 = new StateStub("02");
+	private final State s000 = new StateStub("000");
+
+	@Test
+	public void testOrderIndependent() {
+		final ARG<State, Action> arg1 = ARG.create(new PartialOrdStub());
+		final ArgNode<State, Action> n1 = arg1.createInitNode(s0, false);
+		arg1.createSuccNode(n1, a, s00, false);
+		arg1.createSuccNode(n1, a, s01, false);
+
+		final ARG<State, Action> arg2 = ARG.create(new PartialOrdStub());
+		final ArgNode<State, Action> n2 = arg2.createInitNode(s0, false);
+		arg2.createSuccNode(n2, a, s01, false);
+		arg2.createSuccNode(n2, a, s00, false);
+
+		assertEquals(arg1.getFingerprint(), arg2.getFingerprint());
+
+		arg2.createSuccNode(n2, a, s02, false);
+		assertNotEquals(arg1.getFingerprint(), arg2.getFingerprint());
+	}
+
+	@Test
+	public void testCoverAndPrune() {
+		final ARG<State, Action> arg = ARG.create(new PartialOrdStub());
+		final ArgNode<State, Action> n0 = arg.createInitNode(s0, false);
+		final ArgNode<State, Action> n00 = arg.createSuccNode(n0, a, s00, false);
+		final ArgNode<State, Action> n01 = arg.createSuccNode(n0, a, s01, false);
+		final long beforeCover = arg.getFingerprint();
+
+		n01.setCoveringNode(n00);
+		final long afterCover = arg.getFingerprint();
+		assertNotEquals(beforeCover, afterCover);
+		n01.unsetCoveringNode();
+		assertEquals(beforeCover, arg.getFingerprint());
+
+		n01.setCoveringNode(n00);
+		final ArgNode<State, Action> n000 = arg.createSuccNode(n00, a, s000, false);
+		n000.setCoveringNode(n0);
+		arg.prune(n00);
+		assertEquals(arg.getFingerprint(), withNodes(s01).getFingerprint());
+
+		// Rebuilding the same subtree gives back the same fingerprint
+		final ArgNode<State, Action> m00 = arg.createSuccNode(n0, a, s00, false);
+		n01.setCoveringNode(m00);
+		assertEquals(afterCover, arg.getFingerprint());
+
+		arg.pruneAll();
+		assertEquals(0, arg.getFingerprint());
+	}
+
+	private ARG<State, Action> withNodes(final State... succStates) {
+		final ARG<State, Action> arg = ARG.create(new PartialOrdStub());
+		final ArgNode<State, Action> n0 = arg.createInitNode(s0, false);
+		for (final State succState : succStates) {
+			arg.createSuccNode(n0, a, succState, false);
+		}
+		return arg;
+	}
+}
@@ -0,0 +1,111 @@
+/*
+ *  Copyright 2022 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.algorithm;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableSet;
+
+import hu.bme.mit.theta.analysis.Action;
+import hu.bme.mit.theta.analysis.State;
+import hu.bme.mit.theta.analysis.stubs.ActionStub;
+import hu.bme.mit.theta.analysis.stubs.PartialOrdStub;
+import hu.bme.mit.theta.analysis.stubs.StateStub;
+
+public class ArgIndexTest {
+
+	private static Set<ArgNode<State, Action>> traversedUnsafeNodes(final ARG<State, Action> arg) {
+		return arg.getInitNodes().flatMap(ArgNode::descendants)
+				.filter(n -> n.isTarget() && !n.ancestors().anyMatch(ArgNode::isSubsumed))
+				.collect(Collectors.toSet());
+	}
+
+	private static Set<ArgNode<State, Action>> traversedIncompleteNodes(final ARG<State, Action> arg) {
+		return arg.getInitNodes().flatMap(ArgNode::descendants)
+				.filter(n -> !n.isExpanded() && !n.ancestors().anyMatch(ArgNode::isSubsumed))
+				.collect(Collectors.toSet());
+	}
+
+	private static void assertIndexesConsistent(final ARG<State, Action> arg) {
+		assertEquals(arg.getInitNodes().flatMap(ArgNode::descendants).collect(Collectors.toSet()),
+				arg.getNodes().collect(Collectors.toSet()));
+		assertEquals(traversedUnsafeNodes(arg), arg.getUnsafeNodes().collect(Collectors.toSet()));
+		assertEquals(traversedIncompleteNodes(arg), arg.getIncompleteNodes().collect(Collectors.toSet()));
+		assertEquals(traversedUnsafeNodes(arg).isEmpty(), arg.isSafe());
+		assertEquals(arg.isInitialized() && traversedIncompleteNodes(arg).isEmpty(), arg.isComplete());
+	}
+
+	@Test
+	public void test() {
+		final ARG<State, Action> arg = ARG.create(new PartialOrdStub());
+		final Action a = new ActionStub("A");
+
+		final ArgNode<State, Action> n0 = arg.createInitNode(new StateStub("0"), false);
+		arg.initialized = true;
+		final ArgNode<State, Action> n00 = arg.createSuccNode(n0, a, new StateStub("00"), false);
+		final ArgNode<State, Action> n01 = arg.createSuccNode(n0, a, new StateStub("01"), false);
+		n0.setExpanded(true);
+		final ArgNode<State, Action> n000 = arg.createSuccNode(n00, a, new StateStub("000"), true);
+		final ArgNode<State, Action> n001 = arg.createSuccNode(n00, a, new StateStub("001"), false);
+		n00.setExpanded(true);
+		final ArgNode<State, Action> n010 = arg.createSuccNode(n01, a, new StateStub("010"), true);
+		n01.setExpanded(true);
+		assertIndexesConsistent(arg);
+		assertEquals(ImmutableSet.of(n000, n010), arg.getUnsafeNodes().collect(Collectors.toSet()));
+		assertEquals(ImmutableSet.of(n000, n001, n010), arg.getIncompleteNodes().collect(Collectors.toSet()));
+		assertFalse(arg.isSafe());
+
+		// Covering an inner node excludes its whole subtree
+		n01.setCoveringNode(n00);
+		assertIndexesConsistent(arg);
+		assertTrue(n010.isExcluded());
+		assertEquals(ImmutableSet.of(n000), arg.getUnsafeNodes().collect(Collectors.toSet()));
+
+		n001.cover(n0);
+		assertIndexesConsistent(arg);
+		assertEquals(ImmutableSet.of(n000), arg.getIncompleteNodes().collect(Collectors.toSet()));
+
+		// Pruning the covering node uncovers the nodes covered by it
+		arg.prune(n00);
+		assertIndexesConsistent(arg);
+		assertFalse(n01.isExcluded());
+		assertEquals(ImmutableSet.of(n010), arg.getUnsafeNodes().collect(Collectors.toSet()));
+		assertEquals(ImmutableSet.of(n0, n010), arg.getIncompleteNodes().collect(Collectors.toSet()));
+		assertEquals(3, arg.size());
+
+		n01.unsetCoveringNode();
+		arg.prune(n010);
+		n01.setExpanded(true);
+		n0.setExpanded(true);
+		assertIndexesConsistent(arg);
+		assertTrue(arg.isSafe());
+		assertTrue(arg.isComplete());
+
+		arg.minimize();
+		assertIndexesConsistent(arg);
+
+		arg.pruneAll();
+		assertEquals(0, arg.size());
+		assertTrue(arg.isSafe());
+	}
+}
@@ -0,0 +1,198 @@
+/*
+ *  Copyright 2022 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.algorithm.bmc;
+
+import hu.bme.mit.theta.analysis.LTS;
+import hu.bme.mit.theta.analysis.Trace;
+import hu.bme.mit.theta.analysis.algorithm.SafetyResult;
+import hu.bme.mit.theta.analysis.expr.ExprState;
+import hu.bme.mit.theta.analysis.expr.StmtAction;
+import hu.bme.mit.theta.analysis.stubs.PrecStub;
+import hu.bme.mit.theta.common.logging.NullLogger;
+import hu.bme.mit.theta.core.decl.VarDecl;
+import hu.bme.mit.theta.core.stmt.Stmt;
+import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.booltype.BoolType;
+import hu.bme.mit.theta.core.type.inttype.IntType;
+import hu.bme.mit.theta.solver.z3.Z3SolverFactory;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static hu.bme.mit.theta.core.decl.Decls.Var;
+import static hu.bme.mit.theta.core.stmt.Stmts.Assign;
+import static hu.bme.mit.theta.core.stmt.Stmts.Assume;
+import static hu.bme.mit.theta.core.stmt.Stmts.Havoc;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.And;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.True;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Add;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Eq;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Geq;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Int;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Lt;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Neq;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class BmcCheckerTest {
+	private final VarDecl<IntType> x = Var("x", Int());
+	private final VarDecl<IntType> y = Var("y", Int());
+
+	private final Loc l0 = new Loc("L0");
+	private final Loc l1 = new Loc("L1");
+	private final Loc l2 = new Loc("L2");
+	private final Loc err = new Loc("ERR");
+	private final List<Edge> edges = new ArrayList<>();
+
+	@Test
+	public void testLoopUnsafe() {
+		// x := 0; while (x < 5) x := x + 1; assert x != 5
+		final Edge init = edge(l0, l1, Assign(x, Int(0)));
+		final Edge loop = edge(l1, l1, Assume(Lt(x.getRef(), Int(5))), Assign(x, Add(x.getRef(), Int(1))));
+		final Edge exit = edge(l1, l2, Assume(Geq(x.getRef(), Int(5))));
+		final Edge fail = edge(l2, err, Assume(Eq(x.getRef(), Int(5))));
+
+		final SafetyResult<Loc, Edge> result = check(-1);
+
+		assertTrue(result.isUnsafe());
+		final Trace<Loc, Edge> trace = result.asUnsafe().getTrace();
+		assertEquals(List.of(init, loop, loop, loop, loop, loop, exit, fail), trace.getActions());
+		assertEquals(err, trace.getState(trace.length()));
+	}
+
+	@Test
+	public void testLoopSafe() {
+		// x := 0; while (x < 5) x := x + 1; assert x == 5
+		edge(l0, l1, Assign(x, Int(0)));
+		edge(l1, l1, Assume(Lt(x.getRef(), Int(5))), Assign(x, Add(x.getRef(), Int(1))));
+		edge(l1, l2, Assume(Geq(x.getRef(), Int(5))));
+		edge(l2, err, Assume(Neq(x.getRef(), Int(5))));
+
+		assertTrue(check(-1).isSafe());
+	}
+
+	@Test
+	public void testBound() {
+		edge(l0, l1, Assign(x, Int(0)));
+		edge(l1, l1, Assume(Lt(x.getRef(), Int(5))), Assign(x, Add(x.getRef(), Int(1))));
+		edge(l1, l2, Assume(Geq(x.getRef(), Int(5))));
+		edge(l2, err, Assume(Eq(x.getRef(), Int(5))));
+
+		assertTrue(check(7).isSafe());
+		assertTrue(check(8).isUnsafe());
+	}
+
+	@Test
+	public void testFrame() {
+		// Variables not assigned by a branch keep their values
+		edge(l0, l1, Assign(x, Int(0)), Assign(y, Int(0)));
+		edge(l1, l2, Havoc(x));
+		final Edge assign = edge(l1, l2, Assign(y, Int(1)));
+		edge(l2, err, Assume(And(Eq(y.getRef(), Int(1)), Neq(x.getRef(), Int(0)))));
+
+		assertTrue(check(-1).isSafe());
+
+		final Edge fail = edge(l2, err, Assume(And(Eq(y.getRef(), Int(1)), Eq(x.getRef(), Int(0)))));
+		final SafetyResult<Loc, Edge> result = check(-1);
+		assertTrue(result.isUnsafe());
+		assertEquals(List.of(assign, fail), result.asUnsafe().getTrace().getActions().subList(1, 3));
+	}
+
+	@Test
+	public void testStateExprs() {
+		// The expressions of the states constrain the variables after the step reaching them
+		final Loc havocked = new Loc("L2", Eq(x.getRef(), Int(1)));
+		final Edge init = edge(l0, l1, Assign(x, Int(0)));
+		final Edge havoc = edge(l1, havocked, Havoc(x));
+		final Edge fail = edge(havocked, err, Assume(Eq(x.getRef(), Int(1))));
+
+		final SafetyResult<Loc, Edge> result = check(-1);
+		assertTrue(result.isUnsafe());
+		assertEquals(List.of(init, havoc, fail), result.asUnsafe().getTrace().getActions());
+
+		edges.remove(fail);
+		edge(havocked, err, Assume(Eq(x.getRef(), Int(2))));
+		assertTrue(check(-1).isSafe());
+	}
+
+	private SafetyResult<Loc, Edge> check(final int bound) {
+		final LTS<Loc, Edge> lts = loc -> edges.stream().filter(e -> e.source == loc).collect(Collectors.toList());
+		final BmcChecker<Loc, Edge, PrecStub> checker = BmcChecker.create(lts, prec -> List.of(l0),
+				(loc, edge, prec) -> List.of(edge.target), loc -> loc == err,
+				Z3SolverFactory.getInstance().createSolver(), NullLogger.getInstance(), bound, true);
+		return checker.check(new PrecStub());
+	}
+
+	private Edge edge(final Loc source, final Loc target, final Stmt... stmts) {
+		final Edge edge = new Edge(source, target, List.of(stmts));
+		edges.add(edge);
+		return edge;
+	}
+
+	private static final class Loc implements ExprState {
+		private final String name;
+		private final Expr<BoolType> expr;
+
+		private Loc(final String name) {
+			this(name, True());
+		}
+
+		private Loc(final String name, final Expr<BoolType> expr) {
+			this.name = name;
+			this.expr = expr;
+		}
+
+		@Override
+		public Expr<BoolType> toExpr() {
+			return expr;
+		}
+
+		@Override
+		public boolean isBottom() {
+			return false;
+		}
+
+		@Override
+		public String toString() {
+			return name;
+		}
+	}
+
+	private static final class Edge extends StmtAction {
+		private final Loc source;
+		private final Loc target;
+		private final List<Stmt> stmts;
+
+		private Edge(final Loc source, final Loc target, final List<Stmt> stmts) {
+			this.source = source;
+			this.target = target;
+			this.stmts = stmts;
+		}
+
+		@Override
+		public List<Stmt> getStmts() {
+			return stmts;
+		}
+
+		@Override
+		public String toString() {
+			return source + " -> " + target;
+		}
+	}
+}
@@ -0,0 +1,133 @@
+/*
+ *  Copyright 2022 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.algorithm.kind;
+
+import hu.bme.mit.theta.analysis.algorithm.SafetyResult;
+import hu.bme.mit.theta.analysis.expl.ExplState;
+import hu.bme.mit.theta.analysis.expr.ExprAction;
+import hu.bme.mit.theta.analysis.pred.PredPrec;
+import hu.bme.mit.theta.common.exception.NotSolvableException;
+import hu.bme.mit.theta.common.logging.NullLogger;
+import hu.bme.mit.theta.core.decl.VarDecl;
+import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.booltype.BoolType;
+import hu.bme.mit.theta.core.type.inttype.IntType;
+import hu.bme.mit.theta.core.utils.ExprUtils;
+import hu.bme.mit.theta.core.utils.indexings.VarIndexing;
+import hu.bme.mit.theta.solver.z3.Z3SolverFactory;
+import org.junit.Test;
+
+import java.util.List;
+
+import static hu.bme.mit.theta.core.decl.Decls.Var;
+import static hu.bme.mit.theta.core.type.anytype.Exprs.Prime;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.And;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Or;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Add;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Eq;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Geq;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Int;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Lt;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Neq;
+import static hu.bme.mit.theta.core.utils.indexings.VarIndexingFactory.indexing;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class KInductionCheckerTest {
+	private final VarDecl<IntType> x = Var("x", Int());
+	private final VarDecl<IntType> y = Var("y", Int());
+
+	@Test
+	public void testInductive() {
+		// x = 0; x' = x + 1; x >= 0
+		final SafetyResult<ExplState, Trans> result = check(Eq(x.getRef(), Int(0)),
+				Eq(Prime(x.getRef()), Add(x.getRef(), Int(1))), Geq(x.getRef(), Int(0)), PredPrec.of(), -1, false);
+		assertTrue(result.isSafe());
+		assertEquals(0, ((KInductionStatistics) result.getStats().get()).getInductionDepth());
+	}
+
+	@Test
+	public void testUnsafe() {
+		// x = 0; x' = x + 1; x < 5
+		final SafetyResult<ExplState, Trans> result = check(Eq(x.getRef(), Int(0)),
+				Eq(Prime(x.getRef()), Add(x.getRef(), Int(1))), Lt(x.getRef(), Int(5)), PredPrec.of(), -1, false);
+		assertTrue(result.isUnsafe());
+		assertEquals(5, result.asUnsafe().getTrace().length());
+		assertEquals(Int(5), result.asUnsafe().getTrace().getState(5).getVal().eval(x).get());
+	}
+
+	@Test
+	public void testInvariant() {
+		// x = 0, y = 0; x' = x, y' = y + x; y >= 0 is only inductive together with x >= 0
+		final Expr<BoolType> init = And(Eq(x.getRef(), Int(0)), Eq(y.getRef(), Int(0)));
+		final Expr<BoolType> trans = And(Eq(Prime(x.getRef()), x.getRef()), Eq(Prime(y.getRef()), Add(y.getRef(), x.getRef())));
+		final Expr<BoolType> prop = Geq(y.getRef(), Int(0));
+
+		final SafetyResult<ExplState, Trans> result = check(init, trans, prop, PredPrec.of(Geq(x.getRef(), Int(0))), -1, false);
+		assertTrue(result.isSafe());
+		assertEquals(1, ((KInductionStatistics) result.getStats().get()).getInvariants());
+	}
+
+	@Test(expected = NotSolvableException.class)
+	public void testNoInvariant() {
+		final Expr<BoolType> init = And(Eq(x.getRef(), Int(0)), Eq(y.getRef(), Int(0)));
+		final Expr<BoolType> trans = And(Eq(Prime(x.getRef()), x.getRef()), Eq(Prime(y.getRef()), Add(y.getRef(), x.getRef())));
+		final Expr<BoolType> prop = Geq(y.getRef(), Int(0));
+
+		check(init, trans, prop, PredPrec.of(), 3, false);
+	}
+
+	@Test
+	public void testSimplePath() {
+		// 0 <-> 1 are reachable, 2 loops and leads to 3, which is not reachable
+		final Expr<BoolType> trans = Or(
+				And(Eq(x.getRef(), Int(0)), Eq(Prime(x.getRef()), Int(1))),
+				And(Eq(x.getRef(), Int(1)), Eq(Prime(x.getRef()), Int(0))),
+				And(Eq(x.getRef(), Int(2)), Geq(Prime(x.getRef()), Int(2)), Lt(Prime(x.getRef()), Int(4))),
+				And(Eq(x.getRef(), Int(3)), Eq(Prime(x.getRef()), Int(3))));
+		final SafetyResult<ExplState, Trans> result = check(Eq(x.getRef(), Int(0)), trans, Neq(x.getRef(), Int(3)),
+				PredPrec.of(), 10, true);
+		assertTrue(result.isSafe());
+		assertEquals(1, ((KInductionStatistics) result.getStats().get()).getInductionDepth());
+	}
+
+	private SafetyResult<ExplState, Trans> check(final Expr<BoolType> init, final Expr<BoolType> trans,
+												 final Expr<BoolType> prop, final PredPrec prec, final int bound,
+												 final boolean simplePath) {
+		final KInductionChecker<Trans> checker = KInductionChecker.create(init, new Trans(trans), prop,
+				ExprUtils.getVars(List.of(init, trans, prop)),
+				Z3SolverFactory.getInstance(), NullLogger.getInstance(), bound, simplePath);
+		return checker.check(prec);
+	}
+
+	private static final class Trans implements ExprAction {
+		private final Expr<BoolType> expr;
+
+		private Trans(final Expr<BoolType> expr) {
+			this.expr = expr;
+		}
+
+		@Override
+		public Expr<BoolType> toExpr() {
+			return expr;
+		}
+
+		@Override
+		public VarIndexing nextIndexing() {
+			return indexing(1);
+		}
+	}
+}
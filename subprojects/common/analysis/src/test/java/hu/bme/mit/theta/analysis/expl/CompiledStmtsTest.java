@@ -0,0 +1,122 @@
+/*
+ *  Copyright 2022 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.expl;
+
+import com.google.common.collect.ImmutableList;
+import hu.bme.mit.theta.analysis.expl.StmtApplier.ApplyResult;
+import hu.bme.mit.theta.core.decl.VarDecl;
+import hu.bme.mit.theta.core.model.ImmutableValuation;
+import hu.bme.mit.theta.core.model.MutableValuation;
+import hu.bme.mit.theta.core.stmt.Stmt;
+import hu.bme.mit.theta.core.type.booltype.BoolType;
+import hu.bme.mit.theta.core.type.inttype.IntType;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.List;
+
+import static hu.bme.mit.theta.core.decl.Decls.Var;
+import static hu.bme.mit.theta.core.stmt.Stmts.Assign;
+import static hu.bme.mit.theta.core.stmt.Stmts.Assume;
+import static hu.bme.mit.theta.core.stmt.Stmts.Havoc;
+import static hu.bme.mit.theta.core.stmt.Stmts.SequenceStmt;
+import static hu.bme.mit.theta.core.type.anytype.Exprs.Ite;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.And;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Bool;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.False;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Not;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.True;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Add;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Div;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Int;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Lt;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Mod;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Mul;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Neg;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Sub;
+import static hu.bme.mit.theta.core.type.rattype.RatExprs.Rat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class CompiledStmtsTest {
+	private final VarDecl<IntType> x = Var("x", Int());
+	private final VarDecl<IntType> y = Var("y", Int());
+	private final VarDecl<BoolType> b = Var("b", Bool());
+
+	private final ExplPrec prec = ExplPrec.of(ImmutableList.of(x, y, b));
+	private final ExplState state = prec.createState(ImmutableValuation.builder()
+			.put(x, Int(-7)).put(y, Int(3)).put(b, True()).build());
+
+	@Test
+	public void testSameAsInterpreter() {
+		assertSame(List.of(Assign(x, Add(x.getRef(), Mul(y.getRef(), Int(2))))));
+		assertSame(List.of(Assign(x, Div(x.getRef(), y.getRef())), Assign(y, Mod(x.getRef(), Neg(y.getRef())))));
+		assertSame(List.of(Assign(y, Sub(y.getRef(), Int(1))), Assume(Lt(y.getRef(), Int(2)))));
+		assertSame(List.of(Assume(Lt(x.getRef(), Int(-10))), Assign(x, Int(0))));
+		assertSame(List.of(Assign(b, And(Not(b.getRef()), Lt(x.getRef(), y.getRef())))));
+		assertSame(List.of(Assign(x, Ite(b.getRef(), y.getRef(), x.getRef()))));
+		assertSame(List.of(SequenceStmt(List.of(Assign(y, Int(1)), Assume(b.getRef())))));
+	}
+
+	@Test
+	public void testUnknown() {
+		final ExplPrec smallPrec = ExplPrec.of(ImmutableList.of(x));
+		final ExplState smallState = smallPrec.createState(ImmutableValuation.builder().put(x, Int(1)).build());
+
+		// The successor is decided as long as no unknown variable is read
+		assertEquals(smallPrec.createState(ImmutableValuation.builder().put(x, Int(5)).build()),
+				compile(Assign(y, Int(4)), Assign(x, Add(x.getRef(), y.getRef()))).apply(smallState, smallPrec));
+		assertEquals(ExplState.bottom(), compile(Assume(False()), Assign(x, y.getRef())).apply(smallState, smallPrec));
+		assertNull(compile(Assign(x, y.getRef())).apply(smallState, smallPrec));
+		assertNull(compile(Havoc(x), Assume(Lt(x.getRef(), Int(0)))).apply(state, prec));
+		assertNull(compile(Assign(x, Mul(x.getRef(), Int(BigInteger.valueOf(Long.MAX_VALUE))))).apply(state, prec));
+		assertNull(compile(Assign(x, Div(x.getRef(), Int(0)))).apply(state, prec));
+	}
+
+	@Test
+	public void testUnsupported() {
+		final VarDecl<?> r = Var("r", Rat());
+		assertNull(CompiledStmts.compile(List.of(Havoc(r))));
+		final BigInteger large = BigInteger.valueOf(Long.MAX_VALUE).add(BigInteger.ONE);
+		assertNull(CompiledStmts.compile(List.of(Assign(x, Int(0)), Assign(x, Int(large)))));
+	}
+
+	private CompiledStmts compile(final Stmt... stmts) {
+		final CompiledStmts compiled = CompiledStmts.compile(List.of(stmts));
+		assertNotNull(compiled);
+		return compiled;
+	}
+
+	private void assertSame(final List<Stmt> stmts) {
+		final MutableValuation val = MutableValuation.copyOf(state);
+		ExplState expected = null;
+		for (final Stmt stmt : stmts) {
+			final ApplyResult result = StmtApplier.apply(stmt, val, false);
+			assertNotEquals(ApplyResult.FAILURE, result);
+			if (result == ApplyResult.BOTTOM) {
+				expected = ExplState.bottom();
+				break;
+			}
+		}
+		if (expected == null) {
+			expected = prec.createState(val);
+		}
+		assertEquals(expected, compile(stmts.toArray(new Stmt[0])).apply(state, prec));
+	}
+
+}
@@ -0,0 +1,109 @@
+/*
+ *  Copyright 2022 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.expl;
+
+import com.google.common.collect.ImmutableList;
+import hu.bme.mit.theta.core.decl.VarDecl;
+import hu.bme.mit.theta.core.model.ImmutableValuation;
+import hu.bme.mit.theta.core.model.Valuation;
+import hu.bme.mit.theta.core.type.booltype.BoolType;
+import hu.bme.mit.theta.core.type.bvtype.BvType;
+import hu.bme.mit.theta.core.type.inttype.IntType;
+import hu.bme.mit.theta.core.type.rattype.RatType;
+import org.junit.Test;
+
+import java.math.BigInteger;
+
+import static hu.bme.mit.theta.core.decl.Decls.Var;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Bool;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.True;
+import static hu.bme.mit.theta.core.type.bvtype.BvExprs.Bv;
+import static hu.bme.mit.theta.core.type.bvtype.BvExprs.BvType;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Int;
+import static hu.bme.mit.theta.core.type.rattype.RatExprs.Rat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PackedValuationTest {
+	private final VarDecl<BoolType> a = Var("a", Bool());
+	private final VarDecl<IntType> x = Var("x", Int());
+	private final VarDecl<IntType> y = Var("y", Int());
+	private final VarDecl<BvType> b = Var("b", BvType(8));
+	private final VarDecl<RatType> r = Var("r", Rat());
+
+	private final ValuationLayout layout = ValuationLayout.of(ImmutableList.of(a, x, y, b, r));
+
+	@Test
+	public void testValues() {
+		final BigInteger large = BigInteger.valueOf(Long.MAX_VALUE).multiply(BigInteger.TEN);
+		final Valuation val = ImmutableValuation.builder().put(a, True()).put(x, Int(-42)).put(y, Int(large))
+				.put(b, Bv(new boolean[]{true, false, false, false, false, false, true, true}))
+				.put(r, Rat(1, 3)).build();
+		final PackedValuation packed = PackedValuation.of(layout, val);
+
+		assertEquals(5, packed.size());
+		assertEquals(val.toMap(), packed.toMap());
+		assertEquals(val, packed);
+		assertEquals(val.hashCode(), packed.hashCode());
+	}
+
+	@Test
+	public void testPartial() {
+		final Valuation val = ImmutableValuation.builder().put(x, Int(1)).put(b, Bv(new boolean[8])).build();
+		final PackedValuation packed = PackedValuation.of(layout, val);
+
+		assertEquals(ImmutableList.of(x, b), packed.getDecls());
+		assertFalse(packed.eval(a).isPresent());
+		assertFalse(packed.eval(Var("z", Int())).isPresent());
+	}
+
+	@Test
+	public void testEquality() {
+		final Valuation val = ImmutableValuation.builder().put(x, Int(1)).put(a, True()).build();
+		final PackedValuation packed1 = PackedValuation.of(layout, val);
+		final PackedValuation packed2 = PackedValuation.of(ValuationLayout.of(ImmutableList.of(a, x, y, b, r)), val);
+		final PackedValuation packed3 = PackedValuation.of(ValuationLayout.of(ImmutableList.of(x, a)), val);
+		final PackedValuation packed4 = PackedValuation.of(layout,
+				ImmutableValuation.builder().put(x, Int(2)).put(a, True()).build());
+
+		assertTrue(packed1.slotEquals(packed2));
+		assertTrue(packed1.slotEquals(packed3));
+		assertEquals(packed1.slotHash(), packed3.slotHash());
+		assertFalse(packed1.slotEquals(packed4));
+		assertEquals(ExplState.of(packed1), ExplState.of(packed3));
+		assertEquals(ExplState.of(packed1).hashCode(), ExplState.of(packed3).hashCode());
+		assertNotEquals(ExplState.of(packed1), ExplState.of(packed4));
+	}
+
+	@Test
+	public void testLeq() {
+		final PackedValuation xy = PackedValuation.of(layout,
+				ImmutableValuation.builder().put(x, Int(1)).put(y, Int(2)).build());
+		final PackedValuation x1 = PackedValuation.of(layout, ImmutableValuation.builder().put(x, Int(1)).build());
+		final PackedValuation x2 = PackedValuation.of(layout, ImmutableValuation.builder().put(x, Int(2)).build());
+		final PackedValuation other = PackedValuation.of(ValuationLayout.of(ImmutableList.of(x)),
+				ImmutableValuation.builder().put(x, Int(1)).build());
+
+		assertTrue(xy.isLeq(x1));
+		assertFalse(x1.isLeq(xy));
+		assertFalse(xy.isLeq(x2));
+		assertTrue(xy.isLeq(other));
+		assertTrue(ExplState.of(xy).isLeq(ExplState.of(other)));
+	}
+
+}
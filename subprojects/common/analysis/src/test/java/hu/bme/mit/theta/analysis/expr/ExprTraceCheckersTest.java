@@ -21,7 +21,9 @@ import hu.bme.mit.theta.analysis.expr.refinement.ExprTraceChecker;
 import hu.bme.mit.theta.analysis.expr.refinement.ExprTraceFwBinItpChecker;
 import hu.bme.mit.theta.analysis.expr.refinement.ExprTraceSeqItpChecker;
 import hu.bme.mit.theta.analysis.expr.refinement.ExprTraceStatus;
+import hu.bme.mit.theta.analysis.expr.refinement.ExprTraceTrie;
 import hu.bme.mit.theta.analysis.expr.refinement.ExprTraceUnsatCoreChecker;
+import hu.bme.mit.theta.analysis.pred.PredState;
 import hu.bme.mit.theta.core.type.Expr;
 import hu.bme.mit.theta.core.type.booltype.BoolType;
 import hu.bme.mit.theta.core.type.inttype.IntType;
@@ -113,4 +115,39 @@ public final class ExprTraceCheckersTest {
 		}
 	}
 
+	@Test
+	public void testCheckAll() {
+		// Arrange
+		final Expr<IntType> x = Var("x", Int()).getRef();
+
+		final ExprAction resetMock = mock(ExprAction.class);
+		doReturn(Eq(Prime(x), Int(0))).when(resetMock).toExpr();
+		when(resetMock.nextIndexing()).thenReturn(VarIndexingFactory.indexing(1));
+
+		final ExprAction guardMock = mock(ExprAction.class);
+		doReturn(Geq(x, Int(1))).when(guardMock).toExpr();
+		when(guardMock.nextIndexing()).thenReturn(VarIndexingFactory.indexing(0));
+
+		final ExprAction incMock = mock(ExprAction.class);
+		doReturn(Eq(Prime(x), Add(x, Int(1)))).when(incMock).toExpr();
+		when(incMock.nextIndexing()).thenReturn(VarIndexingFactory.indexing(1));
+
+		// The traces share their first two states
+		final ExprState s0 = PredState.of();
+		final ExprState s1 = PredState.of();
+		final Trace<ExprState, ExprAction> infeasible = Trace.of(Arrays.asList(s0, s1, PredState.of()),
+				Arrays.asList(resetMock, guardMock));
+		final Trace<ExprState, ExprAction> feasible = Trace.of(Arrays.asList(s0, s1, PredState.of()),
+				Arrays.asList(resetMock, incMock));
+		final ExprTraceTrie<ExprState, ExprAction> trie = ExprTraceTrie.of(Arrays.asList(infeasible, feasible));
+
+		for (final ExprTraceChecker<?> checker : traceCheckers) {
+			// Act
+			final List<? extends ExprTraceStatus<?>> statuses = checker.checkAll(trie);
+			// Assert
+			assertTrue(statuses.get(0).isInfeasible());
+			assertTrue(statuses.get(1).isFeasible());
+		}
+	}
+
 }
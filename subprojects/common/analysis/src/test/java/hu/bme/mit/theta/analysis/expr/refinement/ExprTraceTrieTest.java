@@ -0,0 +1,107 @@
+/*
+ *  Copyright 2022 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.expr.refinement;
+
+import hu.bme.mit.theta.analysis.Trace;
+import hu.bme.mit.theta.analysis.expl.ExplState;
+import hu.bme.mit.theta.analysis.expr.ExprAction;
+import hu.bme.mit.theta.core.decl.VarDecl;
+import hu.bme.mit.theta.core.model.ImmutableValuation;
+import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.booltype.BoolType;
+import hu.bme.mit.theta.core.type.inttype.IntType;
+import hu.bme.mit.theta.core.utils.indexings.VarIndexing;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static hu.bme.mit.theta.core.decl.Decls.Var;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.True;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Int;
+import static hu.bme.mit.theta.core.utils.indexings.VarIndexingFactory.indexing;
+import static org.junit.Assert.assertEquals;
+
+public class ExprTraceTrieTest {
+	private final VarDecl<IntType> x = Var("x", Int());
+	private final ExprAction action = new NopAction();
+
+	private final List<ExplState> states = new ArrayList<>();
+
+	private ExplState state(final int i) {
+		while (states.size() <= i) {
+			states.add(ExplState.of(ImmutableValuation.builder().put(x, Int(states.size())).build()));
+		}
+		return states.get(i);
+	}
+
+	private Trace<ExplState, ExprAction> trace(final int... indices) {
+		final List<ExplState> traceStates = new ArrayList<>();
+		final List<ExprAction> actions = new ArrayList<>();
+		for (final int i : indices) {
+			if (!traceStates.isEmpty()) {
+				actions.add(action);
+			}
+			traceStates.add(state(i));
+		}
+		return Trace.of(traceStates, actions);
+	}
+
+	@Test
+	public void testSharing() {
+		// 0 -> 1 -> {2 -> {3, 4}, 5}, and 6 -> 7
+		final ExprTraceTrie<ExplState, ExprAction> trie = ExprTraceTrie.of(Arrays.asList(
+				trace(0, 1, 2, 3), trace(0, 1, 2, 4), trace(0, 1, 5), trace(6, 7), trace(0, 1, 2, 3)));
+
+		assertEquals(3, trie.getMaxLength());
+		assertEquals(2, trie.getRoots().size());
+		final ExprTraceTrie.Node<ExplState, ExprAction> root = trie.getRoots().get(0);
+		assertEquals(1, root.getChildren().size());
+		final ExprTraceTrie.Node<ExplState, ExprAction> node1 = root.getChildren().get(0);
+		assertEquals(1, node1.getDepth());
+		assertEquals(2, node1.getChildren().size());
+		final ExprTraceTrie.Node<ExplState, ExprAction> node3 = node1.getChildren().get(0).getChildren().get(0);
+		assertEquals(state(3), node3.getState());
+		assertEquals(Arrays.asList(0, 4), node3.getTraceIndices());
+	}
+
+	@Test
+	public void testPartition() {
+		final ExprTraceTrie<ExplState, ExprAction> trie = ExprTraceTrie.of(Arrays.asList(
+				trace(0, 1, 2, 3), trace(0, 1, 2, 4), trace(0, 1, 5), trace(6, 7)));
+
+		assertEquals(Arrays.asList(Arrays.asList(0, 1, 2), Arrays.asList(3)), trie.partition(1));
+		assertEquals(Arrays.asList(Arrays.asList(0, 1, 2), Arrays.asList(3)), trie.partition(2));
+		assertEquals(Arrays.asList(Arrays.asList(0, 1), Arrays.asList(2), Arrays.asList(3)), trie.partition(3));
+		assertEquals(Arrays.asList(Arrays.asList(0), Arrays.asList(1), Arrays.asList(2), Arrays.asList(3)),
+				trie.partition(4));
+		assertEquals(trie.partition(4), trie.partition(10));
+	}
+
+	private static final class NopAction implements ExprAction {
+		@Override
+		public Expr<BoolType> toExpr() {
+			return True();
+		}
+
+		@Override
+		public VarIndexing nextIndexing() {
+			return indexing(0);
+		}
+	}
+
+}
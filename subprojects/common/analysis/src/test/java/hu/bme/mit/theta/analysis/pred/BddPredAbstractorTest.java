@@ -0,0 +1,167 @@
+/*
+ *  Copyright 2022 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.pred;
+
+import static hu.bme.mit.theta.core.decl.Decls.Var;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.And;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.False;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Iff;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Not;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Or;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Add;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Gt;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Int;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Lt;
+import static java.util.stream.Collectors.toList;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+import hu.bme.mit.theta.analysis.expr.ExprAction;
+import hu.bme.mit.theta.analysis.expr.ExprState;
+import hu.bme.mit.theta.analysis.expr.StmtAction;
+import hu.bme.mit.theta.common.Utils;
+import hu.bme.mit.theta.core.decl.VarDecl;
+import hu.bme.mit.theta.core.stmt.Stmt;
+import hu.bme.mit.theta.core.stmt.Stmts;
+import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.booltype.BoolType;
+import hu.bme.mit.theta.core.type.inttype.IntType;
+import hu.bme.mit.theta.core.utils.PathUtils;
+import hu.bme.mit.theta.core.utils.indexings.VarIndexingFactory;
+import hu.bme.mit.theta.solver.Solver;
+import hu.bme.mit.theta.solver.utils.WithPushPop;
+import hu.bme.mit.theta.solver.z3.Z3SolverFactory;
+
+public class BddPredAbstractorTest {
+	private final VarDecl<IntType> x = Var("x", Int());
+	private final VarDecl<IntType> y = Var("y", Int());
+	private final Solver solver = Z3SolverFactory.getInstance().createSolver();
+	private final BddPredManager manager = BddPredManager.create();
+	private final BddPredAbstractor abstractor = BddPredAbstractor.create(
+			Z3SolverFactory.getInstance().createSolver(), manager);
+	private final PredAbstractors.PredAbstractor boolAbstractor = PredAbstractors.booleanAbstractor(
+			Z3SolverFactory.getInstance().createSolver());
+
+	@Test
+	public void testSameAsBooleanAbstractor() {
+		final PredPrec prec = PredPrec.of(ImmutableList.of(Lt(x.getRef(), Int(5)), Gt(x.getRef(), Int(0)),
+				Gt(y.getRef(), Int(0))));
+		final List<Expr<BoolType>> exprs = ImmutableList.of(
+				Lt(x.getRef(), Int(4)),
+				Or(Lt(x.getRef(), Int(0)), Gt(x.getRef(), Int(6))),
+				And(Gt(x.getRef(), y.getRef()), Gt(y.getRef(), Int(3))),
+				Gt(Add(x.getRef(), y.getRef()), Int(0)));
+		for (final Expr<BoolType> expr : exprs) {
+			final BddPredState bddState = abstract0(expr, prec);
+			final Collection<PredState> boolStates = boolAbstractor.createStatesForExpr(expr,
+					VarIndexingFactory.indexing(0), prec, VarIndexingFactory.indexing(0));
+			assertEquivalent(toExpr(boolStates), bddState.toExpr());
+		}
+	}
+
+	@Test
+	public void testBottom() {
+		final PredPrec prec = PredPrec.of(ImmutableList.of(Lt(x.getRef(), Int(5))));
+		final BddPredState state = abstract0(And(Gt(x.getRef(), Int(0)), Lt(x.getRef(), Int(0))), prec);
+		Assert.assertTrue(state.isBottom());
+		Assert.assertEquals(BddPredState.bottom(manager), state);
+		Assert.assertEquals(False(), state.toExpr());
+	}
+
+	@Test
+	public void testCanonical() {
+		// Both are abstracted to x<4 and x<5
+		final PredPrec prec = PredPrec.of(ImmutableList.of(Lt(x.getRef(), Int(4)), Lt(x.getRef(), Int(5))));
+		final BddPredState state1 = abstract0(Lt(x.getRef(), Int(3)), prec);
+		final BddPredState state2 = abstract0(Lt(x.getRef(), Int(2)), prec);
+		Assert.assertEquals(state1, state2);
+		Assert.assertEquals(state1.hashCode(), state2.hashCode());
+	}
+
+	@Test
+	public void testOrd() {
+		final PredPrec prec = PredPrec.of(ImmutableList.of(Lt(x.getRef(), Int(4)), Lt(x.getRef(), Int(5))));
+		final BddPredState state1 = abstract0(Lt(x.getRef(), Int(4)), prec);
+		final BddPredState state2 = abstract0(Lt(x.getRef(), Int(5)), prec);
+		final BddPredOrd ord = BddPredOrd.getInstance();
+		Assert.assertTrue(ord.isLeq(state1, state2));
+		Assert.assertFalse(ord.isLeq(state2, state1));
+		Assert.assertTrue(ord.isLeq(BddPredState.bottom(manager), state1));
+		Assert.assertTrue(ord.isLeq(state2, BddPredState.top(manager)));
+		Assert.assertEquals(state2, state1.join(state2));
+	}
+
+	@Test
+	public void testTransFuncSameAsBooleanAbstractor() {
+		// Source states with several BDD nodes are encoded by definitions
+		final PredPrec prec = PredPrec.of(ImmutableList.of(Lt(x.getRef(), Int(5)), Gt(x.getRef(), Int(0)),
+				Gt(y.getRef(), Int(0))));
+		final BddPredTransFunc<ExprAction> bddTransFunc = BddPredTransFunc.create(abstractor);
+		final PredTransFunc<ExprAction> boolTransFunc = PredTransFunc.create(boolAbstractor);
+		final List<BddPredState> states = ImmutableList.of(
+				abstract0(Or(Lt(x.getRef(), Int(0)), Gt(y.getRef(), Int(2))), prec),
+				abstract0(And(Gt(x.getRef(), Int(0)), Lt(x.getRef(), Int(3))), prec),
+				BddPredState.top(manager));
+		final List<ExprAction> actions = ImmutableList.of(
+				new BasicStmtAction(Stmts.Assign(x, Add(x.getRef(), Int(1)))),
+				new BasicStmtAction(Stmts.Assign(y, x.getRef())),
+				new BasicStmtAction(Stmts.Assume(Gt(x.getRef(), Int(4)))));
+		for (final BddPredState state : states) {
+			for (final ExprAction action : actions) {
+				final BddPredState bddSucc = Utils.singleElementOf(bddTransFunc.getSuccStates(state, action, prec));
+				final Collection<? extends PredState> boolSuccs = boolTransFunc.getSuccStates(
+						PredState.of(state.toExpr()), action, prec);
+				assertEquivalent(toExpr(boolSuccs), bddSucc.toExpr());
+			}
+		}
+	}
+
+	private BddPredState abstract0(final Expr<BoolType> expr, final PredPrec prec) {
+		return abstractor.createStateForExpr(expr, VarIndexingFactory.indexing(0), prec,
+				VarIndexingFactory.indexing(0));
+	}
+
+	private static Expr<BoolType> toExpr(final Collection<? extends PredState> states) {
+		return states.isEmpty() ? False() : Or(states.stream().map(ExprState::toExpr).collect(toList()));
+	}
+
+	private void assertEquivalent(final Expr<BoolType> expected, final Expr<BoolType> actual) {
+		try (WithPushPop wp = new WithPushPop(solver)) {
+			solver.add(PathUtils.unfold(Not(Iff(expected, actual)), VarIndexingFactory.indexing(0)));
+			Assert.assertTrue(expected + " is not equivalent to " + actual, solver.check().isUnsat());
+		}
+	}
+
+	private static final class BasicStmtAction extends StmtAction {
+		private final Stmt stmt;
+
+		public BasicStmtAction(final Stmt stmt) {
+			this.stmt = stmt;
+		}
+
+		@Override
+		public List<Stmt> getStmts() {
+			return Collections.singletonList(stmt);
+		}
+	}
+}
@@ -53,6 +53,21 @@ public class PredPrecTest {
 
 	}
 
+	@Test
+	public void testNumbering() {
+		final PredPrec p0 = PredPrec.of();
+		final PredPrec p1 = PredPrec.of(Collections.singleton(pred));
+
+		// The join has the same predicates as p1, but it extends the numbering of p0
+		final PredPrec r1 = p0.join(p1);
+		Assert.assertEquals(p1, r1);
+		Assert.assertSame(p0.getNumbering(), r1.getNumbering());
+
+		final PredPrec r2 = r1.join(PredPrec.of(Collections.singleton(Eq(x.getRef(), y.getRef()))));
+		Assert.assertSame(p0.getNumbering(), r2.getNumbering());
+		Assert.assertSame(r2, p0.join(r2));
+	}
+
 	@Test
 	public void testEquals() {
 		final PredPrec p0 = PredPrec.of();
@@ -0,0 +1,86 @@
+/*
+ *  Copyright 2022 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.pred;
+
+import static hu.bme.mit.theta.core.decl.Decls.Var;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.False;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Not;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Or;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Gt;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Int;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Lt;
+
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import hu.bme.mit.theta.core.decl.VarDecl;
+import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.booltype.BoolType;
+import hu.bme.mit.theta.core.type.inttype.IntType;
+
+public class PredStateTest {
+
+	private final VarDecl<IntType> x = Var("x", Int());
+
+	private final Expr<BoolType> p0 = Gt(x.getRef(), Int(0));
+	private final Expr<BoolType> p1 = Lt(x.getRef(), Int(5));
+	private final Expr<BoolType> p2 = Gt(x.getRef(), Int(1));
+
+	private final PredPrec prec = PredPrec.of(List.of(p0, p1));
+	private final PredPrec refined = prec.join(PredPrec.of(p2));
+
+	@Test
+	public void testIncludes() {
+		final PredState s01 = PredState.of(List.of(p0, prec.negate(p1)), prec);
+		final PredState s0 = PredState.of(List.of(p0), prec);
+		final PredState s02 = PredState.of(List.of(p0, p2), refined);
+
+		Assert.assertTrue(s01.includes(s0));
+		Assert.assertFalse(s0.includes(s01));
+		Assert.assertTrue(s02.includes(s0));
+		Assert.assertFalse(s0.includes(s02));
+		Assert.assertFalse(s02.includes(s01));
+		Assert.assertTrue(s0.includes(PredState.of()));
+		Assert.assertTrue(PredState.bottom().includes(s01));
+	}
+
+	@Test
+	public void testNotEncoded() {
+		final PredState disjunctive = PredState.of(List.of(Or(p0, p1)), prec);
+		final PredState other = PredState.of(List.of(p0, Not(p2)), prec);
+
+		Assert.assertTrue(disjunctive.includes(PredState.of(Or(p0, p1))));
+		Assert.assertFalse(disjunctive.includes(PredState.of(List.of(p0), prec)));
+		Assert.assertTrue(other.includes(PredState.of(List.of(p0), prec)));
+		Assert.assertFalse(PredState.of(False()).equals(PredState.of()));
+	}
+
+	@Test
+	public void testEquals() {
+		final PredState encoded = PredState.of(List.of(p0, prec.negate(p1)), refined);
+		final PredState sameNumbering = PredState.of(List.of(prec.negate(p1), p0), prec);
+		final PredState plain = PredState.of(List.of(p0, prec.negate(p1)));
+
+		Assert.assertEquals(encoded, sameNumbering);
+		Assert.assertEquals(encoded.hashCode(), sameNumbering.hashCode());
+		Assert.assertEquals(encoded, plain);
+		Assert.assertEquals(plain, encoded);
+		Assert.assertNotEquals(encoded, PredState.of(List.of(p0), prec));
+	}
+
+}
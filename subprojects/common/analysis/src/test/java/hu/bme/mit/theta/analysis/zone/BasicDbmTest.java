@@ -0,0 +1,101 @@
+/*
+ *  Copyright 2022 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.zone;
+
+import static hu.bme.mit.theta.analysis.zone.DiffBounds.Bound;
+import static hu.bme.mit.theta.analysis.zone.DiffBounds.Leq;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+public class BasicDbmTest {
+
+	private static final int SIZE = 6;
+
+	private static void assertSameBounds(final BasicDbm expected, final BasicDbm actual) {
+		assertEquals(expected.isConsistent(), actual.isConsistent());
+		if (expected.isConsistent()) {
+			for (int i = 0; i < SIZE; i++) {
+				for (int j = 0; j < SIZE; j++) {
+					assertEquals(expected.get(i, j), actual.get(i, j));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testAndSameAsFullClosure() {
+		final Random random = new Random(0);
+		for (int run = 0; run < 200; run++) {
+			final BasicDbm dbm = new BasicDbm(SIZE, (x, y) -> Leq(0));
+			for (int step = 0; step < 20 && dbm.isConsistent(); step++) {
+				dbm.up();
+				final int x = random.nextInt(SIZE);
+				final int y = random.nextInt(SIZE);
+				final int b = Bound(random.nextInt(21) - 10, random.nextBoolean());
+				if (x == y) {
+					continue;
+				}
+
+				final BasicDbm expected = new BasicDbm(dbm);
+				if (!expected.isSatisfied(x, y, b)) {
+					expected.set(0, 0, Leq(-1));
+				} else if (b < expected.get(x, y)) {
+					expected.set(x, y, b);
+					expected.close();
+				}
+
+				dbm.and(x, y, b);
+				assertSameBounds(expected, dbm);
+
+				if (dbm.isConsistent() && random.nextInt(3) == 0) {
+					dbm.reset(1 + random.nextInt(SIZE - 1), random.nextInt(5));
+					assertTrue(dbm.isClosed());
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testCopyOnWrite() {
+		final BasicDbm parent = new BasicDbm(SIZE, (x, y) -> Leq(0));
+		parent.up();
+		final BasicDbm child1 = new BasicDbm(parent);
+		final BasicDbm child2 = new BasicDbm(parent);
+		assertTrue(child1.isLeq(parent) && parent.isLeq(child1));
+
+		child1.and(1, 0, Leq(3));
+		child2.reset(2, 5);
+
+		assertEquals(DiffBounds.Inf(), parent.get(1, 0));
+		assertEquals(DiffBounds.Inf(), parent.get(2, 0));
+		assertEquals(Leq(3), child1.get(1, 0));
+		assertEquals(Leq(5), child2.get(2, 0));
+		assertTrue(child1.isLeq(parent));
+		assertFalse(parent.isLeq(child1));
+		assertFalse(child2.isLeq(child1));
+
+		// Modifying the parent does not affect the children either
+		parent.free();
+		assertEquals(Leq(3), child1.get(1, 0));
+		assertEquals(Leq(0), child1.get(2, 1));
+	}
+
+}
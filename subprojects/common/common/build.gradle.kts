@@ -1,3 +1,4 @@
 plugins {
     id("java-common")
+    id("jmh-benchmark")
 }
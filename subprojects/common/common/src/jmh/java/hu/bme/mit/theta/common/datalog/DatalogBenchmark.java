@@ -0,0 +1,141 @@
+/*
+ *  Copyright 2022 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.common.datalog;
+
+import hu.bme.mit.theta.common.Tuple2;
+import hu.bme.mit.theta.common.TupleN;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Datalog programs of the two typical kinds: the transitive closure of a random graph, where
+ * the edges are added one by one, and a memory model, where the candidate read-from edges of
+ * an execution are tried one by one between push() and pop(), and the happens-before
+ * relation (the transitive closure of the program order and the communication relations) is
+ * checked for cycles.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DatalogBenchmark {
+
+	private static final int THREADS = 4;
+
+	@Param({"50", "200"})
+	public int size;
+
+	private List<DatalogArgument> nodes;
+	private List<TupleN<DatalogArgument>> edges;
+	private List<TupleN<DatalogArgument>> programOrder;
+	private List<TupleN<DatalogArgument>> coherence;
+	private List<TupleN<DatalogArgument>> readsFrom;
+
+	@Setup
+	public void setup() {
+		final Random random = new Random(0);
+		nodes = new ArrayList<>();
+		for (int i = 0; i < size; i++) {
+			nodes.add(GenericDatalogArgument.createArgument(i));
+		}
+
+		edges = new ArrayList<>();
+		for (int i = 0; i < 2 * size; i++) {
+			edges.add(TupleN.of(nodes.get(random.nextInt(size)), nodes.get(random.nextInt(size))));
+		}
+
+		// Events of the threads are interleaved: event i belongs to thread i % THREADS, even events write, odd events read
+		programOrder = new ArrayList<>();
+		for (int i = THREADS; i < size; i++) {
+			programOrder.add(TupleN.of(nodes.get(i - THREADS), nodes.get(i)));
+		}
+		coherence = new ArrayList<>();
+		readsFrom = new ArrayList<>();
+		int lastWrite = -1;
+		for (int i = 0; i < size; i++) {
+			if (i % 2 == 0) {
+				if (lastWrite >= 0) {
+					coherence.add(TupleN.of(nodes.get(lastWrite), nodes.get(i)));
+				}
+				lastWrite = i;
+			} else {
+				readsFrom.add(TupleN.of(nodes.get(2 * random.nextInt(size / 2)), nodes.get(i)));
+			}
+		}
+	}
+
+	@Benchmark
+	public void transitiveClosure(final Blackhole blackhole) {
+		final Datalog datalog = Datalog.createProgram();
+		final Datalog.Relation edge = datalog.createRelation("edge", 2);
+		final Datalog.Relation path = datalog.createTransitive("path", edge);
+		for (final TupleN<DatalogArgument> fact : edges) {
+			edge.addFact(fact);
+		}
+		blackhole.consume(path.getElements());
+	}
+
+	@Benchmark
+	public void memoryModel(final Blackhole blackhole) {
+		final Datalog datalog = Datalog.createProgram();
+		final Datalog.Relation po = datalog.createRelation("po", 2);
+		final Datalog.Relation co = datalog.createRelation("co", 2);
+		final Datalog.Relation rf = datalog.createRelation("rf", 2);
+		final Datalog.Relation coTrans = datalog.createTransitive("coTrans", co);
+		final Datalog.Relation fr = datalog.createRelation("fr", 2);
+		final Datalog.Variable w1 = datalog.getVariable();
+		final Datalog.Variable w2 = datalog.getVariable();
+		final Datalog.Variable r = datalog.getVariable();
+		fr.addRule(TupleN.of(r, w2), Set.of(Tuple2.of(rf, TupleN.of(w1, r)), Tuple2.of(coTrans, TupleN.of(w1, w2))));
+		final Datalog.Relation com = datalog.createDisjunction("com", List.of(po, coTrans, rf, fr));
+		final Datalog.Relation hb = datalog.createTransitive("hb", com);
+		final Datalog.Relation cycle = datalog.createRelation("cycle", 1);
+		final Datalog.Variable e = datalog.getVariable();
+		cycle.addRule(TupleN.of(e), Set.of(Tuple2.of(hb, TupleN.of(e, e))));
+
+		for (final TupleN<DatalogArgument> fact : programOrder) {
+			po.addFact(fact);
+		}
+		for (final TupleN<DatalogArgument> fact : coherence) {
+			co.addFact(fact);
+		}
+		for (final TupleN<DatalogArgument> fact : readsFrom) {
+			datalog.push();
+			rf.addFact(fact);
+			blackhole.consume(cycle.getElements().isEmpty());
+			datalog.pop();
+		}
+	}
+
+}
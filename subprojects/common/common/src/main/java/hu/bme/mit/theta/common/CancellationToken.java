@@ -0,0 +1,135 @@
+/*
+ *  Copyright 2022 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.common;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * Token for cooperatively cancelling a computation. Long-running algorithms poll the
+ * token of the current thread with {@link #throwIfCancelled()}, and blocking operations
+ * (e.g., solver calls) can register a callback with {@link #onCancel(Runnable)} that
+ * aborts them. The token is bound to a thread with {@link #setCurrent(CancellationToken)},
+ * and it is inherited by the threads started by that thread afterwards.
+ */
+public final class CancellationToken {
+
+	private static final CancellationToken NONE = new CancellationToken();
+
+	private static final InheritableThreadLocal<CancellationToken> current = new InheritableThreadLocal<>() {
+		@Override
+		protected CancellationToken initialValue() {
+			return NONE;
+		}
+	};
+
+	private volatile boolean cancelled;
+	private final List<Runnable> callbacks;
+
+	private CancellationToken() {
+		this.cancelled = false;
+		this.callbacks = new ArrayList<>();
+	}
+
+	public static CancellationToken create() {
+		return new CancellationToken();
+	}
+
+	/**
+	 * Get the token that is never cancelled.
+	 */
+	public static CancellationToken none() {
+		return NONE;
+	}
+
+	/**
+	 * Get the token of the current thread, which is {@link #none()} if no token was set.
+	 */
+	public static CancellationToken current() {
+		return current.get();
+	}
+
+	/**
+	 * Set the token of the current thread (and the threads started by it afterwards).
+	 */
+	public static void setCurrent(final CancellationToken token) {
+		current.set(checkNotNull(token));
+	}
+
+	public void cancel() {
+		checkState(this != NONE, "Cannot cancel the empty token");
+		final List<Runnable> toRun;
+		synchronized (this) {
+			if (cancelled) {
+				return;
+			}
+			cancelled = true;
+			toRun = new ArrayList<>(callbacks);
+			callbacks.clear();
+		}
+		toRun.forEach(Runnable::run);
+	}
+
+	public boolean isCancelled() {
+		return cancelled;
+	}
+
+	/**
+	 * @throws CancellationException if the token is cancelled
+	 */
+	public void throwIfCancelled() {
+		if (cancelled) {
+			throw new CancellationException("Computation was cancelled");
+		}
+	}
+
+	/**
+	 * Register a callback that is run (on the cancelling thread) when the token is
+	 * cancelled, or immediately if it is already cancelled. The callback is removed when
+	 * the returned registration is closed.
+	 */
+	public Registration onCancel(final Runnable callback) {
+		checkNotNull(callback);
+		if (this == NONE) {
+			return Registration.EMPTY;
+		}
+		synchronized (this) {
+			if (!cancelled) {
+				callbacks.add(callback);
+				return () -> {
+					synchronized (this) {
+						callbacks.remove(callback);
+					}
+				};
+			}
+		}
+		callback.run();
+		return Registration.EMPTY;
+	}
+
+	public interface Registration extends AutoCloseable {
+		Registration EMPTY = () -> {
+		};
+
+		@Override
+		void close();
+	}
+
+}
@@ -0,0 +1,276 @@
+/*
+ *  Copyright 2022 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.common.bdd;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Manager of reduced ordered binary decision diagrams. BDDs are represented by the
+ * indices of their root nodes, which are canonical: two BDDs of the same manager represent
+ * the same function if and only if they are the same index. Variables are identified by
+ * non-negative integers, and smaller variables are closer to the root.
+ * <p>
+ * Nodes are stored in flat arrays and are never freed, so a manager should live as long
+ * as the analysis that uses it. The operations are synchronized, so a manager can be
+ * shared between threads.
+ */
+public final class BddManager {
+
+	public static final int FALSE = 0;
+	public static final int TRUE = 1;
+
+	private static final int TERMINAL_VAR = Integer.MAX_VALUE;
+	private static final int CACHE_SIZE = 1 << 16;
+
+	private int[] vars;
+	private int[] lows;
+	private int[] highs;
+	private int size;
+
+	// Open addressing unique table storing node + 1, 0 is empty
+	private int[] table;
+
+	// Direct-mapped cache of the results of if-then-else operations
+	private final int[] cacheF;
+	private final int[] cacheG;
+	private final int[] cacheH;
+	private final int[] cacheResult;
+
+	private BddManager() {
+		vars = new int[1024];
+		lows = new int[1024];
+		highs = new int[1024];
+		table = new int[2048];
+		vars[FALSE] = TERMINAL_VAR;
+		vars[TRUE] = TERMINAL_VAR;
+		size = 2;
+
+		cacheF = new int[CACHE_SIZE];
+		cacheG = new int[CACHE_SIZE];
+		cacheH = new int[CACHE_SIZE];
+		cacheResult = new int[CACHE_SIZE];
+		Arrays.fill(cacheF, -1);
+	}
+
+	public static BddManager create() {
+		return new BddManager();
+	}
+
+	////
+
+	/**
+	 * Get the BDD of a variable.
+	 */
+	public synchronized int var(final int var) {
+		checkArgument(var >= 0 && var < TERMINAL_VAR, "Invalid variable");
+		return mk(var, FALSE, TRUE);
+	}
+
+	/**
+	 * Get the BDD of the negation of a variable.
+	 */
+	public synchronized int nvar(final int var) {
+		checkArgument(var >= 0 && var < TERMINAL_VAR, "Invalid variable");
+		return mk(var, TRUE, FALSE);
+	}
+
+	public synchronized int not(final int f) {
+		return ite(f, FALSE, TRUE);
+	}
+
+	public synchronized int and(final int f, final int g) {
+		return ite(f, g, FALSE);
+	}
+
+	public synchronized int or(final int f, final int g) {
+		return ite(f, TRUE, g);
+	}
+
+	public synchronized int ite(final int f, final int g, final int h) {
+		checkNode(f);
+		checkNode(g);
+		checkNode(h);
+		return iteRec(f, g, h);
+	}
+
+	/**
+	 * Check if the first BDD implies the second one.
+	 */
+	public synchronized boolean isLeq(final int f, final int g) {
+		checkNode(f);
+		checkNode(g);
+		return iteRec(f, g, TRUE) == TRUE;
+	}
+
+	/**
+	 * Get the conjunction of literals, where literal v + 1 is variable v and literal -(v + 1)
+	 * is its negation (like in the DIMACS format).
+	 */
+	public synchronized int cube(final int... literals) {
+		int result = TRUE;
+		for (final int literal : literals) {
+			checkArgument(literal != 0, "Invalid literal");
+			final int var = Math.abs(literal) - 1;
+			result = iteRec(result, literal > 0 ? mk(var, FALSE, TRUE) : mk(var, TRUE, FALSE), FALSE);
+		}
+		return result;
+	}
+
+	/**
+	 * Get the disjoint cubes of a BDD, i.e., the paths from the root to the true terminal.
+	 * Cubes are given as literals in the format of {@link #cube(int...)}.
+	 */
+	public synchronized List<int[]> cubes(final int f) {
+		checkNode(f);
+		final List<int[]> cubes = new ArrayList<>();
+		collectCubes(f, new int[0], cubes);
+		return cubes;
+	}
+
+	private void collectCubes(final int node, final int[] prefix, final List<int[]> cubes) {
+		if (node == FALSE) {
+			return;
+		} else if (node == TRUE) {
+			cubes.add(prefix);
+			return;
+		}
+		final int[] low = Arrays.copyOf(prefix, prefix.length + 1);
+		low[prefix.length] = -(vars[node] + 1);
+		collectCubes(lows[node], low, cubes);
+		final int[] high = Arrays.copyOf(prefix, prefix.length + 1);
+		high[prefix.length] = vars[node] + 1;
+		collectCubes(highs[node], high, cubes);
+	}
+
+	////
+
+	public synchronized int getVar(final int node) {
+		checkArgument(node > TRUE && node < size, "Not an inner node");
+		return vars[node];
+	}
+
+	public synchronized int getLow(final int node) {
+		checkArgument(node > TRUE && node < size, "Not an inner node");
+		return lows[node];
+	}
+
+	public synchronized int getHigh(final int node) {
+		checkArgument(node > TRUE && node < size, "Not an inner node");
+		return highs[node];
+	}
+
+	/**
+	 * Get the number of nodes created so far (including the terminals).
+	 */
+	public synchronized int getNodeCount() {
+		return size;
+	}
+
+	////
+
+	private void checkNode(final int node) {
+		checkArgument(node >= 0 && node < size, "Unknown node");
+	}
+
+	private int iteRec(final int f, final int g, final int h) {
+		if (f == TRUE) {
+			return g;
+		} else if (f == FALSE) {
+			return h;
+		} else if (g == h) {
+			return g;
+		} else if (g == TRUE && h == FALSE) {
+			return f;
+		}
+
+		final int slot = hash(f, g, h) & (CACHE_SIZE - 1);
+		if (cacheF[slot] == f && cacheG[slot] == g && cacheH[slot] == h) {
+			return cacheResult[slot];
+		}
+
+		final int var = Math.min(vars[f], Math.min(vars[g], vars[h]));
+		final int high = iteRec(cofactor(f, var, true), cofactor(g, var, true), cofactor(h, var, true));
+		final int low = iteRec(cofactor(f, var, false), cofactor(g, var, false), cofactor(h, var, false));
+		final int result = mk(var, low, high);
+
+		cacheF[slot] = f;
+		cacheG[slot] = g;
+		cacheH[slot] = h;
+		cacheResult[slot] = result;
+		return result;
+	}
+
+	private int cofactor(final int node, final int var, final boolean value) {
+		if (vars[node] != var) {
+			return node;
+		}
+		return value ? highs[node] : lows[node];
+	}
+
+	private int mk(final int var, final int low, final int high) {
+		if (low == high) {
+			return low;
+		}
+		final int mask = table.length - 1;
+		int slot = hash(var, low, high) & mask;
+		while (table[slot] != 0) {
+			final int node = table[slot] - 1;
+			if (vars[node] == var && lows[node] == low && highs[node] == high) {
+				return node;
+			}
+			slot = (slot + 1) & mask;
+		}
+
+		if (size == vars.length) {
+			vars = Arrays.copyOf(vars, size * 2);
+			lows = Arrays.copyOf(lows, size * 2);
+			highs = Arrays.copyOf(highs, size * 2);
+		}
+		final int node = size++;
+		vars[node] = var;
+		lows[node] = low;
+		highs[node] = high;
+		table[slot] = node + 1;
+		if (2 * size > table.length) {
+			rehash();
+		}
+		return node;
+	}
+
+	private void rehash() {
+		table = new int[table.length * 2];
+		final int mask = table.length - 1;
+		for (int node = TRUE + 1; node < size; node++) {
+			int slot = hash(vars[node], lows[node], highs[node]) & mask;
+			while (table[slot] != 0) {
+				slot = (slot + 1) & mask;
+			}
+			table[slot] = node + 1;
+		}
+	}
+
+	private static int hash(final int a, final int b, final int c) {
+		int h = a * 0x9E3779B1;
+		h = (h ^ b) * 0x85EBCA6B;
+		h = (h ^ c) * 0xC2B2AE35;
+		return h ^ (h >>> 16);
+	}
+
+}
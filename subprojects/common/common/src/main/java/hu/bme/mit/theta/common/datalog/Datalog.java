@@ -17,21 +17,23 @@
 package hu.bme.mit.theta.common.datalog;
 
 /*
- * Datalog engine using naive (enumerative) evaluation.
+ * Datalog engine using semi-naive evaluation.
+ * The arguments are interned, and the facts are stored as rows of integers. In each round,
+ * only the instances of the rules that use at least one fact derived in the previous round
+ * are evaluated, and the atoms of the rule bodies are joined using hash indexes on the bound
+ * columns, which are built on demand.
  * Limitations:
  *  - Only relations are supported right now, simple atoms are not
- *  - There is a performance penalty for specific rulesets, see
- *    http://pages.cs.wisc.edu/~paris/cs838-s16/lecture-notes/lecture8.pdf
  */
 
 import com.google.common.collect.ImmutableList;
 import hu.bme.mit.theta.common.Tuple2;
-import hu.bme.mit.theta.common.Tuple3;
 import hu.bme.mit.theta.common.TupleN;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -44,11 +46,15 @@ import static com.google.common.base.Preconditions.checkState;
 
 public class Datalog {
 	private final Map<String, Relation> relations;
+	private final List<DatalogArgument> arguments;
+	private final Map<DatalogArgument, Integer> argumentIds;
 	private boolean debug = false;
 	private int stackDepth = 0;
 
 	protected Datalog() {
 		relations = new LinkedHashMap<>();
+		arguments = new ArrayList<>();
+		argumentIds = new HashMap<>();
 	}
 
 	public static Datalog createProgram() {
@@ -130,28 +136,64 @@ public class Datalog {
 		return ret.toString();
 	}
 
-	private void refresh() {
-		int cnt;
-		do {
-			cnt = 0;
+	private int intern(DatalogArgument argument) {
+		Integer id = argumentIds.get(argument);
+		if (id == null) {
+			id = arguments.size();
+			arguments.add(argument);
+			argumentIds.put(argument, id);
+		}
+		return id;
+	}
+
+	/*
+	 * Derives new facts until a fixpoint is reached. The facts of a relation before its stable
+	 * row are known from the previous rounds, the ones between the stable row and the frontier
+	 * were derived in the previous round (or added as facts), and the ones after the frontier
+	 * are derived in the current round.
+	 */
+	private void refresh(Rule newRule) {
+		for (Relation relation : relations.values()) {
+			relation.frontier = relation.rows.size();
+		}
+		if (newRule != null) {
+			newRule.evaluate(0, true);
+		}
+		boolean changed = true;
+		while (changed) {
+			changed = false;
+			for (Relation relation : relations.values()) {
+				relation.frontier = relation.rows.size();
+				changed |= relation.frontier > relation.stable;
+			}
+			if (!changed) {
+				break;
+			}
+			int cnt = 0;
 			for (Relation relation : relations.values()) {
-				int i = relation.calc();
-				if (debug)
-					System.out.println(i + " new facts");
-				cnt += i;
+				for (Rule rule : relation.rules) {
+					for (int i = 0; i < rule.plans.length; i++) {
+						final Relation delta = rule.plans[i][0].relation;
+						if (delta.frontier > delta.stable) {
+							cnt += rule.evaluate(i, false);
+						}
+					}
+				}
 			}
-			if (debug)
+			if (debug) {
+				System.out.println(cnt + " new facts");
 				System.out.println("====");
-		} while (cnt > 0);
-		for (Relation relation : relations.values()) {
-			relation.flush();
+			}
+			for (Relation relation : relations.values()) {
+				relation.stable = relation.frontier;
+			}
 		}
 	}
 
 	public Relation createRelation(String name, int n) {
 		checkState(stackDepth == 0, "Cannot create a relation when the program is in temporary (pushed) state");
 		checkState(n > 0, "Relation must have positive arity");
-		Relation ret = new Relation(n);
+		Relation ret = new Relation(name, n);
 		relations.put(name, ret);
 		return ret;
 	}
@@ -266,16 +308,12 @@ public class Datalog {
 
 	public class Relation {
 		private String name;
-		private final Set<TupleN<DatalogArgument>> elements;
-		private final Set<TupleN<DatalogArgument>> newElements;
-		private final Set<TupleN<DatalogArgument>> toAdd;
-		private final Set<Tuple2<TupleN<Variable>, Set<Tuple2<Relation, TupleN<Variable>>>>> rules;
+		private final RowStore rows;
+		private final List<Rule> rules;
 		private final int arity;
-		private final Stack<Tuple3<Set<TupleN<DatalogArgument>>, Set<TupleN<DatalogArgument>>, Set<TupleN<DatalogArgument>>>> stack;
-
-		private Relation(int n) {
-			this("", n);
-		}
+		private final Stack<Integer> stack;
+		private int stable;
+		private int frontier;
 
 		public void setName(String name) {
 			this.name = name;
@@ -284,21 +322,26 @@ public class Datalog {
 		private Relation(String name, int n) {
 			this.name = name;
 			this.arity = n;
-			elements = new LinkedHashSet<>();
-			newElements = new LinkedHashSet<>();
-			rules = new LinkedHashSet<>();
-			toAdd = new LinkedHashSet<>();
+			rows = new RowStore(n);
+			rules = new ArrayList<>();
 			stack = new Stack<>();
+			stable = 0;
+			frontier = 0;
 		}
 
 		public void addFact(TupleN<DatalogArgument> fact) {
 			checkState(fact.arity() == arity);
-			newElements.add(fact);
+			final int[] row = new int[arity];
+			for (int i = 0; i < arity; i++) {
+				row[i] = intern(fact.get(i));
+			}
 			if (debug) {
 				System.out.println();
 				System.out.println("New fact (" + name + "): " + fact);
 			}
-			refresh();
+			if (rows.add(row)) {
+				refresh(null);
+			}
 		}
 
 		public void addRule(TupleN<Variable> args, Set<Tuple2<Relation, TupleN<Variable>>> dependencies) {
@@ -307,150 +350,200 @@ public class Datalog {
 			for (Tuple2<Relation, TupleN<Variable>> dependency : dependencies) {
 				checkState(dependency.get1().arity == dependency.get2().arity());
 			}
-			rules.add(Tuple2.of(args, new LinkedHashSet<>(dependencies)));
-			refresh();
+			final Rule rule = new Rule(this, args, new ArrayList<>(new LinkedHashSet<>(dependencies)));
+			rules.add(rule);
+			refresh(rule);
 		}
 
 		public Collection<TupleN<DatalogArgument>> getElements() {
-			ArrayList<TupleN<DatalogArgument>> ret = new ArrayList<>(elements);
-			ret.addAll(newElements);
-			return ImmutableList.copyOf(ret);
+			final ImmutableList.Builder<TupleN<DatalogArgument>> builder = ImmutableList.builderWithExpectedSize(rows.size());
+			for (int row = 0; row < rows.size(); row++) {
+				builder.add(getElement(row));
+			}
+			return builder.build();
+		}
+
+		private TupleN<DatalogArgument> getElement(int row) {
+			final List<DatalogArgument> args = new ArrayList<>(arity);
+			for (int i = 0; i < arity; i++) {
+				args.add(arguments.get(rows.get(row, i)));
+			}
+			return TupleN.of(args);
 		}
 
 		public int getArity() {
 			return arity;
 		}
 
-		private boolean validate(List<Tuple2<Relation, TupleN<Variable>>> oldClauses, Map<Variable, DatalogArgument> currentAssignments, List<Map<Variable, DatalogArgument>> assignments) {
-			List<Tuple2<Relation, TupleN<Variable>>> clauses = new ArrayList<>(oldClauses);
-			if (clauses.size() > 0) {
-				Tuple2<Relation, TupleN<Variable>> clause = clauses.get(0);
-				clauses.remove(0);
-				for (TupleN<DatalogArgument> element : clause.get1().elements) {
-					Map<Variable, DatalogArgument> nextAssignments = new LinkedHashMap<>(currentAssignments);
-					if (!putAssignments(nextAssignments, clause, element)) {
-						validate(clauses, nextAssignments, assignments);
-					}
+		public void push() {
+			stack.push(rows.size());
+		}
+
+		public void pop() {
+			final int size = stack.pop();
+			rows.truncate(size);
+			stable = size;
+			frontier = size;
+		}
+	}
+
+	/*
+	 * Deduction rule compiled to join plans. The i-th plan starts with the i-th atom of the
+	 * body: in semi-naive evaluation, this atom is restricted to the facts derived in the
+	 * previous round, the preceding atoms to the facts known before, and the following atoms
+	 * to all the facts known in the current round.
+	 */
+	private final class Rule {
+		private final Relation head;
+		private final int[] headVars;
+		private final Step[][] plans;
+		private final int[] bindings;
+
+		private Rule(Relation head, TupleN<Variable> args, List<Tuple2<Relation, TupleN<Variable>>> body) {
+			this.head = head;
+			final Map<Variable, Integer> varIds = new HashMap<>();
+			final int[][] bodyVars = new int[body.size()][];
+			for (int i = 0; i < body.size(); i++) {
+				final TupleN<Variable> vars = body.get(i).get2();
+				bodyVars[i] = new int[vars.arity()];
+				for (int j = 0; j < vars.arity(); j++) {
+					bodyVars[i][j] = varIds.computeIfAbsent(vars.get(j), v -> varIds.size());
 				}
-				for (TupleN<DatalogArgument> element : clause.get1().newElements) {
-					Map<Variable, DatalogArgument> nextAssignments = new LinkedHashMap<>(currentAssignments);
-					if (!putAssignments(nextAssignments, clause, element)) {
-						validate(clauses, nextAssignments, assignments);
+			}
+			headVars = new int[args.arity()];
+			for (int i = 0; i < args.arity(); i++) {
+				final Integer varId = varIds.get(args.get(i));
+				checkState(varId != null, "Not all variables are bound!");
+				headVars[i] = varId;
+			}
+			bindings = new int[varIds.size()];
+
+			plans = new Step[body.size()][];
+			for (int first = 0; first < body.size(); first++) {
+				final boolean[] bound = new boolean[varIds.size()];
+				final Step[] plan = new Step[body.size()];
+				plan[0] = new Step(body.get(first).get1(), first, bodyVars[first], bound);
+				int k = 1;
+				for (int i = 0; i < body.size(); i++) {
+					if (i != first) {
+						plan[k++] = new Step(body.get(i).get1(), i, bodyVars[i], bound);
 					}
 				}
-				return assignments.size() > 0;
-			} else {
-				assignments.add(currentAssignments);
-				return true;
+				plans[first] = plan;
 			}
 		}
 
-		private int calc() {
-			int cnt = 0;
-			for (Tuple2<TupleN<Variable>, Set<Tuple2<Relation, TupleN<Variable>>>> rule : rules) {
-				for (Tuple2<Relation, TupleN<Variable>> clause : rule.get2()) {
-					Set<TupleN<DatalogArgument>> alreadyAdded = new LinkedHashSet<>();
-					boolean atLeastOne = true;
-					while (atLeastOne) {
-						atLeastOne = false;
-						for (TupleN<DatalogArgument> newElement : clause.get1().newElements.stream().filter(objects -> !alreadyAdded.contains(objects)).collect(Collectors.toCollection(LinkedHashSet::new))) {
-							cnt = addElements(cnt, rule, clause, newElement);
-							alreadyAdded.add(newElement);
-							atLeastOne = true;
-						}
-					}
-					alreadyAdded.clear();
-					atLeastOne = true;
-					while (atLeastOne) {
-						atLeastOne = false;
-						for (TupleN<DatalogArgument> newElement : clause.get1().toAdd.stream().filter(objects -> !alreadyAdded.contains(objects)).collect(Collectors.toCollection(LinkedHashSet::new))) {
-							cnt = addElements(cnt, rule, clause, newElement);
-							alreadyAdded.add(newElement);
-							atLeastOne = true;
-						}
+		/*
+		 * Evaluates the plan starting with the given atom, and returns the number of new facts.
+		 * In naive evaluation, all the atoms range over all the facts known in the current round.
+		 */
+		private int evaluate(int first, boolean naive) {
+			return join(plans[first], 0, first, naive);
+		}
+
+		private int join(Step[] plan, int depth, int delta, boolean naive) {
+			if (depth == plan.length) {
+				final int[] row = new int[headVars.length];
+				for (int i = 0; i < row.length; i++) {
+					row[i] = bindings[headVars[i]];
+				}
+				if (head.rows.add(row)) {
+					if (debug) {
+						System.out.println("(" + head.name + ")Adding " + head.getElement(head.rows.size() - 1));
 					}
+					return 1;
 				}
+				return 0;
 			}
-			return cnt;
-		}
 
-		private int addElements(int cnt, Tuple2<TupleN<Variable>, Set<Tuple2<Relation, TupleN<Variable>>>> rule, Tuple2<Relation, TupleN<Variable>> clause, TupleN<DatalogArgument> newElement) {
-			Map<Variable, DatalogArgument> assignments = new LinkedHashMap<>();
-			if (putAssignments(assignments, clause, newElement))
-				return cnt;
-			if (debug) {
-				System.out.println("\t(" + name + ")Checking " + newElement);
-			}
-			ArrayList<Tuple2<Relation, TupleN<Variable>>> validators = new ArrayList<>(rule.get2());
-			validators.remove(clause);
-			List<Map<Variable, DatalogArgument>> satisfyingAssignments = new ArrayList<>();
-			if (validate(validators, assignments, satisfyingAssignments)) {
-				for (Map<Variable, DatalogArgument> satisfyingAssignment : satisfyingAssignments) {
-					List<DatalogArgument> arguments = new ArrayList<>();
-					for (Object o : rule.get1()) {
-						Variable v = (Variable) o;
-						checkState(satisfyingAssignment.containsKey(v), "Not all variables are bound!");
-						arguments.add(satisfyingAssignment.get(v));
+			final Step step = plan[depth];
+			final Relation relation = step.relation;
+			final int to = !naive && step.position < delta ? relation.stable : relation.frontier;
+			int cnt = 0;
+			if (step.keyColumns.length == 0) {
+				final int from = !naive && depth == 0 ? relation.stable : 0;
+				for (int row = from; row < to; row++) {
+					if (step.bind(row, bindings)) {
+						cnt += join(plan, depth + 1, delta, naive);
 					}
-					TupleN<DatalogArgument> item = TupleN.of(arguments);
-					if (!elements.contains(item) && !newElements.contains(item) && !toAdd.contains(item)) {
-						toAdd.add(item);
-						if (debug) {
-							System.out.println("(" + name + ")Adding " + item);
-						}
-						++cnt;
+				}
+			} else {
+				long key = 0;
+				for (int keyVar : step.keyVars) {
+					key = RowStore.key(key, bindings[keyVar]);
+				}
+				final int[] rowList = step.getIndex().lookup(key);
+				final int count = rowList[0];
+				for (int i = 1; i <= count && rowList[i] < to; i++) {
+					if (step.matches(rowList[i], bindings) && step.bind(rowList[i], bindings)) {
+						cnt += join(plan, depth + 1, delta, naive);
 					}
 				}
-
 			}
 			return cnt;
 		}
+	}
 
-		private boolean putAssignments(Map<Variable, DatalogArgument> assignments, Tuple2<Relation, TupleN<Variable>> validatorClause, TupleN<DatalogArgument> element) {
-			for (int i = 0; i < element.arity(); i++) {
-				if (assignments.containsKey(validatorClause.get2().get(i))) {
-					if (!assignments.get(validatorClause.get2().get(i)).equals(element.get(i))) return true;
-				} else {
-					assignments.put(validatorClause.get2().get(i), element.get(i));
-				}
+	/*
+	 * Atom of a join plan. The key columns hold variables bound by the previous atoms, and are
+	 * looked up in an index, the other columns bind their variables (or are compared to the
+	 * earlier occurrence of the variable in the same atom).
+	 */
+	private static final class Step {
+		private final Relation relation;
+		private final int position;
+		private final int[] keyColumns;
+		private final int[] keyVars;
+		private final int[] columns;
+		private final int[] vars;
+		private final boolean[] binds;
+		private RowStore.Index index;
+
+		private Step(Relation relation, int position, int[] atomVars, boolean[] bound) {
+			this.relation = relation;
+			this.position = position;
+			final List<Integer> keyColumnList = new ArrayList<>();
+			final List<Integer> columnList = new ArrayList<>();
+			for (int i = 0; i < atomVars.length; i++) {
+				(bound[atomVars[i]] ? keyColumnList : columnList).add(i);
 			}
-			return false;
-		}
-
-		private void flush() {
-			if (debug) {
-				StringBuilder stringBuilder = new StringBuilder("[");
-				newElements.forEach(objects -> stringBuilder.append(objects.toString()).append(", "));
-
-				System.out.println("(" + name + ") Promoting newElements to elements: " + stringBuilder.append("]").toString());
+			keyColumns = keyColumnList.stream().mapToInt(Integer::intValue).toArray();
+			keyVars = Arrays.stream(keyColumns).map(c -> atomVars[c]).toArray();
+			columns = columnList.stream().mapToInt(Integer::intValue).toArray();
+			vars = Arrays.stream(columns).map(c -> atomVars[c]).toArray();
+			binds = new boolean[columns.length];
+			for (int i = 0; i < columns.length; i++) {
+				binds[i] = !bound[vars[i]];
+				bound[vars[i]] = true;
 			}
-			elements.addAll(newElements);
-			newElements.clear();
-
-			if (debug) {
-				StringBuilder stringBuilder1 = new StringBuilder("[");
-				toAdd.forEach(objects -> stringBuilder1.append(objects.toString()).append(", "));
+		}
 
-				System.out.println("(" + name + ") Promoting toAdd to newElements: " + stringBuilder1.append("]").toString());
+		private RowStore.Index getIndex() {
+			if (index == null) {
+				index = relation.rows.getIndex(keyColumns);
 			}
-			newElements.addAll(toAdd);
-			toAdd.clear();
+			return index;
 		}
 
-
-		public void push() {
-			stack.push(Tuple3.of(elements, newElements, toAdd));
+		private boolean matches(int row, int[] bindings) {
+			for (int i = 0; i < keyColumns.length; i++) {
+				if (relation.rows.get(row, keyColumns[i]) != bindings[keyVars[i]]) {
+					return false;
+				}
+			}
+			return true;
 		}
 
-		public void pop() {
-			final Tuple3<Set<TupleN<DatalogArgument>>, Set<TupleN<DatalogArgument>>, Set<TupleN<DatalogArgument>>> popped = stack.pop();
-			elements.clear();
-			elements.addAll(popped.get1());
-			newElements.clear();
-			newElements.addAll(popped.get2());
-			toAdd.clear();
-			toAdd.addAll(popped.get3());
-
+		private boolean bind(int row, int[] bindings) {
+			for (int i = 0; i < columns.length; i++) {
+				final int value = relation.rows.get(row, columns[i]);
+				if (binds[i]) {
+					bindings[vars[i]] = value;
+				} else if (bindings[vars[i]] != value) {
+					return false;
+				}
+			}
+			return true;
 		}
 	}
 }
@@ -0,0 +1,201 @@
+/*
+ *  Copyright 2022 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.common.datalog;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * Append-only set of rows of interned arguments, stored in a single int array. Rows are
+ * numbered in the order of insertion, so the rows derived in a given round of the evaluation
+ * form a contiguous range, and the store can be truncated to a previous size. Hash indexes on
+ * a set of columns are built on demand and maintained when rows are added or removed.
+ */
+final class RowStore {
+	private static final int[] EMPTY = {0};
+
+	private final int arity;
+	private int[] rows;
+	private int size;
+	// Open addressing hash table of row numbers + 1, 0 denotes an empty slot
+	private int[] table;
+	private final List<Index> indexes;
+
+	RowStore(final int arity) {
+		this.arity = arity;
+		rows = new int[arity * 16];
+		size = 0;
+		table = new int[32];
+		indexes = new ArrayList<>();
+	}
+
+	int size() {
+		return size;
+	}
+
+	int get(final int row, final int column) {
+		return rows[row * arity + column];
+	}
+
+	/*
+	 * Adds a row if it is not already in the store, returns whether it was added.
+	 */
+	boolean add(final int[] row) {
+		int slot = find(row, 0);
+		if (table[slot] != 0) {
+			return false;
+		}
+		if (size * arity == rows.length) {
+			rows = Arrays.copyOf(rows, rows.length * 2);
+		}
+		System.arraycopy(row, 0, rows, size * arity, arity);
+		table[slot] = size + 1;
+		for (final Index index : indexes) {
+			index.add(size);
+		}
+		++size;
+		if (size * 2 > table.length) {
+			rehash();
+		}
+		return true;
+	}
+
+	/*
+	 * Removes the rows added after the store had the given size. As the rows are removed in
+	 * the reverse order of their insertion, the hash table and the indexes are restored.
+	 */
+	void truncate(final int newSize) {
+		while (size > newSize) {
+			--size;
+			table[find(rows, size * arity)] = 0;
+			for (final Index index : indexes) {
+				index.removeLast(size);
+			}
+		}
+	}
+
+	Index getIndex(final int[] columns) {
+		for (final Index index : indexes) {
+			if (Arrays.equals(index.columns, columns)) {
+				return index;
+			}
+		}
+		final Index index = new Index(columns);
+		for (int row = 0; row < size; row++) {
+			index.add(row);
+		}
+		indexes.add(index);
+		return index;
+	}
+
+	// Slot of the given row (starting at the given offset of the array) or the empty slot where it should be
+	private int find(final int[] values, final int offset) {
+		final int mask = table.length - 1;
+		int slot = hash(values, offset) & mask;
+		while (table[slot] != 0 && !equals(table[slot] - 1, values, offset)) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+
+	private boolean equals(final int row, final int[] values, final int offset) {
+		final int start = row * arity;
+		for (int i = 0; i < arity; i++) {
+			if (rows[start + i] != values[offset + i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private int hash(final int[] values, final int offset) {
+		int hash = 0;
+		for (int i = 0; i < arity; i++) {
+			hash = (hash + values[offset + i]) * 0x9E3779B1;
+		}
+		// Interned arguments are small consecutive integers, so the bits are mixed for linear probing
+		hash ^= hash >>> 16;
+		hash *= 0x85EBCA6B;
+		return hash ^ (hash >>> 13);
+	}
+
+	private void rehash() {
+		table = new int[table.length * 2];
+		for (int row = 0; row < size; row++) {
+			table[find(rows, row * arity)] = row + 1;
+		}
+	}
+
+	static long key(final long key, final int value) {
+		return key * 0x9E3779B97F4A7C15L + value + 1;
+	}
+
+	/*
+	 * Hash index on a set of columns, mapping the (hashed) values of the columns to the
+	 * ascending list of the rows having them. Rows with a matching key must still be checked
+	 * for the values of the columns.
+	 */
+	final class Index {
+		private final int[] columns;
+		private final Map<Long, int[]> postings;
+
+		private Index(final int[] columns) {
+			this.columns = columns;
+			postings = new HashMap<>();
+		}
+
+		int[] getColumns() {
+			return columns;
+		}
+
+		/*
+		 * Rows with the given key, the first element of the array is the number of rows.
+		 */
+		int[] lookup(final long key) {
+			final int[] rowList = postings.get(key);
+			return rowList == null ? EMPTY : rowList;
+		}
+
+		private long keyOf(final int row) {
+			long key = 0;
+			for (final int column : columns) {
+				key = key(key, get(row, column));
+			}
+			return key;
+		}
+
+		private void add(final int row) {
+			final long key = keyOf(row);
+			int[] rowList = postings.get(key);
+			if (rowList == null) {
+				rowList = new int[4];
+				postings.put(key, rowList);
+			} else if (rowList[0] + 1 == rowList.length) {
+				rowList = Arrays.copyOf(rowList, rowList.length * 2);
+				postings.put(key, rowList);
+			}
+			rowList[++rowList[0]] = row;
+		}
+
+		private void removeLast(final int row) {
+			--postings.get(keyOf(row))[0];
+		}
+	}
+
+}
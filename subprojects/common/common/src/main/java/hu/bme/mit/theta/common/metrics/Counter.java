@@ -0,0 +1,52 @@
+/*
+ *  Copyright 2022 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.common.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counter of events, e.g., solver calls or created nodes. Counters are obtained from a
+ * {@link Metrics} registry, and the counters of a disabled registry ignore the events.
+ */
+public final class Counter {
+
+	static final Counter DISABLED = new Counter(false);
+
+	private final boolean enabled;
+	private final LongAdder count;
+
+	Counter(final boolean enabled) {
+		this.enabled = enabled;
+		this.count = new LongAdder();
+	}
+
+	public void increment() {
+		if (enabled) {
+			count.increment();
+		}
+	}
+
+	public void add(final long amount) {
+		if (enabled) {
+			count.add(amount);
+		}
+	}
+
+	public long get() {
+		return count.sum();
+	}
+
+}
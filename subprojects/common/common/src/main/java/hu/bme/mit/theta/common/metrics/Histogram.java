@@ -0,0 +1,100 @@
+/*
+ *  Copyright 2022 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.common.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Distribution of non-negative values, e.g., the size of expressions or the length of
+ * counterexamples. Besides the count, sum, minimum and maximum, the number of values is
+ * recorded in buckets of powers of two (the i-th bucket holds the values below 2^i that are
+ * not in a previous bucket). Histograms are obtained from a {@link Metrics} registry, and the
+ * histograms of a disabled registry ignore the values.
+ */
+public final class Histogram {
+
+	static final Histogram DISABLED = new Histogram(false);
+
+	private static final int BUCKETS = Long.SIZE;
+
+	private final boolean enabled;
+	private final LongAdder count;
+	private final LongAdder sum;
+	private final LongAccumulator min;
+	private final LongAccumulator max;
+	private final AtomicLongArray buckets;
+
+	Histogram(final boolean enabled) {
+		this.enabled = enabled;
+		count = new LongAdder();
+		sum = new LongAdder();
+		min = new LongAccumulator(Math::min, Long.MAX_VALUE);
+		max = new LongAccumulator(Math::max, Long.MIN_VALUE);
+		buckets = new AtomicLongArray(enabled ? BUCKETS : 0);
+	}
+
+	public void record(final long value) {
+		if (enabled) {
+			count.increment();
+			sum.add(value);
+			min.accumulate(value);
+			max.accumulate(value);
+			buckets.incrementAndGet(value <= 0 ? 0 : Long.SIZE - Long.numberOfLeadingZeros(value));
+		}
+	}
+
+	public long getCount() {
+		return count.sum();
+	}
+
+	public long getSum() {
+		return sum.sum();
+	}
+
+	/**
+	 * Get the minimal value, or 0 if no value was recorded.
+	 */
+	public long getMin() {
+		return getCount() == 0 ? 0 : min.get();
+	}
+
+	/**
+	 * Get the maximal value, or 0 if no value was recorded.
+	 */
+	public long getMax() {
+		return getCount() == 0 ? 0 : max.get();
+	}
+
+	public double getMean() {
+		final long n = getCount();
+		return n == 0 ? 0 : (double) getSum() / n;
+	}
+
+	/**
+	 * Get the number of values in the i-th bucket, i.e., in [2^(i-1), 2^i) for i > 0, and
+	 * the non-positive values for i = 0.
+	 */
+	public long getBucket(final int i) {
+		return i < buckets.length() ? buckets.get(i) : 0;
+	}
+
+	static int getBucketCount() {
+		return BUCKETS;
+	}
+
+}
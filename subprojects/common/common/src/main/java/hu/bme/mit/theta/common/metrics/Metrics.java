@@ -0,0 +1,184 @@
+/*
+ *  Copyright 2022 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.common.metrics;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Registry of named counters, timers and histograms of a run. Instrumented code (e.g., the
+ * ARG builder, the abstractors, the refiners and the solvers) records into the registry of
+ * the current thread, which is set with {@link #setCurrent(Metrics)} and inherited by the
+ * threads started afterwards. By default, the registry is disabled: it returns shared
+ * instruments that ignore the events, so the overhead of the instrumentation is a thread
+ * local lookup and a branch. The metrics can be exported in JSON with {@link #toJson()}.
+ */
+public final class Metrics {
+
+	private static final Metrics DISABLED = new Metrics(false);
+
+	private static final InheritableThreadLocal<Metrics> current = new InheritableThreadLocal<>() {
+		@Override
+		protected Metrics initialValue() {
+			return DISABLED;
+		}
+	};
+
+	private final boolean enabled;
+	private final ConcurrentMap<String, Counter> counters;
+	private final ConcurrentMap<String, Timer> timers;
+	private final ConcurrentMap<String, Histogram> histograms;
+
+	private Metrics(final boolean enabled) {
+		this.enabled = enabled;
+		counters = new ConcurrentHashMap<>();
+		timers = new ConcurrentHashMap<>();
+		histograms = new ConcurrentHashMap<>();
+	}
+
+	public static Metrics create() {
+		return new Metrics(true);
+	}
+
+	/**
+	 * Get the registry that ignores all events.
+	 */
+	public static Metrics disabled() {
+		return DISABLED;
+	}
+
+	/**
+	 * Get the registry of the current thread, which is {@link #disabled()} if no registry was set.
+	 */
+	public static Metrics current() {
+		return current.get();
+	}
+
+	/**
+	 * Set the registry of the current thread (and the threads started by it afterwards).
+	 */
+	public static void setCurrent(final Metrics metrics) {
+		current.set(checkNotNull(metrics));
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public Counter counter(final String name) {
+		if (!enabled) {
+			return Counter.DISABLED;
+		}
+		return counters.computeIfAbsent(name, n -> new Counter(true));
+	}
+
+	public Timer timer(final String name) {
+		if (!enabled) {
+			return Timer.DISABLED;
+		}
+		return timers.computeIfAbsent(name, n -> new Timer(true));
+	}
+
+	public Histogram histogram(final String name) {
+		if (!enabled) {
+			return Histogram.DISABLED;
+		}
+		return histograms.computeIfAbsent(name, n -> new Histogram(true));
+	}
+
+	/**
+	 * Export the metrics in JSON: an object with the counters (values), the timers (count,
+	 * total and maximal milliseconds) and the histograms (count, sum, min, max, mean and the
+	 * non-empty buckets with their upper bounds), each sorted by name.
+	 */
+	public String toJson() {
+		final StringBuilder sb = new StringBuilder();
+		sb.append("{").append(System.lineSeparator());
+
+		sb.append("  \"counters\": {");
+		appendEntries(sb, counters, (counter, out) -> out.append(counter.get()));
+		sb.append("},").append(System.lineSeparator());
+
+		sb.append("  \"timers\": {");
+		appendEntries(sb, timers, (timer, out) -> out.append("{\"count\": ").append(timer.getCount())
+				.append(", \"totalMs\": ").append(millis(timer.getTotal(TimeUnit.NANOSECONDS)))
+				.append(", \"maxMs\": ").append(millis(timer.getMax(TimeUnit.NANOSECONDS))).append("}"));
+		sb.append("},").append(System.lineSeparator());
+
+		sb.append("  \"histograms\": {");
+		appendEntries(sb, histograms, (histogram, out) -> {
+			out.append("{\"count\": ").append(histogram.getCount())
+					.append(", \"sum\": ").append(histogram.getSum())
+					.append(", \"min\": ").append(histogram.getMin())
+					.append(", \"max\": ").append(histogram.getMax())
+					.append(", \"mean\": ").append(String.format(Locale.ROOT, "%.3f", histogram.getMean()))
+					.append(", \"buckets\": {");
+			String separator = "";
+			for (int i = 0; i < Histogram.getBucketCount(); i++) {
+				final long bucket = histogram.getBucket(i);
+				if (bucket > 0) {
+					final long bound = i == 0 ? 0 : (1L << i) - 1;
+					out.append(separator).append("\"<=").append(bound).append("\": ").append(bucket);
+					separator = ", ";
+				}
+			}
+			out.append("}}");
+		});
+		sb.append("}").append(System.lineSeparator());
+
+		sb.append("}").append(System.lineSeparator());
+		return sb.toString();
+	}
+
+	public void writeJson(final Path path) throws IOException {
+		Files.writeString(path, toJson());
+	}
+
+	private interface EntryWriter<T> {
+		void write(T value, StringBuilder sb);
+	}
+
+	private static <T> void appendEntries(final StringBuilder sb, final Map<String, T> entries,
+										  final EntryWriter<T> entryWriter) {
+		String separator = System.lineSeparator();
+		for (final Map.Entry<String, T> entry : new TreeMap<>(entries).entrySet()) {
+			sb.append(separator).append("    \"").append(escape(entry.getKey())).append("\": ");
+			entryWriter.write(entry.getValue(), sb);
+			separator = "," + System.lineSeparator();
+		}
+		if (!entries.isEmpty()) {
+			sb.append(System.lineSeparator()).append("  ");
+		}
+	}
+
+	private static String millis(final long nanos) {
+		return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+	}
+
+	private static String escape(final String name) {
+		return name.replace("\\", "\\\\").replace("\"", "\\\"");
+	}
+
+}
@@ -0,0 +1,85 @@
+/*
+ *  Copyright 2022 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.common.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Timer measuring the total and maximal duration of an operation, e.g., solver calls.
+ * Timers are obtained from a {@link Metrics} registry, and they are used without allocation:
+ * <pre>
+ * final Timer timer = Metrics.current().timer("solver.check");
+ * final long start = timer.start();
+ * try {
+ *     ...
+ * } finally {
+ *     timer.stop(start);
+ * }
+ * </pre>
+ * The timers of a disabled registry do not query the clock.
+ */
+public final class Timer {
+
+	static final Timer DISABLED = new Timer(false);
+
+	private final boolean enabled;
+	private final LongAdder count;
+	private final LongAdder totalNanos;
+	private final LongAccumulator maxNanos;
+
+	Timer(final boolean enabled) {
+		this.enabled = enabled;
+		count = new LongAdder();
+		totalNanos = new LongAdder();
+		maxNanos = new LongAccumulator(Math::max, 0);
+	}
+
+	/**
+	 * Start measuring, the result must be passed to {@link #stop(long)}.
+	 */
+	public long start() {
+		return enabled ? System.nanoTime() : 0;
+	}
+
+	public void stop(final long start) {
+		if (enabled) {
+			record(System.nanoTime() - start);
+		}
+	}
+
+	public void record(final long nanos) {
+		if (enabled) {
+			count.increment();
+			totalNanos.add(nanos);
+			maxNanos.accumulate(nanos);
+		}
+	}
+
+	public long getCount() {
+		return count.sum();
+	}
+
+	public long getTotal(final TimeUnit unit) {
+		return unit.convert(totalNanos.sum(), TimeUnit.NANOSECONDS);
+	}
+
+	public long getMax(final TimeUnit unit) {
+		return unit.convert(maxNanos.get(), TimeUnit.NANOSECONDS);
+	}
+
+}
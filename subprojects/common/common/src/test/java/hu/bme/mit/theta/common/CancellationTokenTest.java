@@ -0,0 +1,74 @@
+/*
+ *  Copyright 2022 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.common;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class CancellationTokenTest {
+
+	@Test(expected = CancellationException.class)
+	public void testCancel() {
+		final CancellationToken token = CancellationToken.create();
+		token.throwIfCancelled();
+		Assert.assertFalse(token.isCancelled());
+		token.cancel();
+		Assert.assertTrue(token.isCancelled());
+		token.throwIfCancelled();
+	}
+
+	@Test
+	public void testCallbacks() {
+		final CancellationToken token = CancellationToken.create();
+		final AtomicInteger calls = new AtomicInteger();
+		final CancellationToken.Registration closed = token.onCancel(calls::incrementAndGet);
+		token.onCancel(calls::incrementAndGet);
+		closed.close();
+
+		token.cancel();
+		token.cancel();
+		Assert.assertEquals(1, calls.get());
+
+		// Callbacks registered after cancelling are run immediately
+		token.onCancel(calls::incrementAndGet);
+		Assert.assertEquals(2, calls.get());
+	}
+
+	@Test
+	public void testInheritance() throws InterruptedException {
+		final CancellationToken token = CancellationToken.create();
+		final AtomicReference<CancellationToken> inherited = new AtomicReference<>();
+		final Thread thread = new Thread(() -> {
+			CancellationToken.setCurrent(token);
+			final Thread child = new Thread(() -> inherited.set(CancellationToken.current()));
+			child.start();
+			try {
+				child.join();
+			} catch (final InterruptedException e) {
+				throw new AssertionError(e);
+			}
+		});
+		thread.start();
+		thread.join();
+
+		Assert.assertSame(token, inherited.get());
+		Assert.assertSame(CancellationToken.none(), CancellationToken.current());
+	}
+}
@@ -0,0 +1,105 @@
+/*
+ *  Copyright 2022 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.common.bdd;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+import static hu.bme.mit.theta.common.bdd.BddManager.FALSE;
+import static hu.bme.mit.theta.common.bdd.BddManager.TRUE;
+
+public class BddManagerTest {
+
+	private final BddManager bdds = BddManager.create();
+
+	@Test
+	public void testCanonical() {
+		final int a = bdds.var(0);
+		final int b = bdds.var(1);
+		final int c = bdds.var(2);
+
+		Assert.assertEquals(bdds.and(a, b), bdds.and(b, a));
+		Assert.assertEquals(bdds.or(bdds.and(a, b), bdds.and(a, c)), bdds.and(a, bdds.or(b, c)));
+		Assert.assertEquals(bdds.nvar(1), bdds.not(b));
+		Assert.assertEquals(TRUE, bdds.or(a, bdds.not(a)));
+		Assert.assertEquals(FALSE, bdds.and(a, bdds.not(a)));
+		Assert.assertEquals(bdds.not(bdds.and(a, b)), bdds.or(bdds.not(a), bdds.not(b)));
+		Assert.assertEquals(a, bdds.not(bdds.not(a)));
+	}
+
+	@Test
+	public void testLeq() {
+		final int a = bdds.var(0);
+		final int b = bdds.var(1);
+		final int ab = bdds.and(a, b);
+
+		Assert.assertTrue(bdds.isLeq(ab, a));
+		Assert.assertTrue(bdds.isLeq(a, bdds.or(a, b)));
+		Assert.assertFalse(bdds.isLeq(a, ab));
+		Assert.assertTrue(bdds.isLeq(FALSE, ab));
+		Assert.assertTrue(bdds.isLeq(ab, TRUE));
+		Assert.assertFalse(bdds.isLeq(TRUE, a));
+	}
+
+	@Test
+	public void testCubes() {
+		final int c1 = bdds.cube(1, -3);
+		final int c2 = bdds.cube(-1, 2);
+		Assert.assertEquals(bdds.and(bdds.var(0), bdds.nvar(2)), c1);
+		Assert.assertEquals(FALSE, bdds.cube(1, -1));
+		Assert.assertEquals(TRUE, bdds.cube());
+
+		final List<int[]> cubes = bdds.cubes(bdds.or(c1, c2));
+		Assert.assertEquals(2, cubes.size());
+		int union = FALSE;
+		for (final int[] cube : cubes) {
+			union = bdds.or(union, bdds.cube(cube));
+		}
+		Assert.assertEquals(bdds.or(c1, c2), union);
+		Assert.assertTrue(bdds.cubes(FALSE).isEmpty());
+		Assert.assertEquals(1, bdds.cubes(TRUE).size());
+	}
+
+	@Test
+	public void testParity() {
+		final int n = 64;
+		int parity = FALSE;
+		for (int i = 0; i < n; i++) {
+			final int v = bdds.var(i);
+			parity = bdds.or(bdds.and(parity, bdds.not(v)), bdds.and(bdds.not(parity), v));
+		}
+		// Half of the assignments of the unrestricted variables are odd, and each is a path
+		Assert.assertEquals(1 << 9, bdds.cubes(restrict(parity, 10, n)).size());
+		Assert.assertEquals(bdds.not(parity), bdds.ite(bdds.var(0), restrictVar(parity, 0, false),
+				restrictVar(parity, 0, true)));
+	}
+
+	private int restrictVar(final int f, final int var, final boolean value) {
+		Assert.assertEquals(var, bdds.getVar(f));
+		return value ? bdds.getHigh(f) : bdds.getLow(f);
+	}
+
+	private int restrict(final int f, final int from, final int n) {
+		int assignment = TRUE;
+		for (int i = from; i < n; i++) {
+			assignment = bdds.and(assignment, bdds.nvar(i));
+		}
+		return bdds.and(f, assignment);
+	}
+
+}
@@ -24,6 +24,8 @@ import java.util.List;
 import java.util.Set;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 /*
  * Tests initial and incremental deduction with Datalog
@@ -88,6 +90,175 @@ public final class DatalogJavaTest {
 		assertEquals(45 + 105 + 15 + 1, successor.getElements().size());
 	}
 
+	@Test
+	public void testPushPop() {
+		testInitial();
+		datalog.push();
+		edge.addFact(TupleN.of(firstSubgraph1, secondSubgraph1));
+		assertEquals(45 + 105 + 15, successor.getElements().size());
+		datalog.pop();
+		assertEquals(45 + 105, successor.getElements().size());
+		edge.addFact(TupleN.of(firstSubgraph1, firstSubgraph1));
+		assertEquals(1, reflexive.getElements().size());
+		assertEquals(45 + 105 + 1, successor.getElements().size());
+	}
+
+	@Test
+	public void testTransitive() {
+		final Datalog.Relation path = datalog.createTransitive("path", edge);
+		testIncremental();
+		assertEquals(Set.copyOf(successor.getElements()), Set.copyOf(path.getElements()));
+	}
+
+	@Test
+	public void testNonLinearRecursion() {
+		// path(X, Z) :- path(X, Y), path(Y, Z), so the head is both the delta and a looked up atom
+		final Datalog.Relation path = datalog.createRelation("path", 2);
+		final Datalog.Variable x = datalog.getVariable();
+		final Datalog.Variable y = datalog.getVariable();
+		final Datalog.Variable z = datalog.getVariable();
+		path.addRule(TupleN.of(x, y), Set.of(Tuple2.of(edge, TupleN.of(x, y))));
+		path.addRule(TupleN.of(x, z), Set.of(Tuple2.of(path, TupleN.of(x, y)), Tuple2.of(path, TupleN.of(y, z))));
+
+		final List<Node> nodes = new ArrayList<>();
+		for (int i = 0; i < 20; ++i) {
+			nodes.add(new Node('A', i));
+			if (i > 0) {
+				edge.addFact(TupleN.of(nodes.get(i - 1), nodes.get(i)));
+			}
+		}
+		assertEquals(190, path.getElements().size());
+		assertEquals(Set.copyOf(successor.getElements()), Set.copyOf(path.getElements()));
+
+		edge.addFact(TupleN.of(nodes.get(19), nodes.get(0)));
+		assertEquals(400, path.getElements().size());
+		assertEquals(Set.copyOf(successor.getElements()), Set.copyOf(path.getElements()));
+
+		// The same rule evaluated on facts known before it is created
+		final Datalog.Relation later = datalog.createRelation("later", 2);
+		later.addRule(TupleN.of(x, y), Set.of(Tuple2.of(edge, TupleN.of(x, y))));
+		later.addRule(TupleN.of(x, z), Set.of(Tuple2.of(later, TupleN.of(x, y)), Tuple2.of(later, TupleN.of(y, z))));
+		assertEquals(Set.copyOf(path.getElements()), Set.copyOf(later.getElements()));
+	}
+
+	@Test
+	public void testRepeatedVariables() {
+		final Datalog.Relation triple = datalog.createRelation("triple", 3);
+		final Datalog.Relation first = datalog.createRelation("first", 2);
+		final Datalog.Relation second = datalog.createRelation("second", 1);
+		final Datalog.Relation third = datalog.createRelation("third", 1);
+		final Datalog.Variable x = datalog.getVariable();
+		final Datalog.Variable y = datalog.getVariable();
+		final Datalog.Variable z = datalog.getVariable();
+		first.addRule(TupleN.of(x, y), Set.of(Tuple2.of(triple, TupleN.of(x, x, y))));
+		second.addRule(TupleN.of(List.of(x)), Set.of(Tuple2.of(edge, TupleN.of(x, y)), Tuple2.of(triple, TupleN.of(y, z, z))));
+		third.addRule(TupleN.of(List.of(x)), Set.of(Tuple2.of(edge, TupleN.of(x, y)), Tuple2.of(triple, TupleN.of(y, x, y))));
+
+		final Node a = new Node('A', 0);
+		final Node b = new Node('B', 0);
+		final Node c = new Node('C', 0);
+		triple.addFact(TupleN.of(a, a, b));
+		triple.addFact(TupleN.of(b, a, a));
+		triple.addFact(TupleN.of(c, c, c));
+		assertEquals(Set.of(TupleN.of(a, b), TupleN.of(c, c)), Set.copyOf(first.getElements()));
+
+		edge.addFact(TupleN.of(a, b));
+		edge.addFact(TupleN.of(b, c));
+		edge.addFact(TupleN.of(c, a));
+		assertEquals(Set.of(TupleN.of(List.of(a)), TupleN.of(List.of(b))), Set.copyOf(second.getElements()));
+		assertEquals(0, third.getElements().size());
+
+		triple.addFact(TupleN.of(b, a, b));
+		assertEquals(Set.of(TupleN.of(List.of(a))), Set.copyOf(third.getElements()));
+		assertEquals(2, first.getElements().size());
+		assertEquals(2, second.getElements().size());
+	}
+
+	@Test
+	public void testPopAfterDerivation() {
+		testInitial();
+		datalog.push();
+		edge.addFact(TupleN.of(firstSubgraph1, secondSubgraph1));
+		assertEquals(45 + 105 + 15, successor.getElements().size());
+		datalog.pop();
+		assertEquals(45 + 105, successor.getElements().size());
+
+		// The removed facts are derived again, so they are neither in the hash tables nor in the indexes
+		edge.addFact(TupleN.of(firstSubgraph1, secondSubgraph1));
+		assertEquals(45 + 105 + 15, successor.getElements().size());
+		assertEquals(45 + 105 + 15, Set.copyOf(successor.getElements()).size());
+		assertEquals(Set.copyOf(successor.getElements()), Set.copyOf(datalog.createTransitive("path", edge).getElements()));
+	}
+
+	@Test
+	public void testRowStoreTruncate() {
+		final RowStore store = new RowStore(2);
+		store.add(new int[]{0, 1});
+		store.add(new int[]{1, 1});
+		final RowStore.Index index = store.getIndex(new int[]{1});
+		store.add(new int[]{2, 1});
+		store.add(new int[]{3, 2});
+		assertEquals(3, index.lookup(RowStore.key(0, 1))[0]);
+		assertEquals(1, index.lookup(RowStore.key(0, 2))[0]);
+
+		store.truncate(2);
+		assertEquals(2, store.size());
+		assertEquals(2, index.lookup(RowStore.key(0, 1))[0]);
+		assertEquals(0, index.lookup(RowStore.key(0, 2))[0]);
+		assertFalse(store.add(new int[]{1, 1}));
+		assertTrue(store.add(new int[]{3, 2}));
+		assertEquals(1, index.lookup(RowStore.key(0, 2))[0]);
+		assertEquals(3, store.get(2, 0));
+	}
+
+	@Test
+	public void testRowStoreRehash() {
+		final RowStore store = new RowStore(2);
+		final RowStore.Index early = store.getIndex(new int[]{1});
+		for (int i = 0; i < 1000; ++i) {
+			assertTrue(store.add(new int[]{i, i % 7}));
+		}
+		final RowStore.Index late = store.getIndex(new int[]{0, 1});
+		for (int i = 0; i < 1000; ++i) {
+			assertFalse(store.add(new int[]{i, i % 7}));
+			assertEquals(1, late.lookup(RowStore.key(RowStore.key(0, i), i % 7))[0]);
+		}
+		assertEquals(1000, store.size());
+		assertEquals(143, early.lookup(RowStore.key(0, 0))[0]);
+
+		// Truncating below the size at which the hash table was last grown
+		store.truncate(10);
+		assertEquals(10, store.size());
+		assertEquals(2, early.lookup(RowStore.key(0, 0))[0]);
+		assertEquals(0, late.lookup(RowStore.key(RowStore.key(0, 10), 3))[0]);
+		for (int i = 0; i < 1000; ++i) {
+			assertEquals(i >= 10, store.add(new int[]{i, i % 7}));
+		}
+		assertEquals(1000, store.size());
+		assertEquals(143, early.lookup(RowStore.key(0, 0))[0]);
+	}
+
+	@Test
+	public void testPushPopAcrossRehash() {
+		testInitial();
+		datalog.push();
+		final List<Node> nodes = new ArrayList<>();
+		for (int i = 0; i < 100; ++i) {
+			nodes.add(new Node('C', i));
+			if (i > 0) {
+				edge.addFact(TupleN.of(nodes.get(i - 1), nodes.get(i)));
+			}
+		}
+		assertEquals(45 + 105 + 4950, successor.getElements().size());
+		datalog.pop();
+		assertEquals(45 + 105, successor.getElements().size());
+		assertEquals(9 + 14, edge.getElements().size());
+
+		edge.addFact(TupleN.of(nodes.get(0), nodes.get(99)));
+		edge.addFact(TupleN.of(nodes.get(99), firstSubgraph1));
+		assertEquals(45 + 105 + 1 + 10 + 10, successor.getElements().size());
+	}
+
 	private static class Node implements DatalogArgument {
 		private final int i;
 		private final char c;
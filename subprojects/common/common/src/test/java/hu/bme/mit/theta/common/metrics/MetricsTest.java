@@ -0,0 +1,100 @@
+/*
+ *  Copyright 2022 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.common.metrics;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class MetricsTest {
+
+	@Test
+	public void testDisabled() {
+		final Metrics metrics = Metrics.disabled();
+		Assert.assertFalse(metrics.isEnabled());
+		metrics.counter("c").increment();
+		metrics.timer("t").record(10);
+		metrics.histogram("h").record(5);
+		Assert.assertEquals(0, metrics.counter("c").get());
+		Assert.assertEquals(0, metrics.timer("t").getCount());
+		Assert.assertEquals(0, metrics.histogram("h").getCount());
+		Assert.assertEquals(0, metrics.timer("t").start());
+	}
+
+	@Test
+	public void testInstruments() {
+		final Metrics metrics = Metrics.create();
+		metrics.counter("c").increment();
+		metrics.counter("c").add(2);
+		Assert.assertEquals(3, metrics.counter("c").get());
+
+		metrics.timer("t").record(TimeUnit.MILLISECONDS.toNanos(3));
+		metrics.timer("t").record(TimeUnit.MILLISECONDS.toNanos(5));
+		Assert.assertEquals(2, metrics.timer("t").getCount());
+		Assert.assertEquals(8, metrics.timer("t").getTotal(TimeUnit.MILLISECONDS));
+		Assert.assertEquals(5, metrics.timer("t").getMax(TimeUnit.MILLISECONDS));
+
+		final Histogram histogram = metrics.histogram("h");
+		histogram.record(0);
+		histogram.record(1);
+		histogram.record(3);
+		histogram.record(4);
+		Assert.assertEquals(4, histogram.getCount());
+		Assert.assertEquals(8, histogram.getSum());
+		Assert.assertEquals(0, histogram.getMin());
+		Assert.assertEquals(4, histogram.getMax());
+		Assert.assertEquals(1, histogram.getBucket(0));
+		Assert.assertEquals(1, histogram.getBucket(1));
+		Assert.assertEquals(1, histogram.getBucket(2));
+		Assert.assertEquals(1, histogram.getBucket(3));
+	}
+
+	@Test
+	public void testJson() {
+		final Metrics metrics = Metrics.create();
+		metrics.counter("b").increment();
+		metrics.counter("a").add(2);
+		metrics.histogram("h").record(3);
+		final String json = metrics.toJson();
+		Assert.assertTrue(json.contains("\"a\": 2"));
+		Assert.assertTrue(json.indexOf("\"a\": 2") < json.indexOf("\"b\": 1"));
+		Assert.assertTrue(json.contains("\"h\": {\"count\": 1, \"sum\": 3, \"min\": 3, \"max\": 3"));
+		Assert.assertTrue(json.contains("\"buckets\": {\"<=3\": 1}"));
+	}
+
+	@Test
+	public void testInheritance() throws InterruptedException {
+		final Metrics metrics = Metrics.create();
+		final AtomicReference<Metrics> inherited = new AtomicReference<>();
+		final Thread thread = new Thread(() -> {
+			Metrics.setCurrent(metrics);
+			final Thread child = new Thread(() -> inherited.set(Metrics.current()));
+			child.start();
+			try {
+				child.join();
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		thread.start();
+		thread.join();
+		Assert.assertSame(metrics, inherited.get());
+		Assert.assertSame(Metrics.disabled(), Metrics.current());
+	}
+
+}
@@ -46,12 +46,15 @@ public final class VarDecl<DeclType extends Type> extends Decl<DeclType> {
 
 	public IndexedConstDecl<DeclType> getConstDecl(final int index) {
 		checkArgument(index >= 0);
-		IndexedConstDecl<DeclType> constDecl = indexToConst.get(index);
-		if (constDecl == null) {
-			constDecl = new IndexedConstDecl<>(this, index);
-			indexToConst.put(index, constDecl);
+		// Synchronized, as analyses may unfold expressions on multiple threads
+		synchronized (indexToConst) {
+			IndexedConstDecl<DeclType> constDecl = indexToConst.get(index);
+			if (constDecl == null) {
+				constDecl = new IndexedConstDecl<>(this, index);
+				indexToConst.put(index, constDecl);
+			}
+			return constDecl;
 		}
-		return constDecl;
 	}
 
 	@Override
@@ -0,0 +1,70 @@
+/*
+ *  Copyright 2022 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.core.type;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+
+/**
+ * Optional hash-consing of expressions. If interning is enabled, the factory methods of
+ * the compound expressions (the {@code of} methods, and thus the {@code *Exprs} classes
+ * and {@code with} methods) return a canonical instance for each structure. Therefore,
+ * structurally equal expressions are the same object, and their equality is decided by
+ * the reference comparison at the beginning of {@code equals}. Canonical instances are
+ * only weakly referenced, so unused expressions can still be garbage collected.
+ * <p>
+ * Interning is disabled by default. It should be enabled before any expressions are
+ * created, as expressions created earlier are not canonical.
+ */
+public final class ExprInterner {
+
+	private static volatile Interner<Expr<?>> interner = null;
+
+	private ExprInterner() {
+	}
+
+	public static synchronized void enable() {
+		if (interner == null) {
+			interner = Interners.newWeakInterner();
+		}
+	}
+
+	/**
+	 * Disable interning, and drop the canonical instances.
+	 */
+	public static synchronized void disable() {
+		interner = null;
+	}
+
+	public static boolean isEnabled() {
+		return interner != null;
+	}
+
+	/**
+	 * Get the canonical instance of the expression if interning is enabled, or the
+	 * expression itself otherwise.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <E extends Expr<?>> E intern(final E expr) {
+		final Interner<Expr<?>> current = interner;
+		if (current == null) {
+			return expr;
+		}
+		// Equal expressions are of the same class
+		return (E) current.intern(expr);
+	}
+
+}
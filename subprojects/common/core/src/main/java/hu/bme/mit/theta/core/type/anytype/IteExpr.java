@@ -27,6 +27,7 @@ import com.google.common.collect.ImmutableList;
 import hu.bme.mit.theta.common.Utils;
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.LitExpr;
 import hu.bme.mit.theta.core.type.Type;
 import hu.bme.mit.theta.core.type.booltype.BoolLitExpr;
@@ -51,7 +52,7 @@ public final class IteExpr<ExprType extends Type> implements Expr<ExprType> {
 
 	public static <ExprType extends Type> IteExpr<ExprType> of(final Expr<BoolType> cond, final Expr<ExprType> then,
 															   final Expr<ExprType> elze) {
-		return new IteExpr<>(cond, then, elze);
+		return ExprInterner.intern(new IteExpr<>(cond, then, elze));
 	}
 
 	public static <ExprType extends Type> IteExpr<?> create(final Expr<?> cond, final Expr<?> then, final Expr<?> elze) {
@@ -6,6 +6,7 @@ import static hu.bme.mit.theta.core.utils.TypeUtils.cast;
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.BinaryExpr;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.LitExpr;
 import hu.bme.mit.theta.core.type.Type;
 import hu.bme.mit.theta.core.type.abstracttype.EqExpr;
@@ -24,7 +25,7 @@ public final class ArrayEqExpr<IndexType extends Type, ElemType extends Type>
 
 	public static <IndexType extends Type, ElemType extends Type> ArrayEqExpr<IndexType, ElemType> of(
 			final Expr<ArrayType<IndexType, ElemType>> leftOp, final Expr<ArrayType<IndexType, ElemType>> rightOp) {
-		return new ArrayEqExpr<>(leftOp, rightOp);
+		return ExprInterner.intern(new ArrayEqExpr<>(leftOp, rightOp));
 	}
 
 	public static <IndexType extends Type, ElemType extends Type> ArrayEqExpr<?, ?> create(final Expr<?> leftOp,
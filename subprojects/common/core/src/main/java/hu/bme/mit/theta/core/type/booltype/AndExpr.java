@@ -25,6 +25,7 @@ import java.util.List;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.MultiaryExpr;
 
 public final class AndExpr extends MultiaryExpr<BoolType, BoolType> {
@@ -37,7 +38,7 @@ public final class AndExpr extends MultiaryExpr<BoolType, BoolType> {
 	}
 
 	public static AndExpr of(final Iterable<? extends Expr<BoolType>> ops) {
-		return new AndExpr(ops);
+		return ExprInterner.intern(new AndExpr(ops));
 	}
 
 	public static AndExpr create(final List<? extends Expr<?>> ops) {
@@ -21,6 +21,7 @@ import static hu.bme.mit.theta.core.utils.TypeUtils.cast;
 import hu.bme.mit.theta.core.decl.ParamDecl;
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.LitExpr;
 
 public final class ExistsExpr extends QuantifiedExpr {
@@ -34,7 +35,7 @@ public final class ExistsExpr extends QuantifiedExpr {
 	}
 
 	public static ExistsExpr of(final Iterable<? extends ParamDecl<?>> paramDecls, final Expr<BoolType> op) {
-		return new ExistsExpr(paramDecls, op);
+		return ExprInterner.intern(new ExistsExpr(paramDecls, op));
 	}
 
 	public static ExistsExpr create(final Iterable<? extends ParamDecl<?>> paramDecls, final Expr<?> op) {
@@ -21,6 +21,7 @@ import static hu.bme.mit.theta.core.utils.TypeUtils.cast;
 import hu.bme.mit.theta.core.decl.ParamDecl;
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.LitExpr;
 
 public final class ForallExpr extends QuantifiedExpr {
@@ -34,7 +35,7 @@ public final class ForallExpr extends QuantifiedExpr {
 	}
 
 	public static ForallExpr of(final Iterable<? extends ParamDecl<?>> paramDecls, final Expr<BoolType> op) {
-		return new ForallExpr(paramDecls, op);
+		return ExprInterner.intern(new ForallExpr(paramDecls, op));
 	}
 
 	public static ForallExpr create(final Iterable<? extends ParamDecl<?>> paramDecls, final Expr<?> op) {
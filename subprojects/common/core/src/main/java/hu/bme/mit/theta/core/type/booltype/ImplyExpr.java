@@ -21,6 +21,7 @@ import static hu.bme.mit.theta.core.utils.TypeUtils.cast;
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.BinaryExpr;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 
 public final class ImplyExpr extends BinaryExpr<BoolType, BoolType> {
 
@@ -33,7 +34,7 @@ public final class ImplyExpr extends BinaryExpr<BoolType, BoolType> {
 	}
 
 	public static ImplyExpr of(final Expr<BoolType> leftOp, final Expr<BoolType> rightOp) {
-		return new ImplyExpr(leftOp, rightOp);
+		return ExprInterner.intern(new ImplyExpr(leftOp, rightOp));
 	}
 
 	public static ImplyExpr create(final Expr<?> leftOp, final Expr<?> rightOp) {
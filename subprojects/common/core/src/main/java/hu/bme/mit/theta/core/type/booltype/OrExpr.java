@@ -25,6 +25,7 @@ import java.util.List;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.MultiaryExpr;
 
 public final class OrExpr extends MultiaryExpr<BoolType, BoolType> {
@@ -38,7 +39,7 @@ public final class OrExpr extends MultiaryExpr<BoolType, BoolType> {
 	}
 
 	public static OrExpr of(final Iterable<? extends Expr<BoolType>> ops) {
-		return new OrExpr(ops);
+		return ExprInterner.intern(new OrExpr(ops));
 	}
 
 	public static OrExpr create(final List<? extends Expr<?>> ops) {
@@ -66,7 +67,7 @@ public final class OrExpr extends MultiaryExpr<BoolType, BoolType> {
 		if (ops == getOps()) {
 			return this;
 		} else {
-			return new OrExpr(ops);
+			return ExprInterner.intern(new OrExpr(ops));
 		}
 	}
 
@@ -21,6 +21,7 @@ import static hu.bme.mit.theta.core.utils.TypeUtils.cast;
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.BinaryExpr;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.LitExpr;
 import hu.bme.mit.theta.core.type.abstracttype.NeqExpr;
 
@@ -35,7 +36,7 @@ public final class XorExpr extends NeqExpr<BoolType> {
 	}
 
 	public static XorExpr of(final Expr<BoolType> leftOp, final Expr<BoolType> rightOp) {
-		return new XorExpr(leftOp, rightOp);
+		return ExprInterner.intern(new XorExpr(leftOp, rightOp));
 	}
 
 	public static XorExpr create(final Expr<?> leftOp, final Expr<?> rightOp) {
@@ -2,6 +2,7 @@ package hu.bme.mit.theta.core.type.bvtype;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.MultiaryExpr;
 import hu.bme.mit.theta.core.utils.TypeUtils;
 
@@ -21,7 +22,7 @@ public final class BvAndExpr extends MultiaryExpr<BvType, BvType> {
     }
 
     public static BvAndExpr of(final Iterable<? extends Expr<BvType>> ops) {
-        return new BvAndExpr(ops);
+        return ExprInterner.intern(new BvAndExpr(ops));
     }
 
     public static BvAndExpr create(final List<? extends Expr<?>> ops) {
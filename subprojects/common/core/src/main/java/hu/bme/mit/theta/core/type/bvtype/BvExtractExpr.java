@@ -20,6 +20,7 @@ import com.google.common.collect.ImmutableList;
 import hu.bme.mit.theta.common.Utils;
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.LitExpr;
 import hu.bme.mit.theta.core.type.inttype.IntLitExpr;
 
@@ -56,7 +57,7 @@ public final class BvExtractExpr implements Expr<BvType> {
 	}
 
 	public static BvExtractExpr of(final Expr<BvType> bitvec, final IntLitExpr from, final IntLitExpr until) {
-		return new BvExtractExpr(bitvec, from, until);
+		return ExprInterner.intern(new BvExtractExpr(bitvec, from, until));
 	}
 
 	public static BvExtractExpr create(final Expr<?> bitvec, final Expr<?> from, final Expr<?> until) {
@@ -18,6 +18,7 @@ package hu.bme.mit.theta.core.type.bvtype;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.abstracttype.MulExpr;
 import hu.bme.mit.theta.core.utils.TypeUtils;
 
@@ -37,7 +38,7 @@ public final class BvMulExpr extends MulExpr<BvType> {
 	}
 
 	public static BvMulExpr of(final Iterable<? extends Expr<BvType>> ops) {
-		return new BvMulExpr(ops);
+		return ExprInterner.intern(new BvMulExpr(ops));
 	}
 
 	public static BvMulExpr create(final List<? extends Expr<?>> ops) {
@@ -18,6 +18,7 @@ package hu.bme.mit.theta.core.type.bvtype;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.abstracttype.NegExpr;
 
 import static hu.bme.mit.theta.core.utils.TypeUtils.castBv;
@@ -32,7 +33,7 @@ public final class BvNegExpr extends NegExpr<BvType> {
 	}
 
 	public static BvNegExpr of(final Expr<BvType> op) {
-		return new BvNegExpr(op);
+		return ExprInterner.intern(new BvNegExpr(op));
 	}
 
 	public static BvNegExpr create(final Expr<?> op) {
@@ -2,6 +2,7 @@ package hu.bme.mit.theta.core.type.bvtype;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.abstracttype.NeqExpr;
 import hu.bme.mit.theta.core.type.booltype.BoolLitExpr;
 import hu.bme.mit.theta.core.type.booltype.BoolType;
@@ -20,7 +21,7 @@ public final class BvNeqExpr extends NeqExpr<BvType> {
     }
 
     public static BvNeqExpr of(final Expr<BvType> leftOp, final Expr<BvType> rightOp) {
-        return new BvNeqExpr(leftOp, rightOp);
+        return ExprInterner.intern(new BvNeqExpr(leftOp, rightOp));
     }
 
     public static BvNeqExpr create(final Expr<?> leftOp, final Expr<?> rightOp) {
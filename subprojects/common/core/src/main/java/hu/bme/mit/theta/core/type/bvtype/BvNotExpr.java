@@ -2,6 +2,7 @@ package hu.bme.mit.theta.core.type.bvtype;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.UnaryExpr;
 
 import static hu.bme.mit.theta.core.utils.TypeUtils.castBv;
@@ -16,7 +17,7 @@ public final class BvNotExpr extends UnaryExpr<BvType, BvType> {
     }
 
     public static BvNotExpr of(final Expr<BvType> op) {
-        return new BvNotExpr(op);
+        return ExprInterner.intern(new BvNotExpr(op));
     }
 
     public static BvNotExpr create(final Expr<?> op) {
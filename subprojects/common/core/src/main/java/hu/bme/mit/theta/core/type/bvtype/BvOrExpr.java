@@ -2,6 +2,7 @@ package hu.bme.mit.theta.core.type.bvtype;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.MultiaryExpr;
 import hu.bme.mit.theta.core.utils.TypeUtils;
 
@@ -21,7 +22,7 @@ public final class BvOrExpr extends MultiaryExpr<BvType, BvType> {
     }
 
     public static BvOrExpr of(final Iterable<? extends Expr<BvType>> ops) {
-        return new BvOrExpr(ops);
+        return ExprInterner.intern(new BvOrExpr(ops));
     }
 
     public static BvOrExpr create(final List<? extends Expr<?>> ops) {
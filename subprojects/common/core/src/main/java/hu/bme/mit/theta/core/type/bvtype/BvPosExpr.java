@@ -18,6 +18,7 @@ package hu.bme.mit.theta.core.type.bvtype;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.abstracttype.PosExpr;
 
 import static hu.bme.mit.theta.core.utils.TypeUtils.castBv;
@@ -32,7 +33,7 @@ public final class BvPosExpr extends PosExpr<BvType> {
 	}
 
 	public static BvPosExpr of(final Expr<BvType> op) {
-		return new BvPosExpr(op);
+		return ExprInterner.intern(new BvPosExpr(op));
 	}
 
 	public static BvPosExpr create(final Expr<?> op) {
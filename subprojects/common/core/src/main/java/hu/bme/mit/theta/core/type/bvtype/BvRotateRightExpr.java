@@ -3,6 +3,7 @@ package hu.bme.mit.theta.core.type.bvtype;
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.BinaryExpr;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 
 import static hu.bme.mit.theta.core.utils.TypeUtils.castBv;
 import static hu.bme.mit.theta.core.utils.TypeUtils.checkAllTypesEqual;
@@ -17,7 +18,7 @@ public final class BvRotateRightExpr extends BinaryExpr<BvType, BvType> {
     }
 
     public static BvRotateRightExpr of(final Expr<BvType> leftOp, final Expr<BvType> rightOp) {
-        return new BvRotateRightExpr(leftOp, rightOp);
+        return ExprInterner.intern(new BvRotateRightExpr(leftOp, rightOp));
     }
 
     public static BvRotateRightExpr create(final Expr<?> leftOp, final Expr<?> rightOp) {
@@ -18,6 +18,7 @@ package hu.bme.mit.theta.core.type.bvtype;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.abstracttype.ModExpr;
 
 import static hu.bme.mit.theta.core.utils.TypeUtils.castBv;
@@ -34,7 +35,7 @@ public final class BvSModExpr extends ModExpr<BvType> {
 	}
 
 	public static BvSModExpr of(final Expr<BvType> leftOp, final Expr<BvType> rightOp) {
-		return new BvSModExpr(leftOp, rightOp);
+		return ExprInterner.intern(new BvSModExpr(leftOp, rightOp));
 	}
 
 	public static BvSModExpr create(final Expr<?> leftOp, final Expr<?> rightOp) {
@@ -18,6 +18,7 @@ package hu.bme.mit.theta.core.type.bvtype;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.abstracttype.SubExpr;
 
 import static hu.bme.mit.theta.core.utils.TypeUtils.castBv;
@@ -34,7 +35,7 @@ public final class BvSubExpr extends SubExpr<BvType> {
 	}
 
 	public static BvSubExpr of(final Expr<BvType> leftOp, final Expr<BvType> rightOp) {
-		return new BvSubExpr(leftOp, rightOp);
+		return ExprInterner.intern(new BvSubExpr(leftOp, rightOp));
 	}
 
 	public static BvSubExpr create(final Expr<?> leftOp, final Expr<?> rightOp) {
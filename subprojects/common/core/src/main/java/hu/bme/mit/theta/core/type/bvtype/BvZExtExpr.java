@@ -4,6 +4,7 @@ import com.google.common.collect.ImmutableList;
 import hu.bme.mit.theta.common.Utils;
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.LitExpr;
 
 import java.util.List;
@@ -31,11 +32,11 @@ public final class BvZExtExpr implements Expr<BvType> {
     }
 
     public static BvZExtExpr of(final Expr<BvType> op, final BvType extendType) {
-        return new BvZExtExpr(op, extendType);
+        return ExprInterner.intern(new BvZExtExpr(op, extendType));
     }
 
     public static BvZExtExpr create(final Expr<?> op, final BvType extendType) {
-        return new BvZExtExpr(castBv(op), extendType);
+        return ExprInterner.intern(new BvZExtExpr(castBv(op), extendType));
     }
 
     public Expr<BvType> getOp() {
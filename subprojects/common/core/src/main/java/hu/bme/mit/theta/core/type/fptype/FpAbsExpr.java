@@ -2,6 +2,7 @@ package hu.bme.mit.theta.core.type.fptype;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.UnaryExpr;
 
 import static com.google.common.base.Preconditions.checkNotNull;
@@ -16,7 +17,7 @@ public class FpAbsExpr extends UnaryExpr<FpType, FpType> {
 	}
 
 	public static FpAbsExpr of(final Expr<FpType> op) {
-		return new FpAbsExpr(castFp(op));
+		return ExprInterner.intern(new FpAbsExpr(castFp(op)));
 	}
 
 	public static FpAbsExpr create(final Expr<?> op) {
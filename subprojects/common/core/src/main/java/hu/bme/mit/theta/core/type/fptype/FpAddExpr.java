@@ -2,6 +2,7 @@ package hu.bme.mit.theta.core.type.fptype;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.abstracttype.AddExpr;
 import hu.bme.mit.theta.core.utils.TypeUtils;
 
@@ -25,7 +26,7 @@ public class FpAddExpr extends AddExpr<FpType> {
 	}
 
 	public static FpAddExpr of(final FpRoundingMode roundingMode, final Iterable<? extends Expr<FpType>> ops) {
-		return new FpAddExpr(roundingMode, ops);
+		return ExprInterner.intern(new FpAddExpr(roundingMode, ops));
 	}
 
 	public static FpAddExpr create(final FpRoundingMode roundingMode, final List<? extends Expr<?>> ops) {
@@ -18,6 +18,7 @@ package hu.bme.mit.theta.core.type.fptype;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.abstracttype.EqExpr;
 import hu.bme.mit.theta.core.type.booltype.BoolLitExpr;
 import hu.bme.mit.theta.core.type.booltype.BoolType;
@@ -37,7 +38,7 @@ public final class FpAssignExpr extends EqExpr<FpType> {
 	}
 
 	public static FpAssignExpr of(final Expr<FpType> leftOp, final Expr<FpType> rightOp) {
-		return new FpAssignExpr(leftOp, rightOp);
+		return ExprInterner.intern(new FpAssignExpr(leftOp, rightOp));
 	}
 
 	public static FpAssignExpr create(final Expr<?> leftOp, final Expr<?> rightOp) {
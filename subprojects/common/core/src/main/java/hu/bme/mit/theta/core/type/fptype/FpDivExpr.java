@@ -2,6 +2,7 @@ package hu.bme.mit.theta.core.type.fptype;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.abstracttype.DivExpr;
 
 import static hu.bme.mit.theta.core.utils.TypeUtils.castFp;
@@ -20,7 +21,7 @@ public final class FpDivExpr extends DivExpr<FpType> {
 	}
 
 	public static FpDivExpr of(final FpRoundingMode roundingMode, final Expr<FpType> leftOp, final Expr<FpType> rightOp) {
-		return new FpDivExpr(roundingMode, leftOp, rightOp);
+		return ExprInterner.intern(new FpDivExpr(roundingMode, leftOp, rightOp));
 	}
 
 	public static FpDivExpr create(final FpRoundingMode roundingMode, final Expr<?> leftOp, final Expr<?> rightOp) {
@@ -2,6 +2,7 @@ package hu.bme.mit.theta.core.type.fptype;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.UnaryExpr;
 import hu.bme.mit.theta.core.type.bvtype.BvLitExpr;
 import hu.bme.mit.theta.core.type.bvtype.BvType;
@@ -29,7 +30,7 @@ public class FpFromBvExpr extends UnaryExpr<BvType, FpType> {
 	}
 
 	public static FpFromBvExpr of(final FpRoundingMode roundingMode, final Expr<BvType> op, final FpType fpType, final boolean signed) {
-		return new FpFromBvExpr(roundingMode, op, fpType, signed);
+		return ExprInterner.intern(new FpFromBvExpr(roundingMode, op, fpType, signed));
 	}
 
 	public static FpFromBvExpr create(final FpRoundingMode roundingMode, final Expr<BvType> op, final FpType fpType, final boolean signed) {
@@ -75,7 +76,7 @@ public class FpFromBvExpr extends UnaryExpr<BvType, FpType> {
 
 	@Override
 	public FpFromBvExpr with(Expr<BvType> op) {
-		return new FpFromBvExpr(roundingMode, op, fpType, signed);
+		return ExprInterner.intern(new FpFromBvExpr(roundingMode, op, fpType, signed));
 	}
 
 	protected int getHashSeed() {
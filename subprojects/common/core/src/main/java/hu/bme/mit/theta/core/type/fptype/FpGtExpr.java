@@ -2,6 +2,7 @@ package hu.bme.mit.theta.core.type.fptype;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.abstracttype.GtExpr;
 import hu.bme.mit.theta.core.type.booltype.BoolLitExpr;
 import hu.bme.mit.theta.core.type.booltype.BoolType;
@@ -21,7 +22,7 @@ public final class FpGtExpr extends GtExpr<FpType> {
 	}
 
 	public static FpGtExpr of(final Expr<FpType> leftOp, final Expr<FpType> rightOp) {
-		return new FpGtExpr(leftOp, rightOp);
+		return ExprInterner.intern(new FpGtExpr(leftOp, rightOp));
 	}
 
 	public static FpGtExpr create(final Expr<?> leftOp, final Expr<?> rightOp) {
@@ -2,6 +2,7 @@ package hu.bme.mit.theta.core.type.fptype;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.UnaryExpr;
 import hu.bme.mit.theta.core.type.booltype.BoolLitExpr;
 import hu.bme.mit.theta.core.type.booltype.BoolType;
@@ -21,7 +22,7 @@ public final class FpIsNanExpr extends UnaryExpr<FpType, BoolType> {
 	}
 
 	public static FpIsNanExpr of(final Expr<FpType> op) {
-		return new FpIsNanExpr(op);
+		return ExprInterner.intern(new FpIsNanExpr(op));
 	}
 
 	public static FpIsNanExpr create(final Expr<?> op) {
@@ -3,6 +3,7 @@ package hu.bme.mit.theta.core.type.fptype;
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.BinaryExpr;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.LitExpr;
 import hu.bme.mit.theta.core.utils.FpUtils;
 
@@ -20,7 +21,7 @@ public class FpMinExpr extends BinaryExpr<FpType, FpType> {
 	}
 
 	public static FpMinExpr of(final Expr<FpType> leftOp, final Expr<FpType> rightOp) {
-		return new FpMinExpr(leftOp, rightOp);
+		return ExprInterner.intern(new FpMinExpr(leftOp, rightOp));
 	}
 
 	public static FpMinExpr create(final Expr<?> leftOp, final Expr<?> rightOp) {
@@ -2,6 +2,7 @@ package hu.bme.mit.theta.core.type.fptype;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.abstracttype.MulExpr;
 import hu.bme.mit.theta.core.utils.TypeUtils;
 
@@ -25,7 +26,7 @@ public class FpMulExpr extends MulExpr<FpType> {
 	}
 
 	public static FpMulExpr of(final FpRoundingMode roundingMode, final Iterable<? extends Expr<FpType>> ops) {
-		return new FpMulExpr(roundingMode, ops);
+		return ExprInterner.intern(new FpMulExpr(roundingMode, ops));
 	}
 
 	public static FpMulExpr create(final FpRoundingMode roundingMode, final List<? extends Expr<?>> ops) {
@@ -2,6 +2,7 @@ package hu.bme.mit.theta.core.type.fptype;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.abstracttype.PosExpr;
 
 import static hu.bme.mit.theta.core.utils.TypeUtils.castFp;
@@ -16,7 +17,7 @@ public final class FpPosExpr extends PosExpr<FpType> {
 	}
 
 	public static FpPosExpr of(final Expr<FpType> op) {
-		return new FpPosExpr(op);
+		return ExprInterner.intern(new FpPosExpr(op));
 	}
 
 	public static FpPosExpr create(final Expr<?> op) {
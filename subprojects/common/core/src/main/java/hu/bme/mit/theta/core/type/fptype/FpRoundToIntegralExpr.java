@@ -2,6 +2,7 @@ package hu.bme.mit.theta.core.type.fptype;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.UnaryExpr;
 import hu.bme.mit.theta.core.utils.FpUtils;
 import org.kframework.mpfr.BigFloat;
@@ -25,7 +26,7 @@ public class FpRoundToIntegralExpr extends UnaryExpr<FpType, FpType> { // round
 	}
 
 	public static FpRoundToIntegralExpr of(final FpRoundingMode roundingMode, Expr<FpType> op) {
-		return new FpRoundToIntegralExpr(roundingMode, op);
+		return ExprInterner.intern(new FpRoundToIntegralExpr(roundingMode, op));
 	}
 
 	public static FpRoundToIntegralExpr create(final FpRoundingMode roundingMode, Expr<?> op) {
@@ -2,6 +2,7 @@ package hu.bme.mit.theta.core.type.fptype;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.LitExpr;
 import hu.bme.mit.theta.core.type.UnaryExpr;
 import hu.bme.mit.theta.core.utils.FpUtils;
@@ -23,7 +24,7 @@ public class FpSqrtExpr extends UnaryExpr<FpType, FpType> {
 	}
 
 	public static FpSqrtExpr of(final FpRoundingMode roundingMode,final Expr<FpType> op) {
-		return new FpSqrtExpr(roundingMode, castFp(op));
+		return ExprInterner.intern(new FpSqrtExpr(roundingMode, castFp(op)));
 	}
 
 	public static FpSqrtExpr create(final FpRoundingMode roundingMode,final Expr<?> op) {
@@ -2,6 +2,7 @@ package hu.bme.mit.theta.core.type.fptype;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.abstracttype.SubExpr;
 
 import static hu.bme.mit.theta.core.utils.TypeUtils.castFp;
@@ -20,7 +21,7 @@ public final class FpSubExpr extends SubExpr<FpType> {
 	}
 
 	public static FpSubExpr of(final FpRoundingMode roundingMode, final Expr<FpType> leftOp, final Expr<FpType> rightOp) {
-		return new FpSubExpr(roundingMode, leftOp, rightOp);
+		return ExprInterner.intern(new FpSubExpr(roundingMode, leftOp, rightOp));
 	}
 
 	public static FpSubExpr create(final FpRoundingMode roundingMode, final Expr<?> leftOp, final Expr<?> rightOp) {
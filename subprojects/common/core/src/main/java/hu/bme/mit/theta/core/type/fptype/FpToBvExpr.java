@@ -2,6 +2,7 @@ package hu.bme.mit.theta.core.type.fptype;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.UnaryExpr;
 import hu.bme.mit.theta.core.type.bvtype.BvLitExpr;
 import hu.bme.mit.theta.core.type.bvtype.BvType;
@@ -39,7 +40,7 @@ public class FpToBvExpr extends UnaryExpr<FpType, BvType> {
 	}
 
 	public static FpToBvExpr of(final FpRoundingMode roundingMode, final Expr<FpType> op, final int size, final boolean sgn) {
-		return new FpToBvExpr(roundingMode, op, size, sgn);
+		return ExprInterner.intern(new FpToBvExpr(roundingMode, op, size, sgn));
 	}
 
 	public static FpToBvExpr create(final FpRoundingMode roundingMode, final Expr<FpType> op, final int size, final boolean sgn) {
@@ -2,6 +2,7 @@ package hu.bme.mit.theta.core.type.fptype;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.UnaryExpr;
 import hu.bme.mit.theta.core.utils.FpUtils;
 import org.kframework.mpfr.BigFloat;
@@ -31,7 +32,7 @@ public class FpToFpExpr extends UnaryExpr<FpType, FpType> {
 	}
 
 	public static FpToFpExpr of(final FpRoundingMode roundingMode, final Expr<FpType> op, final int exp, final int signBits) {
-		return new FpToFpExpr(roundingMode, op, exp, signBits);
+		return ExprInterner.intern(new FpToFpExpr(roundingMode, op, exp, signBits));
 	}
 
 	public static FpToFpExpr create(final FpRoundingMode roundingMode, final Expr<FpType> op, final int exp, final int signBits) {
@@ -19,6 +19,7 @@ import com.google.common.collect.ImmutableList;
 import hu.bme.mit.theta.common.Utils;
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.LitExpr;
 import hu.bme.mit.theta.core.type.Type;
 
@@ -43,7 +44,7 @@ public final class FuncAppExpr<ParamType extends Type, ResultType extends Type>
 
 	public static <ParamType extends Type, ResultType extends Type> FuncAppExpr<ParamType, ResultType> of(
 			final Expr<FuncType<ParamType, ResultType>> func, final Expr<ParamType> param) {
-		return new FuncAppExpr<>(func, param);
+		return ExprInterner.intern(new FuncAppExpr<>(func, param));
 	}
 
 	public static <ParamType extends Type, ResultType extends Type> FuncAppExpr<?, ?> create(final Expr<?> func,
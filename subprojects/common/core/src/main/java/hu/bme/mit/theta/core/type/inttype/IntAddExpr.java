@@ -24,6 +24,7 @@ import java.util.List;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.abstracttype.AddExpr;
 
 public final class IntAddExpr extends AddExpr<IntType> {
@@ -36,7 +37,7 @@ public final class IntAddExpr extends AddExpr<IntType> {
 	}
 
 	public static IntAddExpr of(final Iterable<? extends Expr<IntType>> ops) {
-		return new IntAddExpr(ops);
+		return ExprInterner.intern(new IntAddExpr(ops));
 	}
 
 	public static IntAddExpr create(final List<? extends Expr<?>> ops) {
@@ -20,6 +20,7 @@ import static hu.bme.mit.theta.core.utils.TypeUtils.cast;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.abstracttype.DivExpr;
 
 public final class IntDivExpr extends DivExpr<IntType> {
@@ -33,7 +34,7 @@ public final class IntDivExpr extends DivExpr<IntType> {
 	}
 
 	public static IntDivExpr of(final Expr<IntType> leftOp, final Expr<IntType> rightOp) {
-		return new IntDivExpr(leftOp, rightOp);
+		return ExprInterner.intern(new IntDivExpr(leftOp, rightOp));
 	}
 
 	public static IntDivExpr create(final Expr<?> leftOp, final Expr<?> rightOp) {
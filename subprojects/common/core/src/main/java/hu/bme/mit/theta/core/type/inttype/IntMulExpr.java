@@ -24,6 +24,7 @@ import java.util.List;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.abstracttype.MulExpr;
 
 public final class IntMulExpr extends MulExpr<IntType> {
@@ -36,7 +37,7 @@ public final class IntMulExpr extends MulExpr<IntType> {
 	}
 
 	public static IntMulExpr of(final Iterable<? extends Expr<IntType>> ops) {
-		return new IntMulExpr(ops);
+		return ExprInterner.intern(new IntMulExpr(ops));
 	}
 
 	public static IntMulExpr create(final List<? extends Expr<?>> ops) {
@@ -20,6 +20,7 @@ import static hu.bme.mit.theta.core.utils.TypeUtils.cast;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.abstracttype.NegExpr;
 
 public final class IntNegExpr extends NegExpr<IntType> {
@@ -32,7 +33,7 @@ public final class IntNegExpr extends NegExpr<IntType> {
 	}
 
 	public static IntNegExpr of(final Expr<IntType> op) {
-		return new IntNegExpr(op);
+		return ExprInterner.intern(new IntNegExpr(op));
 	}
 
 	public static IntNegExpr create(final Expr<?> op) {
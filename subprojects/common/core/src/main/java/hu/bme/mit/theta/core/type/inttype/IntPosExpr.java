@@ -17,6 +17,7 @@ package hu.bme.mit.theta.core.type.inttype;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.abstracttype.PosExpr;
 
 import static hu.bme.mit.theta.core.type.inttype.IntExprs.Int;
@@ -32,7 +33,7 @@ public final class IntPosExpr extends PosExpr<IntType> {
 	}
 
 	public static IntPosExpr of(final Expr<IntType> op) {
-		return new IntPosExpr(op);
+		return ExprInterner.intern(new IntPosExpr(op));
 	}
 
 	public static IntPosExpr create(final Expr<?> op) {
@@ -20,6 +20,7 @@ import static hu.bme.mit.theta.core.utils.TypeUtils.cast;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.abstracttype.SubExpr;
 
 public final class IntSubExpr extends SubExpr<IntType> {
@@ -32,7 +33,7 @@ public final class IntSubExpr extends SubExpr<IntType> {
 	}
 
 	public static IntSubExpr of(final Expr<IntType> leftOp, final Expr<IntType> rightOp) {
-		return new IntSubExpr(leftOp, rightOp);
+		return ExprInterner.intern(new IntSubExpr(leftOp, rightOp));
 	}
 
 	public static IntSubExpr create(final Expr<?> leftOp, final Expr<?> rightOp) {
@@ -21,6 +21,7 @@ import static hu.bme.mit.theta.core.utils.TypeUtils.cast;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.abstracttype.CastExpr;
 import hu.bme.mit.theta.core.type.rattype.RatLitExpr;
 import hu.bme.mit.theta.core.type.rattype.RatType;
@@ -35,7 +36,7 @@ public final class IntToRatExpr extends CastExpr<IntType, RatType> {
 	}
 
 	public static IntToRatExpr of(final Expr<IntType> op) {
-		return new IntToRatExpr(op);
+		return ExprInterner.intern(new IntToRatExpr(op));
 	}
 
 	public static IntToRatExpr create(final Expr<?> op) {
@@ -24,6 +24,7 @@ import java.util.List;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.abstracttype.AddExpr;
 
 public final class RatAddExpr extends AddExpr<RatType> {
@@ -36,7 +37,7 @@ public final class RatAddExpr extends AddExpr<RatType> {
 	}
 
 	public static RatAddExpr of(final Iterable<? extends Expr<RatType>> ops) {
-		return new RatAddExpr(ops);
+		return ExprInterner.intern(new RatAddExpr(ops));
 	}
 
 	public static RatAddExpr create(final List<? extends Expr<?>> ops) {
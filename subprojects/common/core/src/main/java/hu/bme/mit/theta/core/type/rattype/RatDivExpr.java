@@ -17,6 +17,7 @@ package hu.bme.mit.theta.core.type.rattype;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.abstracttype.DivExpr;
 import hu.bme.mit.theta.core.type.inttype.IntToRatExpr;
 import hu.bme.mit.theta.core.type.inttype.IntType;
@@ -35,7 +36,7 @@ public final class RatDivExpr extends DivExpr<RatType> {
 	}
 
 	public static RatDivExpr of(final Expr<RatType> leftOp, final Expr<RatType> rightOp) {
-		return new RatDivExpr(leftOp, rightOp);
+		return ExprInterner.intern(new RatDivExpr(leftOp, rightOp));
 	}
 
 	public static RatDivExpr create(final Expr<?> leftOp, final Expr<?> rightOp) {
@@ -21,6 +21,7 @@ import static hu.bme.mit.theta.core.utils.TypeUtils.cast;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.abstracttype.LeqExpr;
 import hu.bme.mit.theta.core.type.booltype.BoolLitExpr;
 import hu.bme.mit.theta.core.type.booltype.BoolType;
@@ -35,7 +36,7 @@ public final class RatLeqExpr extends LeqExpr<RatType> {
 	}
 
 	public static RatLeqExpr of(final Expr<RatType> leftOp, final Expr<RatType> rightOp) {
-		return new RatLeqExpr(leftOp, rightOp);
+		return ExprInterner.intern(new RatLeqExpr(leftOp, rightOp));
 	}
 
 	public static RatLeqExpr create(final Expr<?> leftOp, final Expr<?> rightOp) {
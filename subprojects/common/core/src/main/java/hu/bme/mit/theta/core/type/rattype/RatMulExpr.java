@@ -24,6 +24,7 @@ import java.util.List;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.abstracttype.MulExpr;
 
 public final class RatMulExpr extends MulExpr<RatType> {
@@ -36,7 +37,7 @@ public final class RatMulExpr extends MulExpr<RatType> {
 	}
 
 	public static RatMulExpr of(final Iterable<? extends Expr<RatType>> ops) {
-		return new RatMulExpr(ops);
+		return ExprInterner.intern(new RatMulExpr(ops));
 	}
 
 	public static RatMulExpr create(final List<? extends Expr<?>> ops) {
@@ -65,7 +66,7 @@ public final class RatMulExpr extends MulExpr<RatType> {
 		if (ops == getOps()) {
 			return this;
 		} else {
-			return new RatMulExpr(ops);
+			return ExprInterner.intern(new RatMulExpr(ops));
 		}
 	}
 
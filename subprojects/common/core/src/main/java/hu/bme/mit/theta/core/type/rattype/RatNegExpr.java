@@ -20,6 +20,7 @@ import static hu.bme.mit.theta.core.utils.TypeUtils.cast;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.abstracttype.NegExpr;
 
 public final class RatNegExpr extends NegExpr<RatType> {
@@ -32,7 +33,7 @@ public final class RatNegExpr extends NegExpr<RatType> {
 	}
 
 	public static RatNegExpr of(final Expr<RatType> op) {
-		return new RatNegExpr(op);
+		return ExprInterner.intern(new RatNegExpr(op));
 	}
 
 	public static RatNegExpr create(final Expr<?> op) {
@@ -17,6 +17,7 @@ package hu.bme.mit.theta.core.type.rattype;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.abstracttype.PosExpr;
 
 import static hu.bme.mit.theta.core.type.rattype.RatExprs.Rat;
@@ -32,7 +33,7 @@ public final class RatPosExpr extends PosExpr<RatType> {
 	}
 
 	public static RatPosExpr of(final Expr<RatType> op) {
-		return new RatPosExpr(op);
+		return ExprInterner.intern(new RatPosExpr(op));
 	}
 
 	public static RatPosExpr create(final Expr<?> op) {
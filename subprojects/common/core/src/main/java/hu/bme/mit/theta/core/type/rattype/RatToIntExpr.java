@@ -17,6 +17,7 @@ package hu.bme.mit.theta.core.type.rattype;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.UnaryExpr;
 import hu.bme.mit.theta.core.type.inttype.IntLitExpr;
 import hu.bme.mit.theta.core.type.inttype.IntType;
@@ -35,7 +36,7 @@ public final class RatToIntExpr extends UnaryExpr<RatType, IntType> {
 	}
 
 	public static RatToIntExpr of(final Expr<RatType> op) {
-		return new RatToIntExpr(op);
+		return ExprInterner.intern(new RatToIntExpr(op));
 	}
 
 	public static RatToIntExpr create(final Expr<?> op) {
@@ -18,8 +18,10 @@ package hu.bme.mit.theta.core.utils;
 import hu.bme.mit.theta.common.DispatchTable2;
 import hu.bme.mit.theta.common.Tuple2;
 import hu.bme.mit.theta.common.Utils;
+import hu.bme.mit.theta.core.decl.Decl;
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.LitExpr;
 import hu.bme.mit.theta.core.type.Type;
 import hu.bme.mit.theta.core.type.anytype.IteExpr;
@@ -133,11 +135,17 @@ import hu.bme.mit.theta.core.type.rattype.RatType;
 import org.kframework.mpfr.BigFloat;
 
 import java.math.BigInteger;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+import static com.google.common.base.Preconditions.checkNotNull;
 import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Bool;
 import static hu.bme.mit.theta.core.type.booltype.BoolExprs.False;
 import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Not;
@@ -364,9 +372,149 @@ public final class ExprSimplifier {
 	private ExprSimplifier() {
 	}
 
+	/**
+	 * Simplify an expression and substitute the valuation. Shared subexpressions are only
+	 * simplified once, and the traversal does not recurse along the operands, so deep
+	 * expressions can also be simplified.
+	 */
 	@SuppressWarnings("unchecked")
 	public static <T extends Type> Expr<T> simplify(final Expr<T> expr, final Valuation valuation) {
-		return (Expr<T>) TABLE.dispatch(expr, valuation);
+		if (valuation instanceof MemoValuation) {
+			return ((MemoValuation) valuation).simplify(expr);
+		} else if (expr instanceof LitExpr || expr instanceof RefExpr) {
+			return (Expr<T>) TABLE.dispatch(expr, valuation);
+		} else {
+			return new MemoValuation(valuation).simplify(expr);
+		}
+	}
+
+	/**
+	 * Simplify an expression and substitute the valuation, reusing the result of a previous
+	 * call if the expression and the values of its declarations are the same.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T extends Type> Expr<T> simplify(final Expr<T> expr, final Valuation valuation,
+													final SimplificationCache cache) {
+		final SimplificationCache.Key key = cache.keyOf(expr, valuation);
+		final Expr<?> cached = cache.get(key);
+		if (cached != null) {
+			return (Expr<T>) cached;
+		}
+		final Expr<T> result = simplify(expr, valuation);
+		cache.put(key, result);
+		return result;
+	}
+
+	/**
+	 * Valuation passed to the simplification rules during a single call. It memoizes the
+	 * simplified form of the subexpressions, and the rules reach these results through
+	 * {@link #simplify(Expr, Valuation)}. Subexpressions are identified by reference, as
+	 * hashing a deep expression would recurse (with {@link ExprInterner} enabled, equal
+	 * subexpressions are also the same object). Operands are simplified bottom-up with an
+	 * explicit stack before their parent, so the recursion of the rules ends at the memoized
+	 * operands.
+	 * Operands that a rule might skip (branches of an ite, operands of a conjunction or
+	 * disjunction after the deciding one) are only simplified when the rule needs them.
+	 */
+	private static final class MemoValuation extends Valuation {
+		private final Valuation valuation;
+		private final Map<Expr<?>, Expr<?>> results;
+
+		private MemoValuation(final Valuation valuation) {
+			this.valuation = checkNotNull(valuation);
+			this.results = new IdentityHashMap<>();
+		}
+
+		@SuppressWarnings("unchecked")
+		private <T extends Type> Expr<T> simplify(final Expr<T> expr) {
+			Expr<?> result = results.get(expr);
+			if (result == null) {
+				simplifyOperandsFirst(expr);
+				result = results.get(expr);
+			}
+			return (Expr<T>) result;
+		}
+
+		private void simplifyOperandsFirst(final Expr<?> root) {
+			final Deque<Frame> stack = new ArrayDeque<>();
+			stack.push(new Frame(root));
+			while (!stack.isEmpty()) {
+				final Frame frame = stack.peek();
+				if (results.containsKey(frame.expr)) {
+					stack.pop();
+					continue;
+				}
+
+				final Expr<?> op = nextOp(frame);
+				if (op == null) {
+					stack.pop();
+					results.put(frame.expr, TABLE.dispatch(frame.expr, this));
+				} else if (!results.containsKey(op)) {
+					stack.push(new Frame(op));
+				}
+			}
+		}
+
+		/**
+		 * Get the next operand of the expression that its rule surely simplifies, or null if
+		 * there are no more such operands.
+		 */
+		private Expr<?> nextOp(final Frame frame) {
+			final List<? extends Expr<?>> ops = frame.expr.getOps();
+			if (frame.expr instanceof IteExpr) {
+				if (frame.next == 0) {
+					frame.next = 1;
+					return ops.get(0);
+				} else if (frame.next == 1) {
+					final Expr<?> cond = results.get(ops.get(0));
+					if (cond instanceof FalseExpr) {
+						frame.next = 3;
+						return ops.get(2);
+					}
+					frame.next = cond instanceof TrueExpr ? 3 : 2;
+					return ops.get(1);
+				} else if (frame.next == 2) {
+					frame.next = 3;
+					return ops.get(2);
+				} else {
+					return null;
+				}
+			}
+
+			if (frame.next > 0) {
+				final Expr<?> prev = results.get(ops.get(frame.next - 1));
+				if ((frame.expr instanceof AndExpr && prev instanceof FalseExpr)
+						|| (frame.expr instanceof OrExpr && prev instanceof TrueExpr)) {
+					return null;
+				}
+			}
+			return frame.next < ops.size() ? ops.get(frame.next++) : null;
+		}
+
+		@Override
+		public Collection<? extends Decl<?>> getDecls() {
+			return valuation.getDecls();
+		}
+
+		@Override
+		public <DeclType extends Type> Optional<LitExpr<DeclType>> eval(final Decl<DeclType> decl) {
+			return valuation.eval(decl);
+		}
+
+		@Override
+		public Map<Decl<?>, LitExpr<?>> toMap() {
+			return valuation.toMap();
+		}
+	}
+
+	private static final class Frame {
+		private final Expr<?> expr;
+		private int next;
+
+		private Frame(final Expr<?> expr) {
+			this.expr = expr;
+			this.next = 0;
+		}
 	}
 
 	/*
@@ -262,6 +262,20 @@ public final class ExprUtils {
 		return ExprSimplifier.simplify(expr, val);
 	}
 
+	/**
+	 * Simplify expression and substitute the valuation, reusing the cached results of
+	 * previous simplifications.
+	 *
+	 * @param expr  Original expression
+	 * @param val   Valuation
+	 * @param cache Cache of the results
+	 * @return Simplified expression
+	 */
+	public static <ExprType extends Type> Expr<ExprType> simplify(final Expr<ExprType> expr, final Valuation val,
+																  final SimplificationCache cache) {
+		return ExprSimplifier.simplify(expr, val, cache);
+	}
+
 	/**
 	 * Simplify expression.
 	 *
@@ -0,0 +1,186 @@
+/*
+ *  Copyright 2022 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.core.utils;
+
+import com.google.common.collect.ImmutableList;
+import hu.bme.mit.theta.common.Utils;
+import hu.bme.mit.theta.core.decl.Decl;
+import hu.bme.mit.theta.core.model.Valuation;
+import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.LitExpr;
+import hu.bme.mit.theta.core.type.anytype.RefExpr;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Bounded cache of simplification results that is kept between calls of
+ * {@link ExprSimplifier#simplify(Expr, Valuation, SimplificationCache)}. Results are
+ * identified by the expression and the values of the declarations it refers to, so the
+ * result can be reused for any valuation that agrees on this slice. The least recently
+ * used result is evicted if the cache is full. The cache is thread-safe.
+ */
+public final class SimplificationCache {
+
+	private final int maxSize;
+	private final Map<Expr<?>, List<Decl<?>>> decls;
+	private final Map<Key, Expr<?>> results;
+
+	private long hits;
+	private long misses;
+
+	private SimplificationCache(final int maxSize) {
+		checkArgument(maxSize > 0, "Cache size must be positive");
+		this.maxSize = maxSize;
+		this.decls = new HashMap<>();
+		this.results = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<Key, Expr<?>> eldest) {
+				return size() > SimplificationCache.this.maxSize;
+			}
+		};
+	}
+
+	public static SimplificationCache create(final int maxSize) {
+		return new SimplificationCache(maxSize);
+	}
+
+	Key keyOf(final Expr<?> expr, final Valuation valuation) {
+		final List<Decl<?>> exprDecls = getDecls(expr);
+		final LitExpr<?>[] values = new LitExpr<?>[exprDecls.size()];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = valuation.eval(exprDecls.get(i)).orElse(null);
+		}
+		return new Key(expr, values);
+	}
+
+	synchronized Expr<?> get(final Key key) {
+		final Expr<?> result = results.get(key);
+		if (result != null) {
+			hits++;
+		} else {
+			misses++;
+		}
+		return result;
+	}
+
+	synchronized void put(final Key key, final Expr<?> result) {
+		results.put(key, result);
+	}
+
+	private List<Decl<?>> getDecls(final Expr<?> expr) {
+		synchronized (this) {
+			final List<Decl<?>> cached = decls.get(expr);
+			if (cached != null) {
+				return cached;
+			}
+		}
+		final List<Decl<?>> exprDecls = collectDecls(expr);
+		synchronized (this) {
+			// The expressions of the evicted results are not tracked, so the declarations are
+			// dropped together with the results
+			if (decls.size() >= maxSize) {
+				decls.clear();
+			}
+			decls.put(expr, exprDecls);
+		}
+		return exprDecls;
+	}
+
+	private static List<Decl<?>> collectDecls(final Expr<?> expr) {
+		final Set<Decl<?>> exprDecls = new LinkedHashSet<>();
+		final Set<Expr<?>> visited = new HashSet<>();
+		final Deque<Expr<?>> stack = new ArrayDeque<>();
+		stack.push(expr);
+		while (!stack.isEmpty()) {
+			final Expr<?> current = stack.pop();
+			if (current instanceof RefExpr) {
+				exprDecls.add(((RefExpr<?>) current).getDecl());
+			} else if (visited.add(current)) {
+				current.getOps().forEach(stack::push);
+			}
+		}
+		return ImmutableList.copyOf(exprDecls);
+	}
+
+	public synchronized void clear() {
+		decls.clear();
+		results.clear();
+	}
+
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	public synchronized int size() {
+		return results.size();
+	}
+
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return Utils.lispStringBuilder(getClass().getSimpleName()).add("size " + results.size() + "/" + maxSize)
+				.add("hits " + hits).add("misses " + misses).toString();
+	}
+
+	static final class Key {
+		private final Expr<?> expr;
+		private final LitExpr<?>[] values;
+		private final int hashCode;
+
+		private Key(final Expr<?> expr, final LitExpr<?>[] values) {
+			this.expr = expr;
+			this.values = values;
+			this.hashCode = 31 * expr.hashCode() + Arrays.hashCode(values);
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+			if (this == obj) {
+				return true;
+			} else if (obj instanceof Key) {
+				final Key that = (Key) obj;
+				return this.hashCode == that.hashCode && this.expr.equals(that.expr)
+						&& Arrays.equals(this.values, that.values);
+			} else {
+				return false;
+			}
+		}
+	}
+
+}
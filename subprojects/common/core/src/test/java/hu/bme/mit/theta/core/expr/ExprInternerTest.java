@@ -0,0 +1,67 @@
+/*
+ *  Copyright 2022 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.core.expr;
+
+import static hu.bme.mit.theta.core.decl.Decls.Const;
+import static hu.bme.mit.theta.core.type.anytype.Exprs.Ite;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.And;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Bool;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Not;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Add;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Eq;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Int;
+
+import hu.bme.mit.theta.core.decl.ConstDecl;
+import hu.bme.mit.theta.core.type.ExprInterner;
+import hu.bme.mit.theta.core.type.booltype.BoolType;
+import hu.bme.mit.theta.core.type.inttype.IntType;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ExprInternerTest {
+
+	private final ConstDecl<IntType> x = Const("x", Int());
+	private final ConstDecl<BoolType> b = Const("b", Bool());
+
+	@After
+	public void after() {
+		ExprInterner.disable();
+	}
+
+	@Test
+	public void testDisabled() {
+		Assert.assertFalse(ExprInterner.isEnabled());
+		Assert.assertNotSame(Eq(x.getRef(), Int(1)), Eq(x.getRef(), Int(1)));
+	}
+
+	@Test
+	public void testEnabled() {
+		ExprInterner.enable();
+		Assert.assertSame(Eq(x.getRef(), Int(1)), Eq(x.getRef(), Int(1)));
+		Assert.assertSame(And(b.getRef(), Not(b.getRef())), And(b.getRef(), Not(b.getRef())));
+		Assert.assertSame(Ite(b.getRef(), Add(x.getRef(), Int(1)), x.getRef()),
+				Ite(b.getRef(), Add(x.getRef(), Int(1)), x.getRef()));
+		Assert.assertNotSame(Eq(x.getRef(), Int(1)), Eq(x.getRef(), Int(2)));
+	}
+
+	@Test
+	public void testWith() {
+		ExprInterner.enable();
+		final var expr = Add(x.getRef(), Int(1));
+		Assert.assertSame(expr, Add(x.getRef(), Int(2)).withOps(expr.getOps()));
+	}
+}
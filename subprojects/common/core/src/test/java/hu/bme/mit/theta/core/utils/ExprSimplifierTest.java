@@ -782,4 +782,52 @@ public class ExprSimplifierTest {
 		assertEquals(Int(14), simplify(Add(a, b), val));
 		assertEquals(Add(c, Int(14)), simplify(Add(a, b, c), val));
 	}
+
+	@Test
+	public void testDeep() {
+		Expr<IntType> sum = a;
+		Expr<BoolType> ite = x;
+		for (int i = 0; i < 100_000; i++) {
+			sum = Add(sum, Int(1));
+			ite = Ite(y, ite, Not(ite));
+		}
+		final Valuation val = ImmutableValuation.builder().put(ca, Int(1)).put(cy, True()).build();
+
+		assertEquals(Int(100_001), simplify(sum, val));
+		assertEquals(x, simplify(ite, val));
+	}
+
+	@Test
+	public void testShared() {
+		Expr<BoolType> expr = Eq(a, Int(0));
+		for (int i = 0; i < 100; i++) {
+			expr = And(Or(expr, x), Or(expr, y));
+		}
+		final Valuation val = ImmutableValuation.builder().put(ca, Int(0)).build();
+
+		assertEquals(True(), simplify(expr, val));
+	}
+
+	@Test
+	public void testSkippedOps() {
+		final Valuation val = ImmutableValuation.builder().put(cb, Int(0)).build();
+
+		assertEquals(Int(0), simplify(Ite(Eq(b, Int(0)), b, Div(a, b)), val));
+		assertEquals(False(), simplify(And(Eq(b, Int(1)), Eq(Div(a, b), Int(0))), val));
+		assertEquals(True(), simplify(Or(Eq(b, Int(0)), Eq(Div(a, b), Int(0))), val));
+	}
+
+	@Test
+	public void testCache() {
+		final SimplificationCache cache = SimplificationCache.create(10);
+		final Valuation val1 = ImmutableValuation.builder().put(ca, Int(1)).put(cb, Int(2)).build();
+		final Valuation val2 = ImmutableValuation.builder().put(ca, Int(1)).put(cb, Int(3)).build();
+		final Valuation val3 = ImmutableValuation.builder().put(ca, Int(2)).put(cb, Int(2)).build();
+
+		assertEquals(Add(c, Int(2)), simplify(Add(a, c, Int(1)), val1, cache));
+		assertEquals(Add(c, Int(2)), simplify(Add(a, c, Int(1)), val2, cache));
+		assertEquals(Add(c, Int(3)), simplify(Add(a, c, Int(1)), val3, cache));
+		assertEquals(1, cache.getHits());
+		assertEquals(2, cache.getMisses());
+	}
 }
@@ -1,6 +1,7 @@
 plugins {
     id("java-common")
     id("antlr-grammar")
+    id("jmh-benchmark")
 }
 
 dependencies {
@@ -0,0 +1,111 @@
+/*
+ *  Copyright 2022 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.solver.smtlib;
+
+import hu.bme.mit.theta.solver.smtlib.dsl.gen.SMTLIBv2Lexer;
+import hu.bme.mit.theta.solver.smtlib.dsl.gen.SMTLIBv2Parser;
+import hu.bme.mit.theta.solver.smtlib.solver.parser.GeneralResponse;
+import hu.bme.mit.theta.solver.smtlib.solver.parser.SmtLibResponseReader;
+import hu.bme.mit.theta.solver.smtlib.solver.parser.ThrowExceptionErrorListener;
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the ANTLR parser and the streaming reader on solver responses: the
+ * {@code success} answers to commands, and models with array valued constants, like the
+ * ones returned by MathSAT and CVC4 for XCFA models.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SmtLibResponseParserBenchmark {
+
+	@Param({"10", "100", "1000"})
+	public int constants;
+
+	@Param({"define-fun", "mathsat"})
+	public String format;
+
+	private String model;
+
+	@Setup
+	public void setup() {
+		final StringBuilder sb = new StringBuilder("(");
+		for (int i = 0; i < constants; i++) {
+			final String value = arrayValue(i);
+			if (format.equals("mathsat")) {
+				sb.append(String.format("%n  (|arr_%d| %s)", i, value));
+			} else {
+				sb.append(String.format("%n  (define-fun arr_%d () (Array Int Int) %s)", i, value));
+			}
+		}
+		model = sb.append(")").toString();
+	}
+
+	private static String arrayValue(final int i) {
+		String value = "((as const (Array Int Int)) 0)";
+		for (int j = 0; j < 8; j++) {
+			value = String.format("(store %s %d %d)", value, j, i * j);
+		}
+		return value;
+	}
+
+	@Benchmark
+	public GeneralResponse antlrModel() {
+		return parse(model);
+	}
+
+	@Benchmark
+	public GeneralResponse readerModel() {
+		return SmtLibResponseReader.read(model);
+	}
+
+	@Benchmark
+	public GeneralResponse antlrSuccess() {
+		return parse("success");
+	}
+
+	@Benchmark
+	public GeneralResponse readerSuccess() {
+		return SmtLibResponseReader.read("success");
+	}
+
+	private static GeneralResponse parse(final String response) {
+		final var lexer = new SMTLIBv2Lexer(CharStreams.fromString(response));
+		final var parser = new SMTLIBv2Parser(new CommonTokenStream(lexer));
+		lexer.removeErrorListeners();
+		lexer.addErrorListener(new ThrowExceptionErrorListener());
+		parser.removeErrorListeners();
+		parser.addErrorListener(new ThrowExceptionErrorListener());
+		return GeneralResponse.fromContext(parser.response());
+	}
+}
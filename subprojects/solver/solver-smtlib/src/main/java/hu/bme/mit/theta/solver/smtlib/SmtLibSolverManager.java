@@ -98,7 +98,7 @@ public final class SmtLibSolverManager extends SolverManager {
     private final Map<String, SmtLibSolverInstaller> installers;
     private final Tuple2<String, GenericSmtLibSolverInstaller> genericInstaller;
 
-    private boolean closed = false;
+    private volatile boolean closed = false;
     private final Set<SolverBase> instantiatedSolvers;
 
     private SmtLibSolverManager(final Path home, final Logger logger) {
@@ -296,13 +296,27 @@ public final class SmtLibSolverManager extends SolverManager {
     }
 
     @Override
-    public void close() throws Exception {
+    public synchronized void close() throws Exception {
         for(final var solver : instantiatedSolvers) {
             solver.close();
         }
         closed = true;
     }
 
+    // Solvers may be created concurrently, e.g., by the configurations of a parallel portfolio
+    private synchronized <T extends SolverBase> T register(final T solver) {
+        if (closed) {
+            try {
+                solver.close();
+            } catch (final Exception e) {
+                throw new IllegalStateException("Could not close solver", e);
+            }
+            throw new IllegalStateException("Solver manager was closed");
+        }
+        instantiatedSolvers.add(solver);
+        return solver;
+    }
+
     private final class ManagedFactory implements SolverFactory {
         private final SolverFactory solverFactory;
 
@@ -313,25 +327,19 @@ public final class SmtLibSolverManager extends SolverManager {
         @Override
         public Solver createSolver() {
             checkState(!closed, "Solver manager was closed");
-            final var solver = solverFactory.createSolver();
-            instantiatedSolvers.add(solver);
-            return solver;
+            return register(solverFactory.createSolver());
         }
 
         @Override
         public UCSolver createUCSolver() {
             checkState(!closed, "Solver manager was closed");
-            final var solver = solverFactory.createUCSolver();
-            instantiatedSolvers.add(solver);
-            return solver;
+            return register(solverFactory.createUCSolver());
         }
 
         @Override
         public ItpSolver createItpSolver() {
             checkState(!closed, "Solver manager was closed");
-            final var solver = solverFactory.createItpSolver();
-            instantiatedSolvers.add(solver);
-            return solver;
+            return register(solverFactory.createItpSolver());
         }
     }
 }
@@ -19,16 +19,20 @@ package hu.bme.mit.theta.solver.smtlib.impl.generic;
 import com.zaxxer.nuprocess.NuAbstractProcessHandler;
 import com.zaxxer.nuprocess.NuProcess;
 import com.zaxxer.nuprocess.NuProcessBuilder;
+import hu.bme.mit.theta.common.CancellationToken;
 import hu.bme.mit.theta.solver.smtlib.solver.binary.SmtLibSolverBinary;
 import hu.bme.mit.theta.solver.smtlib.solver.binary.SmtLibSolverBinaryException;
+import hu.bme.mit.theta.solver.smtlib.solver.binary.SmtLibSolverBinaryPool;
 
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.Queue;
+import java.util.concurrent.TimeUnit;
 
 import static com.google.common.base.Preconditions.checkState;
 
@@ -55,6 +59,21 @@ public final class GenericSmtLibSolverBinary implements SmtLibSolverBinary {
 		checkState(solverProcess.isRunning());
 	}
 
+	/**
+	 * Create a binary for the given solver. The process is taken from a
+	 * {@link SmtLibSolverBinaryPool} if pooling is enabled.
+	 */
+	public static SmtLibSolverBinary create(final Path solverPath, final String[] args) {
+		return create(solverPath, args, false);
+	}
+
+	public static SmtLibSolverBinary create(final Path solverPath, final String[] args, final boolean isCvc4) {
+		final var command = new ArrayList<String>();
+		command.add(solverPath.toAbsolutePath().toString());
+		command.addAll(Arrays.asList(args));
+		return SmtLibSolverBinaryPool.acquire(command, () -> new GenericSmtLibSolverBinary(solverPath, args, isCvc4));
+	}
+
 	@Override
 	public void issueCommand(final String command) {
 		checkState(solverProcess.isRunning());
@@ -62,13 +81,36 @@ public final class GenericSmtLibSolverBinary implements SmtLibSolverBinary {
 		solverProcess.wantWrite();
 	}
 
+	/**
+	 * Read the next response. If the cancellation token of the current thread is cancelled
+	 * while waiting, the process is destroyed, and a
+	 * {@link java.util.concurrent.CancellationException} is thrown.
+	 */
 	@Override
 	public String readResponse() {
 		checkState(solverProcess.isRunning());
-		try {
+		final CancellationToken cancellationToken = CancellationToken.current();
+		try (var registration = cancellationToken.onCancel(() -> solverProcess.destroy(true))) {
 			return processHandler.read().trim();
 		} catch (InterruptedException e) {
 			throw new SmtLibSolverBinaryException(e);
+		} catch (SmtLibSolverBinaryException e) {
+			cancellationToken.throwIfCancelled();
+			throw e;
+		}
+	}
+
+	@Override
+	public boolean isAlive() {
+		return solverProcess.isRunning();
+	}
+
+	@Override
+	public boolean awaitResponse(final Duration timeout) {
+		try {
+			return processHandler.await(timeout.toNanos());
+		} catch (InterruptedException e) {
+			throw new SmtLibSolverBinaryException(e);
 		}
 	}
 
@@ -83,6 +125,7 @@ public final class GenericSmtLibSolverBinary implements SmtLibSolverBinary {
 		private final Queue<String> outputQueue = new LinkedList<>();
 		private ReadProcessor readProcessor = null;
 		private final boolean isCvc4;
+		private boolean exited = false;
 
 		public ProcessHandler(final boolean isCvc4) {
 			this.isCvc4 = isCvc4;
@@ -94,12 +137,33 @@ public final class GenericSmtLibSolverBinary implements SmtLibSolverBinary {
 
 		public synchronized String read() throws InterruptedException {
 			while (outputQueue.isEmpty()) {
+				if (exited) {
+					throw new SmtLibSolverBinaryException("Solver process exited");
+				}
 				wait();
 			}
 
 			return outputQueue.remove();
 		}
 
+		public synchronized boolean await(final long timeoutNanos) throws InterruptedException {
+			final long deadline = System.nanoTime() + timeoutNanos;
+			while (outputQueue.isEmpty() && !exited) {
+				final long remaining = deadline - System.nanoTime();
+				if (remaining <= 0) {
+					return false;
+				}
+				TimeUnit.NANOSECONDS.timedWait(this, remaining);
+			}
+			return true;
+		}
+
+		@Override
+		public synchronized void onExit(final int statusCode) {
+			exited = true;
+			notifyAll();
+		}
+
 		@Override
 		public synchronized boolean onStdinReady(final ByteBuffer buffer) {
 			while (!inputQueue.isEmpty()) {
@@ -123,12 +187,9 @@ public final class GenericSmtLibSolverBinary implements SmtLibSolverBinary {
 		private int isFp = 0;
 
 		private synchronized void onInput(final ByteBuffer buffer) {
-			final var buf = new byte[buffer.remaining()];
-			buffer.get(buf);
-			final var input = new String(buf, StandardCharsets.US_ASCII);
-
-
-			for (var c : input.toCharArray()) {
+			// The output is ASCII, so it is processed directly from the buffer without decoding it first
+			while (buffer.hasRemaining()) {
+				final char c = (char) (buffer.get() & 0xFF);
 				if (readProcessor == null) {
 					readProcessor = new ReadProcessor();
 				}
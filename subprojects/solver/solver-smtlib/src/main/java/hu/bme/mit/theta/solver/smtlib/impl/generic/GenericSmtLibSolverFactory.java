@@ -48,7 +48,7 @@ public class GenericSmtLibSolverFactory implements SolverFactory {
 		final var symbolTable = new GenericSmtLibSymbolTable();
 		final var transformationManager = new GenericSmtLibTransformationManager(symbolTable);
 		final var termTransformer = new GenericSmtLibTermTransformer(symbolTable);
-		final var solverBinary = new GenericSmtLibSolverBinary(solverPath, args, isCvc4);
+		final var solverBinary = GenericSmtLibSolverBinary.create(solverPath, args, isCvc4);
 
 		return new SmtLibSolver(symbolTable, transformationManager, termTransformer, solverBinary, false);
 	}
@@ -58,7 +58,7 @@ public class GenericSmtLibSolverFactory implements SolverFactory {
 		final var symbolTable = new GenericSmtLibSymbolTable();
 		final var transformationManager = new GenericSmtLibTransformationManager(symbolTable);
 		final var termTransformer = new GenericSmtLibTermTransformer(symbolTable);
-		final var solverBinary = new GenericSmtLibSolverBinary(solverPath, args, isCvc4);
+		final var solverBinary = GenericSmtLibSolverBinary.create(solverPath, args, isCvc4);
 
 		return new SmtLibSolver(symbolTable, transformationManager, termTransformer, solverBinary, true);
 	}
@@ -1,5 +1,7 @@
 package hu.bme.mit.theta.solver.smtlib.impl.generic;
 
+import hu.bme.mit.theta.common.metrics.Metrics;
+import hu.bme.mit.theta.common.metrics.Timer;
 import hu.bme.mit.theta.core.decl.Decl;
 import hu.bme.mit.theta.core.type.Expr;
 import hu.bme.mit.theta.core.type.Type;
@@ -32,7 +34,15 @@ public class GenericSmtLibTransformationManager implements SmtLibTransformationM
 
     @Override
     public final String toTerm(final Expr<?> expr) {
-        return exprTransformer.toTerm(expr);
+        final Timer timer = Metrics.current().timer("solver.transform");
+        final long start = timer.start();
+        final String term;
+        try {
+            term = exprTransformer.toTerm(expr);
+        } finally {
+            timer.stop(start);
+        }
+        return term;
     }
 
     protected SmtLibTypeTransformer instantiateTypeTransformer(final SmtLibTransformationManager transformer) {
@@ -28,7 +28,7 @@ public class MathSATSmtLibSolverFactory extends GenericSmtLibSolverFactory {
 		final var symbolTable = new GenericSmtLibSymbolTable();
 		final var transformationManager = new MathSATSmtLibTransformationManager(symbolTable);
 		final var termTransformer = new GenericSmtLibTermTransformer(symbolTable);
-		final var solverBinary = new GenericSmtLibSolverBinary(solverPath, args);
+		final var solverBinary = GenericSmtLibSolverBinary.create(solverPath, args);
 
 		return new SmtLibSolver(symbolTable, transformationManager, termTransformer, solverBinary, false);
 	}
@@ -38,7 +38,7 @@ public class MathSATSmtLibSolverFactory extends GenericSmtLibSolverFactory {
 		final var symbolTable = new GenericSmtLibSymbolTable();
 		final var transformationManager = new MathSATSmtLibTransformationManager(symbolTable);
 		final var termTransformer = new GenericSmtLibTermTransformer(symbolTable);
-		final var solverBinary = new GenericSmtLibSolverBinary(solverPath, args);
+		final var solverBinary = GenericSmtLibSolverBinary.create(solverPath, args);
 
 		return new SmtLibSolver(symbolTable, transformationManager, termTransformer, solverBinary, true);
 	}
@@ -49,7 +49,7 @@ public class MathSATSmtLibSolverFactory extends GenericSmtLibSolverFactory {
 			final var symbolTable = new GenericSmtLibSymbolTable();
 			final var transformationManager = new MathSATSmtLibTransformationManager(symbolTable);
 			final var termTransformer = new GenericSmtLibTermTransformer(symbolTable);
-			final var solverBinary = new GenericSmtLibSolverBinary(solverPath, args);
+			final var solverBinary = GenericSmtLibSolverBinary.create(solverPath, args);
 
 			return new MathSATSmtLibItpSolver(symbolTable, transformationManager, termTransformer, solverBinary);
 		} else {
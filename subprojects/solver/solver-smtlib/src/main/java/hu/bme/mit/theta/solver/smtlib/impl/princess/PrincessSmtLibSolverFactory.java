@@ -23,7 +23,7 @@ public class PrincessSmtLibSolverFactory extends GenericSmtLibSolverFactory {
         final var symbolTable = new GenericSmtLibSymbolTable();
         final var transformationManager = new GenericSmtLibTransformationManager(symbolTable);
         final var termTransformer = new GenericSmtLibTermTransformer(symbolTable);
-        final var solverBinary = new GenericSmtLibSolverBinary(solverPath, args);
+        final var solverBinary = GenericSmtLibSolverBinary.create(solverPath, args);
 
         return new PrincessSmtLibItpSolver(symbolTable, transformationManager, termTransformer, solverBinary);
     }
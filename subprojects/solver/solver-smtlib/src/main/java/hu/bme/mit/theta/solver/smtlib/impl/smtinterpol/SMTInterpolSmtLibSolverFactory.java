@@ -30,7 +30,7 @@ public class SMTInterpolSmtLibSolverFactory implements SolverFactory {
         final var symbolTable = new GenericSmtLibSymbolTable();
         final var transformationManager = new GenericSmtLibTransformationManager(symbolTable);
         final var termTransformer = new GenericSmtLibTermTransformer(symbolTable);
-        final var solverBinary = new GenericSmtLibSolverBinary(getJavaBinary(), getSolverArgs());
+        final var solverBinary = GenericSmtLibSolverBinary.create(getJavaBinary(), getSolverArgs());
 
         return new SmtLibSolver(symbolTable, transformationManager, termTransformer, solverBinary, false);
     }
@@ -40,7 +40,7 @@ public class SMTInterpolSmtLibSolverFactory implements SolverFactory {
         final var symbolTable = new GenericSmtLibSymbolTable();
         final var transformationManager = new GenericSmtLibTransformationManager(symbolTable);
         final var termTransformer = new GenericSmtLibTermTransformer(symbolTable);
-        final var solverBinary = new GenericSmtLibSolverBinary(getJavaBinary(), getSolverArgs());
+        final var solverBinary = GenericSmtLibSolverBinary.create(getJavaBinary(), getSolverArgs());
 
         return new SmtLibSolver(symbolTable, transformationManager, termTransformer, solverBinary, true);
     }
@@ -50,7 +50,7 @@ public class SMTInterpolSmtLibSolverFactory implements SolverFactory {
         final var symbolTable = new GenericSmtLibSymbolTable();
         final var transformationManager = new GenericSmtLibTransformationManager(symbolTable);
         final var termTransformer = new GenericSmtLibTermTransformer(symbolTable);
-        final var solverBinary = new GenericSmtLibSolverBinary(getJavaBinary(), getSolverArgs());
+        final var solverBinary = GenericSmtLibSolverBinary.create(getJavaBinary(), getSolverArgs());
 
         return new SMTInterpolSmtLibItpSolver(symbolTable, transformationManager, termTransformer, solverBinary);
     }
@@ -2,6 +2,8 @@ package hu.bme.mit.theta.solver.smtlib.impl.yices2;
 
 import hu.bme.mit.theta.common.Tuple2;
 import hu.bme.mit.theta.core.model.Valuation;
+import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.booltype.BoolType;
 import hu.bme.mit.theta.solver.SolverStatus;
 import hu.bme.mit.theta.solver.smtlib.dsl.gen.SMTLIBv2Lexer;
 import hu.bme.mit.theta.solver.smtlib.dsl.gen.SMTLIBv2Parser;
@@ -18,6 +20,7 @@ import hu.bme.mit.theta.solver.smtlib.solver.transformer.SmtLibTransformationMan
 import org.antlr.v4.runtime.CharStreams;
 import org.antlr.v4.runtime.CommonTokenStream;
 
+import java.util.Collection;
 import java.util.HashMap;
 
 import static com.google.common.base.Preconditions.checkState;
@@ -39,6 +42,11 @@ public class Yices2SmtLibSolver extends SmtLibSolver {
         return status = super.check();
     }
 
+    @Override
+    public SolverStatus check(final Collection<? extends Expr<BoolType>> assumptions) {
+        return status = super.check(assumptions);
+    }
+
     @Override
     public Valuation getModel() {
         checkState(status == SolverStatus.SAT, "Cannot get model if status is not SAT.");
@@ -57,7 +65,9 @@ public class Yices2SmtLibSolver extends SmtLibSolver {
         solverBinary.issueCommand("(get-model)");
 
         final var modelValues = new HashMap<String, String>();
-        for(final var ignored : declarationStack.toCollection()) {
+        // Labels of the assumptions of the last check are also part of the model
+        final var declarationCount = declarationStack.toCollection().size() + checkAssumptions.size();
+        for(int i = 0; i < declarationCount; i++) {
             final var value = parseModelResponse(solverBinary.readResponse());
             modelValues.put(value.get1(), value.get2());
         }
@@ -27,7 +27,7 @@ public class Z3SmtLibSolverFactory extends GenericSmtLibSolverFactory {
             final var symbolTable = new GenericSmtLibSymbolTable();
             final var transformationManager = new GenericSmtLibTransformationManager(symbolTable);
             final var termTransformer = new GenericSmtLibTermTransformer(symbolTable);
-            final var solverBinary = new GenericSmtLibSolverBinary(solverPath, args);
+            final var solverBinary = GenericSmtLibSolverBinary.create(solverPath, args);
 
             return new Z3SmtLibItpSolver(symbolTable, transformationManager, termTransformer, solverBinary);
         }
@@ -22,6 +22,7 @@ import hu.bme.mit.theta.solver.smtlib.solver.model.SmtLibValuation;
 import hu.bme.mit.theta.solver.smtlib.solver.parser.CheckSatResponse;
 import hu.bme.mit.theta.solver.smtlib.solver.parser.GeneralResponse;
 import hu.bme.mit.theta.solver.smtlib.solver.parser.GetModelResponse;
+import hu.bme.mit.theta.solver.smtlib.solver.parser.SmtLibResponseReader;
 import hu.bme.mit.theta.solver.smtlib.solver.parser.ThrowExceptionErrorListener;
 import hu.bme.mit.theta.solver.smtlib.solver.transformer.SmtLibSymbolTable;
 import hu.bme.mit.theta.solver.smtlib.solver.transformer.SmtLibTermTransformer;
@@ -125,6 +126,33 @@ public abstract class SmtLibItpSolver<T extends SmtLibItpMarker> implements ItpS
 		return status;
 	}
 
+	/**
+	 * Checks the assertions under the given assumptions in a temporary frame. As the
+	 * assumptions do not belong to any marker, no interpolant can be queried for this check.
+	 */
+	@Override
+	public SolverStatus check(final Collection<? extends Expr<BoolType>> assumptions) {
+		checkNotNull(assumptions);
+		push();
+		for (final Expr<BoolType> assumption : assumptions) {
+			final var consts = ExprUtils.getConstants(assumption);
+			consts.removeAll(declarationStack.toCollection());
+			declarationStack.add(consts);
+
+			final var term = transformationManager.toTerm(assumption);
+			consts.stream().map(symbolTable::getDeclaration).forEach(this::issueGeneralCommand);
+			issueGeneralCommand(String.format("(assert %s)", term));
+		}
+
+		final SolverStatus checkStatus = check();
+		final Valuation checkModel = checkStatus == SolverStatus.SAT ? getModel() : null;
+		pop();
+
+		status = checkStatus;
+		model = checkModel;
+		return status;
+	}
+
 	@Override
 	public void push() {
 		markers.push();
@@ -221,6 +249,11 @@ public abstract class SmtLibItpSolver<T extends SmtLibItpMarker> implements ItpS
 	}
 
 	protected final GeneralResponse parseResponse(final String response) {
+		final var res = SmtLibResponseReader.read(response);
+		if (res != null) {
+			return res;
+		}
+
 		try {
 			final var lexer = new SMTLIBv2Lexer(CharStreams.fromString(response));
 			final var parser = new SMTLIBv2Parser(new CommonTokenStream(lexer));
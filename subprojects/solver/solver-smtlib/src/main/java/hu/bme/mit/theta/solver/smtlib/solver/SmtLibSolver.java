@@ -1,5 +1,7 @@
 package hu.bme.mit.theta.solver.smtlib.solver;
 
+import hu.bme.mit.theta.common.metrics.Metrics;
+import hu.bme.mit.theta.common.metrics.Timer;
 import hu.bme.mit.theta.core.decl.ConstDecl;
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
@@ -19,6 +21,7 @@ import hu.bme.mit.theta.solver.smtlib.solver.parser.CheckSatResponse;
 import hu.bme.mit.theta.solver.smtlib.solver.parser.GeneralResponse;
 import hu.bme.mit.theta.solver.smtlib.solver.parser.GetModelResponse;
 import hu.bme.mit.theta.solver.smtlib.solver.parser.GetUnsatCoreResponse;
+import hu.bme.mit.theta.solver.smtlib.solver.parser.SmtLibResponseReader;
 import hu.bme.mit.theta.solver.smtlib.solver.parser.ThrowExceptionErrorListener;
 import hu.bme.mit.theta.solver.smtlib.solver.transformer.SmtLibSymbolTable;
 import hu.bme.mit.theta.solver.smtlib.solver.transformer.SmtLibTermTransformer;
@@ -26,12 +29,15 @@ import hu.bme.mit.theta.solver.smtlib.solver.transformer.SmtLibTransformationMan
 import org.antlr.v4.runtime.CharStreams;
 import org.antlr.v4.runtime.CommonTokenStream;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 
+import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
 
 public class SmtLibSolver implements UCSolver, Solver {
@@ -44,11 +50,16 @@ public class SmtLibSolver implements UCSolver, Solver {
 
 	protected final Stack<Expr<BoolType>> assertions;
 	protected final Map<String, Expr<BoolType>> assumptions;
+	protected final Map<String, Expr<BoolType>> checkAssumptions;
 	protected final Stack<ConstDecl<?>> declarationStack;
 
 	private static final String ASSUMPTION_LABEL = "_LABEL_%d";
+	private static final String CHECK_ASSUMPTION_LABEL = "_ASSUMPTION_%d";
 	private int labelNum = 0;
 
+	// The assumptions of the last check are kept in an internal frame until the next modification
+	private boolean assumptionFrame = false;
+
 	private Valuation model;
 	private Collection<Expr<BoolType>> unsatCore;
 	private SolverStatus status;
@@ -66,6 +77,7 @@ public class SmtLibSolver implements UCSolver, Solver {
 
 		assertions = new StackImpl<>();
 		assumptions = new HashMap<>();
+		checkAssumptions = new HashMap<>();
 		declarationStack = new StackImpl<>();
 
 		init();
@@ -73,6 +85,7 @@ public class SmtLibSolver implements UCSolver, Solver {
 
 	@Override
 	public void add(Expr<BoolType> assertion) {
+		releaseAssumptions();
 		final var consts = ExprUtils.getConstants(assertion);
 		consts.removeAll(declarationStack.toCollection());
 		declarationStack.add(consts);
@@ -87,6 +100,7 @@ public class SmtLibSolver implements UCSolver, Solver {
 	}
 
 	public void add(final Expr<BoolType> assertion, final String term) {
+		releaseAssumptions();
 		final var consts = ExprUtils.getConstants(assertion);
 		consts.removeAll(declarationStack.toCollection());
 		declarationStack.add(consts);
@@ -100,6 +114,7 @@ public class SmtLibSolver implements UCSolver, Solver {
 
 	@Override
 	public void track(Expr<BoolType> assertion) {
+		releaseAssumptions();
 		final var consts = ExprUtils.getConstants(assertion);
 		consts.removeAll(declarationStack.toCollection());
 		declarationStack.add(consts);
@@ -117,7 +132,50 @@ public class SmtLibSolver implements UCSolver, Solver {
 
 	@Override
 	public SolverStatus check() {
-		solverBinary.issueCommand("(check-sat)");
+		releaseAssumptions();
+		return checkSat("(check-sat)");
+	}
+
+	@Override
+	public SolverStatus check(final Collection<? extends Expr<BoolType>> assumptions) {
+		checkNotNull(assumptions);
+		releaseAssumptions();
+
+		issueGeneralCommand("(push 1)");
+		declarationStack.push();
+		assumptionFrame = true;
+		final List<String> labels = new ArrayList<>(assumptions.size());
+		for (final Expr<BoolType> assumption : assumptions) {
+			final var consts = ExprUtils.getConstants(assumption);
+			consts.removeAll(declarationStack.toCollection());
+			declarationStack.add(consts);
+
+			final var term = transformationManager.toTerm(assumption);
+			final var label = String.format(CHECK_ASSUMPTION_LABEL, labels.size());
+			checkAssumptions.put(label, assumption);
+			labels.add(label);
+
+			consts.stream().map(symbolTable::getDeclaration).forEach(this::issueGeneralCommand);
+			issueGeneralCommand(String.format("(declare-fun %s () Bool)", label));
+			issueGeneralCommand(String.format("(assert (=> %s %s))", label, term));
+		}
+
+		clearState();
+		return checkSat(String.format("(check-sat-assuming (%s))", String.join(" ", labels)));
+	}
+
+	private SolverStatus checkSat(final String command) {
+		final Timer timer = Metrics.current().timer("solver.check");
+		final long start = timer.start();
+		try {
+			solverBinary.issueCommand(command);
+			return parseCheckSatResponse();
+		} finally {
+			timer.stop(start);
+		}
+	}
+
+	private SolverStatus parseCheckSatResponse() {
 		var res = parseResponse(solverBinary.readResponse());
 		if (res.isError()) {
 			throw new SmtLibSolverException(res.getReason());
@@ -137,8 +195,26 @@ public class SmtLibSolver implements UCSolver, Solver {
 		return status;
 	}
 
+	private void releaseAssumptions() {
+		if (assumptionFrame) {
+			issueGeneralCommand("(pop 1)");
+			declarationStack.pop();
+			checkAssumptions.clear();
+			assumptionFrame = false;
+		}
+	}
+
 	@Override
 	public void push() {
+		if (assumptionFrame) {
+			// Push keeps the result of the last check, so it has to be extracted before releasing the assumptions
+			if (status == SolverStatus.SAT) {
+				getModel();
+			} else if (status == SolverStatus.UNSAT && unsatCoreEnabled) {
+				getUnsatCore();
+			}
+			releaseAssumptions();
+		}
 		assertions.push();
 		declarationStack.push();
 		issueGeneralCommand("(push 1)");
@@ -146,15 +222,18 @@ public class SmtLibSolver implements UCSolver, Solver {
 
 	@Override
 	public void pop(int n) {
+		releaseAssumptions();
 		assertions.pop(n);
 		declarationStack.pop(n);
-		issueGeneralCommand("(pop 1)");
+		issueGeneralCommand(String.format("(pop %d)", n));
 		clearState();
 	}
 
 	@Override
 	public void reset() {
 		issueGeneralCommand("(reset)");
+		checkAssumptions.clear();
+		assumptionFrame = false;
 		clearState();
 		init();
 	}
@@ -222,14 +301,43 @@ public class SmtLibSolver implements UCSolver, Solver {
 		}
 
 		for (final var label : unsatCoreLabels) {
-			final Expr<BoolType> assumption = assumptions.get(label);
+			final Expr<BoolType> assumption = assumptions.containsKey(label) ? assumptions.get(label)
+					: checkAssumptions.get(label);
 			assert assumption != null;
-			unsatCore.add(assumption);
+			if (!unsatCore.contains(assumption)) {
+				unsatCore.add(assumption);
+			}
+		}
+
+		if (!checkAssumptions.isEmpty()) {
+			for (final var assumption : extractUnsatAssumptions()) {
+				if (!unsatCore.contains(assumption)) {
+					unsatCore.add(assumption);
+				}
+			}
 		}
 
 		return unsatCore;
 	}
 
+	private Collection<Expr<BoolType>> extractUnsatAssumptions() {
+		solverBinary.issueCommand("(get-unsat-assumptions)");
+		final var res = parseResponse(solverBinary.readResponse());
+		if (res.isSpecific()) {
+			final GetUnsatCoreResponse getUnsatAssumptionsResponse = res.asSpecific().asGetUnsatCoreResponse();
+			final Collection<Expr<BoolType>> unsatAssumptions = new LinkedList<>();
+			for (final var label : getUnsatAssumptionsResponse.getLabels()) {
+				final Expr<BoolType> assumption = checkAssumptions.get(label);
+				assert assumption != null;
+				unsatAssumptions.add(assumption);
+			}
+			return unsatAssumptions;
+		} else {
+			// Not every solver supports unsat assumptions, all of them are a (non-minimal) core then
+			return checkAssumptions.values();
+		}
+	}
+
 	@Override
 	public Collection<Expr<BoolType>> getAssertions() {
 		return assertions.toCollection();
@@ -245,6 +353,9 @@ public class SmtLibSolver implements UCSolver, Solver {
 		issueGeneralCommand("(set-option :produce-models true)");
 		if (unsatCoreEnabled) {
 			issueGeneralCommand("(set-option :produce-unsat-cores true)");
+			// Optional, unsat assumptions are only used for checks under assumptions
+			solverBinary.issueCommand("(set-option :produce-unsat-assumptions true)");
+			solverBinary.readResponse();
 		}
 		issueGeneralCommand("(set-logic ALL)");
 	}
@@ -264,6 +375,11 @@ public class SmtLibSolver implements UCSolver, Solver {
 	}
 
 	protected final GeneralResponse parseResponse(final String response) {
+		final var res = SmtLibResponseReader.read(response);
+		if (res != null) {
+			return res;
+		}
+
 		try {
 			final var lexer = new SMTLIBv2Lexer(CharStreams.fromString(response));
 			final var parser = new SMTLIBv2Parser(new CommonTokenStream(lexer));
@@ -1,6 +1,20 @@
 package hu.bme.mit.theta.solver.smtlib.solver.binary;
 
+import java.time.Duration;
+
 public interface SmtLibSolverBinary extends AutoCloseable {
     void issueCommand(String command);
     String readResponse();
+
+    default boolean isAlive() {
+        return true;
+    }
+
+    /**
+     * Wait until a response can be read without blocking, or the process exits, but at most
+     * for the given time. Returns false if the time elapsed first.
+     */
+    default boolean awaitResponse(final Duration timeout) {
+        return true;
+    }
 }
@@ -0,0 +1,284 @@
+/*
+ *  Copyright 2022 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.solver.smtlib.solver.binary;
+
+import com.google.common.collect.ImmutableList;
+import hu.bme.mit.theta.common.Utils;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * Pool of running solver processes started with the same command. Solvers get their
+ * binaries with {@link #acquire(List, Supplier)}, and closing the binary returns the
+ * process to the pool, where it is reset with {@code (reset)}. Processes that are dead,
+ * that have unread responses, or that fail to reset in time (see
+ * {@link #setResetTimeout(Duration)}) are destroyed, and replaced by a new process on the
+ * next acquire. Pooling is disabled by default, it can be enabled by
+ * {@link #setPoolSize(int)}.
+ */
+public final class SmtLibSolverBinaryPool {
+
+	private static final Map<List<String>, SmtLibSolverBinaryPool> pools = new LinkedHashMap<>();
+	private static int poolSize = 0;
+	private static Duration resetTimeout = Duration.ofSeconds(2);
+	private static boolean shutdownHookAdded = false;
+
+	private final String command;
+	private final Supplier<? extends SmtLibSolverBinary> binaryFactory;
+	private final int maxIdle;
+	private final Deque<SmtLibSolverBinary> idleBinaries;
+	private boolean closed;
+
+	private long hits;
+	private long spawns;
+	private long spawnTimeNanos;
+	private long replacements;
+
+	private SmtLibSolverBinaryPool(final String command, final Supplier<? extends SmtLibSolverBinary> binaryFactory,
+								   final int maxIdle) {
+		this.command = command;
+		this.binaryFactory = binaryFactory;
+		this.maxIdle = maxIdle;
+		this.idleBinaries = new ArrayDeque<>(maxIdle);
+		this.closed = false;
+	}
+
+	/**
+	 * Set the maximal number of idle processes kept alive for each command. Zero disables
+	 * pooling, in which case the already pooled processes are destroyed.
+	 */
+	public static synchronized void setPoolSize(final int poolSize) {
+		checkArgument(poolSize >= 0, "Pool size must be non-negative");
+		SmtLibSolverBinaryPool.poolSize = poolSize;
+		if (poolSize == 0) {
+			closeAll();
+		} else if (!shutdownHookAdded) {
+			Runtime.getRuntime().addShutdownHook(new Thread(SmtLibSolverBinaryPool::closeAll));
+			shutdownHookAdded = true;
+		}
+	}
+
+	/**
+	 * Set the time a process has to answer {@code (reset)} when it is returned to the pool.
+	 * Processes that do not answer in time are destroyed instead of being pooled.
+	 */
+	public static synchronized void setResetTimeout(final Duration resetTimeout) {
+		checkArgument(!resetTimeout.isNegative(), "Reset timeout must be non-negative");
+		SmtLibSolverBinaryPool.resetTimeout = resetTimeout;
+	}
+
+	private static synchronized Duration getResetTimeout() {
+		return resetTimeout;
+	}
+
+	/**
+	 * Get a binary for the given command from its pool, or from the factory if pooling is
+	 * disabled.
+	 */
+	public static SmtLibSolverBinary acquire(final List<String> command,
+											 final Supplier<? extends SmtLibSolverBinary> binaryFactory) {
+		final SmtLibSolverBinaryPool pool;
+		synchronized (SmtLibSolverBinaryPool.class) {
+			if (poolSize == 0) {
+				return binaryFactory.get();
+			}
+			pool = pools.computeIfAbsent(ImmutableList.copyOf(command),
+					c -> new SmtLibSolverBinaryPool(String.join(" ", c), binaryFactory, poolSize));
+		}
+		return pool.acquire();
+	}
+
+	public static synchronized Collection<SmtLibSolverBinaryPool> getPools() {
+		return ImmutableList.copyOf(pools.values());
+	}
+
+	/**
+	 * Destroy the idle processes of all pools. Binaries in use are destroyed when closed.
+	 */
+	public static synchronized void closeAll() {
+		pools.values().forEach(SmtLibSolverBinaryPool::close);
+		pools.clear();
+	}
+
+	private SmtLibSolverBinary acquire() {
+		synchronized (this) {
+			checkState(!closed, "Pool was closed");
+			while (!idleBinaries.isEmpty()) {
+				final SmtLibSolverBinary binary = idleBinaries.removeFirst();
+				if (binary.isAlive()) {
+					hits++;
+					return new PooledSolverBinary(binary);
+				} else {
+					replacements++;
+					closeQuietly(binary);
+				}
+			}
+		}
+
+		final long start = System.nanoTime();
+		final SmtLibSolverBinary binary = binaryFactory.get();
+		synchronized (this) {
+			spawns++;
+			spawnTimeNanos += System.nanoTime() - start;
+		}
+		return new PooledSolverBinary(binary);
+	}
+
+	private void release(final SmtLibSolverBinary binary, final boolean reusable) {
+		if (reusable && binary.isAlive() && reset(binary)) {
+			synchronized (this) {
+				if (!closed && idleBinaries.size() < maxIdle) {
+					idleBinaries.addLast(binary);
+					return;
+				}
+			}
+		}
+		closeQuietly(binary);
+	}
+
+	private static boolean reset(final SmtLibSolverBinary binary) {
+		try {
+			binary.issueCommand("(reset)");
+			// A wedged process must not block the thread returning it
+			return binary.awaitResponse(getResetTimeout()) && binary.readResponse().equals("success");
+		} catch (final Exception e) {
+			return false;
+		}
+	}
+
+	private synchronized void close() {
+		closed = true;
+		idleBinaries.forEach(SmtLibSolverBinaryPool::closeQuietly);
+		idleBinaries.clear();
+	}
+
+	private static void closeQuietly(final SmtLibSolverBinary binary) {
+		try {
+			binary.close();
+		} catch (final Exception e) {
+			// The process is abandoned anyway
+		}
+	}
+
+	public String getCommand() {
+		return command;
+	}
+
+	/**
+	 * Get the number of binaries served by an idle process.
+	 */
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	/**
+	 * Get the number of processes started.
+	 */
+	public synchronized long getSpawns() {
+		return spawns;
+	}
+
+	/**
+	 * Get the number of idle processes found dead.
+	 */
+	public synchronized long getReplacements() {
+		return replacements;
+	}
+
+	public synchronized Duration getTotalSpawnTime() {
+		return Duration.ofNanos(spawnTimeNanos);
+	}
+
+	public synchronized Duration getAverageSpawnTime() {
+		return spawns == 0 ? Duration.ZERO : Duration.ofNanos(spawnTimeNanos / spawns);
+	}
+
+	@Override
+	public synchronized String toString() {
+		return Utils.lispStringBuilder(getClass().getSimpleName()).add(command).add("hits " + hits)
+				.add("spawns " + spawns).add("replacements " + replacements)
+				.add("avg spawn " + getAverageSpawnTime().toMillis() + " ms").toString();
+	}
+
+	/**
+	 * Binary leased from the pool. The number of unread responses is tracked, as a process
+	 * with pending output cannot be handed out again.
+	 */
+	private final class PooledSolverBinary implements SmtLibSolverBinary {
+		private final SmtLibSolverBinary binary;
+		private int pendingResponses;
+		private boolean released;
+
+		private PooledSolverBinary(final SmtLibSolverBinary binary) {
+			this.binary = binary;
+			this.pendingResponses = 0;
+			this.released = false;
+		}
+
+		@Override
+		public synchronized void issueCommand(final String command) {
+			checkState(!released, "Solver binary was closed");
+			binary.issueCommand(command);
+			pendingResponses++;
+		}
+
+		@Override
+		public String readResponse() {
+			checkState(!released, "Solver binary was closed");
+			final String response = binary.readResponse();
+			synchronized (this) {
+				// Some solvers answer a command with multiple responses
+				pendingResponses = Math.max(0, pendingResponses - 1);
+			}
+			return response;
+		}
+
+		@Override
+		public boolean isAlive() {
+			return !released && binary.isAlive();
+		}
+
+		@Override
+		public boolean awaitResponse(final Duration timeout) {
+			checkState(!released, "Solver binary was closed");
+			return binary.awaitResponse(timeout);
+		}
+
+		@Override
+		public void close() {
+			final boolean reusable;
+			synchronized (this) {
+				if (released) {
+					return;
+				}
+				released = true;
+				reusable = pendingResponses == 0;
+			}
+			release(binary, reusable);
+		}
+	}
+
+}
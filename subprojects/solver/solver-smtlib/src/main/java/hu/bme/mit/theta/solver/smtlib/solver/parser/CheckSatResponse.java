@@ -32,6 +32,18 @@ public class CheckSatResponse extends SpecificResponse {
 		}
 	}
 
+	static CheckSatResponse sat() {
+		return new CheckSatResponse(Status.SAT);
+	}
+
+	static CheckSatResponse unsat() {
+		return new CheckSatResponse(Status.UNSAT);
+	}
+
+	static CheckSatResponse unknown() {
+		return new CheckSatResponse(Status.UNKNOWN);
+	}
+
 	public boolean isSat() {
 		return status == Status.SAT;
 	}
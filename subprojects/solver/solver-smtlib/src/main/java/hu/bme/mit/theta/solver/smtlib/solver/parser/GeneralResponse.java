@@ -24,26 +24,42 @@ public class GeneralResponse {
 		return ctx.accept(new SMTLIBv2BaseVisitor<>() {
 			@Override
 			public GeneralResponse visitGeneral_response_success(General_response_successContext ctx) {
-				return new GeneralResponse(true, null, null);
+				return success();
 			}
 
 			@Override
 			public GeneralResponse visitGeneral_response_unsupported(General_response_unsupportedContext ctx) {
-				return new GeneralResponse(false, "Unsupported", null);
+				return unsupported();
 			}
 
 			@Override
 			public GeneralResponse visitSpecific_success_response(Specific_success_responseContext ctx) {
-				return new GeneralResponse(true, null, SpecificResponse.fromContext(ctx));
+				return specific(SpecificResponse.fromContext(ctx));
 			}
 
 			@Override
 			public GeneralResponse visitGeneral_response_error(General_response_errorContext ctx) {
-				return new GeneralResponse(false, ctx.reason.getText(), null);
+				return error(ctx.reason.getText());
 			}
 		});
 	}
 
+	static GeneralResponse success() {
+		return new GeneralResponse(true, null, null);
+	}
+
+	static GeneralResponse unsupported() {
+		return new GeneralResponse(false, "Unsupported", null);
+	}
+
+	static GeneralResponse error(final String reason) {
+		return new GeneralResponse(false, reason, null);
+	}
+
+	static GeneralResponse specific(final SpecificResponse specificResponse) {
+		return new GeneralResponse(true, null, specificResponse);
+	}
+
 	public boolean isSuccessful() {
 		return successful && specificResponse == null;
 	}
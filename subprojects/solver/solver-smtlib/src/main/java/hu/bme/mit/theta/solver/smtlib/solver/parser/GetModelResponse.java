@@ -52,6 +52,10 @@ public class GetModelResponse extends SpecificResponse {
 		})).collect(Collectors.toUnmodifiableMap(Tuple2::get1, Tuple2::get2)));
 	}
 
+	static GetModelResponse of(final Map<String, String> values) {
+		return new GetModelResponse(values);
+	}
+
 	public static GetModelResponse empty() {
 		return new GetModelResponse(Collections.emptyMap());
 	}
@@ -20,6 +20,10 @@ public class GetUnsatCoreResponse extends SpecificResponse {
 		);
 	}
 
+	static GetUnsatCoreResponse of(final Collection<String> labels) {
+		return new GetUnsatCoreResponse(labels);
+	}
+
 	public static GetUnsatCoreResponse empty() {
 		return new GetUnsatCoreResponse(Collections.emptyList());
 	}
@@ -0,0 +1,346 @@
+/*
+ *  Copyright 2022 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.solver.smtlib.solver.parser;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Streaming reader for the common solver responses: success, unsupported, errors,
+ * check-sat results, models and unsat cores. The response is scanned in a single pass,
+ * without a token stream or a parse tree, and only the symbols and the model values are
+ * copied out of it. The resulting responses are the same as the ones built from the ANTLR
+ * parse tree, but anything the reader does not recognize is left to the ANTLR parser.
+ */
+public final class SmtLibResponseReader {
+
+	private static final String MATHSAT_FUNCTION_DEF = "%s () (_ theta_type unknown) %s";
+
+	private final CharSequence input;
+	private int pos;
+
+	private SmtLibResponseReader(final CharSequence input) {
+		this.input = input;
+		this.pos = 0;
+	}
+
+	/**
+	 * Read a response.
+	 *
+	 * @param response the response of the solver
+	 * @return the response, or null if the response is not recognized by the reader
+	 */
+	public static GeneralResponse read(final CharSequence response) {
+		return new SmtLibResponseReader(response).readResponse();
+	}
+
+	private GeneralResponse readResponse() {
+		skipWhitespace();
+		if (atEnd()) {
+			return null;
+		}
+
+		final GeneralResponse response;
+		if (peek() == '(') {
+			pos++;
+			response = readListResponse();
+		} else {
+			final int start = pos;
+			final int end = skipAtom();
+			response = atomResponse(start, end);
+		}
+
+		skipWhitespace();
+		return atEnd() ? response : null;
+	}
+
+	private GeneralResponse atomResponse(final int start, final int end) {
+		if (regionEquals(start, end, "success")) {
+			return GeneralResponse.success();
+		} else if (regionEquals(start, end, "unsupported")) {
+			return GeneralResponse.unsupported();
+		} else if (regionEquals(start, end, "sat")) {
+			return GeneralResponse.specific(CheckSatResponse.sat());
+		} else if (regionEquals(start, end, "unsat")) {
+			return GeneralResponse.specific(CheckSatResponse.unsat());
+		} else if (regionEquals(start, end, "unknown")) {
+			return GeneralResponse.specific(CheckSatResponse.unknown());
+		} else {
+			return null;
+		}
+	}
+
+	// The opening parenthesis is already consumed
+	private GeneralResponse readListResponse() {
+		skipWhitespace();
+		if (atEnd()) {
+			return null;
+		} else if (peek() == ')') {
+			pos++;
+			return GeneralResponse.specific(GetUnsatCoreResponse.empty());
+		} else if (peek() == '(') {
+			return readModel();
+		}
+
+		final int start = pos;
+		final int end = skipAtom();
+		if (regionEquals(start, end, "error")) {
+			return readError();
+		} else if (regionEquals(start, end, "model")) {
+			return readModel();
+		} else if (isSymbol(start, end)) {
+			return readUnsatCore(start, end);
+		} else {
+			return null;
+		}
+	}
+
+	private GeneralResponse readError() {
+		skipWhitespace();
+		if (atEnd() || peek() != '"') {
+			return null;
+		}
+		final int start = pos;
+		final int end = skipAtom();
+		skipWhitespace();
+		if (end < 0 || !consume(')')) {
+			return null;
+		}
+		return GeneralResponse.error(substring(start, end));
+	}
+
+	private GeneralResponse readUnsatCore(final int firstStart, final int firstEnd) {
+		final Set<String> labels = new HashSet<>();
+		labels.add(substring(firstStart, firstEnd));
+		while (true) {
+			skipWhitespace();
+			if (atEnd()) {
+				return null;
+			} else if (consume(')')) {
+				return GeneralResponse.specific(GetUnsatCoreResponse.of(Collections.unmodifiableSet(labels)));
+			}
+
+			final int start = pos;
+			final int end = skipAtom();
+			if (!isSymbol(start, end)) {
+				return null;
+			}
+			labels.add(substring(start, end));
+		}
+	}
+
+	private GeneralResponse readModel() {
+		final Map<String, String> values = new HashMap<>();
+		while (true) {
+			skipWhitespace();
+			if (atEnd()) {
+				return null;
+			} else if (consume(')')) {
+				return GeneralResponse.specific(GetModelResponse.of(Collections.unmodifiableMap(values)));
+			} else if (!consume('(')) {
+				return null;
+			}
+
+			skipWhitespace();
+			final int start = pos;
+			final int end = skipAtom();
+			if (!isSymbol(start, end)) {
+				return null;
+			}
+
+			final boolean success;
+			if (regionEquals(start, end, "define-fun")) {
+				success = readFunctionDef(values);
+			} else if (regionEquals(start, end, "define-fun-rec") || regionEquals(start, end, "define-funs-rec")) {
+				// Not supported by the models, the parser reports the error
+				return null;
+			} else {
+				success = readMathsatValue(substring(start, end), values);
+			}
+			if (!success) {
+				return null;
+			}
+		}
+	}
+
+	// function_def: symbol (sorted_var*) sort term
+	private boolean readFunctionDef(final Map<String, String> values) {
+		skipWhitespace();
+		final int start = pos;
+		final int symbolEnd = skipAtom();
+		if (!isSymbol(start, symbolEnd)) {
+			return false;
+		}
+
+		int end = symbolEnd;
+		for (int i = 0; i < 3; i++) {
+			skipWhitespace();
+			if (atEnd() || peek() == ')') {
+				return false;
+			}
+			end = skipElement();
+			if (end < 0) {
+				return false;
+			}
+		}
+
+		skipWhitespace();
+		if (!consume(')')) {
+			return false;
+		}
+		values.put(substring(start, symbolEnd), substring(start, end));
+		return true;
+	}
+
+	// model_response_mathsat: (symbol term)
+	private boolean readMathsatValue(final String symbol, final Map<String, String> values) {
+		skipWhitespace();
+		if (atEnd() || peek() == ')') {
+			return false;
+		}
+		final int start = pos;
+		final int end = skipElement();
+		skipWhitespace();
+		if (end < 0 || !consume(')')) {
+			return false;
+		}
+		values.put(symbol, String.format(MATHSAT_FUNCTION_DEF, symbol, substring(start, end)));
+		return true;
+	}
+
+	/**
+	 * Skip an atom or a list, and return the end of it, or -1 if it is malformed.
+	 */
+	private int skipElement() {
+		if (peek() != '(') {
+			return skipAtom();
+		}
+
+		int level = 0;
+		while (!atEnd()) {
+			final char c = peek();
+			if (c == '(') {
+				level++;
+				pos++;
+			} else if (c == ')') {
+				level--;
+				pos++;
+				if (level == 0) {
+					return pos;
+				}
+			} else if (c == '"' || c == '|') {
+				if (skipAtom() < 0) {
+					return -1;
+				}
+			} else {
+				pos++;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Skip a string, a quoted symbol or a simple atom, and return the end of it, or -1 if
+	 * it is malformed.
+	 */
+	private int skipAtom() {
+		if (atEnd()) {
+			return -1;
+		}
+
+		final char first = peek();
+		if (first == '"') {
+			pos++;
+			while (!atEnd()) {
+				if (input.charAt(pos++) == '"') {
+					// Quotes are escaped by doubling them
+					if (atEnd() || peek() != '"') {
+						return pos;
+					}
+					pos++;
+				}
+			}
+			return -1;
+		} else if (first == '|') {
+			pos++;
+			while (!atEnd()) {
+				if (input.charAt(pos++) == '|') {
+					return pos;
+				}
+			}
+			return -1;
+		} else {
+			final int start = pos;
+			while (!atEnd() && !isDelimiter(peek())) {
+				pos++;
+			}
+			return pos == start ? -1 : pos;
+		}
+	}
+
+	private boolean isSymbol(final int start, final int end) {
+		if (end <= start) {
+			return false;
+		}
+		final char first = input.charAt(start);
+		return first == '|' || !(Character.isDigit(first) || first == ':' || first == '#' || first == '"');
+	}
+
+	private static boolean isDelimiter(final char c) {
+		return Character.isWhitespace(c) || c == '(' || c == ')' || c == '"' || c == '|' || c == ';';
+	}
+
+	private void skipWhitespace() {
+		while (!atEnd() && Character.isWhitespace(peek())) {
+			pos++;
+		}
+	}
+
+	private boolean consume(final char c) {
+		if (!atEnd() && peek() == c) {
+			pos++;
+			return true;
+		}
+		return false;
+	}
+
+	private boolean regionEquals(final int start, final int end, final String str) {
+		if (end - start != str.length()) {
+			return false;
+		}
+		for (int i = 0; i < str.length(); i++) {
+			if (input.charAt(start + i) != str.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private String substring(final int start, final int end) {
+		return input.subSequence(start, end).toString();
+	}
+
+	private char peek() {
+		return input.charAt(pos);
+	}
+
+	private boolean atEnd() {
+		return pos >= input.length();
+	}
+}
@@ -0,0 +1,89 @@
+/*
+ *  Copyright 2022 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.solver.smtlib;
+
+import hu.bme.mit.theta.solver.smtlib.solver.parser.GeneralResponse;
+import hu.bme.mit.theta.solver.smtlib.solver.parser.SmtLibResponseReader;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Set;
+
+public class SmtLibResponseReaderTest {
+	@Test
+	public void generalResponseTest() {
+		Assert.assertTrue(SmtLibResponseReader.read("success").isSuccessful());
+		Assert.assertTrue(SmtLibResponseReader.read("unsupported").isError());
+
+		final var error = SmtLibResponseReader.read("(error \"line 1 column 2: unknown constant x\")");
+		Assert.assertTrue(error.isError());
+		Assert.assertEquals("\"line 1 column 2: unknown constant x\"", error.getReason());
+	}
+
+	@Test
+	public void checkSatTest() {
+		Assert.assertTrue(SmtLibResponseReader.read("sat").asSpecific().asCheckSatResponse().isSat());
+		Assert.assertTrue(SmtLibResponseReader.read("unsat").asSpecific().asCheckSatResponse().isUnsat());
+		Assert.assertTrue(SmtLibResponseReader.read("unknown").asSpecific().asCheckSatResponse().isUnknown());
+	}
+
+	@Test
+	public void emptyTest() {
+		final var general = SmtLibResponseReader.read("(\n)");
+		Assert.assertTrue(general.asSpecific().isGetUnsatCoreResponse());
+		Assert.assertEquals(0, general.asSpecific().asGetUnsatCoreResponse().getLabels().size());
+		Assert.assertTrue(general.asSpecific().isGetModelResponse());
+		Assert.assertEquals(0, general.asSpecific().asGetModelResponse().getModel().size());
+	}
+
+	@Test
+	public void unsatCoreTest() {
+		final var general = SmtLibResponseReader.read("(_LABEL_0 |_LABEL 1| _LABEL_2)");
+		Assert.assertEquals(Set.of("_LABEL_0", "|_LABEL 1|", "_LABEL_2"),
+				Set.copyOf(general.asSpecific().asGetUnsatCoreResponse().getLabels()));
+	}
+
+	@Test
+	public void modelTest() {
+		final var general = SmtLibResponseReader.read("(model\n" +
+				"  (define-fun x () Int (- 1))\n" +
+				"  (define-fun a () (Array Int Int) (store ((as const (Array Int Int)) 0) 1 2))\n" +
+				"  (define-fun s () String \"a)\"\"b\")\n" +
+				")");
+		final var model = general.asSpecific().asGetModelResponse().getModel();
+		Assert.assertEquals(3, model.size());
+		Assert.assertEquals("x () Int (- 1)", model.getTerm("x"));
+		Assert.assertEquals("a () (Array Int Int) (store ((as const (Array Int Int)) 0) 1 2)", model.getTerm("a"));
+		Assert.assertEquals("s () String \"a)\"\"b\"", model.getTerm("s"));
+	}
+
+	@Test
+	public void mathsatModelTest() {
+		final var general = SmtLibResponseReader.read("( (x 1)\n  (|a| (store a 0 1)) )");
+		final var model = general.asSpecific().asGetModelResponse().getModel();
+		Assert.assertEquals("x () (_ theta_type unknown) 1", model.getTerm("x"));
+		Assert.assertEquals("|a| () (_ theta_type unknown) (store a 0 1)", model.getTerm("|a|"));
+	}
+
+	@Test
+	public void unrecognizedTest() {
+		Assert.assertNull(SmtLibResponseReader.read("((and a b) (or c d))"));
+		Assert.assertNull(SmtLibResponseReader.read("(model (define-fun-rec f ((x Int)) Int x))"));
+		Assert.assertNull(SmtLibResponseReader.read("(define-fun x () Int 1"));
+		Assert.assertNull(SmtLibResponseReader.read("sat unsat"));
+		Assert.assertNull(SmtLibResponseReader.read(""));
+	}
+}
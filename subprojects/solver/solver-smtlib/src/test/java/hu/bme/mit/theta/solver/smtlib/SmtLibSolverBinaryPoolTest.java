@@ -0,0 +1,155 @@
+/*
+ *  Copyright 2022 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.solver.smtlib;
+
+import hu.bme.mit.theta.solver.smtlib.solver.binary.SmtLibSolverBinary;
+import hu.bme.mit.theta.solver.smtlib.solver.binary.SmtLibSolverBinaryPool;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SmtLibSolverBinaryPoolTest {
+
+	private static final List<String> COMMAND = List.of("solver", "--smt2");
+
+	private List<BinaryStub> spawned;
+
+	@Before
+	public void before() {
+		spawned = new ArrayList<>();
+		SmtLibSolverBinaryPool.setPoolSize(2);
+	}
+
+	@After
+	public void after() {
+		SmtLibSolverBinaryPool.setPoolSize(0);
+	}
+
+	private SmtLibSolverBinary acquire() {
+		return SmtLibSolverBinaryPool.acquire(COMMAND, () -> {
+			final BinaryStub binary = new BinaryStub();
+			spawned.add(binary);
+			return binary;
+		});
+	}
+
+	private SmtLibSolverBinaryPool getPool() {
+		return SmtLibSolverBinaryPool.getPools().iterator().next();
+	}
+
+	@Test
+	public void testReuse() throws Exception {
+		final SmtLibSolverBinary binary1 = acquire();
+		binary1.issueCommand("(check-sat)");
+		binary1.readResponse();
+		binary1.close();
+		binary1.close();
+
+		final SmtLibSolverBinary binary2 = acquire();
+		assertEquals(1, spawned.size());
+		assertEquals(List.of("(check-sat)", "(reset)"), spawned.get(0).commands);
+		assertEquals(1, getPool().getHits());
+		assertEquals(1, getPool().getSpawns());
+		binary2.close();
+	}
+
+	@Test
+	public void testReplace() throws Exception {
+		final SmtLibSolverBinary binary1 = acquire();
+		final SmtLibSolverBinary binary2 = acquire();
+		binary1.close();
+		binary2.close();
+
+		// Crashed while idle
+		spawned.get(0).alive = false;
+		acquire();
+		assertEquals(1, getPool().getReplacements());
+		assertEquals(2, spawned.size());
+
+		// Unread response
+		final SmtLibSolverBinary binary3 = acquire();
+		binary3.issueCommand("(check-sat)");
+		binary3.close();
+		assertFalse(spawned.get(2).alive);
+		acquire();
+		assertEquals(4, spawned.size());
+		assertTrue(spawned.get(1).commands.contains("(reset)"));
+	}
+
+	@Test
+	public void testResetTimeout() throws Exception {
+		SmtLibSolverBinaryPool.setResetTimeout(Duration.ofMillis(10));
+		try {
+			final SmtLibSolverBinary binary1 = acquire();
+			// Wedged, (reset) is never answered
+			spawned.get(0).responsive = false;
+			binary1.close();
+			assertFalse(spawned.get(0).alive);
+			assertEquals(List.of("(reset)"), spawned.get(0).commands);
+
+			acquire();
+			assertEquals(2, spawned.size());
+			assertEquals(0, getPool().getHits());
+		} finally {
+			SmtLibSolverBinaryPool.setResetTimeout(Duration.ofSeconds(2));
+		}
+	}
+
+	private static final class BinaryStub implements SmtLibSolverBinary {
+		private final List<String> commands = new ArrayList<>();
+		private final Deque<String> responses = new ArrayDeque<>();
+		private boolean alive = true;
+		private boolean responsive = true;
+
+		@Override
+		public void issueCommand(final String command) {
+			commands.add(command);
+			if (responsive) {
+				responses.add("success");
+			}
+		}
+
+		@Override
+		public boolean awaitResponse(final Duration timeout) {
+			return !responses.isEmpty();
+		}
+
+		@Override
+		public String readResponse() {
+			return responses.remove();
+		}
+
+		@Override
+		public boolean isAlive() {
+			return alive;
+		}
+
+		@Override
+		public void close() {
+			alive = false;
+		}
+	}
+}
@@ -16,6 +16,8 @@
 package hu.bme.mit.theta.solver.z3;
 
 import hu.bme.mit.theta.common.container.Containers;
+import hu.bme.mit.theta.common.metrics.Metrics;
+import hu.bme.mit.theta.common.metrics.Timer;
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
 import hu.bme.mit.theta.core.type.booltype.BoolType;
@@ -92,21 +94,26 @@ final class Z3ItpSolver implements ItpSolver, Solver {
 		checkState(solver.getStatus() == SolverStatus.UNSAT, "Cannot get interpolant if status is not UNSAT.");
 		checkArgument(pattern instanceof Z3ItpPattern);
 		final Z3ItpPattern z3ItpPattern = (Z3ItpPattern) pattern;
-
-		final com.microsoft.z3.Expr proof = z3Solver.getProof();
-		final com.microsoft.z3.Expr term = patternToTerm(z3ItpPattern.getRoot());
-		final com.microsoft.z3.Params params = z3Context.mkParams();
-
-		final com.microsoft.z3.BoolExpr[] itpArray = z3Context.GetInterpolant(proof, term, params);
-		final List<Expr<BoolType>> itpList = new LinkedList<>();
-
-		for (final com.microsoft.z3.BoolExpr itpTerm : itpArray) {
-			@SuppressWarnings("unchecked") final Expr<BoolType> itpExpr = (Expr<BoolType>) termTransformer.toExpr(itpTerm);
-			itpList.add(itpExpr);
-		}
-
+		final Timer timer = Metrics.current().timer("solver.interpolate");
+		final long start = timer.start();
 		final Map<ItpMarker, Expr<BoolType>> itpMap = Containers.createMap();
-		buildItpMapFormList(z3ItpPattern.getRoot(), itpList, itpMap);
+		try {
+			final com.microsoft.z3.Expr proof = z3Solver.getProof();
+			final com.microsoft.z3.Expr term = patternToTerm(z3ItpPattern.getRoot());
+			final com.microsoft.z3.Params params = z3Context.mkParams();
+
+			final com.microsoft.z3.BoolExpr[] itpArray = z3Context.GetInterpolant(proof, term, params);
+			final List<Expr<BoolType>> itpList = new LinkedList<>();
+
+			for (final com.microsoft.z3.BoolExpr itpTerm : itpArray) {
+				@SuppressWarnings("unchecked") final Expr<BoolType> itpExpr = (Expr<BoolType>) termTransformer.toExpr(itpTerm);
+				itpList.add(itpExpr);
+			}
+
+			buildItpMapFormList(z3ItpPattern.getRoot(), itpList, itpMap);
+		} finally {
+			timer.stop(start);
+		}
 
 		return new Z3Interpolant(itpMap);
 	}
@@ -157,6 +164,11 @@ final class Z3ItpSolver implements ItpSolver, Solver {
 		return solver.check();
 	}
 
+	@Override
+	public SolverStatus check(final Collection<? extends Expr<BoolType>> assumptions) {
+		return solver.check(assumptions);
+	}
+
 	@Override
 	public void push() {
 		markers.push();
@@ -18,7 +18,10 @@ package hu.bme.mit.theta.solver.z3;
 import com.google.common.collect.ImmutableList;
 import com.microsoft.z3.FuncDecl;
 import com.microsoft.z3.Status;
+import hu.bme.mit.theta.common.CancellationToken;
 import hu.bme.mit.theta.common.container.Containers;
+import hu.bme.mit.theta.common.metrics.Metrics;
+import hu.bme.mit.theta.common.metrics.Timer;
 import hu.bme.mit.theta.core.decl.ConstDecl;
 import hu.bme.mit.theta.core.decl.Decl;
 import hu.bme.mit.theta.core.model.Valuation;
@@ -43,6 +46,7 @@ import java.util.Collections;
 import java.util.LinkedList;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
@@ -58,10 +62,15 @@ final class Z3Solver implements UCSolver, Solver {
 
 	private final Stack<Expr<BoolType>> assertions;
 	private final Map<String, Expr<BoolType>> assumptions;
+	private final Map<String, Expr<BoolType>> checkAssumptions;
 
 	private static final String ASSUMPTION_LABEL = "_LABEL_%d";
+	private static final String CHECK_ASSUMPTION_LABEL = "_ASSUMPTION_%d";
 	private int labelNum = 0;
 
+	// The assumptions of the last check are kept in an internal frame until the next modification
+	private boolean assumptionFrame = false;
+
 	private Valuation model;
 	private Collection<Expr<BoolType>> unsatCore;
 	private SolverStatus status;
@@ -77,6 +86,7 @@ final class Z3Solver implements UCSolver, Solver {
 
 		assertions = new StackImpl<>();
 		assumptions = Containers.createMap();
+		checkAssumptions = Containers.createMap();
 	}
 
 	////
@@ -89,6 +99,7 @@ final class Z3Solver implements UCSolver, Solver {
 	}
 
 	void add(final Expr<BoolType> assertion, final com.microsoft.z3.BoolExpr term) {
+		releaseAssumptions();
 		assertions.add(assertion);
 		z3Solver.add(term);
 		clearState();
@@ -97,6 +108,7 @@ final class Z3Solver implements UCSolver, Solver {
 	@Override
 	public void track(final Expr<BoolType> assertion) {
 		checkNotNull(assertion);
+		releaseAssumptions();
 
 		assertions.add(assertion);
 		final com.microsoft.z3.BoolExpr term = (com.microsoft.z3.BoolExpr) transformationManager.toTerm(assertion);
@@ -112,11 +124,63 @@ final class Z3Solver implements UCSolver, Solver {
 
 	@Override
 	public SolverStatus check() {
-		final Status z3Status = z3Solver.check();
-		status = transformStatus(z3Status);
+		releaseAssumptions();
+		status = checkCancellable(z3Solver::check);
+		return status;
+	}
+
+	@Override
+	public SolverStatus check(final Collection<? extends Expr<BoolType>> assumptions) {
+		checkNotNull(assumptions);
+		releaseAssumptions();
+
+		z3Solver.push();
+		assumptionFrame = true;
+		final com.microsoft.z3.BoolExpr[] labelTerms = new com.microsoft.z3.BoolExpr[assumptions.size()];
+		int i = 0;
+		for (final Expr<BoolType> assumption : assumptions) {
+			final com.microsoft.z3.BoolExpr term = (com.microsoft.z3.BoolExpr) transformationManager.toTerm(assumption);
+			final String label = String.format(CHECK_ASSUMPTION_LABEL, i);
+			final com.microsoft.z3.BoolExpr labelTerm = z3Context.mkBoolConst(label);
+			checkAssumptions.put(label, assumption);
+			z3Solver.add(z3Context.mkImplies(labelTerm, term));
+			labelTerms[i] = labelTerm;
+			i++;
+		}
+
+		clearState();
+		status = checkCancellable(() -> z3Solver.check(labelTerms));
 		return status;
 	}
 
+	/**
+	 * Run a check that is interrupted if the cancellation token of the current thread is
+	 * cancelled.
+	 */
+	private SolverStatus checkCancellable(final Supplier<Status> check) {
+		final CancellationToken cancellationToken = CancellationToken.current();
+		cancellationToken.throwIfCancelled();
+		final Timer timer = Metrics.current().timer("solver.check");
+		final long start = timer.start();
+		final Status z3Status;
+		try (var registration = cancellationToken.onCancel(z3Context::interrupt)) {
+			z3Status = check.get();
+		} finally {
+			timer.stop(start);
+		}
+		// An interrupted check returns unknown
+		cancellationToken.throwIfCancelled();
+		return transformStatus(z3Status);
+	}
+
+	private void releaseAssumptions() {
+		if (assumptionFrame) {
+			z3Solver.pop();
+			checkAssumptions.clear();
+			assumptionFrame = false;
+		}
+	}
+
 	private SolverStatus transformStatus(final Status z3Status) {
 		switch (z3Status) {
 			case SATISFIABLE:
@@ -130,12 +194,22 @@ final class Z3Solver implements UCSolver, Solver {
 
 	@Override
 	public void push() {
+		if (assumptionFrame) {
+			// Push keeps the result of the last check, so it has to be extracted before releasing the assumptions
+			if (status == SolverStatus.SAT && model == null) {
+				model = extractModel();
+			} else if (status == SolverStatus.UNSAT && unsatCore == null) {
+				unsatCore = extractUnsatCore();
+			}
+			releaseAssumptions();
+		}
 		assertions.push();
 		z3Solver.push();
 	}
 
 	@Override
 	public void pop(final int n) {
+		releaseAssumptions();
 		assertions.pop(n);
 		z3Solver.pop(n);
 		clearState();
@@ -146,6 +220,8 @@ final class Z3Solver implements UCSolver, Solver {
 		z3Solver.reset();
 		assertions.clear();
 		assumptions.clear();
+		checkAssumptions.clear();
+		assumptionFrame = false;
 		symbolTable.clear();
 		transformationManager.reset();
 		clearState();
@@ -205,7 +281,8 @@ final class Z3Solver implements UCSolver, Solver {
 			checkState(term.isConst(), "Term is not constant.");
 
 			final String label = term.toString();
-			final Expr<BoolType> assumption = assumptions.get(label);
+			final Expr<BoolType> assumption = assumptions.containsKey(label) ? assumptions.get(label)
+					: checkAssumptions.get(label);
 
 			assert assumption != null;
 			unsatCore.add(assumption);
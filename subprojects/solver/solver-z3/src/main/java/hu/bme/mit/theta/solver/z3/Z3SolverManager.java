@@ -16,7 +16,7 @@ import static com.google.common.base.Preconditions.checkState;
 public final class Z3SolverManager extends SolverManager {
     private static final String NAME = "Z3";
 
-    private boolean closed = false;
+    private volatile boolean closed = false;
     private final Set<SolverBase> instantiatedSolvers = new HashSet<>();
 
     private Z3SolverManager() {}
@@ -44,6 +44,20 @@ public final class Z3SolverManager extends SolverManager {
         closed = true;
     }
 
+    // Solvers may be created concurrently, e.g., by the configurations of a parallel portfolio
+    private synchronized <T extends SolverBase> T register(final T solver) {
+        if (closed) {
+            try {
+                solver.close();
+            } catch (final Exception e) {
+                throw new IllegalStateException("Could not close solver", e);
+            }
+            throw new IllegalStateException("Solver manager was closed");
+        }
+        instantiatedSolvers.add(solver);
+        return solver;
+    }
+
     private final class ManagedFactory implements SolverFactory {
         private final SolverFactory solverFactory;
 
@@ -54,25 +68,19 @@ public final class Z3SolverManager extends SolverManager {
         @Override
         public Solver createSolver() {
             checkState(!closed, "Solver manager was closed");
-            final var solver = solverFactory.createSolver();
-            instantiatedSolvers.add(solver);
-            return solver;
+            return register(solverFactory.createSolver());
         }
 
         @Override
         public UCSolver createUCSolver() {
             checkState(!closed, "Solver manager was closed");
-            final var solver = solverFactory.createUCSolver();
-            instantiatedSolvers.add(solver);
-            return solver;
+            return register(solverFactory.createUCSolver());
         }
 
         @Override
         public ItpSolver createItpSolver() {
             checkState(!closed, "Solver manager was closed");
-            final var solver = solverFactory.createItpSolver();
-            instantiatedSolvers.add(solver);
-            return solver;
+            return register(solverFactory.createItpSolver());
         }
     }
 }
@@ -17,6 +17,8 @@ package hu.bme.mit.theta.solver.z3;
 
 import com.microsoft.z3.Context;
 
+import hu.bme.mit.theta.common.metrics.Metrics;
+import hu.bme.mit.theta.common.metrics.Timer;
 import hu.bme.mit.theta.core.decl.Decl;
 import hu.bme.mit.theta.core.type.Expr;
 import hu.bme.mit.theta.core.type.Type;
@@ -42,7 +44,15 @@ final class Z3TransformationManager {
 	}
 
 	public com.microsoft.z3.Expr toTerm(final Expr<?> expr) {
-		return exprTransformer.toTerm(expr);
+		final Timer timer = Metrics.current().timer("solver.transform");
+		final long start = timer.start();
+		final com.microsoft.z3.Expr term;
+		try {
+			term = exprTransformer.toTerm(expr);
+		} finally {
+			timer.stop(start);
+		}
+		return term;
 	}
 
 	public void reset() {
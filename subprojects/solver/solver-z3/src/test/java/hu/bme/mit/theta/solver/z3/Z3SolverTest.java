@@ -114,6 +114,47 @@ public final class Z3SolverTest {
 		solver.pop();
 	}
 
+	@Test
+	public void testCheckAssumptions() {
+		final ConstDecl<IntType> cx = Const("x", Int());
+		final ConstDecl<IntType> cy = Const("y", Int());
+
+		solver.add(Eq(cx.getRef(), Add(cy.getRef(), Int(1))));
+
+		// Assumptions only hold for a single check
+		assertTrue(solver.check(List.of(IntExprs.Lt(cx.getRef(), cy.getRef()))).isUnsat());
+		assertTrue(solver.check(List.of(Eq(cy.getRef(), Int(2)))).isSat());
+		assertEquals(Int(3), solver.getModel().eval(cx).get());
+		assertTrue(solver.check().isSat());
+		assertEquals(1, solver.getAssertions().size());
+
+		// The model of the last check is kept after a push
+		assertTrue(solver.check(List.of(Eq(cy.getRef(), Int(4)))).isSat());
+		solver.push();
+		assertEquals(Int(5), solver.getModel().eval(cx).get());
+		solver.add(Eq(cy.getRef(), Int(0)));
+		assertTrue(solver.check(List.of(Eq(cx.getRef(), Int(2)))).isUnsat());
+		solver.pop();
+		assertTrue(solver.check(List.of(Eq(cx.getRef(), Int(2)))).isSat());
+	}
+
+	@Test
+	public void testCheckAssumptionsUnsatCore() {
+		final UCSolver solver = Z3SolverFactory.getInstance().createUCSolver();
+		final ConstDecl<IntType> cx = Const("x", Int());
+		final Expr<BoolType> xEq0 = Eq(cx.getRef(), Int(0));
+		final Expr<BoolType> xEq1 = Eq(cx.getRef(), Int(1));
+		final Expr<BoolType> xGt5 = IntExprs.Gt(cx.getRef(), Int(5));
+
+		solver.track(xEq0);
+
+		assertTrue(solver.check(List.of(xGt5, xEq1)).isUnsat());
+		assertTrue(solver.getUnsatCore().contains(xEq0));
+		assertTrue(solver.getUnsatCore().size() >= 2);
+
+		assertTrue(solver.check().isSat());
+	}
+
 	@Test
 	public void testFunc() {
 		// Arrange
@@ -16,6 +16,17 @@ public interface SolverBase extends AutoCloseable {
      */
     SolverStatus check();
 
+    /**
+     * Check if the currently added expressions are satisfiable under the given assumptions.
+     * The assumptions are only considered by this check, they are not added to the solver
+     * and they are not returned by {@link #getAssertions()}. The model (and the unsat core,
+     * which may also contain assumptions) can be queried the same way as after {@link #check()}.
+     *
+     * @param assumptions Expressions assumed to hold
+     * @return Status
+     */
+    SolverStatus check(final Collection<? extends Expr<BoolType>> assumptions);
+
     /**
      * Push the current solver state. When calling {@link #pop()}, all expressions added after
      * the last push will be removed.
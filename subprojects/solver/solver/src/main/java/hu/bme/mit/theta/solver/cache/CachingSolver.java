@@ -0,0 +1,40 @@
+/*
+ *  Copyright 2022 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.solver.cache;
+
+import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.booltype.BoolType;
+import hu.bme.mit.theta.solver.Solver;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Solver decorator that answers repeated queries from a {@link SolverCache}.
+ */
+public final class CachingSolver extends CachingSolverBase<Solver> implements Solver {
+
+	CachingSolver(final Solver solver, final SolverCache cache, final boolean cacheModels) {
+		super(solver, cache, cacheModels);
+	}
+
+	@Override
+	public void add(final Expr<BoolType> assertion) {
+		checkNotNull(assertion);
+		solver.add(assertion);
+		addCanonized(assertion);
+	}
+
+}
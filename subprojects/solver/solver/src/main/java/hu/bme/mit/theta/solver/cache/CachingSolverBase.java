@@ -0,0 +1,234 @@
+/*
+ *  Copyright 2022 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.solver.cache;
+
+import hu.bme.mit.theta.common.Tuple2;
+import hu.bme.mit.theta.core.model.ImmutableValuation;
+import hu.bme.mit.theta.core.model.Valuation;
+import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.booltype.BoolType;
+import hu.bme.mit.theta.core.utils.ExprCanonizer;
+import hu.bme.mit.theta.core.utils.ExprUtils;
+import hu.bme.mit.theta.solver.SolverBase;
+import hu.bme.mit.theta.solver.SolverStatus;
+import hu.bme.mit.theta.solver.Stack;
+import hu.bme.mit.theta.solver.impl.StackImpl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * Common base of the caching solver decorators. Assertions are passed to the wrapped
+ * solver immediately, but the wrapped solver is only checked if the query is not in the
+ * cache, or if a model or unsat core is requested that is not in the cache.
+ */
+abstract class CachingSolverBase<S extends SolverBase> implements SolverBase {
+
+	protected final S solver;
+	private final SolverCache cache;
+	private final boolean cacheModels;
+
+	// Assertions with their canonized conjuncts
+	private final Stack<Tuple2<Expr<BoolType>, Collection<Expr<BoolType>>>> assertions;
+
+	private List<Tuple2<Expr<BoolType>, Collection<Expr<BoolType>>>> assumptions;
+	private SolverCache.Entry entry;
+	private boolean solverChecked;
+	private Valuation model;
+	private Collection<Expr<BoolType>> unsatCore;
+
+	protected CachingSolverBase(final S solver, final SolverCache cache, final boolean cacheModels) {
+		this.solver = checkNotNull(solver);
+		this.cache = checkNotNull(cache);
+		this.cacheModels = cacheModels;
+		this.assertions = new StackImpl<>();
+		this.assumptions = null;
+	}
+
+	protected final void addCanonized(final Expr<BoolType> assertion) {
+		assertions.add(canonize(assertion));
+		clearState();
+	}
+
+	private static Tuple2<Expr<BoolType>, Collection<Expr<BoolType>>> canonize(final Expr<BoolType> expr) {
+		Expr<BoolType> canonized;
+		try {
+			canonized = ExprCanonizer.canonize(expr);
+		} catch (final UnsupportedOperationException e) {
+			// Some types (e.g., bitvectors) cannot be canonized, so only the equal assertions hit
+			canonized = expr;
+		}
+		return Tuple2.of(expr, ExprUtils.getConjuncts(canonized));
+	}
+
+	@Override
+	public SolverStatus check() {
+		clearState();
+		return checkCached();
+	}
+
+	@Override
+	public SolverStatus check(final Collection<? extends Expr<BoolType>> assumptions) {
+		checkNotNull(assumptions);
+		clearState();
+		this.assumptions = new ArrayList<>(assumptions.size());
+		for (final Expr<BoolType> assumption : assumptions) {
+			this.assumptions.add(canonize(assumption));
+		}
+		return checkCached();
+	}
+
+	private SolverStatus checkCached() {
+		final Set<Expr<BoolType>> conjuncts = new HashSet<>();
+		for (final var assertion : assertions) {
+			conjuncts.addAll(assertion.get2());
+		}
+		if (assumptions != null) {
+			for (final var assumption : assumptions) {
+				conjuncts.addAll(assumption.get2());
+			}
+		}
+
+		final SolverCache.Query query = new SolverCache.Query(conjuncts);
+		entry = cache.get(query);
+		if (entry == null) {
+			final long start = System.nanoTime();
+			final SolverStatus status = checkSolver();
+			entry = cache.put(query, status, System.nanoTime() - start);
+		}
+		return entry.getStatus();
+	}
+
+	private SolverStatus checkSolver() {
+		solverChecked = true;
+		if (assumptions == null) {
+			return solver.check();
+		} else {
+			final List<Expr<BoolType>> exprs = new ArrayList<>(assumptions.size());
+			assumptions.forEach(a -> exprs.add(a.get1()));
+			return solver.check(exprs);
+		}
+	}
+
+	@Override
+	public void push() {
+		assertions.push();
+		solver.push();
+	}
+
+	@Override
+	public void pop(final int n) {
+		assertions.pop(n);
+		solver.pop(n);
+		clearState();
+	}
+
+	@Override
+	public void reset() {
+		assertions.clear();
+		solver.reset();
+		clearState();
+	}
+
+	@Override
+	public SolverStatus getStatus() {
+		checkState(entry != null, "Solver status is unknown.");
+		return entry.getStatus();
+	}
+
+	@Override
+	public Valuation getModel() {
+		checkState(entry != null && entry.getStatus().isSat(), "Cannot get model if status is not SAT.");
+
+		if (model == null) {
+			model = entry.getModel();
+		}
+		if (model == null) {
+			if (!solverChecked) {
+				checkSolver();
+			}
+			model = solver.getModel();
+			if (cacheModels) {
+				// The model of the wrapped solver may refer to its internal state
+				model = ImmutableValuation.copyOf(model);
+				entry.setModel(model);
+			}
+		}
+		return model;
+	}
+
+	protected final Collection<Expr<BoolType>> getUnsatCore(final Supplier<Collection<Expr<BoolType>>> solverUnsatCore) {
+		checkState(entry != null && entry.getStatus().isUnsat(), "Cannot get unsat core if status is not UNSAT");
+
+		if (unsatCore == null) {
+			final Set<Expr<BoolType>> cachedUnsatCore = entry.getUnsatCore();
+			if (cachedUnsatCore == null) {
+				if (!solverChecked) {
+					checkSolver();
+				}
+				unsatCore = solverUnsatCore.get();
+				final Set<Expr<BoolType>> canonizedUnsatCore = new HashSet<>();
+				unsatCore.forEach(e -> canonizedUnsatCore.addAll(canonize(e).get2()));
+				entry.setUnsatCore(canonizedUnsatCore);
+			} else {
+				// Every canonized conjunct of the core belongs to a current assertion or assumption
+				unsatCore = new LinkedList<>();
+				addCovering(assertions, cachedUnsatCore);
+				if (assumptions != null) {
+					addCovering(assumptions, cachedUnsatCore);
+				}
+			}
+		}
+		return Collections.unmodifiableCollection(unsatCore);
+	}
+
+	private void addCovering(final Iterable<Tuple2<Expr<BoolType>, Collection<Expr<BoolType>>>> exprs,
+							 final Set<Expr<BoolType>> canonizedUnsatCore) {
+		for (final var expr : exprs) {
+			if (expr.get2().stream().anyMatch(canonizedUnsatCore::contains)) {
+				unsatCore.add(expr.get1());
+			}
+		}
+	}
+
+	@Override
+	public Collection<Expr<BoolType>> getAssertions() {
+		return solver.getAssertions();
+	}
+
+	@Override
+	public void close() throws Exception {
+		solver.close();
+	}
+
+	private void clearState() {
+		assumptions = null;
+		entry = null;
+		solverChecked = false;
+		model = null;
+		unsatCore = null;
+	}
+
+}
@@ -0,0 +1,75 @@
+/*
+ *  Copyright 2022 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.solver.cache;
+
+import hu.bme.mit.theta.solver.ItpSolver;
+import hu.bme.mit.theta.solver.Solver;
+import hu.bme.mit.theta.solver.SolverFactory;
+import hu.bme.mit.theta.solver.UCSolver;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Factory wrapping the solvers of another factory into caching decorators. All solvers
+ * created by the factory share the same {@link SolverCache}. Interpolating solvers are
+ * not cached, as interpolants depend on the markers of the assertions.
+ */
+public final class CachingSolverFactory implements SolverFactory {
+	private final SolverFactory solverFactory;
+	private final SolverCache cache;
+	private final boolean cacheModels;
+
+	private CachingSolverFactory(final SolverFactory solverFactory, final SolverCache cache, final boolean cacheModels) {
+		this.solverFactory = checkNotNull(solverFactory);
+		this.cache = checkNotNull(cache);
+		this.cacheModels = cacheModels;
+	}
+
+	/**
+	 * Create a factory with a new cache of the given size, caching statuses and unsat cores.
+	 */
+	public static CachingSolverFactory create(final SolverFactory solverFactory, final int cacheSize) {
+		return new CachingSolverFactory(solverFactory, SolverCache.create(cacheSize), false);
+	}
+
+	/**
+	 * Create a factory with the given cache. If models are also cached, they are copied
+	 * from the wrapped solvers when first requested.
+	 */
+	public static CachingSolverFactory create(final SolverFactory solverFactory, final SolverCache cache,
+											  final boolean cacheModels) {
+		return new CachingSolverFactory(solverFactory, cache, cacheModels);
+	}
+
+	public SolverCache getCache() {
+		return cache;
+	}
+
+	@Override
+	public Solver createSolver() {
+		return new CachingSolver(solverFactory.createSolver(), cache, cacheModels);
+	}
+
+	@Override
+	public UCSolver createUCSolver() {
+		return new CachingUCSolver(solverFactory.createUCSolver(), cache, cacheModels);
+	}
+
+	@Override
+	public ItpSolver createItpSolver() {
+		return solverFactory.createItpSolver();
+	}
+}
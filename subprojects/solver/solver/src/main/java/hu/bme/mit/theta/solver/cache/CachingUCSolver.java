@@ -0,0 +1,49 @@
+/*
+ *  Copyright 2022 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.solver.cache;
+
+import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.booltype.BoolType;
+import hu.bme.mit.theta.solver.UCSolver;
+
+import java.util.Collection;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Unsat core solver decorator that answers repeated queries from a {@link SolverCache}.
+ * Unsat cores are cached as canonized conjuncts, and are mapped back to the tracked
+ * expressions (and assumptions) of the current query on a hit.
+ */
+public final class CachingUCSolver extends CachingSolverBase<UCSolver> implements UCSolver {
+
+	CachingUCSolver(final UCSolver solver, final SolverCache cache, final boolean cacheModels) {
+		super(solver, cache, cacheModels);
+	}
+
+	@Override
+	public void track(final Expr<BoolType> assertion) {
+		checkNotNull(assertion);
+		solver.track(assertion);
+		addCanonized(assertion);
+	}
+
+	@Override
+	public Collection<Expr<BoolType>> getUnsatCore() {
+		return getUnsatCore(solver::getUnsatCore);
+	}
+
+}
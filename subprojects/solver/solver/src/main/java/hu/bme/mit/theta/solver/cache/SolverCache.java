@@ -0,0 +1,189 @@
+/*
+ *  Copyright 2022 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.solver.cache;
+
+import com.google.common.collect.ImmutableSet;
+import hu.bme.mit.theta.common.Utils;
+import hu.bme.mit.theta.core.model.Valuation;
+import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.booltype.BoolType;
+import hu.bme.mit.theta.solver.SolverStatus;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Bounded cache of solver results, shared by the solvers of a {@link CachingSolverFactory}.
+ * Queries are identified by the set of canonized conjuncts of the assertions (and
+ * assumptions), the least recently used query is evicted if the cache is full. Besides
+ * the status, the model and the unsat core (as canonized conjuncts) of a query can also
+ * be stored. The cache is thread-safe.
+ */
+public final class SolverCache {
+
+	private final int maxSize;
+	private final Map<Query, Entry> entries;
+
+	private long hits;
+	private long misses;
+	private long evictions;
+	private long savedTimeNanos;
+
+	private SolverCache(final int maxSize) {
+		checkArgument(maxSize > 0, "Cache size must be positive");
+		this.maxSize = maxSize;
+		this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<Query, Entry> eldest) {
+				if (size() > SolverCache.this.maxSize) {
+					evictions++;
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+	public static SolverCache create(final int maxSize) {
+		return new SolverCache(maxSize);
+	}
+
+	synchronized Entry get(final Query query) {
+		final Entry entry = entries.get(query);
+		if (entry != null) {
+			hits++;
+			savedTimeNanos += entry.solveTimeNanos;
+		} else {
+			misses++;
+		}
+		return entry;
+	}
+
+	synchronized Entry put(final Query query, final SolverStatus status, final long solveTimeNanos) {
+		final Entry entry = new Entry(status, solveTimeNanos);
+		entries.put(query, entry);
+		return entry;
+	}
+
+	public synchronized void clear() {
+		entries.clear();
+	}
+
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+	public synchronized long getEvictions() {
+		return evictions;
+	}
+
+	/**
+	 * Get the total solver time of the queries answered from the cache, measured
+	 * when they were first solved.
+	 */
+	public synchronized Duration getSavedTime() {
+		return Duration.ofNanos(savedTimeNanos);
+	}
+
+	@Override
+	public synchronized String toString() {
+		return Utils.lispStringBuilder(getClass().getSimpleName()).add("size " + entries.size() + "/" + maxSize)
+				.add("hits " + hits).add("misses " + misses).add("evictions " + evictions)
+				.add("saved " + Duration.ofNanos(savedTimeNanos).toMillis() + " ms").toString();
+	}
+
+	static final class Query {
+		private final Set<Expr<BoolType>> conjuncts;
+		private final int hashCode;
+
+		Query(final Set<Expr<BoolType>> conjuncts) {
+			this.conjuncts = ImmutableSet.copyOf(conjuncts);
+			this.hashCode = this.conjuncts.hashCode();
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+			if (this == obj) {
+				return true;
+			} else if (obj != null && this.getClass() == obj.getClass()) {
+				final Query that = (Query) obj;
+				return this.hashCode == that.hashCode && this.conjuncts.equals(that.conjuncts);
+			} else {
+				return false;
+			}
+		}
+	}
+
+	/**
+	 * Result of a query. The model and the unsat core are filled in lazily, when they are
+	 * first requested from a solver. Entries may be accessed concurrently, hence the
+	 * volatile fields.
+	 */
+	static final class Entry {
+		private final SolverStatus status;
+		private final long solveTimeNanos;
+		private volatile Valuation model;
+		private volatile Set<Expr<BoolType>> unsatCore;
+
+		private Entry(final SolverStatus status, final long solveTimeNanos) {
+			this.status = checkNotNull(status);
+			this.solveTimeNanos = solveTimeNanos;
+		}
+
+		SolverStatus getStatus() {
+			return status;
+		}
+
+		Valuation getModel() {
+			return model;
+		}
+
+		void setModel(final Valuation model) {
+			this.model = model;
+		}
+
+		Set<Expr<BoolType>> getUnsatCore() {
+			return unsatCore;
+		}
+
+		void setUnsatCore(final Set<Expr<BoolType>> unsatCore) {
+			this.unsatCore = unsatCore;
+		}
+	}
+
+}
@@ -16,6 +16,7 @@
 
 package hu.bme.mit.theta.solver.validator;
 
+import com.google.common.collect.Iterables;
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
 import hu.bme.mit.theta.core.type.booltype.BoolType;
@@ -48,6 +49,20 @@ public class UCSolverValidatorWrapper implements UCSolver {
 		return check;
 	}
 
+	@Override
+	public SolverStatus check(final Collection<? extends Expr<BoolType>> assumptions) {
+		SolverStatus check = solver.check(assumptions);
+		if (check.isSat()) {
+			final Valuation model = solver.getModel();
+			for (Expr<BoolType> assertion : Iterables.concat(solver.getAssertions(), assumptions)) {
+				if (!assertion.eval(model).equals(True())) {
+					throw new RuntimeException("Solver problem: " + assertion);
+				}
+			}
+		}
+		return check;
+	}
+
 	@Override
 	public void push() {
 		solver.push();
@@ -55,7 +70,7 @@ public class UCSolverValidatorWrapper implements UCSolver {
 
 	@Override
 	public void pop(int n) {
-		solver.pop();
+		solver.pop(n);
 	}
 
 	@Override
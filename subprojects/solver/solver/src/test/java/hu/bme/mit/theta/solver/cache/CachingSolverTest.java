@@ -0,0 +1,250 @@
+/*
+ *  Copyright 2022 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.solver.cache;
+
+import hu.bme.mit.theta.core.decl.ConstDecl;
+import hu.bme.mit.theta.core.model.ImmutableValuation;
+import hu.bme.mit.theta.core.model.Valuation;
+import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.booltype.BoolType;
+import hu.bme.mit.theta.core.type.bvtype.BvType;
+import hu.bme.mit.theta.core.utils.ExprUtils;
+import hu.bme.mit.theta.solver.ItpSolver;
+import hu.bme.mit.theta.solver.Solver;
+import hu.bme.mit.theta.solver.SolverFactory;
+import hu.bme.mit.theta.solver.SolverStatus;
+import hu.bme.mit.theta.solver.Stack;
+import hu.bme.mit.theta.solver.UCSolver;
+import hu.bme.mit.theta.solver.impl.StackImpl;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static hu.bme.mit.theta.core.decl.Decls.Const;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.And;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Bool;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Not;
+import static hu.bme.mit.theta.core.type.bvtype.BvExprs.Add;
+import static hu.bme.mit.theta.core.type.bvtype.BvExprs.Bv;
+import static hu.bme.mit.theta.core.type.bvtype.BvExprs.BvType;
+import static hu.bme.mit.theta.core.type.bvtype.BvExprs.Eq;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class CachingSolverTest {
+
+	private static final ConstDecl<BoolType> A = Const("a", Bool());
+	private static final ConstDecl<BoolType> B = Const("b", Bool());
+	private static final ConstDecl<BvType> X = Const("x", BvType(4));
+
+	@Test
+	public void testHit() {
+		final CountingSolverFactory countingFactory = new CountingSolverFactory();
+		final CachingSolverFactory factory = CachingSolverFactory.create(countingFactory, 10);
+
+		final Solver solver1 = factory.createSolver();
+		solver1.add(And(A.getRef(), B.getRef()));
+		assertTrue(solver1.check().isSat());
+
+		// Same conjuncts in a different order and grouping
+		final Solver solver2 = factory.createSolver();
+		solver2.add(B.getRef());
+		solver2.add(A.getRef());
+		assertTrue(solver2.check().isSat());
+
+		assertEquals(1, countingFactory.checks);
+		assertEquals(1, factory.getCache().getHits());
+		assertEquals(1, factory.getCache().getMisses());
+
+		// Models are computed by the wrapped solver on demand
+		solver2.getModel();
+		assertEquals(2, countingFactory.checks);
+
+		solver2.push();
+		solver2.add(Not(A.getRef()));
+		assertTrue(solver2.check().isUnsat());
+		solver2.pop();
+		assertTrue(solver2.check().isSat());
+		assertEquals(3, countingFactory.checks);
+	}
+
+	@Test
+	public void testBitvector() {
+		final CountingSolverFactory countingFactory = new CountingSolverFactory();
+		final CachingSolverFactory factory = CachingSolverFactory.create(countingFactory, 10);
+		final Expr<BoolType> bvEq = Eq(Add(List.of(X.getRef(), Bv(new boolean[]{false, false, false, true}))),
+				Bv(new boolean[]{false, false, true, false}));
+
+		// Bitvector expressions are not canonized, but they are still cached
+		final Solver solver1 = factory.createSolver();
+		solver1.add(And(A.getRef(), bvEq));
+		assertTrue(solver1.check().isSat());
+
+		final Solver solver2 = factory.createSolver();
+		solver2.add(bvEq);
+		solver2.add(A.getRef());
+		assertTrue(solver2.check().isSat());
+		solver2.add(Not(bvEq));
+		assertTrue(solver2.check().isUnsat());
+
+		assertEquals(2, countingFactory.checks);
+		assertEquals(1, factory.getCache().getHits());
+	}
+
+	@Test
+	public void testEviction() {
+		final CountingSolverFactory countingFactory = new CountingSolverFactory();
+		final CachingSolverFactory factory = CachingSolverFactory.create(countingFactory, 1);
+		final Solver solver = factory.createSolver();
+
+		solver.check(List.of(A.getRef()));
+		solver.check(List.of(B.getRef()));
+		solver.check(List.of(A.getRef()));
+
+		assertEquals(3, countingFactory.checks);
+		assertEquals(2, factory.getCache().getEvictions());
+		assertEquals(1, factory.getCache().size());
+	}
+
+	@Test
+	public void testUnsatCore() {
+		final CountingSolverFactory countingFactory = new CountingSolverFactory();
+		final CachingSolverFactory factory = CachingSolverFactory.create(countingFactory, 10);
+
+		final UCSolver solver1 = factory.createUCSolver();
+		solver1.track(A.getRef());
+		solver1.track(And(B.getRef(), Not(A.getRef())));
+		assertTrue(solver1.check().isUnsat());
+		assertEquals(2, solver1.getUnsatCore().size());
+
+		final UCSolver solver2 = factory.createUCSolver();
+		solver2.track(And(Not(A.getRef()), B.getRef()));
+		assertTrue(solver2.check(List.of(A.getRef())).isUnsat());
+		assertEquals(List.of(And(Not(A.getRef()), B.getRef()), A.getRef()), new ArrayList<>(solver2.getUnsatCore()));
+		assertEquals(1, countingFactory.checks);
+	}
+
+	/**
+	 * Propositional solver stub that is unsatisfiable iff a constant and its negation are
+	 * both asserted as conjuncts.
+	 */
+	private static final class CountingSolverFactory implements SolverFactory {
+		private int checks = 0;
+
+		@Override
+		public Solver createSolver() {
+			return new CountingSolver();
+		}
+
+		@Override
+		public UCSolver createUCSolver() {
+			return new CountingSolver();
+		}
+
+		@Override
+		public ItpSolver createItpSolver() {
+			throw new UnsupportedOperationException();
+		}
+
+		private final class CountingSolver implements Solver, UCSolver {
+			private final Stack<Expr<BoolType>> assertions = new StackImpl<>();
+			private SolverStatus status;
+			private List<Expr<BoolType>> lastChecked;
+
+			@Override
+			public void add(final Expr<BoolType> assertion) {
+				assertions.add(assertion);
+				status = null;
+			}
+
+			@Override
+			public void track(final Expr<BoolType> assertion) {
+				add(assertion);
+			}
+
+			@Override
+			public SolverStatus check() {
+				return check(List.of());
+			}
+
+			@Override
+			public SolverStatus check(final Collection<? extends Expr<BoolType>> assumptions) {
+				checks++;
+				lastChecked = new ArrayList<>(assertions.toCollection());
+				lastChecked.addAll(assumptions);
+				status = getUnsatCore(lastChecked).isEmpty() ? SolverStatus.SAT : SolverStatus.UNSAT;
+				return status;
+			}
+
+			private List<Expr<BoolType>> getUnsatCore(final List<Expr<BoolType>> exprs) {
+				return exprs.stream().filter(e -> exprs.stream().anyMatch(f -> contradicts(e, f)))
+						.collect(Collectors.toList());
+			}
+
+			private boolean contradicts(final Expr<BoolType> e, final Expr<BoolType> f) {
+				final Collection<Expr<BoolType>> conjuncts = new ArrayList<>();
+				conjuncts.addAll(ExprUtils.getConjuncts(e));
+				conjuncts.addAll(ExprUtils.getConjuncts(f));
+				return conjuncts.stream().anyMatch(c -> conjuncts.contains(Not(c)));
+			}
+
+			@Override
+			public void push() {
+				assertions.push();
+			}
+
+			@Override
+			public void pop(final int n) {
+				assertions.pop(n);
+				status = null;
+			}
+
+			@Override
+			public void reset() {
+				assertions.clear();
+				status = null;
+			}
+
+			@Override
+			public SolverStatus getStatus() {
+				return status;
+			}
+
+			@Override
+			public Valuation getModel() {
+				return ImmutableValuation.empty();
+			}
+
+			@Override
+			public Collection<Expr<BoolType>> getUnsatCore() {
+				return getUnsatCore(lastChecked);
+			}
+
+			@Override
+			public Collection<Expr<BoolType>> getAssertions() {
+				return assertions.toCollection();
+			}
+
+			@Override
+			public void close() {
+			}
+		}
+	}
+
+}
@@ -1,5 +1,6 @@
 plugins {
     id("java-common")
+    id("jmh-benchmark")
 }
 
 dependencies {
@@ -9,4 +10,5 @@ dependencies {
     implementation(project(":theta-sts"))
     implementation(project(":theta-solver"))
     testImplementation(project(":theta-solver-z3"))
+    "jmhImplementation"(project(":theta-solver-z3"))
 }
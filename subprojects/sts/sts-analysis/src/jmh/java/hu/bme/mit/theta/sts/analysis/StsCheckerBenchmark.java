@@ -0,0 +1,98 @@
+/*
+ *  Copyright 2022 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.sts.analysis;
+
+import hu.bme.mit.theta.analysis.Action;
+import hu.bme.mit.theta.analysis.Prec;
+import hu.bme.mit.theta.analysis.State;
+import hu.bme.mit.theta.analysis.algorithm.SafetyResult;
+import hu.bme.mit.theta.common.Utils;
+import hu.bme.mit.theta.solver.z3.Z3SolverFactory;
+import hu.bme.mit.theta.sts.STS;
+import hu.bme.mit.theta.sts.aiger.AigerParser;
+import hu.bme.mit.theta.sts.aiger.AigerToSts;
+import hu.bme.mit.theta.sts.analysis.config.StsConfig;
+import hu.bme.mit.theta.sts.analysis.config.StsConfigBuilder;
+import hu.bme.mit.theta.sts.analysis.config.StsConfigBuilder.Algorithm;
+import hu.bme.mit.theta.sts.dsl.StsDslManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+import static hu.bme.mit.theta.sts.analysis.config.StsConfigBuilder.Domain.PRED_CART;
+import static hu.bme.mit.theta.sts.analysis.config.StsConfigBuilder.Refinement.SEQ_ITP;
+
+/**
+ * Compares the algorithms on the bundled STS models: the AIGER circuits of this module and
+ * of the STS module, and the STS specifications of this module. CEGAR runs with the
+ * Cartesian predicate abstraction and sequence interpolation.
+ */
+@org.openjdk.jmh.annotations.State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StsCheckerBenchmark {
+
+	@Param({"src/test/resources/hw1_false.aag", "src/test/resources/hw2_true.aag",
+			"../sts/src/test/resources/simple.aag", "../sts/src/test/resources/simple2.aag",
+			"../sts/src/test/resources/simple3.aag", "../sts/src/test/resources/coi1.aag",
+			"../sts/src/test/resources/coi2.aag", "../sts/src/test/resources/constprop1.aag",
+			"../sts/src/test/resources/constprop2.aag",
+			"src/test/resources/boolean1.system", "src/test/resources/boolean2.system",
+			"src/test/resources/counter.system", "src/test/resources/counter_bad.system",
+			"src/test/resources/loop.system", "src/test/resources/loop_bad.system",
+			"src/test/resources/readerswriters.system", "src/test/resources/simple1.system",
+			"src/test/resources/simple2.system", "src/test/resources/simple3.system"})
+	public String model;
+
+	@Param({"CEGAR", "KINDUCTION", "IC3"})
+	public Algorithm algorithm;
+
+	private STS sts;
+
+	@Setup
+	public void setup() throws IOException {
+		if (model.endsWith(".aag")) {
+			sts = AigerToSts.createSts(AigerParser.parse(model));
+		} else {
+			try (InputStream inputStream = new FileInputStream(model)) {
+				sts = Utils.singleElementOf(StsDslManager.createStsSpec(inputStream).getAllSts());
+			}
+		}
+	}
+
+	@Benchmark
+	public SafetyResult<?, ?> check() {
+		final StsConfig<? extends State, ? extends Action, ? extends Prec> config =
+				new StsConfigBuilder(PRED_CART, SEQ_ITP, Z3SolverFactory.getInstance()).algorithm(algorithm).build(sts);
+		return config.check();
+	}
+
+}
@@ -36,6 +36,10 @@ public final class StsAction implements ExprAction {
 		this.trans = sts.getTrans();
 	}
 
+	public static StsAction create(final STS sts) {
+		return new StsAction(sts);
+	}
+
 	@Override
 	public Expr<BoolType> toExpr() {
 		return trans;
@@ -29,6 +29,8 @@ import hu.bme.mit.theta.analysis.algorithm.cegar.BasicAbstractor;
 import hu.bme.mit.theta.analysis.algorithm.cegar.CegarChecker;
 import hu.bme.mit.theta.analysis.algorithm.cegar.Refiner;
 import hu.bme.mit.theta.analysis.algorithm.cegar.abstractor.StopCriterions;
+import hu.bme.mit.theta.analysis.algorithm.ic3.Ic3Checker;
+import hu.bme.mit.theta.analysis.algorithm.kind.KInductionChecker;
 import hu.bme.mit.theta.analysis.expl.ExplAnalysis;
 import hu.bme.mit.theta.analysis.expl.ExplPrec;
 import hu.bme.mit.theta.analysis.expl.ExplState;
@@ -56,6 +58,7 @@ import hu.bme.mit.theta.analysis.pred.PredAbstractors.PredAbstractor;
 import hu.bme.mit.theta.analysis.pred.PredAnalysis;
 import hu.bme.mit.theta.analysis.pred.PredPrec;
 import hu.bme.mit.theta.analysis.pred.PredState;
+import hu.bme.mit.theta.analysis.unit.UnitPrec;
 import hu.bme.mit.theta.analysis.waitlist.PriorityWaitlist;
 import hu.bme.mit.theta.common.logging.Logger;
 import hu.bme.mit.theta.common.logging.NullLogger;
@@ -76,6 +79,10 @@ import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Not;
 
 public final class StsConfigBuilder {
 
+	public enum Algorithm {
+		CEGAR, KINDUCTION, IC3
+	}
+
 	public enum Domain {
 		EXPL, PRED_BOOL, PRED_CART, PRED_SPLIT
 	}
@@ -126,6 +133,7 @@ public final class StsConfigBuilder {
 	private final SolverFactory solverFactory;
 	private final Domain domain;
 	private final Refinement refinement;
+	private Algorithm algorithm = Algorithm.CEGAR;
 	private Search search = Search.BFS;
 	private PredSplit predSplit = PredSplit.WHOLE;
 	private InitPrec initPrec = InitPrec.EMPTY;
@@ -142,6 +150,11 @@ public final class StsConfigBuilder {
 		return this;
 	}
 
+	public StsConfigBuilder algorithm(final Algorithm algorithm) {
+		this.algorithm = algorithm;
+		return this;
+	}
+
 	public StsConfigBuilder search(final Search search) {
 		this.search = search;
 		return this;
@@ -167,7 +180,17 @@ public final class StsConfigBuilder {
 		final Expr<BoolType> init = sts.getInit();
 		final Expr<BoolType> negProp = Not(sts.getProp());
 
-		if (domain == Domain.EXPL) {
+		if (algorithm == Algorithm.KINDUCTION) {
+			// The predicates of the initial precision are used as candidate invariants
+			final SafetyChecker<ExplState, StsAction, PredPrec> checker = KInductionChecker.create(init,
+					StsAction.create(sts), sts.getProp(), sts.getVars(), solverFactory, logger, -1, true);
+			final PredPrec prec = initPrec.builder.createPred(sts);
+			return StsConfig.create(checker, prec);
+		} else if (algorithm == Algorithm.IC3) {
+			final SafetyChecker<ExplState, StsAction, UnitPrec> checker = Ic3Checker.create(init,
+					StsAction.create(sts), sts.getProp(), sts.getVars(), solverFactory, logger, -1);
+			return StsConfig.create(checker, UnitPrec.getInstance());
+		} else if (domain == Domain.EXPL) {
 			final Solver analysisSolver = solverFactory.createSolver();
 			final Predicate<ExplState> target = new ExplStatePredicate(negProp, analysisSolver);
 			final Analysis<ExplState, ExprAction, ExplPrec> analysis = ExplAnalysis.create(analysisSolver, init);
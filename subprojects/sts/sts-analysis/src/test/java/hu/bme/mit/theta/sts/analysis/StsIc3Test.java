@@ -0,0 +1,109 @@
+/*
+ *  Copyright 2022 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.sts.analysis;
+
+import hu.bme.mit.theta.analysis.Action;
+import hu.bme.mit.theta.analysis.Prec;
+import hu.bme.mit.theta.analysis.State;
+import hu.bme.mit.theta.analysis.algorithm.SafetyResult;
+import hu.bme.mit.theta.analysis.expl.ExplState;
+import hu.bme.mit.theta.common.Utils;
+import hu.bme.mit.theta.core.utils.ExprUtils;
+import hu.bme.mit.theta.solver.z3.Z3SolverFactory;
+import hu.bme.mit.theta.sts.STS;
+import hu.bme.mit.theta.sts.aiger.AigerParser;
+import hu.bme.mit.theta.sts.aiger.AigerToSts;
+import hu.bme.mit.theta.sts.analysis.config.StsConfig;
+import hu.bme.mit.theta.sts.analysis.config.StsConfigBuilder;
+import hu.bme.mit.theta.sts.dsl.StsDslManager;
+import hu.bme.mit.theta.sts.dsl.StsSpec;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.False;
+import static hu.bme.mit.theta.sts.analysis.config.StsConfigBuilder.Domain.PRED_CART;
+import static hu.bme.mit.theta.sts.analysis.config.StsConfigBuilder.Refinement.SEQ_ITP;
+
+@RunWith(value = Parameterized.class)
+public class StsIc3Test {
+	@Parameterized.Parameter(value = 0)
+	public String filePath;
+
+	@Parameterized.Parameter(value = 1)
+	public boolean isSafe;
+
+	@Parameterized.Parameters(name = "{index}: {0}, {1}")
+	public static Collection<Object[]> data() {
+		return Arrays.asList(new Object[][]{
+				{ "src/test/resources/hw1_false.aag", false },
+
+				{ "src/test/resources/hw2_true.aag", true },
+
+				{ "src/test/resources/boolean1.system", false },
+
+				{ "src/test/resources/boolean2.system", false },
+
+				{ "src/test/resources/counter.system", true },
+
+				{ "src/test/resources/counter_bad.system", false },
+
+				{ "src/test/resources/counter_parametric.system", true },
+
+				{ "src/test/resources/loop.system", true },
+
+				{ "src/test/resources/loop_bad.system", false },
+
+				{ "src/test/resources/multipleinitial.system", false },
+
+				{ "src/test/resources/readerswriters.system", true },
+
+				{ "src/test/resources/simple1.system", false },
+
+				{ "src/test/resources/simple2.system", true },
+
+				{ "src/test/resources/simple3.system", false },
+		});
+	}
+
+	@Test
+	public void test() throws IOException {
+		final STS sts;
+		if (filePath.endsWith("aag")) sts = AigerToSts.createSts(AigerParser.parse(filePath));
+		else {
+			final StsSpec spec = StsDslManager.createStsSpec(new FileInputStream(filePath));
+			sts = Utils.singleElementOf(spec.getAllSts());
+		}
+		final StsConfig<? extends State, ? extends Action, ? extends Prec> config
+				= new StsConfigBuilder(PRED_CART, SEQ_ITP, Z3SolverFactory.getInstance())
+				.algorithm(StsConfigBuilder.Algorithm.IC3).build(sts);
+		final SafetyResult<?, ?> result = config.check();
+		Assert.assertEquals(isSafe, result.isSafe());
+		if (result.isUnsafe()) {
+			final List<?> states = result.asUnsafe().getTrace().getStates();
+			final ExplState last = (ExplState) states.get(states.size() - 1);
+			Assert.assertEquals(False(), ExprUtils.simplify(sts.getProp(), last));
+		}
+	}
+
+}
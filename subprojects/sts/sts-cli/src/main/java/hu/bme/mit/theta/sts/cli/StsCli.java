@@ -25,8 +25,12 @@ import com.beust.jcommander.ParameterException;
 import com.google.common.base.Stopwatch;
 
 import hu.bme.mit.theta.analysis.Trace;
+import hu.bme.mit.theta.analysis.algorithm.ARG;
 import hu.bme.mit.theta.analysis.algorithm.SafetyResult;
+import hu.bme.mit.theta.analysis.algorithm.Statistics;
 import hu.bme.mit.theta.analysis.algorithm.cegar.CegarStatistics;
+import hu.bme.mit.theta.analysis.algorithm.ic3.Ic3Statistics;
+import hu.bme.mit.theta.analysis.algorithm.kind.KInductionStatistics;
 import hu.bme.mit.theta.analysis.expr.ExprState;
 import hu.bme.mit.theta.analysis.expr.refinement.PruneStrategy;
 import hu.bme.mit.theta.common.CliUtils;
@@ -54,6 +58,7 @@ import hu.bme.mit.theta.sts.dsl.StsDslManager;
 import hu.bme.mit.theta.sts.dsl.StsSpec;
 import hu.bme.mit.theta.sts.analysis.config.StsConfig;
 import hu.bme.mit.theta.sts.analysis.config.StsConfigBuilder;
+import hu.bme.mit.theta.sts.analysis.config.StsConfigBuilder.Algorithm;
 import hu.bme.mit.theta.sts.analysis.config.StsConfigBuilder.Domain;
 import hu.bme.mit.theta.sts.analysis.config.StsConfigBuilder.InitPrec;
 import hu.bme.mit.theta.sts.analysis.config.StsConfigBuilder.PredSplit;
@@ -68,6 +73,9 @@ public class StsCli {
 	private final String[] args;
 	private final TableWriter writer;
 
+	@Parameter(names = {"--algorithm"}, description = "Algorithm")
+	Algorithm algorithm = Algorithm.CEGAR;
+
 	@Parameter(names = {"--domain"}, description = "Abstract domain")
 	Domain domain = Domain.PRED_CART;
 
@@ -110,16 +118,25 @@ public class StsCli {
 	private Logger logger;
 
 	public StsCli(final String[] args) {
+		this(args, System.out);
+	}
+
+	StsCli(final String[] args, final PrintStream out) {
 		this.args = args;
-		writer = new BasicTableWriter(System.out, ",", "\"", "\"");
+		writer = new BasicTableWriter(out, ",", "\"", "\"");
 	}
 
 	public static void main(final String[] args) {
 		final StsCli mainApp = new StsCli(args);
-		mainApp.run();
+		if (!mainApp.run()) {
+			System.exit(1);
+		}
 	}
 
-	private void run() {
+	/**
+	 * Runs the tool and returns whether it finished without an error.
+	 */
+	boolean run() {
 		try {
 			JCommander.newBuilder().addObject(this).programName(JAR_NAME).build().parse(args);
 			logger = benchmarkMode ? NullLogger.getInstance() : new ConsoleLogger(logLevel);
@@ -127,17 +144,17 @@ public class StsCli {
 			System.out.println("Invalid parameters, details:");
 			System.out.println(ex.getMessage());
 			ex.usage();
-			return;
+			return true;
 		}
 
 		if (headerOnly) {
 			printHeader();
-			return;
+			return true;
 		}
 
 		if (versionInfo) {
 			CliUtils.printVersion(System.out);
-			return;
+			return true;
 		}
 
 		try {
@@ -152,8 +169,9 @@ public class StsCli {
 			}
 		} catch (final Throwable ex) {
 			printError(ex);
-			System.exit(1);
+			return false;
 		}
+		return true;
 	}
 
 	private SafetyResult<?, ?> check(StsConfig<?, ?, ?> configuration) throws Exception {
@@ -194,7 +212,7 @@ public class StsCli {
 	private StsConfig<?, ?, ?> buildConfiguration(final STS sts) throws Exception {
 		try {
 			return new StsConfigBuilder(domain, refinement, Z3SolverFactory.getInstance())
-					.initPrec(initPrec).search(search)
+					.algorithm(algorithm).initPrec(initPrec).search(search)
 					.predSplit(predSplit).pruneStrategy(pruneStrategy).logger(logger).build(sts);
 		} catch (final Exception ex) {
 			throw new Exception("Could not create configuration: " + ex.getMessage(), ex);
@@ -202,17 +220,40 @@ public class StsCli {
 	}
 
 	private void printResult(final SafetyResult<?, ?> status, final STS sts, final long totalTimeMs) {
-		final CegarStatistics stats = (CegarStatistics) status.getStats().get();
+		final Statistics stats = status.getStats().get();
 		if (benchmarkMode) {
 			writer.cell(status.isSafe());
 			writer.cell(totalTimeMs);
-			writer.cell(stats.getAlgorithmTimeMs());
-			writer.cell(stats.getAbstractorTimeMs());
-			writer.cell(stats.getRefinerTimeMs());
-			writer.cell(stats.getIterations());
-			writer.cell(status.getArg().size());
-			writer.cell(status.getArg().getDepth());
-			writer.cell(status.getArg().getMeanBranchingFactor());
+			if (stats instanceof CegarStatistics) {
+				final CegarStatistics cegarStats = (CegarStatistics) stats;
+				writer.cell(cegarStats.getAlgorithmTimeMs());
+				writer.cell(cegarStats.getAbstractorTimeMs());
+				writer.cell(cegarStats.getRefinerTimeMs());
+				writer.cell(cegarStats.getIterations());
+			} else if (stats instanceof Ic3Statistics) {
+				final Ic3Statistics ic3Stats = (Ic3Statistics) stats;
+				writer.cell(ic3Stats.getAlgorithmTimeMs());
+				writer.cell("");
+				writer.cell("");
+				writer.cell(ic3Stats.getFrames());
+			} else {
+				final KInductionStatistics kindStats = (KInductionStatistics) stats;
+				writer.cell(kindStats.getAlgorithmTimeMs());
+				writer.cell("");
+				writer.cell("");
+				writer.cell(kindStats.getBaseDepth());
+			}
+			final ARG<?, ?> arg = status.getArg();
+			if (arg.size() > 0) {
+				writer.cell(arg.size());
+				writer.cell(arg.getDepth());
+				writer.cell(arg.getMeanBranchingFactor());
+			} else {
+				// Algorithms other than CEGAR return an empty placeholder ARG
+				writer.cell("");
+				writer.cell("");
+				writer.cell("");
+			}
 			if (status.isUnsafe()) {
 				writer.cell(status.asUnsafe().getTrace().length() + "");
 			} else {
@@ -32,6 +32,7 @@ import hu.bme.mit.theta.analysis.algorithm.cegar.BasicAbstractor;
 import hu.bme.mit.theta.analysis.algorithm.cegar.CegarChecker;
 import hu.bme.mit.theta.analysis.algorithm.cegar.Refiner;
 import hu.bme.mit.theta.analysis.algorithm.cegar.abstractor.StopCriterions;
+import hu.bme.mit.theta.analysis.algorithm.runtimecheck.ArgCexCheckHandler;
 import hu.bme.mit.theta.analysis.expl.ExplPrec;
 import hu.bme.mit.theta.analysis.expl.ExplStmtAnalysis;
 import hu.bme.mit.theta.analysis.expl.ItpRefToExplPrec;
@@ -248,6 +249,7 @@ public class XcfaConfigBuilder {
 	private InitPrec initPrec = InitPrec.EMPTY;
 	private PruneStrategy pruneStrategy = PruneStrategy.LAZY;
 	private AutoExpl autoExpl = AutoExpl.NEWOPERANDS;
+	private boolean argCexCheck = false;
 
 	public XcfaConfigBuilder(final Domain domain, final Refinement refinement, final SolverFactory refinementSolverFactory, final SolverFactory abstractionSolverFactory, final Algorithm algorithm) {
 		this.domain = domain;
@@ -298,6 +300,11 @@ public class XcfaConfigBuilder {
 		return this;
 	}
 
+	public XcfaConfigBuilder argCexCheck(final boolean argCexCheck) {
+		this.argCexCheck = argCexCheck;
+		return this;
+	}
+
 	public XcfaConfig<? extends State, ? extends Action, ? extends Prec> build(final XCFA xcfa) {
 		final LTS lts = algorithm.getLts();
 		final Abstractor abstractor;
@@ -397,7 +404,8 @@ public class XcfaConfigBuilder {
 			refiner = SingleExprTraceRefiner.create(exprTraceChecker,
 					precRefiner, pruneStrategy, logger);
 		}
-		final SafetyChecker checker = CegarChecker.create(abstractor, refiner, logger);
+		final SafetyChecker checker = CegarChecker.create(abstractor, refiner, logger,
+				ArgCexCheckHandler.create(argCexCheck, refinement == Refinement.MULTI_SEQ));
 		return XcfaConfig.create(checker, prec);
 	}
 
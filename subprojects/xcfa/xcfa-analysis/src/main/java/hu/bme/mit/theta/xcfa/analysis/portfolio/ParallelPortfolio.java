@@ -0,0 +1,75 @@
+/*
+ *  Copyright 2022 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package hu.bme.mit.theta.xcfa.analysis.portfolio;
+
+import hu.bme.mit.theta.analysis.algorithm.SafetyResult;
+import hu.bme.mit.theta.common.Tuple3;
+import hu.bme.mit.theta.common.logging.Logger;
+import hu.bme.mit.theta.xcfa.analysis.portfolio.common.AbstractPortfolio;
+import hu.bme.mit.theta.xcfa.analysis.portfolio.common.CegarConfiguration;
+import hu.bme.mit.theta.xcfa.analysis.portfolio.common.PortfolioTimeoutException;
+import hu.bme.mit.theta.xcfa.analysis.portfolio.common.Result;
+import hu.bme.mit.theta.xcfa.model.XCFA;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * Portfolio racing the configurations of the {@link SequentialPortfolio} on separate threads
+ * The first successful configuration wins, the others are cancelled
+ * The global timeout is shared by the configurations, so it is only worth using if there are idle cores
+ */
+public class ParallelPortfolio extends AbstractPortfolio {
+	private final List<CegarConfiguration> configurations;
+	private final long sumTime = 900 * 1000; // in ms, with initialization time
+
+	public ParallelPortfolio(Logger.Level logLevel, String modelName, String smtlibhome) throws Exception {
+		super(logLevel, modelName, smtlibhome); // registers solver factories
+
+		configurations = SequentialPortfolio.createConfigurations();
+	}
+
+	@Override
+	public SafetyResult<?, ?> executeAnalysis(XCFA xcfa, Duration initializationTime) throws Exception {
+		logger.write(Logger.Level.MAINSTEP, "Executing parallel portfolio...");
+		logger.write(Logger.Level.MAINSTEP, System.lineSeparator());
+		long analysisTime = sumTime - initializationTime.toMillis();
+
+		Tuple3<Result, Optional<SafetyResult<?, ?>>, Optional<CegarConfiguration>> result =
+				executeConfigurations(configurations, xcfa, analysisTime);
+		if (result.get1().equals(Result.SUCCESS)) {
+			checkState(result.get2().isPresent() && result.get3().isPresent());
+			CegarConfiguration configuration = result.get3().get();
+			logger.write(Logger.Level.MAINSTEP, "Parallel portfolio successful, solver: " + configuration);
+			logger.write(Logger.Level.MAINSTEP, System.lineSeparator());
+
+			SafetyResult<?, ?> safetyResult = result.get2().get();
+			outputResultFiles(safetyResult, configuration.refinementSolver);
+			return safetyResult;
+		}
+
+		logger.write(Logger.Level.MAINSTEP, "Parallel portfolio was unsuccessful");
+		logger.write(Logger.Level.MAINSTEP, System.lineSeparator());
+		if (result.get1().equals(Result.TIMEOUT)) {
+			throw new PortfolioTimeoutException("Parallel portfolio timed out");
+		}
+		return null;
+	}
+}
@@ -23,5 +23,6 @@ package hu.bme.mit.theta.xcfa.analysis.portfolio;
 public enum Portfolio {
 	NONE,
 	SEQUENTIAL,
-	COMPLEX
+	COMPLEX,
+	PARALLEL
 }
@@ -29,6 +29,7 @@ import hu.bme.mit.theta.xcfa.analysis.portfolio.common.Result;
 import hu.bme.mit.theta.xcfa.model.XCFA;
 
 import java.time.Duration;
+import java.util.List;
 import java.util.Optional;
 
 import static com.google.common.base.Preconditions.checkState;
@@ -38,48 +39,58 @@ import static com.google.common.base.Preconditions.checkState;
  * For more information, see doc/portfolio.md
  */
 public class SequentialPortfolio extends AbstractPortfolio {
-	private CegarConfiguration[] configurations = new CegarConfiguration[3];
+	private final List<CegarConfiguration> configurations;
 	private final long sumTime = 900 * 1000; // in ms, with initialization time
 	private long analysisTime; // in ms, init time subtracted from sumTime
 
 	public SequentialPortfolio(Logger.Level logLevel, String modelName, String smtlibhome) throws Exception {
 		super(logLevel, modelName, smtlibhome); // registers solver factories
 
-		configurations[0] = new CegarConfiguration(
-				XcfaConfigBuilder.Domain.EXPL,
-				XcfaConfigBuilder.Refinement.SEQ_ITP,
-				XcfaConfigBuilder.Search.ERR,
-				XcfaConfigBuilder.PredSplit.WHOLE,
-				XcfaConfigBuilder.Algorithm.SINGLETHREAD,
-				1,
-				XcfaConfigBuilder.InitPrec.EMPTY,
-				PruneStrategy.LAZY,
-				false,
-				"Z3", "Z3"
-		);
-		configurations[1] = new CegarConfiguration(
-				XcfaConfigBuilder.Domain.PRED_CART,
-				XcfaConfigBuilder.Refinement.BW_BIN_ITP,
-				XcfaConfigBuilder.Search.ERR,
-				XcfaConfigBuilder.PredSplit.WHOLE,
-				XcfaConfigBuilder.Algorithm.SINGLETHREAD,
-				1,
-				XcfaConfigBuilder.InitPrec.EMPTY,
-				PruneStrategy.LAZY,
-				false,
-				"Z3", "Z3"
-		);
-		configurations[2] = new CegarConfiguration(
-				XcfaConfigBuilder.Domain.EXPL,
-				XcfaConfigBuilder.Refinement.NWT_IT_WP,
-				XcfaConfigBuilder.Search.ERR,
-				XcfaConfigBuilder.PredSplit.WHOLE,
-				XcfaConfigBuilder.Algorithm.SINGLETHREAD,
-				1,
-				XcfaConfigBuilder.InitPrec.EMPTY,
-				PruneStrategy.LAZY,
-				false,
-				"Z3", "Z3"
+		configurations = createConfigurations();
+	}
+
+	/**
+	 * Creates the configurations of the portfolio, in the order they are tried
+	 * (they are also raced by the {@link ParallelPortfolio})
+	 */
+	static List<CegarConfiguration> createConfigurations() {
+		return List.of(
+				new CegarConfiguration(
+						XcfaConfigBuilder.Domain.EXPL,
+						XcfaConfigBuilder.Refinement.SEQ_ITP,
+						XcfaConfigBuilder.Search.ERR,
+						XcfaConfigBuilder.PredSplit.WHOLE,
+						XcfaConfigBuilder.Algorithm.SINGLETHREAD,
+						1,
+						XcfaConfigBuilder.InitPrec.EMPTY,
+						PruneStrategy.LAZY,
+						false,
+						"Z3", "Z3"
+				),
+				new CegarConfiguration(
+						XcfaConfigBuilder.Domain.PRED_CART,
+						XcfaConfigBuilder.Refinement.BW_BIN_ITP,
+						XcfaConfigBuilder.Search.ERR,
+						XcfaConfigBuilder.PredSplit.WHOLE,
+						XcfaConfigBuilder.Algorithm.SINGLETHREAD,
+						1,
+						XcfaConfigBuilder.InitPrec.EMPTY,
+						PruneStrategy.LAZY,
+						false,
+						"Z3", "Z3"
+				),
+				new CegarConfiguration(
+						XcfaConfigBuilder.Domain.EXPL,
+						XcfaConfigBuilder.Refinement.NWT_IT_WP,
+						XcfaConfigBuilder.Search.ERR,
+						XcfaConfigBuilder.PredSplit.WHOLE,
+						XcfaConfigBuilder.Algorithm.SINGLETHREAD,
+						1,
+						XcfaConfigBuilder.InitPrec.EMPTY,
+						PruneStrategy.LAZY,
+						false,
+						"Z3", "Z3"
+				)
 		);
 	}
 
@@ -91,8 +102,8 @@ public class SequentialPortfolio extends AbstractPortfolio {
 		analysisTime = sumTime - initializationTime.toMillis();
 
 		Tuple2<Result, Optional<SafetyResult<?, ?>>> result = null;
-		for (int i = 0; i < configurations.length; i++) {
-			CegarConfiguration configuration = configurations[i];
+		for (int i = 0; i < configurations.size(); i++) {
+			CegarConfiguration configuration = configurations.get(i);
 
 			long remainingTime = analysisTime - (CpuTimeKeeper.getCurrentCpuTime() * 1000 - startCpuTime);
 
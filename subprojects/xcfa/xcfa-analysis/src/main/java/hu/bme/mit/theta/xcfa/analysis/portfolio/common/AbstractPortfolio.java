@@ -20,6 +20,7 @@ import com.google.common.base.Stopwatch;
 import hu.bme.mit.theta.analysis.algorithm.SafetyResult;
 import hu.bme.mit.theta.common.OsHelper;
 import hu.bme.mit.theta.common.Tuple2;
+import hu.bme.mit.theta.common.Tuple3;
 import hu.bme.mit.theta.common.logging.ConsoleLogger;
 import hu.bme.mit.theta.common.logging.Logger;
 import hu.bme.mit.theta.solver.SolverManager;
@@ -30,17 +31,28 @@ import hu.bme.mit.theta.xcfa.model.XCFA;
 
 import java.nio.file.Path;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 
 /**
  * Base class of portfolio classes
  * {@link #executeConfiguration(CegarConfiguration, XCFA, long)} is already implemented and can/should be used by subclasses
  * {@link #executeAnalysis} is not implemented and should be the "main" method in the subclasses (concrete portfolios)
+ * {@link #executeConfigurations(List, XCFA, long)} races multiple configurations on separate threads
  * Uses 2 threads when executing analysis
- * Uses thread.stop() if analysis times out - use at your own risk
+ * Timed out analyses are cancelled cooperatively, and only stopped with thread.stop() if they do not finish in
+ * {@link #CANCEL_GRACE_PERIOD} ms - use at your own risk
  */
 public abstract class AbstractPortfolio {
+	/**
+	 * Time given to a cancelled analysis to stop, in ms
+	 */
+	protected static final long CANCEL_GRACE_PERIOD = 5000;
+
 	protected final ConsoleLogger logger;
 	protected final String modelName;
 	protected final String smtlibHome;
@@ -133,6 +145,11 @@ public abstract class AbstractPortfolio {
 			e.printStackTrace();
 		}
 
+		if (cegarAnalysisThread.isAlive()) {
+			cegarAnalysisThread.cancel();
+			joinQuietly(cegarAnalysisThread, CANCEL_GRACE_PERIOD);
+		}
+
 		if (cegarAnalysisThread.isAlive()) {
 			Stopwatch dieTimer = Stopwatch.createStarted();
 			cegarAnalysisThread.interrupt();
@@ -205,6 +222,128 @@ public abstract class AbstractPortfolio {
 		return Tuple2.of(result, Optional.ofNullable(safetyResult));
 	}
 
+	/**
+	 * Races the given configurations on separate threads, and returns the first successful result. The other
+	 * configurations are then cancelled. The timeout is shared by the configurations (i.e., it is the sum of their
+	 * cpu time), and the result is TIMEOUT if it is reached before any of them succeeds.
+	 * Each configuration has its own arg-cex check (if it is enabled), so they do not interfere with each other.
+	 * Global state is shared by the configurations: the architecture configuration is set by the frontend and the z3
+	 * parameters are reset before the race, so configurations that need different global settings cannot be raced.
+	 *
+	 * @param configurations the configurations to execute
+	 * @param xcfa           the model to execute the analysis on
+	 * @param timeout        in ms, for all configurations together
+	 * @return the result of the analysis and the configuration that produced it (if any)
+	 */
+	protected Tuple3<Result, Optional<SafetyResult<?, ?>>, Optional<CegarConfiguration>> executeConfigurations(
+			List<CegarConfiguration> configurations, XCFA xcfa, long timeout) {
+		logger.write(Logger.Level.RESULT, "Executing " + configurations.size() + " configurations in parallel");
+		logger.write(Logger.Level.RESULT, System.lineSeparator());
+		for (CegarConfiguration configuration : configurations) {
+			logger.write(Logger.Level.RESULT, configuration.toString());
+			logger.write(Logger.Level.RESULT, System.lineSeparator());
+		}
+		logger.write(Logger.Level.RESULT, "Timeout is set to " + timeout / 1000.0 + " sec (cputime)...");
+		logger.write(Logger.Level.RESULT, System.lineSeparator());
+		logger.write(Logger.Level.RESULT, System.lineSeparator());
+
+		long startCpuTime = CpuTimeKeeper.getCurrentCpuTime();
+		com.microsoft.z3.Global.resetParameters();
+
+		final BlockingQueue<CegarAnalysisThread> finishedThreads = new LinkedBlockingQueue<>();
+		final List<CegarAnalysisThread> threads = new ArrayList<>();
+		for (CegarConfiguration configuration : configurations) {
+			try {
+				threads.add(new CegarAnalysisThread(xcfa, logger, configuration, finishedThreads::add));
+			} catch (Exception e) {
+				e.printStackTrace();
+			}
+		}
+
+		Stopwatch stopwatch = Stopwatch.createStarted();
+		for (int i = 0; i < threads.size(); i++) {
+			threads.get(i).setName("analysis-worker-" + i);
+			threads.get(i).start();
+		}
+
+		CegarAnalysisThread winner = null;
+		int finished = 0;
+		boolean timedOut = false;
+		try {
+			while (winner == null && finished < threads.size() && !timedOut) {
+				CegarAnalysisThread thread = finishedThreads.poll(1, TimeUnit.SECONDS);
+				if (thread != null) {
+					finished++;
+					logger.write(Logger.Level.RESULT, "Configuration finished with result " + thread.getResult() + ": "
+							+ thread.getConfiguration() + System.lineSeparator());
+					if (thread.getResult() == Result.SUCCESS) {
+						winner = thread;
+					}
+				}
+				timedOut = timeout != -1 && (CpuTimeKeeper.getCurrentCpuTime() - startCpuTime) * 1000 >= timeout;
+			}
+		} catch (InterruptedException e) {
+			e.printStackTrace();
+		}
+
+		threads.forEach(CegarAnalysisThread::cancel);
+		for (CegarAnalysisThread thread : threads) {
+			joinQuietly(thread, CANCEL_GRACE_PERIOD);
+		}
+		for (CegarAnalysisThread thread : threads) {
+			if (thread.isAlive()) {
+				System.err.println("Cancelled thread " + thread.getName() + " did not stop, stopping it forcibly");
+				thread.stop(); // Not a good idea, but no better option
+			}
+		}
+		stopwatch.stop();
+
+		long timeTaken = stopwatch.elapsed(TimeUnit.MILLISECONDS);
+		long cpuTimeTaken = CpuTimeKeeper.getCurrentCpuTime() - startCpuTime;
+		for (CegarAnalysisThread thread : threads) {
+			OutputHandler.getInstance().writeCsvLine(thread.getConfiguration(), timeout, timeTaken, thread.getCpuTime(), thread.getResult());
+			OutputHandler.getInstance().writeTxtLine(thread.getConfiguration(), timeout, timeTaken, thread.getCpuTime(), thread.getResult());
+		}
+
+		final Result result;
+		if (winner != null) {
+			result = Result.SUCCESS;
+		} else if (timedOut) {
+			result = Result.TIMEOUT;
+		} else {
+			result = Result.UNKNOWN;
+		}
+
+		logger.write(Logger.Level.RESULT, System.lineSeparator());
+		logger.write(Logger.Level.RESULT, "Parallel execution done, result: ");
+		logger.write(Logger.Level.RESULT, result.toString());
+		logger.write(Logger.Level.RESULT, System.lineSeparator());
+		logger.write(Logger.Level.RESULT, "Time taken by the configurations: ");
+		logger.write(Logger.Level.RESULT, cpuTimeTaken + " sec (cputime)");
+		logger.write(Logger.Level.RESULT, System.lineSeparator());
+		logger.write(Logger.Level.RESULT, System.lineSeparator());
+
+		try {
+			closeAndRegisterAllSolverManagers(smtlibHome, logger);
+		} catch (Exception e) {
+			System.err.println("Could not close solver; possible resource leak");
+			e.printStackTrace();
+		}
+		if (winner == null) {
+			return Tuple3.of(result, Optional.empty(), Optional.empty());
+		} else {
+			return Tuple3.of(result, Optional.ofNullable(winner.getSafetyResult()), Optional.of(winner.getConfiguration()));
+		}
+	}
+
+	private static void joinQuietly(Thread thread, long timeout) {
+		try {
+			thread.join(timeout);
+		} catch (InterruptedException e) {
+			e.printStackTrace();
+		}
+	}
+
 	/**
 	 * We can only keep track of cpu time by using {@link CpuTimeKeeper}, which this method calls properly
 	 * also, it is important to close all unused solvers,
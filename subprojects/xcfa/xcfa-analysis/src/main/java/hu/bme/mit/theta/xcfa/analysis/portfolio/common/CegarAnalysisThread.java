@@ -17,6 +17,7 @@
 package hu.bme.mit.theta.xcfa.analysis.portfolio.common;
 
 import hu.bme.mit.theta.analysis.algorithm.SafetyResult;
+import hu.bme.mit.theta.common.CancellationToken;
 import hu.bme.mit.theta.common.exception.NotSolvableException;
 import hu.bme.mit.theta.common.logging.ConsoleLogger;
 import hu.bme.mit.theta.solver.UnknownSolverStatusException;
@@ -24,6 +25,9 @@ import hu.bme.mit.theta.solver.smtlib.solver.SmtLibSolverException;
 import hu.bme.mit.theta.xcfa.analysis.common.XcfaConfig;
 import hu.bme.mit.theta.xcfa.model.XCFA;
 
+import java.util.concurrent.CancellationException;
+import java.util.function.Consumer;
+
 /**
  * the "analysis thread" for portfolios - {@link AbstractPortfolio} uses this thread class
  * to call and manage the analysis (the steps in the portfolio)
@@ -34,18 +38,36 @@ class CegarAnalysisThread extends Thread {
 	private final CegarConfiguration configuration;
 	private final ConsoleLogger logger;
 	private final XcfaConfig<?, ?, ?> xcfaConfig;
+	private final CancellationToken cancellationToken;
+	private final Consumer<CegarAnalysisThread> onFinished;
 
 	private volatile Result result = Result.UNKNOWN;
 	private volatile SafetyResult<?, ?> safetyResult;
+	private volatile long cpuTime = 0;
 
 	CegarAnalysisThread(XCFA xcfa, ConsoleLogger logger, CegarConfiguration configuration) throws Exception {
+		this(xcfa, logger, configuration, thread -> {
+		});
+	}
+
+	/**
+	 * @param onFinished called on this thread when the analysis is finished (or cancelled)
+	 */
+	CegarAnalysisThread(XCFA xcfa, ConsoleLogger logger, CegarConfiguration configuration,
+						Consumer<CegarAnalysisThread> onFinished) throws Exception {
 		this.xcfa = xcfa;
 		this.logger = logger;
 		this.configuration = configuration;
+		this.onFinished = onFinished;
 		this.safetyResult = null;
+		this.cancellationToken = CancellationToken.create();
 		xcfaConfig = configuration.buildConfiguration(xcfa, logger);
 	}
 
+	public CegarConfiguration getConfiguration() {
+		return configuration;
+	}
+
 	public Result getResult() {
 		return result;
 	}
@@ -54,6 +76,22 @@ class CegarAnalysisThread extends Thread {
 		return safetyResult;
 	}
 
+	/**
+	 * CPU time spent on this thread in seconds, excluding the solver processes.
+	 * Only available after the analysis is finished.
+	 */
+	public long getCpuTime() {
+		return cpuTime;
+	}
+
+	/**
+	 * Asks the analysis to stop. The analysis checks the request regularly (and running
+	 * solver calls are aborted), then the thread finishes with the result TIMEOUT.
+	 */
+	public void cancel() {
+		cancellationToken.cancel();
+	}
+
 	/**
 	 * Executes the given analysis on this thread and saves the result in volatile member variables
 	 * Catches and handles different exceptions regarding the result
@@ -61,6 +99,8 @@ class CegarAnalysisThread extends Thread {
 	 */
 	@Override
 	public void run() {
+		CancellationToken.setCurrent(cancellationToken);
+		final long startCpuTime = CpuTimeKeeper.getCurrentThreadCpuTime();
 		try {
 			try {
 				safetyResult = xcfaConfig.check();
@@ -70,6 +110,9 @@ class CegarAnalysisThread extends Thread {
 				} else {
 					result = Result.UNKNOWN;
 				}
+			} catch (CancellationException ce) {
+				safetyResult = null;
+				result = Result.TIMEOUT;
 			} catch (NotSolvableException nse) {
 				safetyResult = null;
 				result = Result.STUCK;
@@ -79,8 +122,13 @@ class CegarAnalysisThread extends Thread {
 				s.printStackTrace();
 			} catch (Exception e) {
 				safetyResult = null;
-				result = Result.UNKNOWN;
-				e.printStackTrace();
+				if (cancellationToken.isCancelled()) {
+					// Aborted solver calls may fail with other exceptions
+					result = Result.TIMEOUT;
+				} else {
+					result = Result.UNKNOWN;
+					e.printStackTrace();
+				}
 			}
 		} catch (OutOfMemoryError E) {
 			System.err.println(System.lineSeparator());
@@ -89,6 +137,9 @@ class CegarAnalysisThread extends Thread {
 			result = Result.OUTOFMEMORY;
 			safetyResult = null;
 			System.err.println("Used memory after gc: " + (Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory()));
+		} finally {
+			cpuTime = CpuTimeKeeper.getCurrentThreadCpuTime() - startCpuTime;
+			onFinished.accept(this);
 		}
 	}
 
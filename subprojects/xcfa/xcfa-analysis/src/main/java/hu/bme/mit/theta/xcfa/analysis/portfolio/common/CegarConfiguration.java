@@ -16,7 +16,6 @@
 
 package hu.bme.mit.theta.xcfa.analysis.portfolio.common;
 
-import hu.bme.mit.theta.analysis.algorithm.runtimecheck.ArgCexCheckHandler;
 import hu.bme.mit.theta.analysis.expr.refinement.PruneStrategy;
 import hu.bme.mit.theta.common.logging.ConsoleLogger;
 import hu.bme.mit.theta.solver.SolverFactory;
@@ -97,16 +96,9 @@ public class CegarConfiguration {
 	}
 
 	/**
-	 * Sets up arg-cex check (if it is enabled) and builds configuration
+	 * Builds configuration (with its own arg-cex check, if it is enabled)
 	 */
 	public XcfaConfig<?, ?, ?> buildConfiguration(XCFA xcfa, ConsoleLogger logger) throws Exception {
-		// set up Arg-Cex check
-		if (!argCexCheck) {
-			ArgCexCheckHandler.instance.setArgCexCheck(false, false);
-		} else {
-			ArgCexCheckHandler.instance.setArgCexCheck(true, refinement.equals(XcfaConfigBuilder.Refinement.MULTI_SEQ));
-		}
-
 		try {
 			SolverFactory refinementSolverFactory;
 			SolverFactory abstractionSolverFactory;
@@ -120,7 +112,7 @@ public class CegarConfiguration {
 			return new XcfaConfigBuilder(domain, refinement, refinementSolverFactory, abstractionSolverFactory, algorithm)
 					.search(search)
 					.predSplit(predSplit).maxEnum(maxEnum).initPrec(initPrec)
-					.pruneStrategy(pruneStrategy).logger(logger).build(xcfa);
+					.pruneStrategy(pruneStrategy).argCexCheck(argCexCheck).logger(logger).build(xcfa);
 
 		} catch (final Exception ex) {
 			throw new Exception("Could not create configuration: " + ex.getMessage(), ex);
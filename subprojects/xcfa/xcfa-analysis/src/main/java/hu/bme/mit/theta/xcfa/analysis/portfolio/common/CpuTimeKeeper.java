@@ -21,8 +21,11 @@ import hu.bme.mit.theta.common.Tuple2;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
 import static com.google.common.base.Preconditions.checkState;
@@ -83,6 +86,18 @@ public final class CpuTimeKeeper {
 		return cputime;
 	}
 
+	/**
+	 * Measures the time spent in the current thread (without the solver processes), used to
+	 * account for the configurations executed in parallel
+	 */
+	public static long getCurrentThreadCpuTime() {
+		final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+		if (!threadMXBean.isCurrentThreadCpuTimeSupported()) {
+			return 0;
+		}
+		return TimeUnit.NANOSECONDS.toSeconds(threadMXBean.getCurrentThreadCpuTime());
+	}
+
 	private static Tuple2<Long, Long> parsePsOutputLine(String line) {
 		String[] split = line.stripLeading().split(" ");
 		checkState(split.length == 2);
@@ -23,8 +23,7 @@ import hu.bme.mit.theta.analysis.InitFunc;
 import hu.bme.mit.theta.analysis.LTS;
 import hu.bme.mit.theta.analysis.TransFunc;
 import hu.bme.mit.theta.analysis.algorithm.SafetyResult;
-import hu.bme.mit.theta.analysis.algorithm.bmc.IterativeBmcChecker;
-import hu.bme.mit.theta.analysis.algorithm.runtimecheck.ArgCexCheckHandler;
+import hu.bme.mit.theta.analysis.algorithm.bmc.BmcChecker;
 import hu.bme.mit.theta.common.exception.NotSolvableException;
 import hu.bme.mit.theta.analysis.expl.ExplPrec;
 import hu.bme.mit.theta.analysis.expl.ExplState;
@@ -41,7 +40,9 @@ import hu.bme.mit.theta.common.CliUtils;
 import hu.bme.mit.theta.common.OsHelper;
 import hu.bme.mit.theta.common.logging.ConsoleLogger;
 import hu.bme.mit.theta.common.logging.Logger;
+import hu.bme.mit.theta.common.metrics.Metrics;
 import hu.bme.mit.theta.core.decl.VarDecl;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.frontend.transformation.ArchitectureConfig;
 import hu.bme.mit.theta.frontend.transformation.grammar.function.FunctionVisitor;
 import hu.bme.mit.theta.frontend.transformation.model.statements.CProgram;
@@ -49,7 +50,9 @@ import hu.bme.mit.theta.frontend.transformation.model.statements.CStatement;
 import hu.bme.mit.theta.solver.Solver;
 import hu.bme.mit.theta.solver.SolverFactory;
 import hu.bme.mit.theta.solver.SolverManager;
+import hu.bme.mit.theta.solver.cache.CachingSolverFactory;
 import hu.bme.mit.theta.solver.smtlib.SmtLibSolverManager;
+import hu.bme.mit.theta.solver.smtlib.solver.binary.SmtLibSolverBinaryPool;
 import hu.bme.mit.theta.solver.validator.SolverValidatorWrapperFactory;
 import hu.bme.mit.theta.solver.z3.Z3SolverManager;
 import hu.bme.mit.theta.xcfa.analysis.common.XcfaConfig;
@@ -57,6 +60,7 @@ import hu.bme.mit.theta.xcfa.analysis.common.XcfaConfigBuilder;
 import hu.bme.mit.theta.xcfa.analysis.common.XcfaPrec;
 import hu.bme.mit.theta.xcfa.analysis.common.XcfaState;
 import hu.bme.mit.theta.xcfa.analysis.portfolio.ComplexPortfolio;
+import hu.bme.mit.theta.xcfa.analysis.portfolio.ParallelPortfolio;
 import hu.bme.mit.theta.xcfa.analysis.portfolio.Portfolio;
 import hu.bme.mit.theta.xcfa.analysis.portfolio.SequentialPortfolio;
 import hu.bme.mit.theta.xcfa.analysis.portfolio.common.CpuTimeKeeper;
@@ -221,9 +225,27 @@ public class XcfaCli {
 	@Parameter(names = "--validate-abstraction-solver", description = "Activates a wrapper, which validates the assertions in the solver in each (SAT) check. Filters some solver issues.")
 	boolean validateAbstractionSolver = false;
 
+	@Parameter(names = "--abstraction-solver-cache", description = "Size of the cache of abstraction solver queries (0 disables caching)")
+	Integer abstractionSolverCacheSize = 0;
+
+	@Parameter(names = "--intern-exprs", description = "Keep a single instance of structurally equal expressions (saves memory on long runs)")
+	boolean internExprs = false;
+
+	@Parameter(names = "--smt-process-pool", description = "Number of idle SMT-LIB solver processes kept alive for reuse per solver (0 disables pooling)")
+	Integer smtProcessPoolSize = 0;
+
+	@Parameter(names = "--stats", description = "Write performance statistics (counters, timers, histograms) of the model transformation and the analysis to a JSON file")
+	String statsfile = null;
+
 	@Parameter(names = "--lbe", description = "Large-block encoding level")
 	SimpleLbePass.LBELevel lbeLevel = SimpleLbePass.LBELevel.NO_LBE;
 
+	@Parameter(names = "--pass-threads", description = "Number of threads running procedure passes on independent procedures (1: sequential)")
+	Integer passThreads = 1;
+
+	@Parameter(names = "--max-block-size", description = "Maximal total number of edges on the paths into a block location with the LBE_BLOCKS large-block encoding level (0: unlimited)")
+	Integer maxBlockSize = 0;
+
 	//////////// CONFIGURATION OPTIONS END ////////////
 
 	private Logger logger;
@@ -262,6 +284,12 @@ public class XcfaCli {
 		}
 
 		SimpleLbePass.level = lbeLevel;
+		SimpleLbePass.maxBlockSize = maxBlockSize;
+		XcfaPassManager.setParallelism(passThreads);
+
+		if (internExprs) {
+			ExprInterner.enable();
+		}
 
 		// TODO later we might want to merge these two flags
 		if (witnessOnly) {
@@ -276,6 +304,10 @@ public class XcfaCli {
 		// set arithmetic - if it is on efficient, the parsing will change it to either integer or bitvector
 		ArchitectureConfig.arithmetic = arithmeticType;
 
+		if (statsfile != null) {
+			Metrics.setCurrent(Metrics.create());
+		}
+
 		/// Starting frontend
 		final Stopwatch sw = Stopwatch.createStarted();
 
@@ -373,6 +405,11 @@ public class XcfaCli {
 					args.add(precGranularity.name());
 					args.add("--encoding");
 					args.add(encoding.name());
+					if (lbeLevel == SimpleLbePass.LBELevel.LBE_BLOCKS) {
+						args.add("--block-encoding");
+						args.add("--max-block-size");
+						args.add(maxBlockSize.toString());
+					}
 					args.add("--maxenum");
 					args.add(maxEnum.toString());
 					args.add("--initprec");
@@ -391,6 +428,10 @@ public class XcfaCli {
 					if (headerOnly) args.add("--header");
 					if (metrics) args.add("--metrics");
 					if (stacktrace) args.add("--stacktrace");
+					if (statsfile != null) {
+						args.add("--stats");
+						args.add(statsfile);
+					}
 
 					CfaCli.main((String[]) args.toArray());
 					return;
@@ -411,6 +452,7 @@ public class XcfaCli {
 			Duration initTime = Duration.of(CpuTimeKeeper.getCurrentCpuTime(), ChronoUnit.SECONDS);
 			logger.write(Logger.Level.RESULT, "Time of model transformation: " + initTime.toMillis() + "ms" + System.lineSeparator());
 
+			SmtLibSolverBinaryPool.setPoolSize(smtProcessPoolSize);
 			try {
 				registerAllSolverManagers(home, logger);
 			} catch (Exception e) {
@@ -419,43 +461,68 @@ public class XcfaCli {
 			}
 
 			/// starting analysis
-			switch (portfolio) {
-				case NONE:
-					try {
-						executeSingleConfiguration(xcfa);
-					} catch (Exception e) {
-						e.printStackTrace();
-						return;
-					}
-					break;
-				case SEQUENTIAL:
-					SequentialPortfolio sequentialPortfolio = new SequentialPortfolio(logLevel, this.input.getName(), home);
-					try {
-						sequentialPortfolio.executeAnalysis(xcfa, initTime); // check(configuration);
-					} catch (PortfolioTimeoutException pte) {
-						System.err.println(pte.getMessage());
-						long elapsed = sw.elapsed(TimeUnit.MILLISECONDS);
-						sw.stop();
-						System.out.println("walltime: " + elapsed + " ms");
-						System.out.println("cputime: " + CpuTimeKeeper.getCurrentCpuTime() + " s");
-						System.exit(-43); // portfolio timeout
-					}
-					break;
-				case COMPLEX:
-					ComplexPortfolio complexPortfolio = new ComplexPortfolio(logLevel, this.input.getName(), home);
-					try {
-						complexPortfolio.executeAnalysis(xcfa, initTime);
-					} catch (PortfolioTimeoutException pte) {
-						System.err.println(pte.getMessage());
-						long elapsed = sw.elapsed(TimeUnit.MILLISECONDS);
-						sw.stop();
-						System.out.println("walltime: " + elapsed + " ms");
-						System.out.println("cputime: " + CpuTimeKeeper.getCurrentCpuTime() + " s");
-						System.exit(-43); // portfolio timeout
-					}
-					break;
-				default:
-					throw new IllegalStateException("Unexpected value: " + portfolio);
+			try {
+				switch (portfolio) {
+					case NONE:
+						try {
+							executeSingleConfiguration(xcfa);
+						} catch (Exception e) {
+							e.printStackTrace();
+							return;
+						}
+						break;
+					case SEQUENTIAL:
+						SequentialPortfolio sequentialPortfolio = new SequentialPortfolio(logLevel, this.input.getName(), home);
+						try {
+							sequentialPortfolio.executeAnalysis(xcfa, initTime); // check(configuration);
+						} catch (PortfolioTimeoutException pte) {
+							System.err.println(pte.getMessage());
+							long elapsed = sw.elapsed(TimeUnit.MILLISECONDS);
+							sw.stop();
+							System.out.println("walltime: " + elapsed + " ms");
+							System.out.println("cputime: " + CpuTimeKeeper.getCurrentCpuTime() + " s");
+							writeStats();
+							System.exit(-43); // portfolio timeout
+						}
+						break;
+					case COMPLEX:
+						ComplexPortfolio complexPortfolio = new ComplexPortfolio(logLevel, this.input.getName(), home);
+						try {
+							complexPortfolio.executeAnalysis(xcfa, initTime);
+						} catch (PortfolioTimeoutException pte) {
+							System.err.println(pte.getMessage());
+							long elapsed = sw.elapsed(TimeUnit.MILLISECONDS);
+							sw.stop();
+							System.out.println("walltime: " + elapsed + " ms");
+							System.out.println("cputime: " + CpuTimeKeeper.getCurrentCpuTime() + " s");
+							writeStats();
+							System.exit(-43); // portfolio timeout
+						}
+						break;
+					case PARALLEL:
+						ParallelPortfolio parallelPortfolio = new ParallelPortfolio(logLevel, this.input.getName(), home);
+						try {
+							parallelPortfolio.executeAnalysis(xcfa, initTime);
+						} catch (PortfolioTimeoutException pte) {
+							System.err.println(pte.getMessage());
+							long elapsed = sw.elapsed(TimeUnit.MILLISECONDS);
+							sw.stop();
+							System.out.println("walltime: " + elapsed + " ms");
+							System.out.println("cputime: " + CpuTimeKeeper.getCurrentCpuTime() + " s");
+							writeStats();
+							System.exit(-43); // portfolio timeout
+						}
+						break;
+					default:
+						throw new IllegalStateException("Unexpected value: " + portfolio);
+				}
+			} finally {
+				// The statistics are also written if the analysis fails
+				writeStats();
+			}
+
+			for (final SmtLibSolverBinaryPool pool : SmtLibSolverBinaryPool.getPools()) {
+				logger.write(Logger.Level.INFO, pool + System.lineSeparator());
 			}
 
 			long elapsed = sw.elapsed(TimeUnit.MILLISECONDS);
@@ -468,6 +535,17 @@ public class XcfaCli {
 		}
 	}
 
+	private void writeStats() {
+		if (statsfile != null) {
+			try {
+				Metrics.current().writeJson(Path.of(statsfile));
+			} catch (IOException e) {
+				System.err.println("Could not write statistics to " + statsfile);
+				e.printStackTrace();
+			}
+		}
+	}
+
 	public static void registerAllSolverManagers(String home, Logger logger) throws Exception {
 		CpuTimeKeeper.saveSolverTimes();
 		SolverManager.closeAll();
@@ -481,7 +559,7 @@ public class XcfaCli {
 	}
 
 	private void executeSingleConfiguration(XCFA xcfa) throws Exception {
-		final SolverFactory abstractionSolverFactory;
+		SolverFactory abstractionSolverFactory;
 		final SolverFactory refinementSolverFactory;
 		if (validateRefinementSolver) {
 			refinementSolverFactory = SolverValidatorWrapperFactory.create(refinementSolver);
@@ -493,9 +571,15 @@ public class XcfaCli {
 		} else {
 			abstractionSolverFactory = SolverManager.resolveSolverFactory(abstractionSolver);
 		}
+		if (abstractionSolverCacheSize > 0) {
+			abstractionSolverFactory = CachingSolverFactory.create(abstractionSolverFactory, abstractionSolverCacheSize);
+		}
 
 		final XcfaConfig<?, ?, ?> configuration = buildConfiguration(xcfa, abstractionSolverFactory, refinementSolverFactory);
 		SafetyResult<?, ?> status = check(configuration);
+		if (abstractionSolverFactory instanceof CachingSolverFactory) {
+			logger.write(Logger.Level.INFO, "Abstraction solver cache: %s%n", ((CachingSolverFactory) abstractionSolverFactory).getCache());
+		}
 		if (status != null && status.isUnsafe()) {
 			OutputHandler.getInstance().writeCounterexamples(status, refinementSolver);
 		} else if (status != null && status.isSafe()) {
@@ -504,17 +588,6 @@ public class XcfaCli {
 	}
 
 	private XcfaConfig<?, ?, ?> buildConfiguration(XCFA xcfa, SolverFactory abstractionSolverFactory, SolverFactory refinementSolverFactory) throws Exception {
-		// set up Arg-Cex check
-		if (noArgCexCheck) {
-			ArgCexCheckHandler.instance.setArgCexCheck(false, false);
-		} else {
-			if (refinement.equals(XcfaConfigBuilder.Refinement.MULTI_SEQ)) {
-				ArgCexCheckHandler.instance.setArgCexCheck(true, true);
-			} else {
-				ArgCexCheckHandler.instance.setArgCexCheck(true, false);
-			}
-		}
-
 		// Build configuration
 		try {
 			if (bmc) {
@@ -526,12 +599,13 @@ public class XcfaCli {
 						algorithm.getInitFunc(xcfa.getProcesses().stream().map(proc -> proc.getMainProcedure().getInitLoc()).collect(Collectors.toList()), domainAnalysis.getInitFunc());
 				final TransFunc<XcfaState<ExplState>, StmtAction, XcfaPrec<ExplPrec>> transFunc =
 						algorithm.getTransFunc(domainAnalysis.getTransFunc());
-				final IterativeBmcChecker<XcfaState<ExplState>, StmtAction, XcfaPrec<ExplPrec>> bmcChecker = IterativeBmcChecker.create(lts, initFunc, transFunc, XcfaState::isError, solver1, logger, -1, 25);
+				final BmcChecker<XcfaState<ExplState>, StmtAction, XcfaPrec<ExplPrec>> bmcChecker = BmcChecker.create(lts, initFunc, transFunc, XcfaState::isError, solver1, logger, true);
 				return XcfaConfig.create(bmcChecker, XcfaPrec.create(ExplPrec.empty()));
 			} else {
 				return new XcfaConfigBuilder(domain, refinement, refinementSolverFactory, abstractionSolverFactory, algorithm)
 						.search(search).predSplit(predSplit).maxEnum(maxEnum).initPrec(initPrec).preCheck(preCheck)
-						.pruneStrategy(pruneStrategy).logger(new ConsoleLogger(logLevel)).autoExpl(autoExpl).build(xcfa);
+						.pruneStrategy(pruneStrategy).argCexCheck(!noArgCexCheck).logger(new ConsoleLogger(logLevel))
+						.autoExpl(autoExpl).build(xcfa);
 			}
 
 		} catch (final Exception ex) {
@@ -22,6 +22,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
@@ -51,10 +52,10 @@ public final class XcfaLocation {
 		return new XcfaLocation(name);
 	}
 
-	private static int counter = 0;
+	private static final AtomicInteger counter = new AtomicInteger();
 
 	public static int uniqeCounter() {
-		return counter++;
+		return counter.getAndIncrement();
 	}
 
 	public static XcfaLocation uniqeCopyOf(final XcfaLocation from) {
@@ -237,11 +237,9 @@ public final class XcfaProcess {
 		}
 
 		public void runProcedurePasses() {
-			final ArrayList<XcfaProcedure.Builder> newProcs = new ArrayList<>();
-			for (XcfaProcedure.Builder procedure : procedures) {
-				final XcfaProcedure.Builder newProc = XcfaPassManager.run(procedure);
-				if (mainProcedure == procedure) mainProcedure = newProc;
-				newProcs.add(newProc);
+			final List<XcfaProcedure.Builder> newProcs = XcfaPassManager.run(procedures);
+			for (int i = 0; i < procedures.size(); i++) {
+				if (mainProcedure == procedures.get(i)) mainProcedure = newProcs.get(i);
 			}
 			procedures.clear();
 			procedures.addAll(newProcs);
@@ -16,6 +16,8 @@
 
 package hu.bme.mit.theta.xcfa.passes;
 
+import hu.bme.mit.theta.common.metrics.Metrics;
+import hu.bme.mit.theta.common.metrics.Timer;
 import hu.bme.mit.theta.xcfa.model.XCFA;
 import hu.bme.mit.theta.xcfa.model.XcfaProcedure;
 import hu.bme.mit.theta.xcfa.model.XcfaProcess;
@@ -33,6 +35,7 @@ import hu.bme.mit.theta.xcfa.passes.procedurepass.ProcedurePass;
 import hu.bme.mit.theta.xcfa.passes.procedurepass.PthreadCallsToThreadStmts;
 import hu.bme.mit.theta.xcfa.passes.procedurepass.ReferenceToMemory;
 import hu.bme.mit.theta.xcfa.passes.procedurepass.RemoveDeadEnds;
+import hu.bme.mit.theta.xcfa.passes.procedurepass.SimpleLbePass;
 import hu.bme.mit.theta.xcfa.passes.procedurepass.SimplifyExprs;
 import hu.bme.mit.theta.xcfa.passes.procedurepass.UnusedVarRemovalPass;
 import hu.bme.mit.theta.xcfa.passes.procedurepass.VerifierFunctionsToLabels;
@@ -45,6 +48,11 @@ import hu.bme.mit.theta.xcfa.passes.xcfapass.XcfaPass;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.Collectors;
+
+import static com.google.common.base.Preconditions.checkArgument;
 
 public class XcfaPassManager {
 	private static final List<ProcedurePass> procedurePasses = new ArrayList<>();
@@ -53,6 +61,8 @@ public class XcfaPassManager {
 
 	private static final boolean bottomUp = true;
 
+	private static int parallelism = 1;
+
 	static {
 		procedurePasses.addAll(List.of(
 				new EliminateSelfLoops(),
@@ -76,7 +86,7 @@ public class XcfaPassManager {
 				//new UnusedVarRemovalPass(),
 				new SimplifyExprs(),
 				new EmptyEdgeRemovalPass(),
-//				new SimpleLbePass(),
+				new SimpleLbePass(),
 				new PorPass(),
 //				new HavocPromotion(),
 //				new AssignmentChainRemoval(),
@@ -118,13 +128,93 @@ public class XcfaPassManager {
 		xcfaPasses.clear();
 	}
 
+	/**
+	 * Sets the number of threads running procedure passes on the procedures of a process (1: sequential).
+	 */
+	public static void setParallelism(int parallelism) {
+		checkArgument(parallelism > 0, "Parallelism must be positive");
+		XcfaPassManager.parallelism = parallelism;
+	}
+
 	public static XcfaProcedure.Builder run(XcfaProcedure.Builder builder) {
-		for (ProcedurePass procedurePass : procedurePasses) {
-			if (!procedurePass.isPostInlining() || ProcedurePass.postInlining) builder = procedurePass.run(builder);
+		return run(List.of(builder)).get(0);
+	}
+
+	/**
+	 * Runs the procedure passes on the given procedures. Consecutive passes of {@link ProcedurePass.Scope#PROCEDURE}
+	 * scope are run on each procedure as a single task, and the tasks of the procedures are executed in parallel
+	 * (if the parallelism is greater than 1). Passes of {@link ProcedurePass.Scope#GLOBAL} scope are run on the
+	 * procedures one after another, when the preceding passes have finished on all the procedures.
+	 * <p>
+	 * The time spent in each pass and the change in the number of edges it causes are recorded in the current
+	 * {@link Metrics} registry.
+	 *
+	 * @param builders the procedures to transform
+	 * @return the transformed procedures, in the order of the given ones
+	 */
+	public static List<XcfaProcedure.Builder> run(List<XcfaProcedure.Builder> builders) {
+		final List<ProcedurePass> passes = procedurePasses.stream()
+				.filter(procedurePass -> !procedurePass.isPostInlining() || ProcedurePass.postInlining)
+				.collect(Collectors.toList());
+		final List<XcfaProcedure.Builder> result = new ArrayList<>(builders);
+		final Metrics metrics = Metrics.current();
+		final ForkJoinPool pool = parallelism > 1 && builders.size() > 1 ? new ForkJoinPool(Math.min(parallelism, builders.size())) : null;
+		try {
+			int i = 0;
+			while (i < passes.size()) {
+				if (passes.get(i).getScope() == ProcedurePass.Scope.GLOBAL) {
+					for (int j = 0; j < result.size(); j++) {
+						result.set(j, runPass(passes.get(i), result.get(j), metrics));
+					}
+					i++;
+				} else {
+					int end = i + 1;
+					while (end < passes.size() && passes.get(end).getScope() == ProcedurePass.Scope.PROCEDURE) end++;
+					final List<ProcedurePass> stage = passes.subList(i, end);
+					if (pool == null) {
+						for (int j = 0; j < result.size(); j++) {
+							result.set(j, runPasses(stage, result.get(j), metrics));
+						}
+					} else {
+						final List<ForkJoinTask<XcfaProcedure.Builder>> tasks = new ArrayList<>();
+						for (XcfaProcedure.Builder builder : result) {
+							tasks.add(pool.submit(() -> runPasses(stage, builder, metrics)));
+						}
+						for (int j = 0; j < result.size(); j++) {
+							result.set(j, tasks.get(j).join());
+						}
+					}
+					i = end;
+				}
+			}
+		} finally {
+			if (pool != null) pool.shutdown();
+		}
+		return result;
+	}
+
+	private static XcfaProcedure.Builder runPasses(List<ProcedurePass> passes, XcfaProcedure.Builder builder, Metrics metrics) {
+		for (ProcedurePass procedurePass : passes) {
+			builder = runPass(procedurePass, builder, metrics);
 		}
 		return builder;
 	}
 
+	private static XcfaProcedure.Builder runPass(ProcedurePass procedurePass, XcfaProcedure.Builder builder, Metrics metrics) {
+		final String name = "xcfa.pass." + procedurePass.getClass().getSimpleName();
+		final int edgesBefore = builder.getEdges().size();
+		final Timer timer = metrics.timer(name);
+		final long start = timer.start();
+		final XcfaProcedure.Builder result;
+		try {
+			result = procedurePass.run(builder);
+		} finally {
+			timer.stop(start);
+		}
+		metrics.counter(name + ".edgeDelta").add(result.getEdges().size() - edgesBefore);
+		return result;
+	}
+
 	public static XcfaProcess.Builder run(XcfaProcess.Builder builder) {
 		if (bottomUp) {
 			builder.runProcedurePasses();
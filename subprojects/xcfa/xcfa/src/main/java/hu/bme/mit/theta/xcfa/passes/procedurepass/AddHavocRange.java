@@ -73,4 +73,10 @@ public class AddHavocRange extends ProcedurePass {
 	public boolean isPostInlining() {
 		return true;
 	}
-}
\ No newline at end of file
+
+	@Override
+	public Scope getScope() {
+		// The type metadata of (global) variables is only written by the frontend and GLOBAL passes
+		return Scope.PROCEDURE;
+	}
+}
@@ -25,18 +25,19 @@ import hu.bme.mit.theta.xcfa.model.XcfaProcedure;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class CallsToFinalLocs extends ProcedurePass {
 	private static final List<String> errorFunc = List.of("reach_error");
 	private static final List<String> abortFunc = List.of("abort", "exit");
 	public boolean postInlining = false;
 
-	private int nameCounter = 0;
+	private final AtomicInteger nameCounter = new AtomicInteger();
 
 	@Override
 	public XcfaProcedure.Builder run(XcfaProcedure.Builder builder) {
-		XcfaLocation errorLoc = XcfaLocation.create(builder.getName() + "_error" + nameCounter++);
-		XcfaLocation finalLoc = XcfaLocation.create(builder.getName() + "_final" + nameCounter++);
+		XcfaLocation errorLoc = XcfaLocation.create(builder.getName() + "_error" + nameCounter.getAndIncrement());
+		XcfaLocation finalLoc = XcfaLocation.create(builder.getName() + "_final" + nameCounter.getAndIncrement());
 		builder.addLoc(errorLoc);
 		builder.addLoc(finalLoc);
 		XcfaLocation oldFinalLoc = builder.getFinalLoc();
@@ -77,4 +78,9 @@ public class CallsToFinalLocs extends ProcedurePass {
 	public boolean isPostInlining() {
 		return true;
 	}
+
+	@Override
+	public Scope getScope() {
+		return Scope.PROCEDURE;
+	}
 }
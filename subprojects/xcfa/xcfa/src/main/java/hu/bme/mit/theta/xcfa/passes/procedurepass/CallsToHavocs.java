@@ -80,4 +80,9 @@ public class CallsToHavocs extends ProcedurePass {
 	public boolean isPostInlining() {
 		return true;
 	}
-}
\ No newline at end of file
+
+	@Override
+	public Scope getScope() {
+		return Scope.PROCEDURE;
+	}
+}
@@ -42,4 +42,9 @@ public class ConditionalFinalsToAssumes extends ProcedurePass {
 	public boolean isPostInlining() {
 		return true;
 	}
+
+	@Override
+	public Scope getScope() {
+		return Scope.PROCEDURE;
+	}
 }
@@ -45,4 +45,9 @@ public class EliminateSelfLoops extends ProcedurePass {
 		}
 		return builder;
 	}
+
+	@Override
+	public Scope getScope() {
+		return Scope.PROCEDURE;
+	}
 }
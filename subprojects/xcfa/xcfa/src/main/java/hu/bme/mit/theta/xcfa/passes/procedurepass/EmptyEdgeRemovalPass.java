@@ -175,4 +175,8 @@ public class EmptyEdgeRemovalPass extends ProcedurePass {
 		return loc.getOutgoingEdges().stream().noneMatch(xcfaEdge -> xcfaEdge.getSource() == xcfaEdge.getTarget());
 	}
 
-}
\ No newline at end of file
+	@Override
+	public Scope getScope() {
+		return Scope.PROCEDURE;
+	}
+}
@@ -231,4 +231,8 @@ public class FpFunctionsToExprs extends ProcedurePass {
 		return builder;
 	}
 
+	@Override
+	public Scope getScope() {
+		return Scope.PROCEDURE;
+	}
 }
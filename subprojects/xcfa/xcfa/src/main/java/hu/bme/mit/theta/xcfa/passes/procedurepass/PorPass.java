@@ -66,4 +66,10 @@ public class PorPass extends ProcedurePass {
 	public boolean isPostInlining() {
 		return true;
 	}
-}
\ No newline at end of file
+
+	@Override
+	public Scope getScope() {
+		// ArchitectureConfig.multiThreading is only set by a GLOBAL pass, so it is stable here
+		return Scope.PROCEDURE;
+	}
+}
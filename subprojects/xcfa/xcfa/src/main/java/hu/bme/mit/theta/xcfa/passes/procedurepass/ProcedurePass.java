@@ -21,10 +21,34 @@ import hu.bme.mit.theta.xcfa.model.XcfaProcedure;
 public abstract class ProcedurePass {
 	public static boolean postInlining = false;
 
+	/**
+	 * The state a pass reads and writes besides the procedure it is run on.
+	 */
+	public enum Scope {
+		/**
+		 * Only the procedure and the metadata of its own elements are written, so the pass can be run on different
+		 * procedures concurrently. Global state (e.g., the architecture configuration or the type metadata of global
+		 * variables) may also be read, as long as it is only written by {@link #GLOBAL} passes, because they do not
+		 * run concurrently with the passes of this scope.
+		 */
+		PROCEDURE,
+
+		/**
+		 * Global state (e.g., metadata shared between procedures or the architecture configuration) is also written,
+		 * or read while other procedures may write it, so the pass is run on the procedures one after another, when
+		 * the preceding passes have finished on all of them.
+		 */
+		GLOBAL
+	}
+
 	public abstract XcfaProcedure.Builder run(XcfaProcedure.Builder builder);
 
 	public boolean isPostInlining() {
 		return false;
 	}
 
+	public Scope getScope() {
+		return Scope.GLOBAL;
+	}
+
 }
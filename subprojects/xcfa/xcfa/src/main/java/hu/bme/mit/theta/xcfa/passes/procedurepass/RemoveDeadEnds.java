@@ -108,4 +108,9 @@ public class RemoveDeadEnds extends ProcedurePass {
 	public boolean isPostInlining() {
 		return true;
 	}
+
+	@Override
+	public Scope getScope() {
+		return Scope.PROCEDURE;
+	}
 }
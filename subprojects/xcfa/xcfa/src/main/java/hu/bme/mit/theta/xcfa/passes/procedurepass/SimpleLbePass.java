@@ -21,10 +21,19 @@ import hu.bme.mit.theta.xcfa.model.XcfaLabel;
 import hu.bme.mit.theta.xcfa.model.XcfaLocation;
 import hu.bme.mit.theta.xcfa.model.XcfaProcedure;
 
+import com.google.common.math.LongMath;
+
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -63,9 +72,22 @@ public class SimpleLbePass extends ProcedurePass {
 		/**
 		 * Enables collapsing of sequential and parallel edges too.
 		 */
-		LBE_FULL
+		LBE_FULL,
+
+		/**
+		 * Collapses the loop-free regions between block boundaries into single edges (adjustable block encoding). The
+		 * paths between two boundaries are combined into a nondeterministic choice, so abstraction is only performed at
+		 * the boundaries. The size of the blocks is limited by {@link SimpleLbePass#maxBlockSize}.
+		 */
+		LBE_BLOCKS
 	}
 
+	/**
+	 * The maximal total number of edges of the paths leading to a location inside a block in
+	 * {@link LBELevel#LBE_BLOCKS} mode (0: unlimited). Locations exceeding this limit become block boundaries.
+	 */
+	public static int maxBlockSize = 0;
+
 	/**
 	 * Enables printing of the XCFA before and after the transformation process. For debugging...
 	 */
@@ -82,6 +104,7 @@ public class SimpleLbePass extends ProcedurePass {
 	 * 	 	<li>Collapse sequential edges of locations whose incoming degree is 1, join possibly created parallel edges and
 	 * 	 	edge-pairs described in step 2</li>
 	 * </ol>
+	 * With {@link LBELevel#LBE_BLOCKS}, steps 2 and 3 are replaced by collapsing the blocks of the procedure.
 	 */
 	@Override
 	public XcfaProcedure.Builder run(XcfaProcedure.Builder builder) {
@@ -95,6 +118,12 @@ public class SimpleLbePass extends ProcedurePass {
 		// Step 1
 		builder.getErrorLoc().getOutgoingEdges().forEach(builder::removeEdge);
 
+		if (level == LBELevel.LBE_BLOCKS) {
+			collapseBlocks();
+			printToDot("--- AFTER TRANSFORMATION ---");
+			return builder;
+		}
+
 		// Step 2
 		collapseParallelsAndSnakes(new ArrayList<>(builder.getLocs()));
 
@@ -258,6 +287,216 @@ public class SimpleLbePass extends ProcedurePass {
 		}
 	}
 
+	/**
+	 * Collapses the loop-free regions between block boundaries into single edges. Block boundaries are the initial,
+	 * final and error locations, the loop heads, and the endpoints of edges that have labels other than statements
+	 * (e.g., procedure calls, atomic blocks or thread operations), which are kept as they are. Paths that do not lead
+	 * to a block boundary are dropped.
+	 */
+	private void collapseBlocks() {
+		Set<XcfaLocation> boundaries = getBlockBoundaries();
+		if (maxBlockSize > 0) {
+			Deque<XcfaLocation> queue = new ArrayDeque<>(boundaries);
+			while (!queue.isEmpty()) {
+				queue.addAll(splitBlocks(queue.poll(), boundaries));
+			}
+		}
+
+		List<XcfaEdge> blocks = new ArrayList<>();
+		for (XcfaLocation start : boundaries) {
+			for (Map.Entry<XcfaLocation, List<XcfaLabel>> block : getBlocks(start, boundaries).entrySet()) {
+				blocks.add(XcfaEdge.of(start, block.getKey(), block.getValue()));
+			}
+		}
+		for (XcfaEdge edge : List.copyOf(builder.getEdges())) {
+			if (isMergeable(edge)) builder.removeEdge(edge);
+		}
+		for (XcfaLocation location : List.copyOf(builder.getLocs())) {
+			if (!boundaries.contains(location)) builder.removeLoc(location);
+		}
+		blocks.forEach(builder::addEdge);
+	}
+
+	/**
+	 * Collects the block boundaries, with the loop heads being the targets of the back edges of a depth-first search
+	 * from the initial location (every reachable cycle contains such a location).
+	 *
+	 * @return the block boundaries
+	 */
+	private Set<XcfaLocation> getBlockBoundaries() {
+		Set<XcfaLocation> boundaries = new LinkedHashSet<>();
+		boundaries.add(builder.getInitLoc());
+		if (builder.getFinalLoc() != null) boundaries.add(builder.getFinalLoc());
+		if (builder.getErrorLoc() != null) boundaries.add(builder.getErrorLoc());
+		for (XcfaEdge edge : builder.getEdges()) {
+			if (!isMergeable(edge)) {
+				boundaries.add(edge.getSource());
+				boundaries.add(edge.getTarget());
+			}
+		}
+
+		Set<XcfaLocation> visited = new HashSet<>();
+		Set<XcfaLocation> onStack = new HashSet<>();
+		Deque<XcfaLocation> locationStack = new ArrayDeque<>();
+		Deque<Iterator<XcfaEdge>> edgeStack = new ArrayDeque<>();
+		visited.add(builder.getInitLoc());
+		onStack.add(builder.getInitLoc());
+		locationStack.push(builder.getInitLoc());
+		edgeStack.push(builder.getInitLoc().getOutgoingEdges().iterator());
+		while (!edgeStack.isEmpty()) {
+			if (edgeStack.peek().hasNext()) {
+				XcfaLocation target = edgeStack.peek().next().getTarget();
+				if (onStack.contains(target)) {
+					boundaries.add(target);
+				} else if (visited.add(target)) {
+					onStack.add(target);
+					locationStack.push(target);
+					edgeStack.push(target.getOutgoingEdges().iterator());
+				}
+			} else {
+				edgeStack.pop();
+				onStack.remove(locationStack.pop());
+			}
+		}
+		return boundaries;
+	}
+
+	/**
+	 * Collects the locations of the region of a block boundary, i.e., the locations reachable through mergeable edges
+	 * without passing another boundary. The region is acyclic, as every cycle contains a block boundary.
+	 *
+	 * @param start      the block boundary where the region starts
+	 * @param boundaries the block boundaries
+	 * @return the locations of the region in post-order (every location precedes its predecessors, the start location
+	 * is the last)
+	 */
+	private List<XcfaLocation> getRegion(XcfaLocation start, Set<XcfaLocation> boundaries) {
+		List<XcfaLocation> postOrder = new ArrayList<>();
+		Set<XcfaLocation> visited = new HashSet<>();
+		Deque<XcfaLocation> locationStack = new ArrayDeque<>();
+		Deque<Iterator<XcfaEdge>> edgeStack = new ArrayDeque<>();
+		visited.add(start);
+		locationStack.push(start);
+		edgeStack.push(start.getOutgoingEdges().iterator());
+		while (!edgeStack.isEmpty()) {
+			if (edgeStack.peek().hasNext()) {
+				XcfaEdge edge = edgeStack.peek().next();
+				XcfaLocation target = edge.getTarget();
+				if (isMergeable(edge) && !boundaries.contains(target) && visited.add(target)) {
+					locationStack.push(target);
+					edgeStack.push(target.getOutgoingEdges().iterator());
+				}
+			} else {
+				edgeStack.pop();
+				postOrder.add(locationStack.pop());
+			}
+		}
+		return postOrder;
+	}
+
+	/**
+	 * Makes the locations of the region of a block boundary block boundaries if the paths leading to them from the
+	 * start have more edges in total than {@link SimpleLbePass#maxBlockSize}. New boundaries only make the other
+	 * blocks smaller, so the regions processed earlier remain within the limit.
+	 *
+	 * @param start      the block boundary where the region starts
+	 * @param boundaries the block boundaries, the new boundaries are added to this set
+	 * @return the new block boundaries
+	 */
+	private List<XcfaLocation> splitBlocks(XcfaLocation start, Set<XcfaLocation> boundaries) {
+		List<XcfaLocation> region = getRegion(start, boundaries);
+		List<XcfaLocation> newBoundaries = new ArrayList<>();
+		Map<XcfaLocation, Long> paths = new HashMap<>();
+		Map<XcfaLocation, Long> sizes = new HashMap<>();
+		paths.put(start, 1L);
+		sizes.put(start, 0L);
+
+		for (int i = region.size() - 2; i >= 0; i--) {
+			XcfaLocation location = region.get(i);
+			long locationPaths = 0;
+			long locationSize = 0;
+			for (XcfaEdge edge : location.getIncomingEdges()) {
+				Long sourcePaths = paths.get(edge.getSource());
+				if (sourcePaths != null && isMergeable(edge)) {
+					locationPaths = LongMath.saturatedAdd(locationPaths, sourcePaths);
+					locationSize = LongMath.saturatedAdd(locationSize,
+							LongMath.saturatedAdd(sizes.get(edge.getSource()), sourcePaths));
+				}
+			}
+			if (locationPaths == 0) continue;
+			if (locationSize > maxBlockSize) {
+				boundaries.add(location);
+				newBoundaries.add(location);
+			} else {
+				paths.put(location, locationPaths);
+				sizes.put(location, locationSize);
+			}
+		}
+		return newBoundaries;
+	}
+
+	/**
+	 * Computes the labels of the blocks starting from a block boundary. The suffixes of the paths are computed
+	 * backwards, so the paths to a boundary are combined into a {@link hu.bme.mit.theta.xcfa.model.XcfaLabel.NondetLabel}
+	 * at every branching.
+	 *
+	 * @param start      the block boundary where the blocks start
+	 * @param boundaries the block boundaries
+	 * @return the labels of the blocks by the block boundaries where they end
+	 */
+	private Map<XcfaLocation, List<XcfaLabel>> getBlocks(XcfaLocation start, Set<XcfaLocation> boundaries) {
+		Map<XcfaLocation, Map<XcfaLocation, List<XcfaLabel>>> suffixes = new HashMap<>();
+		for (XcfaLocation location : getRegion(start, boundaries)) {
+			Map<XcfaLocation, List<List<XcfaLabel>>> branches = new LinkedHashMap<>();
+			for (XcfaEdge edge : location.getOutgoingEdges()) {
+				if (!isMergeable(edge)) continue;
+				XcfaLocation target = edge.getTarget();
+				if (boundaries.contains(target)) {
+					branches.computeIfAbsent(target, t -> new ArrayList<>()).add(edge.getLabels());
+				} else {
+					for (Map.Entry<XcfaLocation, List<XcfaLabel>> suffix : suffixes.get(target).entrySet()) {
+						List<XcfaLabel> labels = new ArrayList<>(edge.getLabels());
+						labels.addAll(suffix.getValue());
+						branches.computeIfAbsent(suffix.getKey(), t -> new ArrayList<>()).add(labels);
+					}
+				}
+			}
+			Map<XcfaLocation, List<XcfaLabel>> locationSuffixes = new LinkedHashMap<>();
+			branches.forEach((target, labelLists) -> {
+				if (labelLists.size() == 1) {
+					locationSuffixes.put(target, labelLists.get(0));
+				} else {
+					List<XcfaLabel> nondetLabels = new ArrayList<>();
+					labelLists.forEach(labels -> nondetLabels.addAll(getNonDetBranch(labels)));
+					locationSuffixes.put(target, List.of(XcfaLabel.Nondet(nondetLabels)));
+				}
+			});
+			suffixes.put(location, locationSuffixes);
+		}
+		return suffixes.get(start);
+	}
+
+	/**
+	 * Checks if an edge can be merged into a block, i.e., it only has statement labels (possibly in sequences and
+	 * nondeterministic choices).
+	 *
+	 * @param edge the edge to check
+	 * @return true if the edge can be merged
+	 */
+	private static boolean isMergeable(XcfaEdge edge) {
+		return edge.getLabels().stream().allMatch(SimpleLbePass::isStmtLabel);
+	}
+
+	private static boolean isStmtLabel(XcfaLabel label) {
+		if (label instanceof XcfaLabel.SequenceLabel) {
+			return ((XcfaLabel.SequenceLabel) label).getLabels().stream().allMatch(SimpleLbePass::isStmtLabel);
+		} else if (label instanceof XcfaLabel.NondetLabel) {
+			return ((XcfaLabel.NondetLabel) label).getLabels().stream().allMatch(SimpleLbePass::isStmtLabel);
+		} else {
+			return label instanceof XcfaLabel.StmtXcfaLabel;
+		}
+	}
+
 	/**
 	 * Prints the XCFA in dot format to standard output.
 	 *
@@ -75,4 +75,9 @@ public class SimplifyExprs extends ProcedurePass {
 	public boolean isPostInlining() {
 		return true;
 	}
-}
\ No newline at end of file
+
+	@Override
+	public Scope getScope() {
+		return Scope.PROCEDURE;
+	}
+}
@@ -72,4 +72,8 @@ public class VerifierFunctionsToLabels extends ProcedurePass {
 		return true;
 	}
 
+	@Override
+	public Scope getScope() {
+		return Scope.PROCEDURE;
+	}
 }
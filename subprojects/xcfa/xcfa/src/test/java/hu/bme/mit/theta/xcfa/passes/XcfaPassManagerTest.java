@@ -0,0 +1,140 @@
+/*
+ *  Copyright 2022 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.xcfa.passes;
+
+import hu.bme.mit.theta.common.metrics.Metrics;
+import hu.bme.mit.theta.xcfa.model.XcfaEdge;
+import hu.bme.mit.theta.xcfa.model.XcfaLabel;
+import hu.bme.mit.theta.xcfa.model.XcfaLocation;
+import hu.bme.mit.theta.xcfa.model.XcfaProcedure;
+import hu.bme.mit.theta.xcfa.passes.procedurepass.ProcedurePass;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static hu.bme.mit.theta.core.stmt.Stmts.Skip;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class XcfaPassManagerTest {
+	private static final int PROCEDURES = 16;
+
+	private final List<String> log = Collections.synchronizedList(new ArrayList<>());
+
+	@Before
+	public void setUp() {
+		XcfaPassManager.clearProcedurePasses();
+		XcfaPassManager.addProcedurePass(new SplitEdges("split1", ProcedurePass.Scope.PROCEDURE));
+		XcfaPassManager.addProcedurePass(new SplitEdges("split2", ProcedurePass.Scope.PROCEDURE));
+		XcfaPassManager.addProcedurePass(new SplitEdges("global", ProcedurePass.Scope.GLOBAL));
+		XcfaPassManager.addProcedurePass(new SplitEdges("split3", ProcedurePass.Scope.PROCEDURE));
+	}
+
+	@After
+	public void tearDown() {
+		XcfaPassManager.clearProcedurePasses();
+		XcfaPassManager.setParallelism(1);
+		Metrics.setCurrent(Metrics.disabled());
+	}
+
+	@Test
+	public void testSequential() {
+		XcfaPassManager.setParallelism(1);
+		check();
+	}
+
+	@Test
+	public void testParallel() {
+		XcfaPassManager.setParallelism(4);
+		check();
+	}
+
+	private void check() {
+		final Metrics metrics = Metrics.create();
+		Metrics.setCurrent(metrics);
+		final List<XcfaProcedure.Builder> builders = new ArrayList<>();
+		for (int i = 0; i < PROCEDURES; i++) {
+			builders.add(createProcedure("proc" + i));
+		}
+
+		final List<XcfaProcedure.Builder> result = XcfaPassManager.run(builders);
+
+		assertEquals(PROCEDURES, result.size());
+		for (int i = 0; i < PROCEDURES; i++) {
+			assertEquals("proc" + i, result.get(i).getName());
+			assertEquals(16, result.get(i).getEdges().size());
+		}
+
+		// The global pass only starts when the preceding passes have finished on every procedure
+		final int firstGlobal = log.indexOf("global:proc0");
+		assertEquals(2 * PROCEDURES, firstGlobal);
+		for (int i = 0; i < PROCEDURES; i++) {
+			assertEquals("global:proc" + i, log.get(firstGlobal + i));
+			assertTrue(log.indexOf("split1:proc" + i) < log.indexOf("split2:proc" + i));
+		}
+
+		assertEquals(4 * PROCEDURES, metrics.timer("xcfa.pass.SplitEdges").getCount());
+		assertEquals(15 * PROCEDURES, metrics.counter("xcfa.pass.SplitEdges.edgeDelta").get());
+	}
+
+	private static XcfaProcedure.Builder createProcedure(final String name) {
+		final XcfaProcedure.Builder builder = XcfaProcedure.builder();
+		builder.setName(name);
+		final XcfaLocation initLoc = XcfaLocation.create(name + "_init");
+		final XcfaLocation finalLoc = XcfaLocation.create(name + "_final");
+		builder.addLoc(initLoc);
+		builder.addLoc(finalLoc);
+		builder.setInitLoc(initLoc);
+		builder.setFinalLoc(finalLoc);
+		builder.addEdge(XcfaEdge.of(initLoc, finalLoc, List.of(XcfaLabel.Stmt(Skip()))));
+		return builder;
+	}
+
+	/**
+	 * Splits every edge into two, and logs the procedures it was run on.
+	 */
+	private final class SplitEdges extends ProcedurePass {
+		private final String name;
+		private final Scope scope;
+
+		private SplitEdges(final String name, final Scope scope) {
+			this.name = name;
+			this.scope = scope;
+		}
+
+		@Override
+		public XcfaProcedure.Builder run(final XcfaProcedure.Builder builder) {
+			for (final XcfaEdge edge : new ArrayList<>(builder.getEdges())) {
+				final XcfaLocation middle = XcfaLocation.create(builder.getName() + "_" + XcfaLocation.uniqeCounter());
+				builder.addLoc(middle);
+				builder.removeEdge(edge);
+				builder.addEdge(XcfaEdge.of(edge.getSource(), middle, edge.getLabels()));
+				builder.addEdge(XcfaEdge.of(middle, edge.getTarget(), List.of(XcfaLabel.Stmt(Skip()))));
+			}
+			log.add(name + ":" + builder.getName());
+			return builder;
+		}
+
+		@Override
+		public Scope getScope() {
+			return scope;
+		}
+	}
+}
@@ -0,0 +1,95 @@
+/*
+ *  Copyright 2022 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.xsts.analysis;
+
+import com.google.common.collect.ImmutableList;
+import hu.bme.mit.theta.core.decl.VarDecl;
+import hu.bme.mit.theta.core.stmt.NonDetStmt;
+import hu.bme.mit.theta.core.stmt.SequenceStmt;
+import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.booltype.BoolType;
+import hu.bme.mit.theta.xsts.XSTS;
+
+import java.util.Collection;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static hu.bme.mit.theta.core.decl.Decls.Var;
+import static hu.bme.mit.theta.core.stmt.Stmts.Assign;
+import static hu.bme.mit.theta.core.stmt.Stmts.Assume;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.And;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Bool;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.False;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Not;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.True;
+
+/**
+ * Encoding of an XSTS as a system with a single transition relation, for algorithms that
+ * work on the whole transition relation instead of the separate steps. Two auxiliary
+ * variables track the state of the XSTS semantics (whether the init transition was already
+ * taken and whether the last transition was an environment one), and the transition
+ * relation chooses between the init, tran and env transitions based on them, in the same
+ * way as {@link XstsLts}. The property is checked in every state, including the one before
+ * the init transition, just like in {@link XstsStatePredicate}.
+ */
+public final class XstsMonolithicSystem {
+	private final VarDecl<BoolType> initialized;
+	private final VarDecl<BoolType> lastEnv;
+	private final Expr<BoolType> init;
+	private final XstsAction trans;
+	private final Expr<BoolType> prop;
+	private final Collection<VarDecl<?>> vars;
+
+	private XstsMonolithicSystem(final XSTS xsts) {
+		checkNotNull(xsts);
+		initialized = Var("__initialized", Bool());
+		lastEnv = Var("__lastEnv", Bool());
+
+		init = And(xsts.getInitFormula(), Not(initialized.getRef()), lastEnv.getRef());
+		trans = XstsAction.create(NonDetStmt.of(ImmutableList.of(
+				SequenceStmt.of(ImmutableList.of(Assume(Not(initialized.getRef())), xsts.getInit(),
+						Assign(initialized, True()), Assign(lastEnv, False()))),
+				SequenceStmt.of(ImmutableList.of(Assume(And(initialized.getRef(), lastEnv.getRef())), xsts.getTran(),
+						Assign(lastEnv, False()))),
+				SequenceStmt.of(ImmutableList.of(Assume(And(initialized.getRef(), Not(lastEnv.getRef()))), xsts.getEnv(),
+						Assign(lastEnv, True()))))));
+		prop = xsts.getProp();
+		vars = ImmutableList.<VarDecl<?>>builder().addAll(xsts.getVars()).add(initialized).add(lastEnv).build();
+	}
+
+	public static XstsMonolithicSystem create(final XSTS xsts) {
+		return new XstsMonolithicSystem(xsts);
+	}
+
+	public Expr<BoolType> getInit() {
+		return init;
+	}
+
+	public XstsAction getTrans() {
+		return trans;
+	}
+
+	public Expr<BoolType> getProp() {
+		return prop;
+	}
+
+	/**
+	 * Gets the variables of the XSTS and the auxiliary variables of the encoding.
+	 */
+	public Collection<VarDecl<?>> getVars() {
+		return vars;
+	}
+
+}
@@ -27,8 +27,11 @@ import hu.bme.mit.theta.analysis.algorithm.SafetyChecker;
 import hu.bme.mit.theta.analysis.algorithm.cegar.Abstractor;
 import hu.bme.mit.theta.analysis.algorithm.cegar.BasicAbstractor;
 import hu.bme.mit.theta.analysis.algorithm.cegar.CegarChecker;
+import hu.bme.mit.theta.analysis.algorithm.cegar.ParallelAbstractor;
 import hu.bme.mit.theta.analysis.algorithm.cegar.Refiner;
 import hu.bme.mit.theta.analysis.algorithm.cegar.abstractor.StopCriterions;
+import hu.bme.mit.theta.analysis.algorithm.ic3.Ic3Checker;
+import hu.bme.mit.theta.analysis.algorithm.kind.KInductionChecker;
 import hu.bme.mit.theta.analysis.expl.ExplAnalysis;
 import hu.bme.mit.theta.analysis.expl.ExplPrec;
 import hu.bme.mit.theta.analysis.expl.ExplState;
@@ -37,6 +40,7 @@ import hu.bme.mit.theta.analysis.expl.ExplStmtAnalysis;
 import hu.bme.mit.theta.analysis.expl.ExplStmtOptimizer;
 import hu.bme.mit.theta.analysis.expl.ItpRefToExplPrec;
 import hu.bme.mit.theta.analysis.expl.VarsRefToExplPrec;
+import hu.bme.mit.theta.analysis.expr.ExprState;
 import hu.bme.mit.theta.analysis.expr.ExprStatePredicate;
 import hu.bme.mit.theta.analysis.expr.refinement.ExprTraceBwBinItpChecker;
 import hu.bme.mit.theta.analysis.expr.refinement.ExprTraceChecker;
@@ -61,6 +65,7 @@ import hu.bme.mit.theta.analysis.prod2.Prod2Prec;
 import hu.bme.mit.theta.analysis.prod2.Prod2State;
 import hu.bme.mit.theta.analysis.prod2.prod2explpred.*;
 import hu.bme.mit.theta.analysis.stmtoptimizer.DefaultStmtOptimizer;
+import hu.bme.mit.theta.analysis.unit.UnitPrec;
 import hu.bme.mit.theta.analysis.waitlist.PriorityWaitlist;
 import hu.bme.mit.theta.common.logging.Logger;
 import hu.bme.mit.theta.common.logging.NullLogger;
@@ -73,6 +78,7 @@ import hu.bme.mit.theta.xsts.XSTS;
 import hu.bme.mit.theta.xsts.analysis.XstsAction;
 import hu.bme.mit.theta.xsts.analysis.XstsAnalysis;
 import hu.bme.mit.theta.xsts.analysis.XstsLts;
+import hu.bme.mit.theta.xsts.analysis.XstsMonolithicSystem;
 import hu.bme.mit.theta.xsts.analysis.XstsState;
 import hu.bme.mit.theta.xsts.analysis.XstsStatePredicate;
 import hu.bme.mit.theta.xsts.analysis.XstsStmtOptimizer;
@@ -88,11 +94,16 @@ import hu.bme.mit.theta.xsts.analysis.initprec.XstsPropInitPrec;
 
 import java.util.Set;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Not;
 
 public class XstsConfigBuilder {
 
+	public enum Algorithm {
+		CEGAR, KINDUCTION, IC3
+	}
+
 	public enum Domain {
 		EXPL, PRED_BOOL, PRED_CART, PRED_SPLIT, EXPL_PRED_BOOL, EXPL_PRED_CART, EXPL_PRED_SPLIT, EXPL_PRED_COMBINED
 	}
@@ -165,6 +176,7 @@ public class XstsConfigBuilder {
 	private final SolverFactory solverFactory;
 	private final Domain domain;
 	private final Refinement refinement;
+	private Algorithm algorithm = Algorithm.CEGAR;
 	private Search search = Search.BFS;
 	private PredSplit predSplit = PredSplit.WHOLE;
 	private int maxEnum = 0;
@@ -172,6 +184,7 @@ public class XstsConfigBuilder {
 	private PruneStrategy pruneStrategy = PruneStrategy.LAZY;
 	private OptimizeStmts optimizeStmts = OptimizeStmts.ON;
 	private AutoExpl autoExpl = AutoExpl.NEWOPERANDS;
+	private int abstractionThreads = 1;
 
 	public XstsConfigBuilder(final Domain domain, final Refinement refinement, final SolverFactory solverFactory) {
 		this.domain = domain;
@@ -184,6 +197,11 @@ public class XstsConfigBuilder {
 		return this;
 	}
 
+	public XstsConfigBuilder algorithm(final Algorithm algorithm) {
+		this.algorithm = algorithm;
+		return this;
+	}
+
 	public XstsConfigBuilder search(final Search search) {
 		this.search = search;
 		return this;
@@ -219,11 +237,27 @@ public class XstsConfigBuilder {
 		return this;
 	}
 
+	public XstsConfigBuilder abstractionThreads(final int abstractionThreads) {
+		this.abstractionThreads = abstractionThreads;
+		return this;
+	}
+
 	public XstsConfig<? extends State, ? extends Action, ? extends Prec> build(final XSTS xsts) {
-		final Solver abstractionSolver = solverFactory.createSolver();
 		final Expr<BoolType> negProp = Not(xsts.getProp());
 
-		if (domain == Domain.EXPL) {
+		if (algorithm == Algorithm.KINDUCTION || algorithm == Algorithm.IC3) {
+			// These algorithms work on a single transition relation, encoding the XSTS semantics
+			final XstsMonolithicSystem system = XstsMonolithicSystem.create(xsts);
+			if (algorithm == Algorithm.KINDUCTION) {
+				final SafetyChecker<ExplState, XstsAction, PredPrec> checker = KInductionChecker.create(system.getInit(),
+						system.getTrans(), system.getProp(), system.getVars(), solverFactory, logger, -1, true);
+				return XstsConfig.create(checker, initPrec.builder.createPred(xsts));
+			} else {
+				final SafetyChecker<ExplState, XstsAction, UnitPrec> checker = Ic3Checker.create(system.getInit(),
+						system.getTrans(), system.getProp(), system.getVars(), solverFactory, logger, -1);
+				return XstsConfig.create(checker, UnitPrec.getInstance());
+			}
+		} else if (domain == Domain.EXPL) {
 			final LTS<XstsState<ExplState>, XstsAction> lts;
 			if(optimizeStmts == OptimizeStmts.ON){
 				lts = XstsLts.create(xsts, XstsStmtOptimizer.create(ExplStmtOptimizer.getInstance()));
@@ -231,15 +265,13 @@ public class XstsConfigBuilder {
 				lts = XstsLts.create(xsts, XstsStmtOptimizer.create(DefaultStmtOptimizer.create()));
 			}
 
-			final Predicate<XstsState<ExplState>> target = new XstsStatePredicate<ExplStatePredicate, ExplState>(new ExplStatePredicate(negProp, abstractionSolver));
-			final Analysis<XstsState<ExplState>, XstsAction, ExplPrec> analysis = XstsAnalysis.create(ExplStmtAnalysis.create(abstractionSolver, xsts.getInitFormula(), maxEnum));
-			final ArgBuilder<XstsState<ExplState>, XstsAction, ExplPrec> argBuilder = ArgBuilder.create(lts, analysis, target,
-					true);
-			final Abstractor<XstsState<ExplState>, XstsAction, ExplPrec> abstractor = BasicAbstractor.builder(argBuilder)
-					.waitlist(PriorityWaitlist.create(search.comparator))
-					.stopCriterion(refinement == Refinement.MULTI_SEQ ? StopCriterions.fullExploration()
-							: StopCriterions.firstCex())
-					.logger(logger).build();
+			final Supplier<ArgBuilder<XstsState<ExplState>, XstsAction, ExplPrec>> argBuilderFactory = () -> {
+				final Solver abstractionSolver = solverFactory.createSolver();
+				final Predicate<XstsState<ExplState>> target = new XstsStatePredicate<ExplStatePredicate, ExplState>(new ExplStatePredicate(negProp, abstractionSolver));
+				final Analysis<XstsState<ExplState>, XstsAction, ExplPrec> analysis = XstsAnalysis.create(ExplStmtAnalysis.create(abstractionSolver, xsts.getInitFormula(), maxEnum));
+				return ArgBuilder.create(lts, analysis, target, true);
+			};
+			final Abstractor<XstsState<ExplState>, XstsAction, ExplPrec> abstractor = createAbstractor(argBuilderFactory);
 
 			Refiner<XstsState<ExplState>, XstsAction, ExplPrec> refiner = null;
 
@@ -274,21 +306,6 @@ public class XstsConfigBuilder {
 			return XstsConfig.create(checker, prec);
 
 		} else if (domain == Domain.PRED_BOOL || domain == Domain.PRED_CART || domain == Domain.PRED_SPLIT) {
-			PredAbstractors.PredAbstractor predAbstractor = null;
-			switch (domain) {
-				case PRED_BOOL:
-					predAbstractor = PredAbstractors.booleanAbstractor(abstractionSolver);
-					break;
-				case PRED_SPLIT:
-					predAbstractor = PredAbstractors.booleanSplitAbstractor(abstractionSolver);
-					break;
-				case PRED_CART:
-					predAbstractor = PredAbstractors.cartesianAbstractor(abstractionSolver);
-					break;
-				default:
-					throw new UnsupportedOperationException(domain + " domain is not supported.");
-			}
-
 			final LTS<XstsState<PredState>, XstsAction> lts;
 			if(optimizeStmts == OptimizeStmts.ON){
 				lts = XstsLts.create(xsts,XstsStmtOptimizer.create(PredStmtOptimizer.getInstance()));
@@ -296,16 +313,28 @@ public class XstsConfigBuilder {
 				lts = XstsLts.create(xsts, XstsStmtOptimizer.create(DefaultStmtOptimizer.create()));
 			}
 
-			final Predicate<XstsState<PredState>> target = new XstsStatePredicate<ExprStatePredicate, PredState>(new ExprStatePredicate(negProp, abstractionSolver));
-			final Analysis<XstsState<PredState>, XstsAction, PredPrec> analysis = XstsAnalysis.create(PredAnalysis.create(abstractionSolver, predAbstractor,
-					xsts.getInitFormula()));
-			final ArgBuilder<XstsState<PredState>, XstsAction, PredPrec> argBuilder = ArgBuilder.create(lts, analysis, target,
-					true);
-			final Abstractor<XstsState<PredState>, XstsAction, PredPrec> abstractor = BasicAbstractor.builder(argBuilder)
-					.waitlist(PriorityWaitlist.create(search.comparator))
-					.stopCriterion(refinement == Refinement.MULTI_SEQ ? StopCriterions.fullExploration()
-							: StopCriterions.firstCex())
-					.logger(logger).build();
+			final Supplier<ArgBuilder<XstsState<PredState>, XstsAction, PredPrec>> argBuilderFactory = () -> {
+				final Solver abstractionSolver = solverFactory.createSolver();
+				PredAbstractors.PredAbstractor predAbstractor = null;
+				switch (domain) {
+					case PRED_BOOL:
+						predAbstractor = PredAbstractors.booleanAbstractor(abstractionSolver);
+						break;
+					case PRED_SPLIT:
+						predAbstractor = PredAbstractors.booleanSplitAbstractor(abstractionSolver);
+						break;
+					case PRED_CART:
+						predAbstractor = PredAbstractors.cartesianAbstractor(abstractionSolver);
+						break;
+					default:
+						throw new UnsupportedOperationException(domain + " domain is not supported.");
+				}
+				final Predicate<XstsState<PredState>> target = new XstsStatePredicate<ExprStatePredicate, PredState>(new ExprStatePredicate(negProp, abstractionSolver));
+				final Analysis<XstsState<PredState>, XstsAction, PredPrec> analysis = XstsAnalysis.create(PredAnalysis.create(abstractionSolver, predAbstractor,
+						xsts.getInitFormula()));
+				return ArgBuilder.create(lts, analysis, target, true);
+			};
+			final Abstractor<XstsState<PredState>, XstsAction, PredPrec> abstractor = createAbstractor(argBuilderFactory);
 
 			ExprTraceChecker<ItpRefutation> exprTraceChecker = null;
 			switch (refinement) {
@@ -350,45 +379,42 @@ public class XstsConfigBuilder {
 				lts = XstsLts.create(xsts, XstsStmtOptimizer.create(DefaultStmtOptimizer.create()));
 			}
 
-			final Analysis<Prod2State<ExplState,PredState>,XstsAction,Prod2Prec<ExplPrec,PredPrec>> prod2Analysis;
-			final Predicate<XstsState<Prod2State<ExplState, PredState>>> target = new XstsStatePredicate<ExprStatePredicate, Prod2State<ExplState, PredState>>(new ExprStatePredicate(negProp, abstractionSolver));
-			if(domain == Domain.EXPL_PRED_BOOL || domain == Domain.EXPL_PRED_CART || domain == Domain.EXPL_PRED_SPLIT){
-				final PredAbstractors.PredAbstractor predAbstractor;
-				switch (domain) {
-					case EXPL_PRED_BOOL:
-						predAbstractor = PredAbstractors.booleanAbstractor(abstractionSolver);
-						break;
-					case EXPL_PRED_SPLIT:
-						predAbstractor = PredAbstractors.booleanSplitAbstractor(abstractionSolver);
-						break;
-					case EXPL_PRED_CART:
-						predAbstractor = PredAbstractors.cartesianAbstractor(abstractionSolver);
-						break;
-					default:
-						throw new UnsupportedOperationException(domain + " domain is not supported.");
+			final Supplier<ArgBuilder<XstsState<Prod2State<ExplState, PredState>>, XstsAction, Prod2Prec<ExplPrec, PredPrec>>> argBuilderFactory = () -> {
+				final Solver abstractionSolver = solverFactory.createSolver();
+				final Analysis<Prod2State<ExplState,PredState>,XstsAction,Prod2Prec<ExplPrec,PredPrec>> prod2Analysis;
+				final Predicate<XstsState<Prod2State<ExplState, PredState>>> target = new XstsStatePredicate<ExprStatePredicate, Prod2State<ExplState, PredState>>(new ExprStatePredicate(negProp, abstractionSolver));
+				if(domain == Domain.EXPL_PRED_BOOL || domain == Domain.EXPL_PRED_CART || domain == Domain.EXPL_PRED_SPLIT){
+					final PredAbstractors.PredAbstractor predAbstractor;
+					switch (domain) {
+						case EXPL_PRED_BOOL:
+							predAbstractor = PredAbstractors.booleanAbstractor(abstractionSolver);
+							break;
+						case EXPL_PRED_SPLIT:
+							predAbstractor = PredAbstractors.booleanSplitAbstractor(abstractionSolver);
+							break;
+						case EXPL_PRED_CART:
+							predAbstractor = PredAbstractors.cartesianAbstractor(abstractionSolver);
+							break;
+						default:
+							throw new UnsupportedOperationException(domain + " domain is not supported.");
+					}
+					prod2Analysis = Prod2Analysis.create(
+							ExplStmtAnalysis.create(abstractionSolver, xsts.getInitFormula(), maxEnum),
+							PredAnalysis.create(abstractionSolver, predAbstractor, xsts.getInitFormula()),
+							Prod2ExplPredPreStrengtheningOperator.create(),
+							Prod2ExplPredStrengtheningOperator.create(abstractionSolver));
+				} else {
+					final Prod2ExplPredAbstractors.Prod2ExplPredAbstractor prodAbstractor = Prod2ExplPredAbstractors.booleanAbstractor(abstractionSolver);
+					prod2Analysis = Prod2ExplPredAnalysis.create(
+							ExplAnalysis.create(abstractionSolver, xsts.getInitFormula()),
+							PredAnalysis.create(abstractionSolver, PredAbstractors.booleanAbstractor(abstractionSolver), xsts.getInitFormula()),
+							Prod2ExplPredStrengtheningOperator.create(abstractionSolver),
+							prodAbstractor);
 				}
-				prod2Analysis = Prod2Analysis.create(
-						ExplStmtAnalysis.create(abstractionSolver, xsts.getInitFormula(), maxEnum),
-						PredAnalysis.create(abstractionSolver, predAbstractor, xsts.getInitFormula()),
-						Prod2ExplPredPreStrengtheningOperator.create(),
-						Prod2ExplPredStrengtheningOperator.create(abstractionSolver));
-			} else {
-				final Prod2ExplPredAbstractors.Prod2ExplPredAbstractor prodAbstractor = Prod2ExplPredAbstractors.booleanAbstractor(abstractionSolver);
-				prod2Analysis = Prod2ExplPredAnalysis.create(
-						ExplAnalysis.create(abstractionSolver, xsts.getInitFormula()),
-						PredAnalysis.create(abstractionSolver, PredAbstractors.booleanAbstractor(abstractionSolver), xsts.getInitFormula()),
-						Prod2ExplPredStrengtheningOperator.create(abstractionSolver),
-						prodAbstractor);
-			}
-			final Analysis<XstsState<Prod2State<ExplState, PredState>>, XstsAction, Prod2Prec<ExplPrec, PredPrec>> analysis = XstsAnalysis.create(prod2Analysis);
-
-			final ArgBuilder<XstsState<Prod2State<ExplState, PredState>>, XstsAction, Prod2Prec<ExplPrec, PredPrec>> argBuilder = ArgBuilder.create(lts, analysis, target,
-					true);
-			final Abstractor<XstsState<Prod2State<ExplState, PredState>>, XstsAction, Prod2Prec<ExplPrec, PredPrec>> abstractor = BasicAbstractor.builder(argBuilder)
-					.waitlist(PriorityWaitlist.create(search.comparator))
-					.stopCriterion(refinement == Refinement.MULTI_SEQ ? StopCriterions.fullExploration()
-							: StopCriterions.firstCex())
-					.logger(logger).build();
+				final Analysis<XstsState<Prod2State<ExplState, PredState>>, XstsAction, Prod2Prec<ExplPrec, PredPrec>> analysis = XstsAnalysis.create(prod2Analysis);
+				return ArgBuilder.create(lts, analysis, target, true);
+			};
+			final Abstractor<XstsState<Prod2State<ExplState, PredState>>, XstsAction, Prod2Prec<ExplPrec, PredPrec>> abstractor = createAbstractor(argBuilderFactory);
 
 			Refiner<XstsState<Prod2State<ExplState, PredState>>, XstsAction, Prod2Prec<ExplPrec, PredPrec>> refiner = null;
 
@@ -426,5 +452,21 @@ public class XstsConfigBuilder {
 		}
 	}
 
+	private <S extends ExprState, P extends Prec> Abstractor<XstsState<S>, XstsAction, P> createAbstractor(
+			final Supplier<ArgBuilder<XstsState<S>, XstsAction, P>> argBuilderFactory) {
+		if (abstractionThreads > 1) {
+			return ParallelAbstractor.builder(argBuilderFactory).workers(abstractionThreads)
+					.waitlist(PriorityWaitlist.create(search.comparator))
+					.stopCriterion(refinement == Refinement.MULTI_SEQ ? StopCriterions.fullExploration()
+							: StopCriterions.firstCex())
+					.logger(logger).build();
+		} else {
+			return BasicAbstractor.builder(argBuilderFactory.get())
+					.waitlist(PriorityWaitlist.create(search.comparator))
+					.stopCriterion(refinement == Refinement.MULTI_SEQ ? StopCriterions.fullExploration()
+							: StopCriterions.firstCex())
+					.logger(logger).build();
+		}
+	}
 
 }
\ No newline at end of file
@@ -0,0 +1,78 @@
+/*
+ *  Copyright 2022 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.xsts.analysis;
+
+import hu.bme.mit.theta.analysis.algorithm.SafetyResult;
+import hu.bme.mit.theta.common.logging.NullLogger;
+import hu.bme.mit.theta.solver.z3.Z3SolverFactory;
+import hu.bme.mit.theta.xsts.XSTS;
+import hu.bme.mit.theta.xsts.analysis.config.XstsConfig;
+import hu.bme.mit.theta.xsts.analysis.config.XstsConfigBuilder;
+import hu.bme.mit.theta.xsts.dsl.XstsDslManager;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.util.Arrays;
+import java.util.Collection;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(value = Parameterized.class)
+public class XstsIc3Test {
+
+	@Parameterized.Parameter(value = 0)
+	public String filePath;
+
+	@Parameterized.Parameter(value = 1)
+	public String propPath;
+
+	@Parameterized.Parameter(value = 2)
+	public boolean safe;
+
+	@Parameterized.Parameters(name = "{index}: {0}, {1}, {2}")
+	public static Collection<Object[]> data() {
+		return Arrays.asList(new Object[][]{
+
+				{ "src/test/resources/model/counter5.xsts", "src/test/resources/property/x_between_0_and_5.prop", true },
+
+				{ "src/test/resources/model/counter5.xsts", "src/test/resources/property/x_eq_5.prop", false },
+
+				{ "src/test/resources/model/counter50.xsts", "src/test/resources/property/x_eq_5.prop", false },
+
+				{ "src/test/resources/model/counter50.xsts", "src/test/resources/property/x_eq_51.prop", true },
+		});
+	}
+
+	@Test
+	public void test() throws IOException {
+		final XSTS xsts;
+		try (InputStream inputStream = new SequenceInputStream(new FileInputStream(filePath), new FileInputStream(propPath))) {
+			xsts = XstsDslManager.createXsts(inputStream);
+		}
+
+		final XstsConfig<?, ?, ?> configuration = new XstsConfigBuilder(XstsConfigBuilder.Domain.EXPL,
+				XstsConfigBuilder.Refinement.SEQ_ITP, Z3SolverFactory.getInstance())
+				.algorithm(XstsConfigBuilder.Algorithm.IC3).logger(NullLogger.getInstance()).build(xsts);
+		final SafetyResult<?, ?> status = configuration.check();
+		assertEquals(safe, status.isSafe());
+	}
+
+}
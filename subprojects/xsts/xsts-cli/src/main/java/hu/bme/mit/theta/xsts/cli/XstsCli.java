@@ -5,8 +5,12 @@ import com.beust.jcommander.Parameter;
 import com.beust.jcommander.ParameterException;
 import com.google.common.base.Stopwatch;
 import hu.bme.mit.theta.analysis.Trace;
+import hu.bme.mit.theta.analysis.algorithm.ARG;
 import hu.bme.mit.theta.analysis.algorithm.SafetyResult;
+import hu.bme.mit.theta.analysis.algorithm.Statistics;
 import hu.bme.mit.theta.analysis.algorithm.cegar.CegarStatistics;
+import hu.bme.mit.theta.analysis.algorithm.ic3.Ic3Statistics;
+import hu.bme.mit.theta.analysis.algorithm.kind.KInductionStatistics;
 import hu.bme.mit.theta.analysis.expr.refinement.PruneStrategy;
 import hu.bme.mit.theta.analysis.utils.ArgVisualizer;
 import hu.bme.mit.theta.analysis.utils.TraceVisualizer;
@@ -14,6 +18,7 @@ import hu.bme.mit.theta.common.CliUtils;
 import hu.bme.mit.theta.common.logging.ConsoleLogger;
 import hu.bme.mit.theta.common.logging.Logger;
 import hu.bme.mit.theta.common.logging.NullLogger;
+import hu.bme.mit.theta.common.metrics.Metrics;
 import hu.bme.mit.theta.common.table.BasicTableWriter;
 import hu.bme.mit.theta.common.table.TableWriter;
 import hu.bme.mit.theta.common.visualization.Graph;
@@ -33,6 +38,7 @@ import hu.bme.mit.theta.xsts.pnml.PnmlToXSTS;
 import hu.bme.mit.theta.xsts.pnml.elements.PnmlNet;
 
 import java.io.*;
+import java.nio.file.Path;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 
@@ -42,6 +48,9 @@ public class XstsCli {
 	private final String[] args;
 	private final TableWriter writer;
 
+	@Parameter(names = {"--algorithm"}, description = "Algorithm")
+	Algorithm algorithm = Algorithm.CEGAR;
+
 	@Parameter(names = {"--domain"}, description = "Abstract domain")
 	Domain domain = Domain.PRED_CART;
 
@@ -78,6 +87,9 @@ public class XstsCli {
 	@Parameter(names = "--optimizestmts", description = "Turn statement optimization on or off")
 	OptimizeStmts optimizeStmts = OptimizeStmts.ON;
 
+	@Parameter(names = "--abstraction-threads", description = "Number of threads computing successors during abstraction (1: sequential)")
+	Integer abstractionThreads = 1;
+
 	@Parameter(names = {"--loglevel"}, description = "Detailedness of logging")
 	Logger.Level logLevel = Logger.Level.SUBSTEP;
 
@@ -87,6 +99,9 @@ public class XstsCli {
 	@Parameter(names = {"--cex"}, description = "Write concrete counterexample to a file")
 	String cexfile = null;
 
+	@Parameter(names = {"--stats"}, description = "Write performance statistics (counters, timers, histograms) of the run to a JSON file")
+	String statsfile = null;
+
 	@Parameter(names = {"--header"}, description = "Print only a header (for benchmarks)", help = true)
 	boolean headerOnly = false;
 
@@ -105,16 +120,25 @@ public class XstsCli {
 	private Logger logger;
 
 	public XstsCli(final String[] args) {
+		this(args, System.out);
+	}
+
+	XstsCli(final String[] args, final PrintStream out) {
 		this.args = args;
-		writer = new BasicTableWriter(System.out, ",", "\"", "\"");
+		writer = new BasicTableWriter(out, ",", "\"", "\"");
 	}
 
 	public static void main(final String[] args) {
 		final XstsCli mainApp = new XstsCli(args);
-		mainApp.run();
+		if (!mainApp.run()) {
+			System.exit(1);
+		}
 	}
 
-	private void run() {
+	/**
+	 * Runs the tool and returns whether it finished without an error.
+	 */
+	boolean run() {
 		try {
 			JCommander.newBuilder().addObject(this).programName(JAR_NAME).build().parse(args);
 			logger = benchmarkMode ? NullLogger.getInstance() : new ConsoleLogger(logLevel);
@@ -122,17 +146,17 @@ public class XstsCli {
 			System.out.println("Invalid parameters, details:");
 			System.out.println(ex.getMessage());
 			ex.usage();
-			return;
+			return true;
 		}
 
 		if (headerOnly) {
 			printHeader();
-			return;
+			return true;
 		}
 
 		if (versionInfo) {
 			CliUtils.printVersion(System.out);
-			return;
+			return true;
 		}
 
 		try {
@@ -141,13 +165,19 @@ public class XstsCli {
 
 			if (metrics) {
 				XstsMetrics.printMetrics(logger, xsts);
-				return;
+				return true;
 			}
 
 			final XstsConfig<?, ?, ?> configuration = buildConfiguration(xsts);
+			if (statsfile != null) {
+				Metrics.setCurrent(Metrics.create());
+			}
 			final SafetyResult<?, ?> status = check(configuration);
 			sw.stop();
 			printResult(status, xsts, sw.elapsed(TimeUnit.MILLISECONDS));
+			if (statsfile != null) {
+				Metrics.current().writeJson(Path.of(statsfile));
+			}
 			if (status.isUnsafe() && cexfile != null) {
 				writeCex(status.asUnsafe(), xsts);
 			}
@@ -156,8 +186,9 @@ public class XstsCli {
 			}
 		} catch (final Throwable ex) {
 			printError(ex);
-			System.exit(1);
+			return false;
 		}
+		return true;
 	}
 
 	private SafetyResult<?, ?> check(XstsConfig<?, ?, ?> configuration) throws Exception {
@@ -200,26 +231,50 @@ public class XstsCli {
 
 	private XstsConfig<?, ?, ?> buildConfiguration(final XSTS xsts) throws Exception {
 		try {
-			return new XstsConfigBuilder(domain, refinement, Z3SolverFactory.getInstance())
+			return new XstsConfigBuilder(domain, refinement, Z3SolverFactory.getInstance()).algorithm(algorithm)
 					.maxEnum(maxEnum).autoExpl(autoExpl).initPrec(initPrec).pruneStrategy(pruneStrategy)
-					.search(search).predSplit(predSplit).optimizeStmts(optimizeStmts).logger(logger).build(xsts);
+					.search(search).predSplit(predSplit).optimizeStmts(optimizeStmts)
+					.abstractionThreads(abstractionThreads).logger(logger).build(xsts);
 		} catch (final Exception ex) {
 			throw new Exception("Could not create configuration: " + ex.getMessage(), ex);
 		}
 	}
 
 	private void printResult(final SafetyResult<?, ?> status, final XSTS sts, final long totalTimeMs) {
-		final CegarStatistics stats = (CegarStatistics) status.getStats().get();
+		final Statistics stats = status.getStats().get();
 		if (benchmarkMode) {
 			writer.cell(status.isSafe());
 			writer.cell(totalTimeMs);
-			writer.cell(stats.getAlgorithmTimeMs());
-			writer.cell(stats.getAbstractorTimeMs());
-			writer.cell(stats.getRefinerTimeMs());
-			writer.cell(stats.getIterations());
-			writer.cell(status.getArg().size());
-			writer.cell(status.getArg().getDepth());
-			writer.cell(status.getArg().getMeanBranchingFactor());
+			if (stats instanceof CegarStatistics) {
+				final CegarStatistics cegarStats = (CegarStatistics) stats;
+				writer.cell(cegarStats.getAlgorithmTimeMs());
+				writer.cell(cegarStats.getAbstractorTimeMs());
+				writer.cell(cegarStats.getRefinerTimeMs());
+				writer.cell(cegarStats.getIterations());
+			} else if (stats instanceof Ic3Statistics) {
+				final Ic3Statistics ic3Stats = (Ic3Statistics) stats;
+				writer.cell(ic3Stats.getAlgorithmTimeMs());
+				writer.cell("");
+				writer.cell("");
+				writer.cell(ic3Stats.getFrames());
+			} else {
+				final KInductionStatistics kindStats = (KInductionStatistics) stats;
+				writer.cell(kindStats.getAlgorithmTimeMs());
+				writer.cell("");
+				writer.cell("");
+				writer.cell(kindStats.getBaseDepth());
+			}
+			final ARG<?, ?> arg = status.getArg();
+			if (arg.size() > 0) {
+				writer.cell(arg.size());
+				writer.cell(arg.getDepth());
+				writer.cell(arg.getMeanBranchingFactor());
+			} else {
+				// Algorithms other than CEGAR return an empty placeholder ARG
+				writer.cell("");
+				writer.cell("");
+				writer.cell("");
+			}
 			if (status.isUnsafe()) {
 				writer.cell(status.asUnsafe().getTrace().length() + "");
 			} else {
@@ -248,6 +303,13 @@ public class XstsCli {
 	}
 
 	private void writeCex(final SafetyResult.Unsafe<?, ?> status, final XSTS xsts) throws FileNotFoundException {
+		if (algorithm != Algorithm.CEGAR) {
+			// The states of the counterexample are already concrete
+			try (PrintWriter printWriter = new PrintWriter(new File(cexfile))) {
+				status.getTrace().getStates().forEach(printWriter::println);
+			}
+			return;
+		}
 
 		@SuppressWarnings("unchecked") final Trace<XstsState<?>, XstsAction> trace = (Trace<XstsState<?>, XstsAction>) status.getTrace();
 		final XstsStateSequence concrTrace = XstsTraceConcretizerUtil.concretize(trace, Z3SolverFactory.getInstance(), xsts);
@@ -0,0 +1,82 @@
+/*
+ *  Copyright 2022 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.xsts.cli;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.Collection;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(value = Parameterized.class)
+public class XstsCliBenchmarkTest {
+
+	@Parameterized.Parameter(value = 0)
+	public String algorithm;
+
+	@Parameterized.Parameter(value = 1)
+	public String filePath;
+
+	@Parameterized.Parameter(value = 2)
+	public String property;
+
+	@Parameterized.Parameter(value = 3)
+	public boolean safe;
+
+	@Parameterized.Parameters(name = "{index}: {0}, {1}, {2}, {3}")
+	public static Collection<Object[]> data() {
+		return Arrays.asList(new Object[][]{
+
+				{"KINDUCTION", "src/test/resources/counter5.xsts", "x>=0 && x<=5", true},
+
+				{"KINDUCTION", "src/test/resources/counter5.xsts", "!(x==5)", false},
+
+				{"IC3", "src/test/resources/counter5.xsts", "x>=0 && x<=5", true},
+
+				{"IC3", "src/test/resources/counter5.xsts", "!(x==5)", false},
+		});
+	}
+
+	@Test
+	public void test() {
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		final XstsCli cli = new XstsCli(new String[]{"--algorithm", algorithm, "--model", filePath,
+				"--property", property, "--benchmark"}, new PrintStream(out, true));
+		assertTrue(out.toString(), cli.run());
+
+		// Result, TimeMs, AlgoTimeMs, AbsTimeMs, RefTimeMs, Iterations, ArgSize, ArgDepth,
+		// ArgMeanBranchFactor, CexLen, Vars
+		final String[] cells = out.toString().trim().split(",", -1);
+		assertEquals(out.toString(), 11, cells.length);
+		assertEquals("\"" + safe + "\"", cells[0]);
+		assertEquals("\"\"", cells[6]);
+		assertEquals("\"\"", cells[7]);
+		assertEquals("\"\"", cells[8]);
+		if (safe) {
+			assertEquals("\"\"", cells[9]);
+		} else {
+			assertNotEquals("\"\"", cells[9]);
+		}
+	}
+
+}
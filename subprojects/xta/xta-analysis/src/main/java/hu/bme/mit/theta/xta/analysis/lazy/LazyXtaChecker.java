@@ -20,17 +20,13 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import java.util.ArrayList;
 import java.util.Collection;
 
-import com.google.common.collect.Lists;
-
 import hu.bme.mit.theta.analysis.State;
 import hu.bme.mit.theta.analysis.algorithm.ARG;
 import hu.bme.mit.theta.analysis.algorithm.ArgNode;
 import hu.bme.mit.theta.analysis.algorithm.SafetyChecker;
 import hu.bme.mit.theta.analysis.algorithm.SafetyResult;
 import hu.bme.mit.theta.analysis.algorithm.SearchStrategy;
-import hu.bme.mit.theta.analysis.reachedset.Partition;
 import hu.bme.mit.theta.analysis.unit.UnitPrec;
-import hu.bme.mit.theta.analysis.waitlist.Waitlist;
 import hu.bme.mit.theta.xta.XtaSystem;
 import hu.bme.mit.theta.xta.analysis.XtaAction;
 import hu.bme.mit.theta.xta.analysis.XtaLts;
@@ -62,23 +58,22 @@ final class LazyXtaChecker<S extends State> implements SafetyChecker<XtaState<S>
 	private final class CheckMethod {
 		final ARG<XtaState<S>, XtaAction> arg;
 		final LazyXtaStatistics.Builder stats;
-		final Partition<ArgNode<XtaState<S>, XtaAction>, ?> passed;
-		final Waitlist<ArgNode<XtaState<S>, XtaAction>> waiting;
+		final PassedWaitingList<XtaState<S>, XtaAction> passedWaiting;
 
 		public CheckMethod() {
 			arg = ARG.create(algorithmStrategy.getAnalysis().getPartialOrd());
 			stats = LazyXtaStatistics.builder(arg);
-			passed = Partition.of(n -> algorithmStrategy.getProjection().apply(n.getState()));
-			waiting = searchStrategy.createWaitlist();
+			passedWaiting = PassedWaitingList.create(algorithmStrategy.getProjection(),
+					algorithmStrategy.getAnalysis().getPartialOrd(), searchStrategy.createWaitlist());
 		}
 
 		public SafetyResult<XtaState<S>, XtaAction> run() {
 			stats.startAlgorithm();
 
 			init();
-			waiting.addAll(arg.getInitNodes());
-			while (!waiting.isEmpty()) {
-				final ArgNode<XtaState<S>, XtaAction> v = waiting.remove();
+			passedWaiting.addAll(arg.getInitNodes());
+			while (!passedWaiting.isEmpty()) {
+				final ArgNode<XtaState<S>, XtaAction> v = passedWaiting.remove();
 				assert v.isFeasible();
 
 				close(v);
@@ -102,7 +97,7 @@ final class LazyXtaChecker<S extends State> implements SafetyChecker<XtaState<S>
 		private void close(final ArgNode<XtaState<S>, XtaAction> coveree) {
 			stats.startClosing();
 
-			final Iterable<ArgNode<XtaState<S>, XtaAction>> candidates = Lists.reverse(passed.get(coveree));
+			final Iterable<ArgNode<XtaState<S>, XtaAction>> candidates = passedWaiting.getCoverers(coveree);
 			for (final ArgNode<XtaState<S>, XtaAction> coverer : candidates) {
 
 				stats.checkCoverage();
@@ -114,9 +109,10 @@ final class LazyXtaChecker<S extends State> implements SafetyChecker<XtaState<S>
 					final Collection<ArgNode<XtaState<S>, XtaAction>> uncoveredNodes = new ArrayList<>();
 					algorithmStrategy.cover(coveree, coverer, uncoveredNodes, stats);
 
-					waiting.addAll(uncoveredNodes.stream().filter(n -> !n.equals(coveree)));
+					passedWaiting.addAll(uncoveredNodes.stream().filter(n -> !n.equals(coveree)));
 
 					if (coveree.isCovered()) {
+						passedWaiting.promote(coverer);
 						stats.successfulCoverage();
 						stats.stopClosing();
 						return;
@@ -139,16 +135,16 @@ final class LazyXtaChecker<S extends State> implements SafetyChecker<XtaState<S>
 					if (succState.isBottom()) {
 						final Collection<ArgNode<XtaState<S>, XtaAction>> uncoveredNodes = new ArrayList<>();
 						algorithmStrategy.block(node, action, succState, uncoveredNodes, stats);
-						waiting.addAll(uncoveredNodes);
+						passedWaiting.addAll(uncoveredNodes);
 					} else {
 						final ArgNode<XtaState<S>, XtaAction> succNode = arg.createSuccNode(node, action, succState,
 								false);
-						waiting.add(succNode);
+						passedWaiting.add(succNode);
 					}
 				}
 			}
 
-			passed.add(node);
+			passedWaiting.addPassed(node);
 			stats.stopExpanding();
 		}
 	}
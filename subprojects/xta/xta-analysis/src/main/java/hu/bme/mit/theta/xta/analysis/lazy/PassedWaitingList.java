@@ -0,0 +1,157 @@
+/*
+ *  Copyright 2022 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.xta.analysis.lazy;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import com.google.common.collect.Lists;
+
+import hu.bme.mit.theta.analysis.Action;
+import hu.bme.mit.theta.analysis.PartialOrd;
+import hu.bme.mit.theta.analysis.State;
+import hu.bme.mit.theta.analysis.algorithm.ArgNode;
+import hu.bme.mit.theta.analysis.waitlist.Waitlist;
+
+/**
+ * Passed and waiting nodes of the lazy algorithm. Waiting nodes are kept in the order of the
+ * search strategy, while passed (expanded) nodes are hashed by the projection of their state
+ * (the discrete part), so only nodes with the same discrete part are checked for coverage.
+ * The successful coverers of a bucket are moved to its front, as they are likely to cover the
+ * subsequent nodes with the same discrete part as well. When a node is added to the passed nodes,
+ * the passed nodes of its bucket whose state is less or equal to its state (with respect to the
+ * partial order) are dropped, as every node they might cover can be covered by the new node too.
+ * Dropped nodes stay in the ARG, only they are not offered as coverers anymore.
+ */
+final class PassedWaitingList<S extends State, A extends Action> implements Waitlist<ArgNode<S, A>> {
+
+	private final Function<? super S, ?> projection;
+	private final PartialOrd<S> partialOrd;
+	private final Waitlist<ArgNode<S, A>> waiting;
+	private final Map<Object, List<ArgNode<S, A>>> passed;
+
+	// The projection of the last queried node, as it is usually added to the passed nodes next
+	private ArgNode<S, A> lastNode;
+	private Object lastKey;
+
+	private PassedWaitingList(final Function<? super S, ?> projection, final PartialOrd<S> partialOrd,
+							  final Waitlist<ArgNode<S, A>> waiting) {
+		this.projection = checkNotNull(projection);
+		this.partialOrd = checkNotNull(partialOrd);
+		this.waiting = checkNotNull(waiting);
+		passed = new HashMap<>();
+	}
+
+	public static <S extends State, A extends Action> PassedWaitingList<S, A> create(
+			final Function<? super S, ?> projection, final PartialOrd<S> partialOrd,
+			final Waitlist<ArgNode<S, A>> waiting) {
+		return new PassedWaitingList<>(projection, partialOrd, waiting);
+	}
+
+	////
+
+	@Override
+	public void add(final ArgNode<S, A> node) {
+		waiting.add(node);
+	}
+
+	@Override
+	public void addAll(final Collection<? extends ArgNode<S, A>> nodes) {
+		waiting.addAll(nodes);
+	}
+
+	@Override
+	public void addAll(final Stream<? extends ArgNode<S, A>> nodes) {
+		waiting.addAll(nodes);
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return waiting.isEmpty();
+	}
+
+	@Override
+	public ArgNode<S, A> remove() {
+		return waiting.remove();
+	}
+
+	@Override
+	public int size() {
+		return waiting.size();
+	}
+
+	@Override
+	public void clear() {
+		waiting.clear();
+		passed.clear();
+		lastNode = null;
+		lastKey = null;
+	}
+
+	////
+
+	/**
+	 * Add an expanded node to the passed nodes, dropping the passed nodes that it dominates.
+	 */
+	public void addPassed(final ArgNode<S, A> node) {
+		checkNotNull(node);
+		final Object key = node == lastNode ? lastKey : projection.apply(node.getState());
+		final List<ArgNode<S, A>> bucket = passed.computeIfAbsent(key, k -> new ArrayList<>());
+		final S state = node.getState();
+		bucket.removeIf(passedNode -> partialOrd.isLeq(passedNode.getState(), state));
+		bucket.add(node);
+		lastNode = null;
+		lastKey = null;
+	}
+
+	/**
+	 * Get the passed nodes that might cover a node, i.e., the ones with the same projection.
+	 * The most recently added or promoted nodes come first. The returned view must not be
+	 * used after the passed nodes are modified.
+	 */
+	public List<ArgNode<S, A>> getCoverers(final ArgNode<S, A> node) {
+		checkNotNull(node);
+		final Object key = projection.apply(node.getState());
+		lastNode = node;
+		lastKey = key;
+		return Lists.reverse(passed.getOrDefault(key, Collections.emptyList()));
+	}
+
+	/**
+	 * Move a passed node to the front of its bucket after it covered a node.
+	 */
+	public void promote(final ArgNode<S, A> coverer) {
+		checkNotNull(coverer);
+		final List<ArgNode<S, A>> bucket = passed.get(projection.apply(coverer.getState()));
+		if (bucket == null) {
+			return;
+		}
+		final int index = bucket.lastIndexOf(coverer);
+		if (index >= 0) {
+			bucket.remove(index);
+			bucket.add(coverer);
+		}
+	}
+
+}
@@ -0,0 +1,191 @@
+/*
+ *  Copyright 2022 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.xta.analysis.lazy;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.function.Function;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import hu.bme.mit.theta.analysis.Action;
+import hu.bme.mit.theta.analysis.PartialOrd;
+import hu.bme.mit.theta.analysis.State;
+import hu.bme.mit.theta.analysis.algorithm.ARG;
+import hu.bme.mit.theta.analysis.algorithm.ArgNode;
+import hu.bme.mit.theta.analysis.waitlist.FifoWaitlist;
+
+public final class PassedWaitingListTest {
+
+	// A discrete key with an interval, ordered by inclusion of intervals with the same key
+	private static final class IntervalState implements State {
+		final int key;
+		final int lo;
+		final int hi;
+
+		IntervalState(final int key, final int lo, final int hi) {
+			this.key = key;
+			this.lo = lo;
+			this.hi = hi;
+		}
+
+		@Override
+		public boolean isBottom() {
+			return false;
+		}
+	}
+
+	private static final PartialOrd<IntervalState> ORD = (s1, s2) -> s1.key == s2.key && s2.lo <= s1.lo
+			&& s1.hi <= s2.hi;
+
+	private int projections;
+	private ARG<IntervalState, Action> arg;
+	private PassedWaitingList<IntervalState, Action> list;
+
+	@Before
+	public void before() {
+		projections = 0;
+		final Function<IntervalState, Object> projection = s -> {
+			projections++;
+			return s.key;
+		};
+		arg = ARG.create(ORD);
+		list = PassedWaitingList.create(projection, ORD, FifoWaitlist.create());
+	}
+
+	private ArgNode<IntervalState, Action> node(final int key, final int lo, final int hi) {
+		return arg.createInitNode(new IntervalState(key, lo, hi), false);
+	}
+
+	@Test
+	public void testRemoveFollowsWaitlist() {
+		final ArgNode<IntervalState, Action> n1 = node(0, 0, 1);
+		final ArgNode<IntervalState, Action> n2 = node(0, 2, 3);
+		final ArgNode<IntervalState, Action> n3 = node(1, 0, 1);
+		list.add(n1);
+		list.add(n2);
+		list.add(n3);
+		assertEquals(3, list.size());
+
+		assertSame(n1, list.remove());
+		list.addPassed(n1);
+		assertEquals(2, list.size());
+		assertSame(n2, list.remove());
+		assertSame(n3, list.remove());
+		assertTrue(list.isEmpty());
+	}
+
+	@Test
+	public void testGetCoverersMostRecentFirst() {
+		final ArgNode<IntervalState, Action> n1 = node(0, 0, 1);
+		final ArgNode<IntervalState, Action> n2 = node(0, 2, 3);
+		final ArgNode<IntervalState, Action> n3 = node(1, 0, 1);
+		final ArgNode<IntervalState, Action> n4 = node(0, 4, 5);
+		list.addPassed(n1);
+		list.addPassed(n2);
+		list.addPassed(n3);
+		list.addPassed(n4);
+
+		assertEquals(List.of(n4, n2, n1), list.getCoverers(node(0, 0, 0)));
+		assertEquals(List.of(n3), list.getCoverers(node(1, 0, 0)));
+		assertTrue(list.getCoverers(node(2, 0, 0)).isEmpty());
+	}
+
+	@Test
+	public void testPromote() {
+		final ArgNode<IntervalState, Action> n1 = node(0, 0, 1);
+		final ArgNode<IntervalState, Action> n2 = node(0, 2, 3);
+		final ArgNode<IntervalState, Action> n3 = node(0, 4, 5);
+		list.addPassed(n1);
+		list.addPassed(n2);
+		list.addPassed(n3);
+
+		list.promote(n1);
+		assertEquals(List.of(n1, n3, n2), list.getCoverers(node(0, 0, 0)));
+		list.promote(n2);
+		assertEquals(List.of(n2, n1, n3), list.getCoverers(node(0, 0, 0)));
+
+		// Promoting a node that is not passed has no effect
+		list.promote(node(0, 6, 7));
+		list.promote(node(1, 0, 1));
+		assertEquals(List.of(n2, n1, n3), list.getCoverers(node(0, 0, 0)));
+	}
+
+	@Test
+	public void testAddPassedDropsDominated() {
+		final ArgNode<IntervalState, Action> n1 = node(0, 1, 2);
+		final ArgNode<IntervalState, Action> n2 = node(0, 5, 6);
+		final ArgNode<IntervalState, Action> n3 = node(1, 1, 2);
+		list.addPassed(n1);
+		list.addPassed(n2);
+		list.addPassed(n3);
+
+		// Dominates n1 only, n3 has a different projection
+		final ArgNode<IntervalState, Action> n4 = node(0, 0, 3);
+		list.addPassed(n4);
+		assertEquals(List.of(n4, n2), list.getCoverers(node(0, 0, 0)));
+		assertEquals(List.of(n3), list.getCoverers(node(1, 0, 0)));
+
+		// Dominated by n4, but kept, as dominance is only checked for the passed nodes
+		final ArgNode<IntervalState, Action> n5 = node(0, 1, 1);
+		list.addPassed(n5);
+		assertEquals(List.of(n5, n4, n2), list.getCoverers(node(0, 0, 0)));
+
+		// Equal states dominate each other
+		final ArgNode<IntervalState, Action> n6 = node(0, 5, 6);
+		list.addPassed(n6);
+		assertEquals(List.of(n6, n5, n4), list.getCoverers(node(0, 0, 0)));
+
+		// Dropped nodes stay in the ARG
+		assertTrue(arg.getNodes().anyMatch(n -> n == n1));
+	}
+
+	@Test
+	public void testAddPassedReusesProjectionOfLastQuery() {
+		final ArgNode<IntervalState, Action> n1 = node(0, 0, 1);
+		final ArgNode<IntervalState, Action> n2 = node(0, 2, 3);
+
+		list.getCoverers(n1);
+		list.addPassed(n1);
+		assertEquals(1, projections);
+
+		// The cached projection belongs to n2, so n1 is projected again
+		list.getCoverers(n2);
+		list.addPassed(n1);
+		assertEquals(3, projections);
+
+		// The cache is consumed by addPassed
+		list.addPassed(n2);
+		assertEquals(4, projections);
+	}
+
+	@Test
+	public void testClear() {
+		final ArgNode<IntervalState, Action> n1 = node(0, 0, 1);
+		final ArgNode<IntervalState, Action> n2 = node(0, 2, 3);
+		list.add(n1);
+		list.addPassed(n2);
+
+		list.clear();
+		assertTrue(list.isEmpty());
+		assertTrue(list.getCoverers(node(0, 0, 0)).isEmpty());
+	}
+
+}